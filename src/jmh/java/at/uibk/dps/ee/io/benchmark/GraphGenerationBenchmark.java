@@ -0,0 +1,202 @@
+package at.uibk.dps.ee.io.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import at.uibk.dps.afcl.Workflow;
+import at.uibk.dps.afcl.utils.Utils;
+import at.uibk.dps.ee.io.afcl.GraphGenerationAfcl;
+import at.uibk.dps.ee.io.afcl.UtilsAfcl.CompoundType;
+import at.uibk.dps.ee.io.generator.SyntheticWorkflowGenerator;
+import at.uibk.dps.ee.io.validation.GraphValidation;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+
+/**
+ * Benchmarks measuring how the phases of the graph generation (parsing of the
+ * .yaml file, generation of the enactment graph, validation of the graph) scale
+ * with the size and the shape of the processed workflow. As the number of
+ * functions grows exponentially with the nesting depth, the width and the depth
+ * are not varied independently: the shapes scale the width at depth 1 and the
+ * depth at width 10, with at most {@value #maxFunctions} atomic functions per
+ * workflow. Run with the gc profiler (as done by the jmh gradle task), the
+ * allocation per node is obtained by dividing the normalized allocation rate by
+ * the node counter.
+ *
+ * @author Fedor Smirnov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphGenerationBenchmark {
+
+  /**
+   * The maximal (approximate) number of atomic functions of a benchmarked
+   * workflow.
+   */
+  protected static final int maxFunctions = 10_000;
+
+  /**
+   * The shape of the workflow, given as &lt;width&gt;x&lt;depth&gt;, with the
+   * width being the number of functions in each body and the depth being the
+   * nesting depth of the compounds.
+   */
+  @Param({"10x1", "30x1", "100x1", "10x2", "10x3"})
+  public String shape;
+
+  /**
+   * The compound mix (see {@link #getCompoundMix(String)}).
+   */
+  @Param({"atomic", "if", "parallelFor", "while", "collection", "mixed"})
+  public String mix;
+
+  protected byte[] workflowData;
+  protected EnactmentGraph generatedGraph;
+
+  /**
+   * Counts the nodes of the processed graphs.
+   *
+   * @author Fedor Smirnov
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class NodeCounter {
+    public long nodes;
+  }
+
+  /**
+   * Provides a freshly parsed workflow for each invocation of the generation
+   * benchmark (the workflow object is modified during the generation, so that
+   * it cannot be reused across invocations).
+   *
+   * @author Fedor Smirnov
+   */
+  @State(Scope.Thread)
+  public static class ParsedWorkflow {
+
+    public Workflow workflow;
+
+    /**
+     * Parses the workflow of the benchmark (not part of the measurement).
+     *
+     * @param benchmark the benchmark state
+     * @throws IOException if parsing fails
+     */
+    @Setup(Level.Invocation)
+    public void parse(final GraphGenerationBenchmark benchmark) throws IOException {
+      workflow = benchmark.parse();
+    }
+  }
+
+  /**
+   * Generates the workflow description and the graph used by the validation
+   * benchmark.
+   *
+   * @throws IOException if the generated description cannot be parsed
+   */
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    final String[] widthAndDepth = shape.split("x", 2);
+    final int width = Integer.parseInt(widthAndDepth[0]);
+    final int depth = Integer.parseInt(widthAndDepth[1]);
+    if (Math.pow(width, depth + 1) > maxFunctions) {
+      throw new IllegalArgumentException("The shape " + shape + " results in more than "
+          + maxFunctions + " functions.");
+    }
+    final boolean constraints = "collection".equals(mix) || "mixed".equals(mix);
+    final SyntheticWorkflowGenerator generator =
+        new SyntheticWorkflowGenerator(width, depth, getCompoundMix(mix), constraints);
+    workflowData = generator.generateYaml().getBytes(StandardCharsets.UTF_8);
+    generatedGraph = GraphGenerationAfcl.generateEnactmentGraph(parse());
+  }
+
+  /**
+   * Parsing of the .yaml description.
+   *
+   * @return the parsed workflow
+   * @throws IOException if parsing fails
+   */
+  @Benchmark
+  public Workflow parse() throws IOException {
+    return Utils.readYAMLNoValidation(workflowData);
+  }
+
+  /**
+   * Graph generation (without parsing, which is done in the invocation setup).
+   *
+   * @param parsed the parsed workflow
+   * @param counter the node counter
+   * @return the generated graph
+   */
+  @Benchmark
+  public EnactmentGraph generate(final ParsedWorkflow parsed, final NodeCounter counter) {
+    final EnactmentGraph result =
+        GraphGenerationAfcl.generateEnactmentGraph(parsed.workflow, graph -> {
+          // validation measured separately
+        });
+    counter.nodes += result.getVertexCount();
+    return result;
+  }
+
+  /**
+   * Validation of the generated graph.
+   *
+   * @param counter the node counter
+   * @return the validated graph
+   */
+  @Benchmark
+  public EnactmentGraph validate(final NodeCounter counter) {
+    GraphValidation.validateGraph(generatedGraph);
+    counter.nodes += generatedGraph.getVertexCount();
+    return generatedGraph;
+  }
+
+  /**
+   * Returns the compound types for the given mix parameter.
+   *
+   * @param mix the mix parameter
+   * @return the compound types for the given mix parameter
+   */
+  protected static List<CompoundType> getCompoundMix(final String mix) {
+    final List<CompoundType> result = new ArrayList<>();
+    switch (mix) {
+      case "if":
+        result.add(CompoundType.If);
+        break;
+      case "parallelFor":
+        result.add(CompoundType.ParallelFor);
+        break;
+      case "while":
+        result.add(CompoundType.While);
+        break;
+      case "mixed":
+        result.add(CompoundType.If);
+        result.add(CompoundType.ParallelFor);
+        result.add(CompoundType.While);
+        break;
+      default:
+        // atomic functions only
+        break;
+    }
+    return result;
+  }
+}
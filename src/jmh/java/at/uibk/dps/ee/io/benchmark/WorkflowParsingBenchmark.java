@@ -0,0 +1,94 @@
+package at.uibk.dps.ee.io.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import at.uibk.dps.afcl.Workflow;
+import at.uibk.dps.afcl.utils.Utils;
+import at.uibk.dps.ee.io.afcl.AfclReader;
+import at.uibk.dps.ee.io.generator.SyntheticWorkflowGenerator;
+
+/**
+ * Benchmark comparing the parsing of the same workflow written in YAML syntax
+ * (processed by the YAML reader) and in JSON syntax (processed by the
+ * streaming JSON parser used by the {@link AfclReader} for JSON workflows).
+ *
+ * @author Fedor Smirnov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorkflowParsingBenchmark {
+
+  /**
+   * The number of functions in each body (with compounds nested once, the
+   * workflow contains about width^2 atomic functions).
+   */
+  @Param({"10", "30", "100"})
+  public int width;
+
+  /**
+   * The compound mix (see {@link GraphGenerationBenchmark#getCompoundMix}).
+   */
+  @Param({"atomic", "mixed"})
+  public String mix;
+
+  protected byte[] yamlData;
+  protected byte[] jsonData;
+
+  /**
+   * Generates the workflow description in both syntaxes.
+   *
+   * @throws IOException if the conversion to JSON fails
+   */
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    final SyntheticWorkflowGenerator generator = new SyntheticWorkflowGenerator(width, 1,
+        GraphGenerationBenchmark.getCompoundMix(mix), "mixed".equals(mix));
+    yamlData = generator.generateYaml().getBytes(StandardCharsets.UTF_8);
+    final ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
+    jsonData = new ObjectMapper().writeValueAsBytes(yamlMapper.readTree(yamlData));
+  }
+
+  /**
+   * Parsing of the YAML description.
+   *
+   * @return the parsed workflow
+   * @throws IOException if parsing fails
+   */
+  @Benchmark
+  public Workflow parseYaml() throws IOException {
+    return Utils.readYAMLNoValidation(yamlData);
+  }
+
+  /**
+   * Parsing of the JSON description.
+   *
+   * @return the parsed workflow
+   * @throws IOException if parsing fails
+   */
+  @Benchmark
+  public Workflow parseJson() throws IOException {
+    return AfclReader.json2Workflow(jsonData);
+  }
+}
@@ -0,0 +1,91 @@
+package at.uibk.dps.ee.io.generator;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import at.uibk.dps.ee.io.UtilsIO;
+import at.uibk.dps.ee.io.afcl.UtilsAfcl.CompoundType;
+
+/**
+ * Command line entry point writing a synthetic workflow (together with the
+ * matching input and type mappings) into a directory. Arguments (the last three
+ * are optional):
+ * 
+ * <pre>
+ * outputDir width depth compoundMix [elementIndexChain] [functionTypes] [collectionSize]
+ * </pre>
+ * 
+ * The compound mix is a comma-separated list of compound types (if,
+ * parallelFor, while) or "atomic" for workflows without compounds.
+ *
+ * @author Fedor Smirnov
+ */
+public final class SyntheticWorkflowCli {
+
+  protected static final int defaultCollectionSize = 10;
+
+  /**
+   * No constructor.
+   */
+  private SyntheticWorkflowCli() {}
+
+  /**
+   * Generates the workflow files as configured by the given arguments.
+   *
+   * @param args the arguments (see class description)
+   * @throws IOException if writing the files fails
+   */
+  public static void main(final String[] args) throws IOException {
+    if (args.length < 4 || args.length > 7) {
+      throw new IllegalArgumentException("Usage: outputDir width depth compoundMix "
+          + "[elementIndexChain] [functionTypes] [collectionSize]");
+    }
+    final int width = UtilsIO.readAsInt(args[1]);
+    final int depth = UtilsIO.readAsInt(args[2]);
+    final List<CompoundType> compoundMix = parseCompoundMix(args[3]);
+    final int elementIndexChain = args.length > 4 ? UtilsIO.readAsInt(args[4]) : 0;
+    final int functionTypes = args.length > 5 ? UtilsIO.readAsInt(args[5]) : 1;
+    final int collectionSize =
+        args.length > 6 ? UtilsIO.readAsInt(args[6]) : defaultCollectionSize;
+    final SyntheticWorkflowGenerator generator = new SyntheticWorkflowGenerator(width, depth,
+        compoundMix, elementIndexChain, functionTypes);
+    generator.writeFiles(Paths.get(args[0]), collectionSize);
+  }
+
+  /**
+   * Parses the compound mix from the given comma-separated string.
+   *
+   * @param mixString the comma-separated compound types
+   * @return the list of compound types
+   */
+  protected static List<CompoundType> parseCompoundMix(final String mixString) {
+    final List<CompoundType> result = new ArrayList<>();
+    for (final String typeString : mixString.split(",")) {
+      final String trimmed = typeString.trim();
+      if (trimmed.isEmpty() || "atomic".equalsIgnoreCase(trimmed)) {
+        continue;
+      }
+      result.add(parseCompoundType(trimmed));
+    }
+    return result;
+  }
+
+  /**
+   * Returns the compound type with the given (case-insensitive) name.
+   *
+   * @param typeString the type name
+   * @return the compound type with the given name
+   */
+  protected static CompoundType parseCompoundType(final String typeString) {
+    for (final CompoundType type : CompoundType.values()) {
+      if (type != CompoundType.Atomic
+          && type.name().toLowerCase(Locale.ROOT).equals(typeString.toLowerCase(Locale.ROOT))) {
+        return type;
+      }
+    }
+    throw new IllegalArgumentException("Unknown compound type " + typeString);
+  }
+}
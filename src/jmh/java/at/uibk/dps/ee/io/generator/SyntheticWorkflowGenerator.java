@@ -0,0 +1,400 @@
+package at.uibk.dps.ee.io.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import at.uibk.dps.ee.io.afcl.UtilsAfcl.CompoundType;
+import at.uibk.dps.ee.io.json.FunctionTypeEntry;
+import at.uibk.dps.ee.io.json.ResourceEntry;
+import at.uibk.dps.ee.io.json.ResourceInformationJsonFile;
+import at.uibk.dps.ee.model.properties.PropertyServiceMapping.EnactmentMode;
+
+/**
+ * The {@link SyntheticWorkflowGenerator} generates the .yaml description of
+ * synthetic AFCL workflows of configurable size and shape. Each body (the
+ * workflow body as well as the bodies of compounds) is a chain of functions
+ * where each function processes the output of its predecessor. Apart from the
+ * last element of a body, functions are compounds (if the nesting depth is not
+ * exhausted) whose types are taken from the compound mix in round-robin
+ * fashion. Apart from the workflow description, the generator provides the
+ * matching input data and type mappings (mapping all functions onto the demo
+ * enactment).
+ *
+ * @author Fedor Smirnov
+ */
+public class SyntheticWorkflowGenerator {
+
+  public static final String wfName = "synthetic";
+  public static final String functionType = "synthetic";
+  public static final String inputNumberKey = "input";
+  public static final String inputCollectionKey = "collection";
+  public static final String outputKey = "out";
+
+  public static final String fileNameWorkflow = "workflow.yaml";
+  public static final String fileNameInput = "input.json";
+  public static final String fileNameTypeMappings = "typeMappings.json";
+
+  protected static final String indentUnit = "  ";
+
+  protected final int width;
+  protected final int depth;
+  protected final List<CompoundType> compoundMix;
+  protected final int elementIndexChain;
+  protected final int functionTypeNumber;
+
+  protected int functionCounter;
+  protected int compoundCounter;
+  protected boolean collectionUsed;
+
+  /**
+   * Standard constructor.
+   *
+   * @param width the number of functions in each body
+   * @param depth the maximal nesting depth of compounds
+   * @param compoundMix the types of the generated compounds (used in
+   *        round-robin fashion)
+   * @param collectionConstraints if true, every other atomic function
+   *        additionally processes a part of the collection input (defined via
+   *        an element-index constraint)
+   */
+  public SyntheticWorkflowGenerator(final int width, final int depth,
+      final List<CompoundType> compoundMix, final boolean collectionConstraints) {
+    this(width, depth, compoundMix, collectionConstraints ? 1 : 0, 1);
+  }
+
+  /**
+   * Constructor additionally configuring the element-index chains and the
+   * function types.
+   *
+   * @param width the number of functions in each body
+   * @param depth the maximal nesting depth of compounds
+   * @param compoundMix the types of the generated compounds (used in
+   *        round-robin fashion)
+   * @param elementIndexChain the number of consecutive element-index
+   *        constraints used to define the part of the collection input
+   *        processed by every other atomic function (0 for no collection
+   *        processing)
+   * @param functionTypeNumber the number of different function types (assigned
+   *        to the atomic functions in round-robin fashion)
+   */
+  public SyntheticWorkflowGenerator(final int width, final int depth,
+      final List<CompoundType> compoundMix, final int elementIndexChain,
+      final int functionTypeNumber) {
+    if (width < 1 || depth < 0) {
+      throw new IllegalArgumentException("The width must be positive and the depth not negative.");
+    }
+    if (elementIndexChain < 0 || functionTypeNumber < 1) {
+      throw new IllegalArgumentException(
+          "The chain length must not be negative and the type number must be positive.");
+    }
+    if (compoundMix.contains(CompoundType.Atomic)) {
+      throw new IllegalArgumentException("The compound mix must not contain atomic functions.");
+    }
+    this.width = width;
+    this.depth = compoundMix.isEmpty() ? 0 : depth;
+    this.compoundMix = compoundMix;
+    this.elementIndexChain = elementIndexChain;
+    this.functionTypeNumber = functionTypeNumber;
+  }
+
+  /**
+   * Generates the workflow description, the input data, and the type mappings
+   * and writes them into files in the given directory.
+   *
+   * @param directory the directory (created if not existing)
+   * @param collectionSize the size of the collection in the input data
+   * @throws IOException if writing fails
+   */
+  public void writeFiles(final Path directory, final int collectionSize) throws IOException {
+    Files.createDirectories(directory);
+    Files.writeString(directory.resolve(fileNameWorkflow), generateYaml(),
+        StandardCharsets.UTF_8);
+    final Gson gson = new Gson();
+    try (Writer writer =
+        Files.newBufferedWriter(directory.resolve(fileNameInput), StandardCharsets.UTF_8)) {
+      gson.toJson(generateInput(collectionSize), writer);
+    }
+    try (Writer writer = Files.newBufferedWriter(directory.resolve(fileNameTypeMappings),
+        StandardCharsets.UTF_8)) {
+      gson.toJson(generateTypeMappings(), writer);
+    }
+  }
+
+  /**
+   * Generates the input data matching the generated workflows.
+   *
+   * @param collectionSize the size of the collection input
+   * @return the input data matching the generated workflows
+   */
+  public JsonObject generateInput(final int collectionSize) {
+    final JsonObject result = new JsonObject();
+    result.addProperty(inputNumberKey, 1);
+    final JsonArray collection = new JsonArray();
+    for (int i = 0; i < collectionSize; i++) {
+      collection.add(i);
+    }
+    result.add(inputCollectionKey, collection);
+    return result;
+  }
+
+  /**
+   * Generates the type mappings for the function types of the generated
+   * workflows. All functions are mapped onto the demo enactment.
+   *
+   * @return the type mappings for the function types of the generated workflows
+   */
+  public ResourceInformationJsonFile generateTypeMappings() {
+    final ResourceInformationJsonFile result = new ResourceInformationJsonFile();
+    for (int i = 0; i < functionTypeNumber; i++) {
+      final List<ResourceEntry> resources = new ArrayList<>();
+      resources.add(new ResourceEntry(EnactmentMode.Demo.name(), null, new HashMap<>()));
+      result.add(new FunctionTypeEntry(getFunctionType(i), resources));
+    }
+    return result;
+  }
+
+  /**
+   * Returns the function type string with the given index.
+   *
+   * @param typeIdx the type index
+   * @return the function type string with the given index
+   */
+  protected static String getFunctionType(final int typeIdx) {
+    return functionType + typeIdx;
+  }
+
+  /**
+   * Generates the .yaml description of the workflow.
+   *
+   * @return the .yaml description of the workflow
+   */
+  public String generateYaml() {
+    functionCounter = 0;
+    compoundCounter = 0;
+    collectionUsed = false;
+    final StringBuilder body = new StringBuilder();
+    final String lastFunction =
+        appendBody(body, 1, depth, new String[] {wfName + "/" + inputNumberKey}, false);
+    final StringBuilder result = new StringBuilder();
+    result.append("---\n").append("name: \"").append(wfName).append("\"\n").append("dataIns:\n");
+    appendData(result, 1, inputNumberKey, "number", inputNumberKey);
+    if (collectionUsed) {
+      appendData(result, 1, inputCollectionKey, "collection", inputCollectionKey);
+    }
+    result.append("workflowBody:\n").append(body).append("dataOuts:\n");
+    appendData(result, 1, outputKey, "number", lastFunction + "/" + outputKey);
+    return result.toString();
+  }
+
+  /**
+   * Returns the number of atomic functions in the workflow generated last.
+   *
+   * @return the number of atomic functions in the workflow generated last
+   */
+  public int getFunctionCount() {
+    return functionCounter;
+  }
+
+  /**
+   * Returns the number of compounds in the workflow generated last.
+   *
+   * @return the number of compounds in the workflow generated last
+   */
+  public int getCompoundCount() {
+    return compoundCounter;
+  }
+
+  /**
+   * Appends a body, i.e., a chain of functions, and returns the name of its last
+   * function.
+   *
+   * @param builder the builder to append to
+   * @param indent the indentation level of the body elements
+   * @param remainingDepth the remaining nesting depth
+   * @param sources the sources processed by the first function of the body
+   * @param forceAtomicStart true iff the first function has to be atomic
+   * @return the name of the last function of the body
+   */
+  protected String appendBody(final StringBuilder builder, final int indent,
+      final int remainingDepth, final String[] sources, final boolean forceAtomicStart) {
+    String[] currentSources = sources;
+    boolean previousParallelFor = false;
+    String lastName = null;
+    for (int i = 0; i < width; i++) {
+      final boolean atomic = remainingDepth == 0 || i == width - 1 || previousParallelFor
+          || i == 0 && forceAtomicStart;
+      if (atomic) {
+        lastName = appendAtomic(builder, indent, currentSources, previousParallelFor);
+        previousParallelFor = false;
+      } else {
+        final CompoundType type = compoundMix.get(compoundCounter % compoundMix.size());
+        lastName = appendCompound(builder, indent, type, currentSources[0], remainingDepth - 1);
+        previousParallelFor = type == CompoundType.ParallelFor;
+      }
+      currentSources = new String[] {lastName + "/" + (atomic ? outputKey : "value")};
+    }
+    return lastName;
+  }
+
+  /**
+   * Appends an atomic function processing the given sources and returns its
+   * name.
+   *
+   * @param builder the builder to append to
+   * @param indent the indentation level
+   * @param sources the processed sources
+   * @param collectionInput true iff the first source is a collection
+   * @return the name of the function
+   */
+  protected String appendAtomic(final StringBuilder builder, final int indent,
+      final String[] sources, final boolean collectionInput) {
+    final String name = "function" + functionCounter;
+    line(builder, indent, "- function:");
+    line(builder, indent + 2, "name: \"" + name + "\"");
+    line(builder, indent + 2,
+        "type: \"" + getFunctionType(functionCounter % functionTypeNumber) + "\"");
+    line(builder, indent + 2, "dataIns:");
+    for (int i = 0; i < sources.length; i++) {
+      appendData(builder, indent + 3, "in" + i, i == 0 && collectionInput ? "collection" : "number",
+          sources[i]);
+    }
+    if (elementIndexChain > 0 && functionCounter % 2 == 1) {
+      collectionUsed = true;
+      appendData(builder, indent + 3, "part", "collection", wfName + "/" + inputCollectionKey);
+      line(builder, indent + 4, "constraints:");
+      // each constraint selects the first elements of the previous result
+      for (int i = 0; i < elementIndexChain; i++) {
+        line(builder, indent + 5, "- name: \"element-index\"");
+        line(builder, indent + 6, "value: \"0:1\"");
+      }
+    }
+    line(builder, indent + 2, "dataOuts:");
+    line(builder, indent + 3, "- name: \"" + outputKey + "\"");
+    line(builder, indent + 4, "type: \"number\"");
+    functionCounter++;
+    return name;
+  }
+
+  /**
+   * Appends a compound of the given type processing the given source and
+   * returns its name. The output of the compound is named "value".
+   *
+   * @param builder the builder to append to
+   * @param indent the indentation level
+   * @param type the compound type
+   * @param source the processed source
+   * @param remainingDepth the remaining nesting depth for the compound body
+   * @return the name of the compound
+   */
+  protected String appendCompound(final StringBuilder builder, final int indent,
+      final CompoundType type, final String source, final int remainingDepth) {
+    final String name = type.name().toLowerCase(Locale.ROOT) + compoundCounter++;
+    final String ownValue = name + "/value";
+    final int inner = indent + 2;
+    switch (type) {
+      case If: {
+        line(builder, indent, "- if:");
+        line(builder, inner, "name: \"" + name + "\"");
+        line(builder, inner, "dataIns:");
+        appendData(builder, inner + 1, "value", "number", source);
+        line(builder, inner, "condition:");
+        line(builder, inner + 1, "- data1: \"" + ownValue + "\"");
+        line(builder, inner + 2, "data2: \"0\"");
+        line(builder, inner + 2, "type: \"number\"");
+        line(builder, inner + 2, "operator: \">\"");
+        line(builder, inner + 2, "negation: \"false\"");
+        line(builder, inner + 2, "combinedWith: \"and\"");
+        line(builder, inner, "then:");
+        final String thenLast =
+            appendBody(builder, inner + 1, remainingDepth, new String[] {ownValue}, false);
+        line(builder, inner, "else:");
+        final String elseLast =
+            appendBody(builder, inner + 1, remainingDepth, new String[] {ownValue}, false);
+        line(builder, inner, "dataOuts:");
+        appendData(builder, inner + 1, "value", "number",
+            thenLast + "/" + outputKey + "," + elseLast + "/" + outputKey);
+        break;
+      }
+      case While: {
+        line(builder, indent, "- while:");
+        line(builder, inner, "name: \"" + name + "\"");
+        line(builder, inner, "dataIns:");
+        appendData(builder, inner + 1, "value", "number", source);
+        line(builder, inner, "loopBody:");
+        final String last =
+            appendBody(builder, inner + 1, remainingDepth, new String[] {ownValue}, false);
+        line(builder, inner, "condition:");
+        line(builder, inner + 1, "- data1: \"" + name + "/counter\"");
+        line(builder, inner + 2, "data2: 3");
+        line(builder, inner + 2, "type: \"number\"");
+        line(builder, inner + 2, "operator: \"<\"");
+        line(builder, inner + 2, "negation: \"false\"");
+        line(builder, inner + 2, "combinedWith: \"and\"");
+        line(builder, inner, "dataOuts:");
+        appendData(builder, inner + 1, "value", "number", last + "/" + outputKey);
+        break;
+      }
+      case ParallelFor: {
+        collectionUsed = true;
+        line(builder, indent, "- parallelFor:");
+        line(builder, inner, "name: \"" + name + "\"");
+        line(builder, inner, "dataIns:");
+        appendData(builder, inner + 1, "iterated", "number", wfName + "/" + inputCollectionKey);
+        line(builder, inner, "iterators: [\"iterated\"]");
+        line(builder, inner, "loopBody:");
+        // the first body function processes the iterated element and the
+        // output of the predecessor of the parallel for
+        final String last = appendBody(builder, inner + 1, remainingDepth,
+            new String[] {name + "/iterated", source}, true);
+        line(builder, inner, "dataOuts:");
+        appendData(builder, inner + 1, "value", "collection", last + "/" + outputKey);
+        break;
+      }
+      default:
+        throw new IllegalArgumentException("Unsupported compound type " + type);
+    }
+    return name;
+  }
+
+  /**
+   * Appends a data entry (data in or data out with source).
+   *
+   * @param builder the builder to append to
+   * @param indent the indentation level
+   * @param name the data name
+   * @param type the data type
+   * @param source the data source
+   */
+  protected static void appendData(final StringBuilder builder, final int indent,
+      final String name, final String type, final String source) {
+    line(builder, indent, "- name: \"" + name + "\"");
+    line(builder, indent + 1, "type: \"" + type + "\"");
+    line(builder, indent + 1, "source: \"" + source + "\"");
+  }
+
+  /**
+   * Appends a line with the given indentation level.
+   *
+   * @param builder the builder to append to
+   * @param indent the indentation level
+   * @param content the line content
+   */
+  protected static void line(final StringBuilder builder, final int indent,
+      final String content) {
+    for (int i = 0; i < indent; i++) {
+      builder.append(indentUnit);
+    }
+    builder.append(content).append('\n');
+  }
+}
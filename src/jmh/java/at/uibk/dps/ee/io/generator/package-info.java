@@ -0,0 +1,5 @@
+/**
+ * Package for the classes generating synthetic workflows used for benchmarks
+ * and load tests.
+ */
+package at.uibk.dps.ee.io.generator;
@@ -70,14 +70,16 @@ public final class AfclApiWrapper {
         "Source " + sourceString + " neither data out nor data in of function " + func.getName());
   }
 
+  /**
+   * Returns the function with the given name. The lookup is done in the
+   * {@link WorkflowIndex} of the given workflow.
+   * 
+   * @param wf the workflow
+   * @param name the name of the function
+   * @return the function with the given name
+   */
   public static Function getFunction(Workflow wf, String name) {
-    for (Function func : wf.getWorkflowBody()) {
-      Function inside = searchInsideFunction(func, name);
-      if (inside != null) {
-        return inside;
-      }
-    }
-    throw new IllegalStateException("Function " + name + " not found in WF " + wf.getName());
+    return WorkflowIndex.of(wf).getFunction(name);
   }
 
   /**
@@ -93,6 +95,21 @@ public final class AfclApiWrapper {
     return (searchInsideFunction(function, subFunction.getName()) != null);
   }
 
+  /**
+   * Returns true iff the given subfunction is within the body of the given
+   * function. Uses the {@link WorkflowIndex} of the given workflow instead of
+   * searching through the body of the function.
+   * 
+   * @param wf the workflow containing both functions
+   * @param function the function potentially containing the other one
+   * @param subFunction the function potentially contained in the other one
+   * @return true iff the given subfunction is within the body of the given
+   *         function. Returns false in all other cases
+   */
+  public static boolean contains(Workflow wf, Function function, Function subFunction) {
+    return WorkflowIndex.of(wf).contains(function, subFunction);
+  }
+
   public static String getDataInSrc(Function func, String dInName) {
     for (DataIns dIn : getDataIns(func)) {
       if (dIn.getName().equals(dInName)) {
@@ -3,12 +3,10 @@ package at.uibk.dps.ee.io.afcl;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 import at.uibk.dps.afcl.functions.objects.DataIns;
 import at.uibk.dps.afcl.functions.objects.PropertyConstraint;
-import at.uibk.dps.ee.model.constants.ConstantsEEModel;
 import at.uibk.dps.ee.model.graph.EnactmentGraph;
 import at.uibk.dps.ee.model.properties.PropertyServiceData;
 import at.uibk.dps.ee.model.properties.PropertyServiceData.DataType;
@@ -71,11 +69,8 @@ public final class AfclCollectionOperations {
       final Task originalData, final EnactmentGraph graph, final DataType finalDataType) {
     // generate the id string of the data to create and check whether already in
     // graph
-    final String subCollectionString = contraint.getValue();
-    final CollectionOperation operationType =
-        UtilsAfcl.getCollectionOperationType(contraint.getName(), subCollectionString);
-    final String processedDataId = originalData.getId() + ConstantsEEModel.KeyWordSeparator2
-        + operationType.name() + ConstantsEEModel.KeyWordSeparator2 + subCollectionString;
+    final CollectionConstraint compiled = CollectionConstraint.of(contraint);
+    final String processedDataId = compiled.getProcessedDataId(originalData.getId());
     if (graph.containsVertex(processedDataId)) {
       return graph.getVertex(processedDataId);
     }
@@ -83,26 +78,20 @@ public final class AfclCollectionOperations {
     // Evth from here: data not yet in the graph => has to be generated by adding
     // additional functions
     // create the function node modeling the operation
-    final Task operationNode = PropertyServiceFunctionUtilityCollections
-        .createCollectionOperation(originalData.getId(), subCollectionString, operationType);
+    final Task operationNode =
+        PropertyServiceFunctionUtilityCollections.createCollectionOperation(originalData.getId(),
+            compiled.getSubCollectionString(), compiled.getOperation());
     // connect it to the original data
     PropertyServiceDependency.addDataDependency(originalData, operationNode, jsonKey, graph);
-    // make the src connections where necessary
-    final List<String> inputStrings = getSubstrings(subCollectionString, operationType);
-    final boolean illegalStringsPresent =
-        !inputStrings.stream().allMatch(string -> isLegalEntryString(string, operationType));
-    if (illegalStringsPresent) {
-      throw new IllegalArgumentException("Illegal collection operation strings: " + inputStrings);
-    }
-    final Set<String> srcInputStrings = inputStrings.stream()
-        .filter(string -> UtilsAfcl.isSrcString(string)).collect(Collectors.toSet());
-    srcInputStrings.forEach(srcString -> attachOperationInput(srcString, operationNode, graph));
+    GraphConstructionJournal.recordFunctionNode(operationNode);
+    // make the src connections where necessary (the entries are checked when
+    // compiling the constraint)
+    compiled.getSrcEntries().forEach(
+        srcString -> attachOperationInput(UtilsAfcl.canonicalize(srcString), operationNode, graph));
 
     // create the node for the processed data
-
-    final boolean oneElementResult =
-        operationType.equals(CollectionOperation.ElementIndex) && inputStrings.size() == 1;
-    final DataType processedDataType = oneElementResult ? finalDataType : DataType.Collection;
+    final DataType processedDataType =
+        compiled.isOneElementResult() ? finalDataType : DataType.Collection;
     final Task processedData =
         AfclCompounds.assureDataNodePresence(processedDataId, processedDataType, graph);
     PropertyServiceDependency.addDataDependency(operationNode, processedData, jsonKey, graph);
@@ -180,8 +169,8 @@ public final class AfclCollectionOperations {
       throw new IllegalArgumentException(
           "Incorrect Block Constraint Argument: " + subcollectionString);
     }
-    return Arrays.asList(subcollectionString.split(ConstantsAfcl.constraintSeparatorBlock)[0],
-        subcollectionString.split(ConstantsAfcl.constraintSeparatorBlock)[1]);
+    final String[] parts = subcollectionString.split(ConstantsAfcl.constraintSeparatorBlock);
+    return Arrays.asList(parts[0], parts[1]);
   }
 
   /**
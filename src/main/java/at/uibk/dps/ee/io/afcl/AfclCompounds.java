@@ -8,7 +8,6 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import com.google.gson.JsonElement;
-import com.google.gson.JsonParser;
 
 import at.uibk.dps.afcl.Function;
 import at.uibk.dps.afcl.Workflow;
@@ -26,7 +25,6 @@ import at.uibk.dps.ee.model.properties.PropertyServiceData.DataType;
 import at.uibk.dps.ee.model.properties.PropertyServiceDependency;
 import net.sf.opendse.model.Communication;
 import net.sf.opendse.model.Task;
-import net.sf.opendse.model.properties.TaskPropertyService;
 
 /**
  * Static method container for the construction of the graph structures modeling
@@ -75,38 +73,43 @@ public final class AfclCompounds {
   }
 
   /**
-   * Processes the loop body and adds all nodes.
+   * Processes the loop body and adds all nodes. Returns the journal scope with
+   * the nodes added while processing the body.
    * 
    * @param loopCompound the loop compound
    * @param graph the enactment graph
    * @param workflow the workflow
+   * @return the journal scope with the nodes added while processing the body
    */
-  static void processTheLoopBody(final LoopCompound loopCompound, final EnactmentGraph graph,
-      final Workflow workflow) {
-    // process the loop body
-    for (final Function function : loopCompound.getLoopBody()) {
-      if (function instanceof AtomicFunction) {
-        AfclCompoundsAtomic.addAtomicFunctionSubWfLevel(graph, (AtomicFunction) function, workflow);
-      } else {
-        addFunctionCompound(graph, function, workflow);
-      }
+  static JournalScope processTheLoopBody(final LoopCompound loopCompound,
+      final EnactmentGraph graph, final Workflow workflow) {
+    JournalScope bodyScope;
+    GraphConstructionJournal.openScope();
+    try {
+      processSubWfFunctions(loopCompound.getLoopBody(), graph, workflow);
+    } finally {
+      bodyScope = GraphConstructionJournal.closeScope();
     }
+    return bodyScope;
   }
 
   /**
-   * Returns a set of all function nodes in the given graph.
+   * Adds the nodes modeling the given functions which are placed within the body
+   * of a compound.
    * 
-   * @param graph the given graph
-   * @return a set of all function nodes in the given graph
+   * @param functions the functions within the compound body
+   * @param graph the enactment graph
+   * @param workflow the workflow
    */
-  static Set<Task> getFunctionNodes(final EnactmentGraph graph) {
-    final Set<Task> result = new HashSet<>();
-    for (final Task task : graph) {
-      if (TaskPropertyService.isProcess(task)) {
-        result.add(task);
+  static void processSubWfFunctions(final List<Function> functions, final EnactmentGraph graph,
+      final Workflow workflow) {
+    for (final Function function : functions) {
+      if (function instanceof AtomicFunction) {
+        AfclCompoundsAtomic.addAtomicFunctionSubWfLevel(graph, (AtomicFunction) function, workflow);
+      } else {
+        addFunctionCompound(graph, function, workflow);
       }
     }
-    return result;
   }
 
   /**
@@ -138,11 +141,12 @@ public final class AfclCompounds {
    */
   static void addDataInConstant(final EnactmentGraph graph, final Task function,
       final DataIns dataIn, final DataType expectedType) {
-    final String constString = UtilsAfcl.getDataId(dataIn.getSource());
-    final String jsonKey = dataIn.getName();
+    final SourceReference reference = UtilsAfcl.getSourceReference(dataIn.getSource());
+    final String constString = reference.getDataId();
+    final String jsonKey = UtilsAfcl.intern(dataIn.getName());
     final DataType dataType = UtilsAfcl.getDataTypeForString(dataIn.getType());
-    final JsonElement content = JsonParser.parseString(constString);
-    final String dataNodeId = dataIn.getSource();
+    final JsonElement content = UtilsAfcl.getConstantPool().getContent(constString);
+    final String dataNodeId = reference.getSrcString();
     final Task constantDataNode =
         PropertyServiceData.createConstantNode(dataNodeId, dataType, content);
     PropertyServiceDependency.addDataDependency(constantDataNode, function, jsonKey, graph);
@@ -160,12 +164,14 @@ public final class AfclCompounds {
   static void addDataInDefault(final EnactmentGraph graph, final Task function,
       final DataIns dataIn, final DataType expectedType) {
     // create/retrieve the data node
-    final String dataNodeId = AfclApiWrapper.getSource(dataIn);
-    final String srcFunc = UtilsAfcl.getProducerId(dataNodeId);
+    final SourceReference reference =
+        UtilsAfcl.getSourceReference(AfclApiWrapper.getSource(dataIn));
+    final String dataNodeId = reference.getSrcString();
+    final String srcFunc = reference.getProducerId();
     if (srcFunc.equals(function.getId())) {
       throw new IllegalStateException("Function " + function.getId() + " depends on itself.");
     }
-    final String jsonKey = AfclApiWrapper.getName(dataIn);
+    final String jsonKey = UtilsAfcl.intern(AfclApiWrapper.getName(dataIn));
     // retrieve or create the data node
     final Task dataNodeIn = assureDataNodePresence(dataNodeId, expectedType, graph);
     Task connectsToFunction = dataNodeIn;
@@ -297,11 +303,11 @@ public final class AfclCompounds {
     if (!pointsToOuterFunction(curSrcString, workflow)) {
       return;
     }
-    final String producerId = UtilsAfcl.getProducerId(curSrcString);
-    final Function function = AfclApiWrapper.getFunction(workflow, producerId);
-    if (AfclApiWrapper.contains(function, curFunction)) {
+    final SourceReference reference = UtilsAfcl.getSourceReference(curSrcString);
+    final Function function = AfclApiWrapper.getFunction(workflow, reference.getProducerId());
+    if (AfclApiWrapper.contains(workflow, function, curFunction)) {
       // pointing to a function one level up -> continue
-      final String dataId = UtilsAfcl.getDataId(curSrcString);
+      final String dataId = reference.getDataId();
       if (function instanceof While) {
         final String referenceSrc = getNamedDataOut(function, dataId).getSource();
         // add while input reference
@@ -45,11 +45,15 @@ public final class AfclCompoundsAtomic {
     for (final DataOutsAtomic dataOut : AfclApiWrapper.getDataOuts(atomicFunc)) {
       addDataOut(graph, atomicTask, dataOut);
     }
+    if (graph.containsVertex(atomicTask.getId())) {
+      GraphConstructionJournal.recordFunctionNode(atomicTask);
+    }
   }
 
   /**
    * Checks whether the given data in (at wf level) references a constant and
-   * corrects the data in src accordingly
+   * corrects the data in src accordingly. The src is replaced by its canonical
+   * representation.
    * 
    * @param dataIn the data in
    */
@@ -57,7 +61,9 @@ public final class AfclCompoundsAtomic {
     if (!UtilsAfcl.isSrcString(dataIn.getSource())) {
       final String corrected =
           ConstantsEEModel.ConstantNodeAffix + ConstantsAfcl.SourceAffix + dataIn.getSource();
-      dataIn.setSource(corrected);
+      dataIn.setSource(UtilsAfcl.canonicalize(corrected));
+    } else {
+      dataIn.setSource(UtilsAfcl.canonicalize(dataIn.getSource()));
     }
   }
 
@@ -87,7 +93,7 @@ public final class AfclCompoundsAtomic {
   static void addDataOut(final EnactmentGraph graph, final Task function,
       final DataOutsAtomic dataOut) {
     final String functionName = function.getId();
-    final String jsonKey = AfclApiWrapper.getName(dataOut);
+    final String jsonKey = UtilsAfcl.intern(AfclApiWrapper.getName(dataOut));
     final String dataNodeId = UtilsAfcl.getDataNodeId(functionName, jsonKey);
     final DataType dataType = UtilsAfcl.getDataTypeForString(dataOut.getType());
     // retrieve or create the data node
@@ -110,7 +116,7 @@ public final class AfclCompoundsAtomic {
         continue;
       }
       final String actualSrc = HierarchyLevellingAfcl.getSrcDataId(srcString, function, workflow);
-      dataIn.setSource(actualSrc);
+      dataIn.setSource(UtilsAfcl.canonicalize(actualSrc));
     }
   }
 
@@ -4,12 +4,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import com.google.common.base.Optional;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParser;
 
 import at.uibk.dps.afcl.Function;
 import at.uibk.dps.afcl.Workflow;
-import at.uibk.dps.afcl.functions.AtomicFunction;
 import at.uibk.dps.afcl.functions.IfThenElse;
 import at.uibk.dps.afcl.functions.objects.DataOuts;
 import at.uibk.dps.ee.model.constants.ConstantsEEModel;
@@ -73,24 +70,19 @@ public final class AfclCompoundsIf {
    */
   static void addIfBranch(final EnactmentGraph graph, final IfThenElse ifCompound,
       final Workflow workflow, final Task decisionVariable, final boolean isThen) {
-    // remember all function nodes in the graph now
-    final Set<Task> tasksBeforeAdding = AfclCompounds.getFunctionNodes(graph);
-    // add the contents of the branch
+    // add the contents of the branch while remembering the new function nodes
     final List<Function> functionsToAdd =
         Optional.fromNullable(isThen ? ifCompound.getThenBranch() : ifCompound.getElseBranch())
             .or(new ArrayList<Function>());
-    for (final Function function : functionsToAdd) {
-      if (function instanceof AtomicFunction) {
-        AfclCompoundsAtomic.addAtomicFunctionSubWfLevel(graph, (AtomicFunction) function, workflow);
-      } else {
-        AfclCompounds.addFunctionCompound(graph, function, workflow);
-      }
+    Set<Task> branchFunctions;
+    GraphConstructionJournal.openScope();
+    try {
+      AfclCompounds.processSubWfFunctions(functionsToAdd, graph, workflow);
+    } finally {
+      branchFunctions = GraphConstructionJournal.closeScope().getFunctionNodes();
     }
-    // figure out which ones are new
-    final Set<Task> tasksAfterAdding = AfclCompounds.getFunctionNodes(graph);
-    tasksAfterAdding.removeAll(tasksBeforeAdding);
     // connect them to the condition variable
-    tasksAfterAdding.forEach(newTask -> {
+    branchFunctions.forEach(newTask -> {
       PropertyServiceDependencyControlIf.addIfDependency(decisionVariable, newTask,
           decisionVariable.getId(), isThen, graph);
       return;
@@ -136,6 +128,7 @@ public final class AfclCompoundsIf {
     // connect the choice function to the decision variable (normal dependency)
     PropertyServiceDependency.addDataDependency(conditionVariable, choiceFunction,
         ConstantsEEModel.JsonKeyIfDecision, graph);
+    GraphConstructionJournal.recordFunctionNode(choiceFunction);
   }
 
   /**
@@ -201,6 +194,7 @@ public final class AfclCompoundsIf {
     PropertyServiceData.setNodeType(decisionVariableNode, NodeType.Decision);
     PropertyServiceDependency.addDataDependency(funcNode, decisionVariableNode,
         ConstantsEEModel.JsonKeyIfDecision, graph);
+    GraphConstructionJournal.recordFunctionNode(funcNode);
     return decisionVariableNode;
   }
 
@@ -280,10 +274,9 @@ public final class AfclCompoundsIf {
   static Task addConditionInConstant(final EnactmentGraph graph, final Task conditionFunction,
       final String dataString, final DataType dataType) {
     final String dataNodeId = conditionFunction.getId() + ConstantsAfcl.SourceAffix + dataString;
-    final String jsonKey = dataNodeId;
-    final JsonElement content = JsonParser.parseString(dataString);
-
-    final Task result = PropertyServiceData.createConstantNode(dataNodeId, dataType, content);
+    final Task result =
+        UtilsAfcl.getConstantPool().getConstantNode(graph, dataNodeId, dataString, dataType);
+    final String jsonKey = result.getId();
     PropertyServiceDependency.addDataDependency(result, conditionFunction, jsonKey, graph);
     return result;
   }
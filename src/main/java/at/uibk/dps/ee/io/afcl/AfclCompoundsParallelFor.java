@@ -60,10 +60,7 @@ public final class AfclCompoundsParallelFor {
 
     final List<DataIns> dataIns = AfclApiWrapper.getDataIns(parallelFor);
 
-    // remember the while nodes which are there before the for body is added
-    final Set<Task> whileStartsOutside = AfclCompoundsWhile.getWhileNodesInGraph(graph, true);
-    final Set<Task> whileCounterOutside = AfclCompoundsWhile.getWhileNodesInGraph(graph, false);
-
+    JournalScope bodyScope;
     if (isIntIteratorList(iterators)) {
       // create/find the node providing the iteration number
       processIterator(iterators.get(0), graph, dataIns, distributionNode, parallelFor.getName());
@@ -77,12 +74,9 @@ public final class AfclCompoundsParallelFor {
           ConstantsEEModel.JsonKeyConstantIterator, graph);
 
       // make the loop body while remembering new nodes
-      final Set<Task> functionsBeforeAdding = AfclCompounds.getFunctionNodes(graph);
-      AfclCompounds.processTheLoopBody(parallelFor, graph, workflow);
-      final Set<Task> functionsAfterAdding = AfclCompounds.getFunctionNodes(graph);
-      functionsAfterAdding.removeAll(functionsBeforeAdding);
+      bodyScope = AfclCompounds.processTheLoopBody(parallelFor, graph, workflow);
       // connect all functions to the loop output
-      for (final Task bodyFunction : functionsAfterAdding) {
+      for (final Task bodyFunction : bodyScope.getFunctionNodes()) {
         PropertyServiceDependency.addDataDependency(intIteratorDist, bodyFunction,
             ConstantsEEModel.JsonKeyConstantIterator, graph);
       }
@@ -91,18 +85,18 @@ public final class AfclCompoundsParallelFor {
         processIterator(iterator, graph, dataIns, distributionNode, parallelFor.getName());
       }
       // process the loop body and remember the new functions
-      final Set<Task> functionsBeforeAdding = AfclCompounds.getFunctionNodes(graph);
-      AfclCompounds.processTheLoopBody(parallelFor, graph, workflow);
-      final Set<Task> functionsAfterAdding = AfclCompounds.getFunctionNodes(graph);
-      functionsAfterAdding.removeAll(functionsBeforeAdding);
+      bodyScope = AfclCompounds.processTheLoopBody(parallelFor, graph, workflow);
       // connect the "roots" of the body subgraph to the dist node
-      getSubGraphRoots(graph, functionsAfterAdding, distributionNode).forEach(
+      getSubGraphRoots(graph, bodyScope.getFunctionNodes(), distributionNode).forEach(
           subGraphRoot -> connectSubGraphRootToDistNode(graph, distributionNode, subGraphRoot));
     }
 
+    GraphConstructionJournal.recordFunctionNode(distributionNode);
+
     // make sure that the nested while starts suceed the distribution node
-    AfclCompoundsWhile.enforceWhileStartOrder(whileStartsOutside, distributionNode, graph, true);
-    AfclCompoundsWhile.enforceWhileStartOrder(whileCounterOutside, distributionNode, graph, false);
+    AfclCompoundsWhile.enforceNestedWhileOrder(bodyScope.getWhileStarts(), distributionNode, graph);
+    AfclCompoundsWhile.enforceNestedWhileOrder(bodyScope.getWhileCounters(), distributionNode,
+        graph);
 
     // process the data outs and add the aggregate function
     final Optional<List<DataOuts>> dataOuts = Optional.ofNullable(parallelFor.getDataOuts());
@@ -208,6 +202,7 @@ public final class AfclCompoundsParallelFor {
         () -> new IllegalStateException("Cannot find data to aggregate: " + srcString));
     PropertyServiceDependency.addDataDependency(dataToAggregate, aggregationNode,
         ConstantsEEModel.JsonKeyAggregation, graph);
+    GraphConstructionJournal.recordFunctionNode(aggregationNode);
     // create the node for the aggregated data
     final DataType dataType = UtilsAfcl.getDataTypeForString(dataOut.getType());
     if (!dataType.equals(DataType.Collection)) {
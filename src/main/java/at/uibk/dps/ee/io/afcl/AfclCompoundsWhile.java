@@ -3,7 +3,6 @@ package at.uibk.dps.ee.io.afcl;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 import at.uibk.dps.afcl.Workflow;
 import at.uibk.dps.afcl.functions.While;
 import at.uibk.dps.afcl.functions.objects.DataOuts;
@@ -18,7 +17,6 @@ import at.uibk.dps.ee.model.properties.PropertyServiceFunctionUtilityCondition;
 import at.uibk.dps.ee.model.properties.PropertyServiceFunctionUtilityWhile;
 import net.sf.opendse.model.Communication;
 import net.sf.opendse.model.Task;
-import net.sf.opendse.model.properties.TaskPropertyService;
 
 /**
  * Static container for the methods necessary to create the enactment graph
@@ -46,22 +44,27 @@ public final class AfclCompoundsWhile {
     // create the data node representing the while start
     final Task whileStart = PropertyServiceData.createWhileStart(whileCompound.getName());
     graph.addVertex(whileStart);
+    GraphConstructionJournal.recordWhileStart(whileStart);
     // create the data node representing the loop counter
     final String counterId = whileCompound.getName() + ConstantsAfcl.SourceAffix
         + ConstantsEEModel.WhileLoopCounterSuffix;
     final Task loopCounter = PropertyServiceData.createWhileCounter(counterId);
     graph.addVertex(loopCounter);
+    GraphConstructionJournal.recordWhileCounter(loopCounter);
     // create the contents of the loop body
-    final Set<Task> beforeAddingLoopBody = AfclCompounds.getFunctionNodes(graph);
-    final Set<Task> whileDataNodesBeforeBody = getWhileNodesInGraph(graph, true);
-    AfclCompounds.processTheLoopBody(whileCompound, graph, workflow);
-    // create the condition
-    final Task stopDecision = createCondition(graph, whileCompound, workflow);
-    final Set<Task> loopBodyFunctions = AfclCompounds.getFunctionNodes(graph);
-    loopBodyFunctions.removeAll(beforeAddingLoopBody);
-    enforceWhileStartOrder(whileDataNodesBeforeBody, whileStart, graph, true);
+    JournalScope bodyScope;
+    Task stopDecision;
+    GraphConstructionJournal.openScope();
+    try {
+      AfclCompounds.processSubWfFunctions(whileCompound.getLoopBody(), graph, workflow);
+      // create the condition
+      stopDecision = createCondition(graph, whileCompound, workflow);
+    } finally {
+      bodyScope = GraphConstructionJournal.closeScope();
+    }
+    enforceNestedWhileOrder(bodyScope.getWhileStarts(), whileStart, graph);
     // connect the functions to the while start
-    loopBodyFunctions.forEach(bodyFunction -> PropertyServiceDependency
+    bodyScope.getFunctionNodes().forEach(bodyFunction -> PropertyServiceDependency
         .addDataDependency(whileStart, bodyFunction, ConstantsEEModel.JsonKeyWhileStart, graph));
     // create the node representing the end of the while compound/iteration
     final Task whileEnd =
@@ -71,6 +74,7 @@ public final class AfclCompoundsWhile {
         ConstantsEEModel.JsonKeyWhileCounter, graph);
     PropertyServiceDependency.addDataDependency(stopDecision, whileEnd,
         ConstantsEEModel.JsonKeyWhileDecision, graph);
+    GraphConstructionJournal.recordFunctionNode(whileEnd);
     // for each data out, connect the stuff within the loop body to the while end,
     // and create a data node representing the final result of the while
     whileCompound.getDataOuts()
@@ -78,26 +82,20 @@ public final class AfclCompoundsWhile {
   }
 
   /**
-   * Ensures that any while start node in the provided nested node set will start
-   * after the given predecessor node by adding an extra sequentiality node
-   * between the predecessor and the while start.
+   * Ensures that the given nested while nodes (while starts or while counters, as
+   * recorded by the {@link GraphConstructionJournal}) will start after the given
+   * predecessor node by adding an extra sequentiality node between the
+   * predecessor and each while node.
    * 
-   * @param whileTasksPreTransform the set of while tasks which were there before
-   *        the transformation
-   * @param predecessor the task which must be executed before the while
-   * @param lookingForWhileStarts true: looking for while starts; false: looking
-   *        for while counters
+   * @param nestedWhileNodes the while nodes nested in the compound of the
+   *        predecessor
+   * @param predecessor the task which must be executed before the whiles
    * @param graph the enactment graph
    */
-  public static void enforceWhileStartOrder(final Set<Task> whileTasksPreTransform,
-      final Task predecessor, final EnactmentGraph graph, final boolean lookingForWhileStarts) {
-    final Set<Task> innerWhiles = getWhileNodesInGraph(graph, lookingForWhileStarts);
-    innerWhiles.removeAll(whileTasksPreTransform);
-    innerWhiles.stream().filter(node -> TaskPropertyService.isCommunication(node))
-        .filter(dataNode -> lookingForWhileStarts ? PropertyServiceData.isWhileStart(dataNode)
-            : PropertyServiceData.isWhileCounter(dataNode))
-        .forEach(nestedWhileStart -> enforceSequentialityNestedWhile(predecessor, nestedWhileStart,
-            graph));
+  public static void enforceNestedWhileOrder(final Set<Task> nestedWhileNodes,
+      final Task predecessor, final EnactmentGraph graph) {
+    nestedWhileNodes.forEach(
+        nestedWhileNode -> enforceSequentialityNestedWhile(predecessor, nestedWhileNode, graph));
   }
 
   /**
@@ -115,22 +113,6 @@ public final class AfclCompoundsWhile {
     }
   }
 
-  /**
-   * Returns the while nodes contained in the given graph
-   * 
-   * @param graph the given graph
-   * @param lookingForWhileStart true iff looking for while start nodes, false iff
-   *        looking for while counters
-   * @return the while start nodes in the given graph
-   */
-  public static Set<Task> getWhileNodesInGraph(final EnactmentGraph graph,
-      final boolean lookingForWhileStart) {
-    return graph.getVertices().stream().filter(node -> TaskPropertyService.isCommunication(node))
-        .filter(dataNode -> lookingForWhileStart ? PropertyServiceData.isWhileStart(dataNode)
-            : PropertyServiceData.isWhileCounter(dataNode))
-        .collect(Collectors.toSet());
-  }
-
   /**
    * Processes the given data out of the while compound by (a) creating the nodes
    * representing the overall result of the while (successors of the while end)
@@ -177,6 +159,7 @@ public final class AfclCompoundsWhile {
     whileCompound.getCondition().forEach(cond -> conditions.add(
         AfclCompoundsIf.addConditionNode(graph, cond, conditionNode, workflow, whileCompound)));
     PropertyServiceFunctionUtilityCondition.setConditions(conditionNode, conditions);
+    GraphConstructionJournal.recordFunctionNode(conditionNode);
     final Task stopDecisionVariable = new Communication(whileCompound.getName()
         + ConstantsEEModel.KeywordSeparator1 + ConstantsEEModel.WhileConditionBoolSuffix);
     PropertyServiceDependency.addDataDependency(conditionNode, stopDecisionVariable,
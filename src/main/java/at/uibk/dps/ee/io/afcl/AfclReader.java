@@ -1,26 +1,68 @@
 package at.uibk.dps.ee.io.afcl;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.Optional;
 
 import org.opt4j.core.start.Constant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
 import at.uibk.dps.afcl.Workflow;
+import at.uibk.dps.afcl.functions.AtomicFunction;
+import at.uibk.dps.afcl.functions.IfThenElse;
+import at.uibk.dps.afcl.functions.ParallelFor;
+import at.uibk.dps.afcl.functions.While;
 import at.uibk.dps.afcl.utils.Utils;
+import at.uibk.dps.ee.io.cache.EnactmentGraphCache;
+import at.uibk.dps.ee.io.cache.EnactmentGraphCacheNone;
+import at.uibk.dps.ee.io.cache.EnactmentGraphCodec;
+import at.uibk.dps.ee.io.instrumentation.PhaseMeasurement;
+import at.uibk.dps.ee.io.instrumentation.StartupListener;
+import at.uibk.dps.ee.io.instrumentation.StartupListenerNone;
+import at.uibk.dps.ee.io.validation.GraphValidator;
+import at.uibk.dps.ee.io.validation.GraphValidatorDefault;
 import at.uibk.dps.ee.model.graph.EnactmentGraph;
 import at.uibk.dps.ee.model.graph.EnactmentGraphProvider;
 
 /**
  * The {@link AfclReader} generates the {@link EnactmentGraph} based on a
- * provided .afcl/.cfcl file.
+ * provided .afcl/.cfcl file. If an {@link EnactmentGraphCache} is configured,
+ * graphs generated from the same file content are taken from the cache. The
+ * generated graphs are checked by the {@link GraphValidator}. Files with the
+ * suffix {@value #compiledGraphSuffix} contain a graph compiled ahead of time
+ * (see {@link at.uibk.dps.ee.io.script.WorkflowCompiler}) and are decoded
+ * directly, without YAML parsing, graph generation, and validation (the
+ * content of other files is never decoded as compiled graph). The reading, parsing,
+ * graph generation, and validation are reported to the {@link StartupListener}.
+ * Workflows written in JSON syntax are parsed with a streaming JSON parser
+ * instead of the YAML reader.
  * 
  * @author Fedor Smirnov
  */
 @Singleton
 public class AfclReader implements EnactmentGraphProvider {
 
+  /**
+   * The suffix of the files containing a graph compiled ahead of time.
+   */
+  public static final String compiledGraphSuffix = ".eeg";
+
+  protected static final Logger logger = LoggerFactory.getLogger(AfclReader.class);
+  protected static final ObjectReader jsonWorkflowReader =
+      createJsonMapper().readerFor(Workflow.class);
+
+  protected final boolean parallelCompounds;
+  protected final boolean mergeConstants;
+  protected final StartupListener startupListener;
+  protected final GraphValidator graphValidator;
   protected final EnactmentGraph enactmentGraph;
 
   /**
@@ -28,26 +70,83 @@ public class AfclReader implements EnactmentGraphProvider {
    * storage.
    * 
    * @param filePath the path to the .afcl/.cfcl file
+   * @param parallelCompounds if true, the independent top-level compounds are
+   *        processed concurrently
+   * @param mergeConstants if true, identical constants are modeled by a single
+   *        node
+   * @param graphCache the cache for the generated graphs
+   * @param startupListener the listener notified about the startup phases
+   * @param graphValidator the validator for the generated graphs
    */
   @Inject
   public AfclReader(
-      @Constant(value = "filePath", namespace = AfclReader.class) final String filePath) {
+      @Constant(value = "filePath", namespace = AfclReader.class) final String filePath,
+      @Constant(value = "parallelCompounds",
+          namespace = AfclReader.class) final boolean parallelCompounds,
+      @Constant(value = "mergeConstants",
+          namespace = AfclReader.class) final boolean mergeConstants,
+      final EnactmentGraphCache graphCache, final StartupListener startupListener,
+      final GraphValidator graphValidator) {
+    this.parallelCompounds = parallelCompounds;
+    this.mergeConstants = mergeConstants;
+    this.startupListener = startupListener;
+    this.graphValidator = graphValidator;
     try {
+      final PhaseMeasurement reading = PhaseMeasurement.start("AfclReader: file reading");
       final byte[] wfData = UtilsAfcl.readFileToBytes(filePath);
-      this.enactmentGraph = generateEnactmentGraph(wfData);
+      startupListener.phaseFinished(reading.stop(wfData.length));
+      this.enactmentGraph = isCompiledGraphFile(filePath) ? loadCompiledGraph(wfData)
+          : readEnactmentGraph(wfData, graphCache);
     } catch (IOException ioExc) {
       throw new IllegalStateException("IOException when reading the WF from the path: " + filePath,
           ioExc);
     }
   }
 
+  /**
+   * Constructor used to read the workflow from a file without graph caching.
+   * 
+   * @param filePath the path to the .afcl/.cfcl file
+   */
+  public AfclReader(final String filePath) {
+    this(filePath, new EnactmentGraphCacheNone());
+  }
+
+  /**
+   * Constructor used to read the workflow from a file with the default graph
+   * validation.
+   * 
+   * @param filePath the path to the .afcl/.cfcl file
+   * @param graphCache the cache for the generated graphs
+   * @param startupListener the listener notified about the startup phases
+   */
+  public AfclReader(final String filePath, final EnactmentGraphCache graphCache,
+      final StartupListener startupListener) {
+    this(filePath, false, false, graphCache, startupListener, new GraphValidatorDefault());
+  }
+
+  /**
+   * Constructor used to read the workflow from a file without startup
+   * instrumentation.
+   * 
+   * @param filePath the path to the .afcl/.cfcl file
+   * @param graphCache the cache for the generated graphs
+   */
+  public AfclReader(final String filePath, final EnactmentGraphCache graphCache) {
+    this(filePath, graphCache, new StartupListenerNone());
+  }
+
   /**
    * Constructor which is provided with the byte representation of the workflow
-   * file.
+   * file (which is not decoded as compiled graph).
    * 
    * @param workflowData byte array describing the workflow
    */
   public AfclReader(final byte[] workflowData) {
+    this.parallelCompounds = false;
+    this.mergeConstants = false;
+    this.startupListener = new StartupListenerNone();
+    this.graphValidator = new GraphValidatorDefault();
     this.enactmentGraph = generateEnactmentGraph(workflowData);
   }
 
@@ -56,6 +155,87 @@ public class AfclReader implements EnactmentGraphProvider {
     return this.enactmentGraph;
   }
 
+  /**
+   * Returns the key describing the options of the graph generation which
+   * influence the generated graph (used to identify cached graphs).
+   * 
+   * @param parallelCompounds true iff the top-level compounds are processed
+   *        concurrently
+   * @param mergeConstants true iff identical constants are merged
+   * @param graphValidator the validator of the generated graphs
+   * @return the key describing the options of the graph generation
+   */
+  static String getGenerationKey(final boolean parallelCompounds, final boolean mergeConstants,
+      final GraphValidator graphValidator) {
+    return "generatorRevision=" + GraphGenerationAfcl.generatorRevision + ";parallelCompounds="
+        + parallelCompounds + ";mergeConstants=" + mergeConstants + ";validation="
+        + graphValidator.getDescription();
+  }
+
+  /**
+   * Returns true iff the file at the given path contains a graph compiled ahead
+   * of time, i.e., if its name ends with {@value #compiledGraphSuffix}.
+   * 
+   * @param filePath the path to the workflow file
+   * @return true iff the file at the given path contains a compiled graph
+   */
+  public static boolean isCompiledGraphFile(final String filePath) {
+    return filePath.endsWith(compiledGraphSuffix);
+  }
+
+  /**
+   * Decodes the enactment graph compiled ahead of time.
+   * 
+   * @param graphData the data of the compiled graph
+   * @return The enactment graph modeling the enactment process.
+   */
+  protected final EnactmentGraph loadCompiledGraph(final byte[] graphData) {
+    final PhaseMeasurement loading = PhaseMeasurement.start("AfclReader: compiled graph loading");
+    final EnactmentGraph result = decodeCompiledGraph(graphData);
+    startupListener.phaseFinished(loading.stop(result.getVertexCount()));
+    return result;
+  }
+
+  /**
+   * Decodes the given data of a graph compiled ahead of time.
+   * 
+   * @param graphData the data of the compiled graph
+   * @return the decoded enactment graph
+   */
+  static EnactmentGraph decodeCompiledGraph(final byte[] graphData) {
+    try {
+      return EnactmentGraphCodec.decode(new ByteArrayInputStream(graphData));
+    } catch (IOException ioExc) {
+      throw new IllegalStateException("The compiled workflow cannot be read. Workflows compiled "
+          + "with a different format version have to be recompiled.", ioExc);
+    }
+  }
+
+  /**
+   * Returns the enactment graph cached for the given workflow data. If the cache
+   * has no entry for the data, the graph is generated and stored in the cache.
+   * 
+   * @param wfData the wfdata
+   * @param graphCache the graph cache
+   * @return The enactment graph modeling the enactment process.
+   */
+  protected final EnactmentGraph readEnactmentGraph(final byte[] wfData,
+      final EnactmentGraphCache graphCache) {
+    final PhaseMeasurement lookup = PhaseMeasurement.start("AfclReader: cache lookup");
+    final String generationKey =
+        getGenerationKey(parallelCompounds, mergeConstants, graphValidator);
+    final Optional<EnactmentGraph> cached = graphCache.load(wfData, generationKey);
+    startupListener
+        .phaseFinished(lookup.stop(cached.map(EnactmentGraph::getVertexCount).orElse(0)));
+    return cached.orElseGet(() -> {
+      final EnactmentGraph result = generateEnactmentGraph(wfData);
+      final PhaseMeasurement storing = PhaseMeasurement.start("AfclReader: cache storing");
+      graphCache.store(wfData, generationKey, result);
+      startupListener.phaseFinished(storing.stop(result.getVertexCount()));
+      return result;
+    });
+  }
+
   /**
    * Generates the enactment graph based on the .afcl/.cfcl file (provided as byte
    * array).
@@ -64,16 +244,46 @@ public class AfclReader implements EnactmentGraphProvider {
    * @return The enactment graph modeling the enactment process.
    */
   protected final EnactmentGraph generateEnactmentGraph(final byte[] wfData) {
-    return GraphGenerationAfcl.generateEnactmentGraph(bytes2Workflow(wfData));
+    final PhaseMeasurement parsing = PhaseMeasurement.start("AfclReader: workflow parsing");
+    final Workflow workflow = bytes2Workflow(wfData);
+    startupListener.phaseFinished(parsing.stop(wfData.length));
+    final PhaseMeasurement generation = PhaseMeasurement.start("AfclReader: graph generation");
+    final EnactmentGraph result = GraphGenerationAfcl.generateEnactmentGraph(workflow,
+        this::validateGraph, parallelCompounds, mergeConstants);
+    startupListener.phaseFinished(generation.stop(result.getVertexCount()));
+    return result;
+  }
+
+  /**
+   * Validates the given graph (as part of its generation).
+   * 
+   * @param graph the generated graph
+   */
+  protected final void validateGraph(final EnactmentGraph graph) {
+    final PhaseMeasurement validation = PhaseMeasurement.start("AfclReader: graph validation");
+    graphValidator.validate(graph);
+    startupListener.phaseFinished(validation.stop(graph.getVertexCount()));
   }
 
   /**
    * Converts the workflow data into a processable {@link Workflow} object.
+   * Workflows written in JSON syntax are bound with the streaming JSON parser;
+   * all other workflows (and JSON which the JSON parser rejects) are processed by
+   * the YAML reader.
    * 
    * @param workflowAsBytes byte array with the workflow information
    * @return the {@link Workflow} corresponding to the input data.
    */
   protected static Workflow bytes2Workflow(final byte[] workflowAsBytes) {
+    if (isJson(workflowAsBytes)) {
+      try {
+        return json2Workflow(workflowAsBytes);
+      } catch (IOException jsonExc) {
+        // YAML is a superset of JSON => the YAML reader may still succeed
+        logger.warn("Workflow not readable as JSON ({}). Falling back to YAML.",
+            jsonExc.getMessage());
+      }
+    }
     try {
       return Utils.readYAMLNoValidation(workflowAsBytes);
     } catch (IOException ioExc) {
@@ -81,4 +291,57 @@ public class AfclReader implements EnactmentGraphProvider {
           "IOException when converting the wf input into the AFCL workflow object.", ioExc);
     }
   }
+
+  /**
+   * Binds the given workflow data in JSON syntax to a {@link Workflow} object.
+   * 
+   * @param workflowAsBytes the workflow data in JSON syntax
+   * @return the {@link Workflow} corresponding to the input data
+   * @throws IOException if the data is not a valid JSON description of a
+   *         workflow
+   */
+  public static Workflow json2Workflow(final byte[] workflowAsBytes) throws IOException {
+    return jsonWorkflowReader.readValue(workflowAsBytes);
+  }
+
+  /**
+   * Creates the mapper used to bind workflows in JSON syntax. The mapper is
+   * configured like the YAML mapper of AFCL: unknown properties are ignored and
+   * the function types are bound polymorphically, using the names of the AFCL
+   * syntax.
+   * 
+   * @return the mapper used to bind workflows in JSON syntax
+   */
+  static ObjectMapper createJsonMapper() {
+    final ObjectMapper result = new ObjectMapper();
+    result.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    result.registerSubtypes(new NamedType(AtomicFunction.class, "function"),
+        new NamedType(IfThenElse.class, "if"), new NamedType(ParallelFor.class, "parallelFor"),
+        new NamedType(While.class, "while"));
+    return result;
+  }
+
+  /**
+   * Returns true iff the given workflow data is written in JSON syntax, i.e., if
+   * its first character (after an optional byte order mark and white space) is
+   * an opening brace.
+   * 
+   * @param workflowAsBytes the workflow data
+   * @return true iff the given workflow data is written in JSON syntax
+   */
+  public static boolean isJson(final byte[] workflowAsBytes) {
+    int idx = 0;
+    if (workflowAsBytes.length >= 3 && (workflowAsBytes[0] & 0xff) == 0xef
+        && (workflowAsBytes[1] & 0xff) == 0xbb && (workflowAsBytes[2] & 0xff) == 0xbf) {
+      idx = 3;
+    }
+    while (idx < workflowAsBytes.length) {
+      final byte current = workflowAsBytes[idx];
+      if (current != ' ' && current != '\t' && current != '\n' && current != '\r') {
+        return current == '{';
+      }
+      idx++;
+    }
+    return false;
+  }
 }
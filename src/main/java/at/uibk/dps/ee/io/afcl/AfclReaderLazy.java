@@ -0,0 +1,122 @@
+package at.uibk.dps.ee.io.afcl;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.opt4j.core.start.Constant;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import at.uibk.dps.ee.io.cache.EnactmentGraphCache;
+import at.uibk.dps.ee.io.cache.EnactmentGraphCacheNone;
+import at.uibk.dps.ee.io.instrumentation.StartupListener;
+import at.uibk.dps.ee.io.instrumentation.StartupListenerNone;
+import at.uibk.dps.ee.io.validation.GraphValidator;
+import at.uibk.dps.ee.io.validation.GraphValidatorDefault;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+import at.uibk.dps.ee.model.graph.EnactmentGraphProvider;
+
+/**
+ * The {@link AfclReaderLazy} generates the {@link EnactmentGraph} based on a
+ * provided .afcl/.cfcl file. In contrast to the {@link AfclReader}, the file is
+ * not processed at construction, but when the graph is requested for the first
+ * time (or, optionally, asynchronously in the background right after the
+ * construction). The graph is generated exactly once, even if it is requested
+ * by multiple threads at the same time. The processing itself (including the
+ * graph caching, the decoding of compiled graphs, the validation, and the
+ * reporting of the startup phases) is delegated to an {@link AfclReader}.
+ *
+ * @author Fedor Smirnov
+ */
+@Singleton
+public class AfclReaderLazy implements EnactmentGraphProvider {
+
+  protected final String filePath;
+  protected final boolean parallelCompounds;
+  protected final boolean mergeConstants;
+  protected final EnactmentGraphCache graphCache;
+  protected final StartupListener startupListener;
+  protected final GraphValidator graphValidator;
+  protected final FutureTask<EnactmentGraph> graphGeneration;
+
+  /**
+   * Injection constructor.
+   *
+   * @param filePath the path to the .afcl/.cfcl file
+   * @param asyncGeneration if true, the generation is started in a background
+   *        thread right after the construction
+   * @param parallelCompounds if true, the independent top-level compounds are
+   *        processed concurrently
+   * @param mergeConstants if true, identical constants are modeled by a single
+   *        node
+   * @param graphCache the cache for the generated graphs
+   * @param startupListener the listener notified about the startup phases
+   * @param graphValidator the validator for the generated graphs
+   */
+  @Inject
+  public AfclReaderLazy(
+      @Constant(value = "filePath", namespace = AfclReader.class) final String filePath,
+      @Constant(value = "asyncGeneration",
+          namespace = AfclReaderLazy.class) final boolean asyncGeneration,
+      @Constant(value = "parallelCompounds",
+          namespace = AfclReader.class) final boolean parallelCompounds,
+      @Constant(value = "mergeConstants",
+          namespace = AfclReader.class) final boolean mergeConstants,
+      final EnactmentGraphCache graphCache, final StartupListener startupListener,
+      final GraphValidator graphValidator) {
+    this.filePath = filePath;
+    this.parallelCompounds = parallelCompounds;
+    this.mergeConstants = mergeConstants;
+    this.graphCache = graphCache;
+    this.startupListener = startupListener;
+    this.graphValidator = graphValidator;
+    this.graphGeneration = new FutureTask<>(this::readEnactmentGraph);
+    if (asyncGeneration) {
+      final Thread generationThread = new Thread(graphGeneration, "afcl-graph-generation");
+      generationThread.setDaemon(true);
+      generationThread.start();
+    }
+  }
+
+  /**
+   * Constructor used to read the workflow from a file without graph caching.
+   *
+   * @param filePath the path to the .afcl/.cfcl file
+   * @param asyncGeneration if true, the generation is started in a background
+   *        thread right after the construction
+   */
+  public AfclReaderLazy(final String filePath, final boolean asyncGeneration) {
+    this(filePath, asyncGeneration, false, false, new EnactmentGraphCacheNone(),
+        new StartupListenerNone(), new GraphValidatorDefault());
+  }
+
+  @Override
+  public EnactmentGraph getEnactmentGraph() {
+    // no effect if the generation was already started by another thread
+    graphGeneration.run();
+    try {
+      return graphGeneration.get();
+    } catch (ExecutionException exExc) {
+      if (exExc.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) exExc.getCause();
+      }
+      throw new IllegalStateException("Exception when generating the enactment graph.",
+          exExc.getCause());
+    } catch (InterruptedException interruptExc) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the enactment graph.",
+          interruptExc);
+    }
+  }
+
+  /**
+   * Reads the workflow file and returns the corresponding enactment graph.
+   *
+   * @return the enactment graph modeling the enactment process
+   */
+  protected EnactmentGraph readEnactmentGraph() {
+    return new AfclReader(filePath, parallelCompounds, mergeConstants, graphCache,
+        startupListener, graphValidator).getEnactmentGraph();
+  }
+}
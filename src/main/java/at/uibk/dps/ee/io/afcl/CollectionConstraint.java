@@ -0,0 +1,181 @@
+package at.uibk.dps.ee.io.afcl;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import at.uibk.dps.afcl.functions.objects.PropertyConstraint;
+import at.uibk.dps.ee.model.constants.ConstantsEEModel;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunctionUtilityCollections.CollectionOperation;
+
+/**
+ * Compiled form of an AFCL constraint describing a collection operation
+ * (element-index, block, split, or replicate). The constraint string is split
+ * and checked once at compilation. The compiled constraints are cached (per
+ * operation type and constraint string), so that workflows using the same
+ * constraints repeatedly (or using long element-index lists) are processed
+ * without parsing the constraint strings again.
+ *
+ * @author Fedor Smirnov
+ */
+public final class CollectionConstraint {
+
+  /**
+   * The maximal number of cached constraints per operation type. The least
+   * recently used constraints are evicted first.
+   */
+  static final int cacheCapacity = 256;
+
+  private static final Map<CollectionOperation, Map<String, CollectionConstraint>> cache =
+      new EnumMap<>(CollectionOperation.class);
+
+  private final CollectionOperation operation;
+  private final String subCollectionString;
+  private final List<String> entries;
+  private final Set<String> srcEntries;
+  private final String idSuffix;
+
+  /**
+   * Compiles the given constraint string.
+   *
+   * @param operation the collection operation
+   * @param subCollectionString the constraint string
+   */
+  CollectionConstraint(final CollectionOperation operation, final String subCollectionString) {
+    this.operation = operation;
+    this.subCollectionString = subCollectionString;
+    this.entries = Collections.unmodifiableList(
+        AfclCollectionOperations.getSubstrings(subCollectionString, operation));
+    if (!entries.stream()
+        .allMatch(entry -> AfclCollectionOperations.isLegalEntryString(entry, operation))) {
+      throw new IllegalArgumentException("Illegal collection operation strings: " + entries);
+    }
+    final Set<String> srcStrings = new LinkedHashSet<>();
+    entries.stream().filter(UtilsAfcl::isSrcString).forEach(srcStrings::add);
+    this.srcEntries = Collections.unmodifiableSet(srcStrings);
+    this.idSuffix = ConstantsEEModel.KeyWordSeparator2 + operation.name()
+        + ConstantsEEModel.KeyWordSeparator2 + subCollectionString;
+  }
+
+  /**
+   * Returns the compiled form of the given constraint (taken from the cache, if
+   * available).
+   *
+   * @param constraint the afcl constraint describing a collection operation
+   * @return the compiled form of the given constraint
+   */
+  public static CollectionConstraint of(final PropertyConstraint constraint) {
+    final String subCollectionString = constraint.getValue();
+    final CollectionOperation operation =
+        UtilsAfcl.getCollectionOperationType(constraint.getName(), subCollectionString);
+    return of(operation, subCollectionString);
+  }
+
+  /**
+   * Returns the compiled form of the given constraint string (taken from the
+   * cache, if available).
+   *
+   * @param operation the collection operation
+   * @param subCollectionString the constraint string
+   * @return the compiled form of the given constraint string
+   */
+  public static CollectionConstraint of(final CollectionOperation operation,
+      final String subCollectionString) {
+    final Map<String, CollectionConstraint> operationCache = getOperationCache(operation);
+    synchronized (operationCache) {
+      final CollectionConstraint cached = operationCache.get(subCollectionString);
+      if (cached != null) {
+        return cached;
+      }
+    }
+    // compiled outside of the lock; a concurrent compilation is harmless
+    final CollectionConstraint result = new CollectionConstraint(operation, subCollectionString);
+    synchronized (operationCache) {
+      operationCache.put(subCollectionString, result);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the cache for the constraints of the given operation type.
+   *
+   * @param operation the operation type
+   * @return the cache for the constraints of the given operation type
+   */
+  static Map<String, CollectionConstraint> getOperationCache(final CollectionOperation operation) {
+    synchronized (cache) {
+      return cache.computeIfAbsent(operation,
+          key -> new LinkedHashMap<String, CollectionConstraint>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(
+                final Map.Entry<String, CollectionConstraint> eldest) {
+              return size() > cacheCapacity;
+            }
+          });
+    }
+  }
+
+  /**
+   * Returns the ID of the data node modeling the result of applying this
+   * constraint to the data with the given ID.
+   *
+   * @param originalDataId the ID of the processed data
+   * @return the ID of the data node modeling the processed data
+   */
+  public String getProcessedDataId(final String originalDataId) {
+    return UtilsAfcl.intern(originalDataId + idSuffix);
+  }
+
+  /**
+   * Returns true iff the operation selects a single element (and its result is,
+   * therefore, not a collection).
+   *
+   * @return true iff the operation selects a single element
+   */
+  public boolean isOneElementResult() {
+    return operation.equals(CollectionOperation.ElementIndex) && entries.size() == 1;
+  }
+
+  /**
+   * Returns the collection operation.
+   *
+   * @return the collection operation
+   */
+  public CollectionOperation getOperation() {
+    return operation;
+  }
+
+  /**
+   * Returns the constraint string.
+   *
+   * @return the constraint string
+   */
+  public String getSubCollectionString() {
+    return subCollectionString;
+  }
+
+  /**
+   * Returns the entries of the constraint string, each of them describing a
+   * number (as value, src string, or, for element index, an empty string).
+   *
+   * @return the entries of the constraint string
+   */
+  public List<String> getEntries() {
+    return entries;
+  }
+
+  /**
+   * Returns the distinct entries which are src strings (in the order of their
+   * first occurrence).
+   *
+   * @return the distinct entries which are src strings
+   */
+  public Set<String> getSrcEntries() {
+    return srcEntries;
+  }
+}
@@ -0,0 +1,157 @@
+package at.uibk.dps.ee.io.afcl;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import at.uibk.dps.ee.model.constants.ConstantsEEModel;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+import at.uibk.dps.ee.model.properties.PropertyServiceData;
+import at.uibk.dps.ee.model.properties.PropertyServiceData.DataType;
+import net.sf.opendse.model.Task;
+
+/**
+ * The {@link ConstantPool} parses each distinct constant of a workflow once and
+ * provides the parsed content to all constant nodes modeling the constant.
+ * Immutable content (primitives and null) is shared between the nodes, while
+ * each node gets its own deep copy of json objects and arrays, so that the
+ * content modified by one consumer is never seen by another one. Optionally,
+ * the pool merges the constant nodes with identical content and type, so that
+ * the graph contains a single node for each distinct constant. The ID of a
+ * merged node is derived from a short digest of the constant. The pool can be
+ * accessed concurrently.
+ *
+ * @author Fedor Smirnov
+ */
+public final class ConstantPool {
+
+  /**
+   * The number of hex characters of the digest used in the IDs of merged nodes.
+   */
+  static final int digestLength = 16;
+
+  private final boolean mergeNodes;
+  private final Map<String, JsonElement> contents = new ConcurrentHashMap<>();
+  private final Map<String, String> mergedIds = new ConcurrentHashMap<>();
+
+  /**
+   * Default constructor.
+   *
+   * @param mergeNodes if true, the constant nodes with identical content and type
+   *        are merged into one
+   */
+  public ConstantPool(final boolean mergeNodes) {
+    this.mergeNodes = mergeNodes;
+  }
+
+  /**
+   * Returns the parsed content of the given constant string. Json objects and
+   * arrays are returned as a new deep copy on each call.
+   *
+   * @param constantString the constant string
+   * @return the parsed content of the given constant string
+   */
+  public JsonElement getContent(final String constantString) {
+    final JsonElement parsed = getParsed(constantString);
+    return parsed.isJsonObject() || parsed.isJsonArray() ? parsed.deepCopy() : parsed;
+  }
+
+  /**
+   * Returns the parsed content of the given constant string as kept in the
+   * pool. The returned element is shared and must not be handed to the nodes.
+   *
+   * @param constantString the constant string
+   * @return the parsed content of the given constant string
+   */
+  private JsonElement getParsed(final String constantString) {
+    final JsonElement cached = contents.get(constantString);
+    if (cached != null) {
+      return cached;
+    }
+    final JsonElement parsed = JsonParser.parseString(constantString);
+    final JsonElement existing = contents.putIfAbsent(constantString, parsed);
+    return existing == null ? parsed : existing;
+  }
+
+  /**
+   * Returns the ID of the merged node modeling the given constant string.
+   *
+   * @param constantString the constant string
+   * @return the ID of the merged node modeling the given constant string
+   */
+  String getMergedId(final String constantString) {
+    return mergedIds.computeIfAbsent(constantString,
+        key -> UtilsAfcl.canonicalize(ConstantsEEModel.ConstantNodeAffix
+            + ConstantsAfcl.SourceAffix + getDigest(key)));
+  }
+
+  /**
+   * Returns the first {@link #digestLength} hex characters of the SHA-256
+   * digest of the given constant string.
+   *
+   * @param constantString the constant string
+   * @return the short digest of the given constant string
+   */
+  static String getDigest(final String constantString) {
+    try {
+      final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      final byte[] hash = digest.digest(constantString.getBytes(StandardCharsets.UTF_8));
+      return String.format("%064x", new BigInteger(1, hash)).substring(0, digestLength);
+    } catch (NoSuchAlgorithmException algoExc) {
+      throw new IllegalStateException("SHA-256 not supported by the JVM.", algoExc);
+    }
+  }
+
+  /**
+   * Returns the node modeling the given constant. If node merging is enabled,
+   * the returned node is the one modeling all constants with the same string and
+   * type (it is taken from the graph, if present). Otherwise, or if the graph
+   * contains a node with the merged ID but a different type or content, a new
+   * node with the given ID is created.
+   *
+   * @param graph the enactment graph
+   * @param nodeId the ID of the node if it is not merged
+   * @param constantString the constant string
+   * @param dataType the data type of the constant
+   * @return the node modeling the given constant
+   */
+  public Task getConstantNode(final EnactmentGraph graph, final String nodeId,
+      final String constantString, final DataType dataType) {
+    if (mergeNodes) {
+      final String mergedId = getMergedId(constantString);
+      final Task existing = graph.getVertex(mergedId);
+      if (existing == null) {
+        return PropertyServiceData.createConstantNode(mergedId, dataType,
+            getContent(constantString));
+      }
+      if (PropertyServiceData.isConstantNode(existing)
+          && PropertyServiceData.getDataType(existing).equals(dataType)
+          && PropertyServiceData.getContent(existing).equals(getParsed(constantString))) {
+        return existing;
+      }
+    }
+    return PropertyServiceData.createConstantNode(nodeId, dataType, getContent(constantString));
+  }
+
+  /**
+   * Returns true iff identical constant nodes are merged.
+   *
+   * @return true iff identical constant nodes are merged
+   */
+  public boolean isMergeNodes() {
+    return mergeNodes;
+  }
+
+  /**
+   * Returns the number of distinct constants parsed so far.
+   *
+   * @return the number of distinct constants parsed so far
+   */
+  public int size() {
+    return contents.size();
+  }
+}
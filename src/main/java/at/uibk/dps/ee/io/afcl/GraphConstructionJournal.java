@@ -0,0 +1,96 @@
+package at.uibk.dps.ee.io.afcl;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import net.sf.opendse.model.Task;
+
+/**
+ * Static container for the journal recording the nodes which are added to the
+ * enactment graph while the body of a compound is processed. The compound
+ * handlers open a scope before processing a body and retrieve the nodes added
+ * within the scope when closing it. Scopes are nested: the nodes recorded in an
+ * inner scope are also part of the enclosing scopes.
+ *
+ * @author Fedor Smirnov
+ */
+public final class GraphConstructionJournal {
+
+  /**
+   * The stack of the currently open scopes (the graph generation of one workflow
+   * is done by a single thread).
+   */
+  private static final ThreadLocal<Deque<JournalScope>> openScopes =
+      ThreadLocal.withInitial(ArrayDeque::new);
+
+  /**
+   * No constructor.
+   */
+  private GraphConstructionJournal() {}
+
+  /**
+   * Opens a new scope. All nodes recorded until the scope is closed are
+   * attributed to it.
+   */
+  public static void openScope() {
+    openScopes.get().push(new JournalScope());
+  }
+
+  /**
+   * Closes the innermost scope and returns it. The nodes recorded within it are
+   * also attributed to the enclosing scope (if any).
+   *
+   * @return the closed scope
+   */
+  public static JournalScope closeScope() {
+    final Deque<JournalScope> scopes = openScopes.get();
+    if (scopes.isEmpty()) {
+      throw new IllegalStateException("No open scope in the graph construction journal.");
+    }
+    final JournalScope result = scopes.pop();
+    if (scopes.isEmpty()) {
+      openScopes.remove();
+    } else {
+      scopes.peek().addAll(result);
+    }
+    return result;
+  }
+
+  /**
+   * Records a function node which was added to the graph. Has no effect if no
+   * scope is open.
+   *
+   * @param functionNode the added function node
+   */
+  public static void recordFunctionNode(final Task functionNode) {
+    final Deque<JournalScope> scopes = openScopes.get();
+    if (!scopes.isEmpty()) {
+      scopes.peek().addFunctionNode(functionNode);
+    }
+  }
+
+  /**
+   * Records a while start node which was added to the graph. Has no effect if no
+   * scope is open.
+   *
+   * @param whileStart the added while start node
+   */
+  public static void recordWhileStart(final Task whileStart) {
+    final Deque<JournalScope> scopes = openScopes.get();
+    if (!scopes.isEmpty()) {
+      scopes.peek().addWhileStart(whileStart);
+    }
+  }
+
+  /**
+   * Records a while counter node which was added to the graph. Has no effect if
+   * no scope is open.
+   *
+   * @param whileCounter the added while counter node
+   */
+  public static void recordWhileCounter(final Task whileCounter) {
+    final Deque<JournalScope> scopes = openScopes.get();
+    if (!scopes.isEmpty()) {
+      scopes.peek().addWhileCounter(whileCounter);
+    }
+  }
+}
@@ -8,6 +8,7 @@ import at.uibk.dps.afcl.Workflow;
 import at.uibk.dps.afcl.functions.objects.DataIns;
 import at.uibk.dps.afcl.functions.objects.DataOuts;
 import at.uibk.dps.ee.io.validation.GraphValidation;
+import at.uibk.dps.ee.io.validation.GraphValidator;
 import at.uibk.dps.ee.model.constants.ConstantsEEModel;
 import at.uibk.dps.ee.model.graph.EnactmentGraph;
 import at.uibk.dps.ee.model.properties.PropertyServiceData;
@@ -26,6 +27,13 @@ import net.sf.opendse.model.Task;
  */
 public final class GraphGenerationAfcl {
 
+  /**
+   * Identifies the revision of the graph generation (used to invalidate cached
+   * graphs). Has to be increased whenever a change of the generation changes
+   * the generated graphs.
+   */
+  public static final int generatorRevision = 1;
+
   /**
    * Static container => no constructor
    */
@@ -33,24 +41,84 @@ public final class GraphGenerationAfcl {
 
   /**
    * Generates and returns the {@link EnactmentGraph} based on the provided
-   * {@link Workflow}.
+   * {@link Workflow}. The graph is validated with all available checks.
    * 
    * @param afclWorkflow the {@link Workflow} object created from an .afcl/.cfcl
    *        file
    * @return the {@link EnactmentGraph} modeling the enactment of the workflow
    */
   public static EnactmentGraph generateEnactmentGraph(final Workflow afclWorkflow) {
-    // remember the while references for the workflow
-    final Map<String, Set<WhileInputReference>> whileReferences =
-        AfclCompounds.parseWhileRelations(afclWorkflow);
-    final EnactmentGraph result = new EnactmentGraph();
-    addWfInputNodes(result, AfclApiWrapper.getDataIns(afclWorkflow),
-        AfclApiWrapper.getName(afclWorkflow));
-    addWfFunctions(result, afclWorkflow);
-    annotateWfOutputs(result, AfclApiWrapper.getDataOuts(afclWorkflow), afclWorkflow);
-    annotateWhileReferences(result, whileReferences);
-    GraphValidation.validateGraph(result);
-    return result;
+    return generateEnactmentGraph(afclWorkflow, GraphValidation::validateGraph);
+  }
+
+  /**
+   * Generates and returns the {@link EnactmentGraph} based on the provided
+   * {@link Workflow}. The graph is validated with the given validator.
+   * 
+   * @param afclWorkflow the {@link Workflow} object created from an .afcl/.cfcl
+   *        file
+   * @param validator the validator for the generated graph
+   * @return the {@link EnactmentGraph} modeling the enactment of the workflow
+   */
+  public static EnactmentGraph generateEnactmentGraph(final Workflow afclWorkflow,
+      final GraphValidator validator) {
+    return generateEnactmentGraph(afclWorkflow, validator, false);
+  }
+
+  /**
+   * Generates and returns the {@link EnactmentGraph} based on the provided
+   * {@link Workflow}. The graph is validated with the given validator.
+   * 
+   * @param afclWorkflow the {@link Workflow} object created from an .afcl/.cfcl
+   *        file
+   * @param validator the validator for the generated graph
+   * @param parallelCompounds if true, the independent top-level compounds are
+   *        processed concurrently
+   * @return the {@link EnactmentGraph} modeling the enactment of the workflow
+   */
+  public static EnactmentGraph generateEnactmentGraph(final Workflow afclWorkflow,
+      final GraphValidator validator, final boolean parallelCompounds) {
+    return generateEnactmentGraph(afclWorkflow, validator, parallelCompounds, false);
+  }
+
+  /**
+   * Generates and returns the {@link EnactmentGraph} based on the provided
+   * {@link Workflow}. The graph is validated with the given validator.
+   * 
+   * @param afclWorkflow the {@link Workflow} object created from an .afcl/.cfcl
+   *        file
+   * @param validator the validator for the generated graph
+   * @param parallelCompounds if true, the independent top-level compounds are
+   *        processed concurrently
+   * @param mergeConstants if true, identical constants are modeled by a single
+   *        node
+   * @return the {@link EnactmentGraph} modeling the enactment of the workflow
+   */
+  public static EnactmentGraph generateEnactmentGraph(final Workflow afclWorkflow,
+      final GraphValidator validator, final boolean parallelCompounds,
+      final boolean mergeConstants) {
+    try {
+      // activates the index (and its pools) for this thread
+      WorkflowIndex.of(afclWorkflow).useConstantPool(new ConstantPool(mergeConstants));
+      // remember the while references for the workflow
+      final Map<String, Set<WhileInputReference>> whileReferences =
+          AfclCompounds.parseWhileRelations(afclWorkflow);
+      final EnactmentGraph result = new EnactmentGraph();
+      addWfInputNodes(result, AfclApiWrapper.getDataIns(afclWorkflow),
+          AfclApiWrapper.getName(afclWorkflow));
+      if (parallelCompounds) {
+        GraphGenerationAfclParallel.addWfFunctions(result, afclWorkflow);
+      } else {
+        addWfFunctions(result, afclWorkflow);
+      }
+      annotateWfOutputs(result, AfclApiWrapper.getDataOuts(afclWorkflow), afclWorkflow);
+      annotateWhileReferences(result, whileReferences);
+      validator.validate(result);
+      return result;
+    } finally {
+      // the function index is not needed after the generation
+      WorkflowIndex.release(afclWorkflow);
+    }
   }
 
   /**
@@ -0,0 +1,253 @@
+package at.uibk.dps.ee.io.afcl;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import at.uibk.dps.afcl.Function;
+import at.uibk.dps.afcl.Workflow;
+import at.uibk.dps.afcl.functions.AtomicFunction;
+import at.uibk.dps.afcl.functions.IfThenElse;
+import at.uibk.dps.afcl.functions.ParallelFor;
+import at.uibk.dps.afcl.functions.While;
+import at.uibk.dps.afcl.functions.objects.Condition;
+import at.uibk.dps.afcl.functions.objects.DataIns;
+import at.uibk.dps.afcl.functions.objects.DataOuts;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+import net.sf.opendse.model.Communication;
+import net.sf.opendse.model.Dependency;
+import net.sf.opendse.model.Element;
+import net.sf.opendse.model.Task;
+
+/**
+ * Static container for the methods used to generate the graph elements of
+ * independent top-level compounds concurrently. A top-level compound is
+ * independent if it only references the workflow inputs, constants, and data
+ * from within its own body. The subgraph of each independent compound is built
+ * into a separate partial graph on the fork-join pool. The partial graphs are
+ * merged into the enactment graph in the order of the workflow body, with the
+ * remaining functions being processed sequentially in between, so that the
+ * result does not depend on the thread scheduling.
+ *
+ * @author Fedor Smirnov
+ */
+public final class GraphGenerationAfclParallel {
+
+  /**
+   * No constructor.
+   */
+  private GraphGenerationAfclParallel() {}
+
+  /**
+   * Adds the functions contained within the given workflow to the enactment
+   * graph, processing the independent top-level compounds concurrently. The
+   * graph has to contain the workflow input nodes.
+   *
+   * @param graph the enactment graph
+   * @param afclWorkflow the given workflow
+   */
+  static void addWfFunctions(final EnactmentGraph graph, final Workflow afclWorkflow) {
+    final WorkflowIndex index = WorkflowIndex.of(afclWorkflow);
+    final String wfName = AfclApiWrapper.getName(afclWorkflow);
+    final List<Function> body = AfclApiWrapper.getWfBody(afclWorkflow);
+    final List<Function> independent = new ArrayList<>();
+    for (final Function function : body) {
+      if (!(function instanceof AtomicFunction) && isIndependent(function, wfName)) {
+        independent.add(function);
+      }
+    }
+    if (independent.size() < 2) {
+      GraphGenerationAfcl.addWfFunctions(graph, afclWorkflow);
+      return;
+    }
+    final List<Task> inputNodes = new ArrayList<>(graph.getVertices());
+    final Map<Function, ForkJoinTask<EnactmentGraph>> partialGraphs = new IdentityHashMap<>();
+    for (final Function compound : independent) {
+      partialGraphs.put(compound, ForkJoinPool.commonPool()
+          .submit(() -> generatePartialGraph(compound, afclWorkflow, index, inputNodes)));
+    }
+    for (final Function function : body) {
+      final ForkJoinTask<EnactmentGraph> partialGraph = partialGraphs.get(function);
+      if (partialGraph == null) {
+        AfclCompounds.addFunctionCompound(graph, function, afclWorkflow);
+      } else {
+        mergeGraph(graph, partialGraph.join());
+      }
+    }
+  }
+
+  /**
+   * Generates the partial graph modeling the given compound. The partial graph
+   * contains copies of the given workflow input nodes. The given index is used
+   * during the generation; afterwards, the index previously cached by the
+   * calling thread is restored.
+   *
+   * @param compound the processed compound
+   * @param afclWorkflow the afcl workflow
+   * @param index the index of the workflow
+   * @param inputNodes the nodes modeling the workflow inputs
+   * @return the partial graph modeling the given compound
+   */
+  static EnactmentGraph generatePartialGraph(final Function compound, final Workflow afclWorkflow,
+      final WorkflowIndex index, final List<Task> inputNodes) {
+    // the task may be run inline by a thread which is generating a graph itself
+    final WorkflowIndex previous = WorkflowIndex.current();
+    WorkflowIndex.use(index);
+    try {
+      final EnactmentGraph result = new EnactmentGraph();
+      inputNodes.forEach(inputNode -> result.addVertex(copyNode(inputNode)));
+      AfclCompounds.addFunctionCompound(result, compound, afclWorkflow);
+      return result;
+    } finally {
+      WorkflowIndex.use(previous);
+    }
+  }
+
+  /**
+   * Adds the nodes and edges of the given partial graph to the given graph.
+   * Nodes which are already in the graph are not replaced; their attributes are
+   * complemented by the attributes of the node in the partial graph.
+   *
+   * @param graph the graph to extend
+   * @param partialGraph the partial graph
+   */
+  static void mergeGraph(final EnactmentGraph graph, final EnactmentGraph partialGraph) {
+    for (final Task node : partialGraph.getVertices()) {
+      final Task existing = graph.getVertex(node.getId());
+      if (existing == null) {
+        graph.addVertex(node);
+      } else {
+        copyMissingAttributes(node, existing);
+      }
+    }
+    for (final Dependency edge : partialGraph.getEdges()) {
+      if (graph.getEdge(edge.getId()) == null) {
+        final Task src = graph.getVertex(partialGraph.getSource(edge).getId());
+        final Task dest = graph.getVertex(partialGraph.getDest(edge).getId());
+        graph.addEdge(edge, src, dest, partialGraph.getEdgeType(edge));
+      }
+    }
+  }
+
+  /**
+   * Returns true iff the given top-level compound only references the workflow
+   * inputs, constants, and data produced within its own body.
+   *
+   * @param compound the top-level compound
+   * @param wfName the name of the workflow
+   * @return true iff the given compound is independent of the other top-level
+   *         functions
+   */
+  static boolean isIndependent(final Function compound, final String wfName) {
+    final List<Function> functions = new ArrayList<>();
+    collectFunctions(compound, functions);
+    final Set<String> producers = new HashSet<>();
+    producers.add(wfName);
+    functions.forEach(function -> producers.add(function.getName()));
+    return functions.stream().flatMap(function -> getSourceStrings(function).stream())
+        .allMatch(srcString -> isInternalReference(srcString, producers));
+  }
+
+  /**
+   * Returns true iff the given string is no reference or references data from
+   * one of the given producers.
+   *
+   * @param srcString the string
+   * @param producers the names of the producers
+   * @return true iff the given string does not reference data of other producers
+   */
+  static boolean isInternalReference(final String srcString, final Set<String> producers) {
+    if (!UtilsAfcl.isSrcString(srcString) || UtilsAfcl.isConstantSrcString(srcString)) {
+      return true;
+    }
+    return producers.contains(UtilsAfcl.getProducerId(srcString));
+  }
+
+  /**
+   * Adds the given function and all functions nested within it to the given
+   * list.
+   *
+   * @param function the given function
+   * @param result the list to extend
+   */
+  static void collectFunctions(final Function function, final List<Function> result) {
+    result.add(function);
+    WorkflowIndex.getBody(function).forEach(nested -> collectFunctions(nested, result));
+  }
+
+  /**
+   * Returns all strings of the given function which may reference data.
+   *
+   * @param function the given function
+   * @return all strings of the given function which may reference data
+   */
+  static List<String> getSourceStrings(final Function function) {
+    final List<String> result = new ArrayList<>();
+    for (final DataIns dataIn : AfclApiWrapper.getDataIns(function)) {
+      result.add(dataIn.getSource());
+    }
+    if (function instanceof AtomicFunction) {
+      return removeNull(result);
+    }
+    for (final DataOuts dataOut : AfclApiWrapper.getDataOuts(function)) {
+      result.add(dataOut.getSource());
+    }
+    List<Condition> conditions = new ArrayList<>();
+    if (function instanceof IfThenElse) {
+      conditions = Optional.ofNullable(((IfThenElse) function).getCondition()).orElse(conditions);
+    } else if (function instanceof While) {
+      conditions = Optional.ofNullable(((While) function).getCondition()).orElse(conditions);
+    } else if (function instanceof ParallelFor) {
+      result.addAll(Optional.ofNullable(((ParallelFor) function).getIterators())
+          .orElse(new ArrayList<>()));
+    }
+    for (final Condition condition : conditions) {
+      result.add(condition.getData1());
+      result.add(condition.getData2());
+    }
+    return removeNull(result);
+  }
+
+  /**
+   * Removes the null entries from the given list and returns it.
+   *
+   * @param strings the given list
+   * @return the list without null entries
+   */
+  static List<String> removeNull(final List<String> strings) {
+    strings.removeIf(string -> string == null);
+    return strings;
+  }
+
+  /**
+   * Creates a copy of the given data node (with the same id and attributes).
+   *
+   * @param node the given data node
+   * @return the copy of the given data node
+   */
+  static Task copyNode(final Task node) {
+    final Task result = new Communication(node.getId());
+    copyMissingAttributes(node, result);
+    return result;
+  }
+
+  /**
+   * Annotates the target element with the attributes of the source element which
+   * the target does not have yet.
+   *
+   * @param source the source element
+   * @param target the target element
+   */
+  static void copyMissingAttributes(final Element source, final Element target) {
+    for (final String attrName : source.getAttributeNames()) {
+      if (!target.getAttributeNames().contains(attrName)) {
+        target.setAttribute(attrName, source.getAttribute(attrName));
+      }
+    }
+  }
+}
@@ -35,13 +35,14 @@ public final class HierarchyLevellingAfcl {
    */
   public static String getSrcDataId(final String afclSource, final Function funcWithSrc,
       final Workflow workflow) {
-    final String funcName = UtilsAfcl.getProducerId(afclSource);
+    final SourceReference reference = UtilsAfcl.getSourceReference(afclSource);
+    final String funcName = reference.getProducerId();
     if (funcName.equals(workflow.getName())) {
       // pointing to a root node
       return afclSource;
     }
 
-    final String dataName = UtilsAfcl.getDataId(afclSource);
+    final String dataName = reference.getDataId();
     final Function function = AfclApiWrapper.getFunction(workflow, funcName);
     if (function instanceof AtomicFunction) {
       // pointing to the output of an atomic function
@@ -79,7 +80,7 @@ public final class HierarchyLevellingAfcl {
       return afclSource;
     }
     Optional<String> optRes = Optional.empty();
-    if (funcWithSrc == null || !AfclApiWrapper.contains(whileCompound, funcWithSrc)) {
+    if (funcWithSrc == null || !AfclApiWrapper.contains(workflow, whileCompound, funcWithSrc)) {
       // case where the request comes from outside the while compound (inclusive the
       // case where we are looking for the src of the WF data out)
       if (dataOutWithNameExists(whileCompound, dataName)) {
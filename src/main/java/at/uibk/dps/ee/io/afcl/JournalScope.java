@@ -0,0 +1,70 @@
+package at.uibk.dps.ee.io.afcl;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import net.sf.opendse.model.Task;
+
+/**
+ * The {@link JournalScope} holds the nodes recorded by the
+ * {@link GraphConstructionJournal} while the scope was open: the function nodes
+ * as well as the while start and the while counter nodes.
+ *
+ * @author Fedor Smirnov
+ */
+public class JournalScope {
+
+  private final Set<Task> functionNodes = new LinkedHashSet<>();
+  private final Set<Task> whileStarts = new LinkedHashSet<>();
+  private final Set<Task> whileCounters = new LinkedHashSet<>();
+
+  /**
+   * Records the given function node.
+   *
+   * @param functionNode the function node
+   */
+  void addFunctionNode(final Task functionNode) {
+    functionNodes.add(functionNode);
+  }
+
+  /**
+   * Records the given while start node.
+   *
+   * @param whileStart the while start node
+   */
+  void addWhileStart(final Task whileStart) {
+    whileStarts.add(whileStart);
+  }
+
+  /**
+   * Records the given while counter node.
+   *
+   * @param whileCounter the while counter node
+   */
+  void addWhileCounter(final Task whileCounter) {
+    whileCounters.add(whileCounter);
+  }
+
+  /**
+   * Adds all nodes recorded in the given (nested) scope to this scope.
+   *
+   * @param nested the nested scope
+   */
+  void addAll(final JournalScope nested) {
+    functionNodes.addAll(nested.functionNodes);
+    whileStarts.addAll(nested.whileStarts);
+    whileCounters.addAll(nested.whileCounters);
+  }
+
+  public Set<Task> getFunctionNodes() {
+    return Collections.unmodifiableSet(functionNodes);
+  }
+
+  public Set<Task> getWhileStarts() {
+    return Collections.unmodifiableSet(whileStarts);
+  }
+
+  public Set<Task> getWhileCounters() {
+    return Collections.unmodifiableSet(whileCounters);
+  }
+}
@@ -0,0 +1,199 @@
+package at.uibk.dps.ee.io.afcl;
+
+import at.uibk.dps.ee.model.constants.ConstantsEEModel;
+
+/**
+ * Immutable value describing an AFCL src string (e.g., "producer/data") which
+ * is parsed once at construction. Instances obtained from a
+ * {@link SourceReferencePool} share the string objects of the src string and
+ * its parts with all other references of the pool.
+ *
+ * @author Fedor Smirnov
+ */
+public final class SourceReference {
+
+  private static final String constantPrefix =
+      ConstantsEEModel.ConstantNodeAffix + ConstantsAfcl.SourceAffix;
+
+  private final String srcString;
+  private final String producerId;
+  private final String dataId;
+  private final boolean source;
+  private final boolean constant;
+  private final String firstIfOut;
+  private final String secondIfOut;
+
+  /**
+   * Constructor used by the parsing methods.
+   *
+   * @param srcString the src string
+   * @param producerId the part before the first source affix (null if not
+   *        present)
+   * @param dataId the part after the first source affix (null if not present)
+   * @param firstIfOut the part before the first if separator (null if not
+   *        present)
+   * @param secondIfOut the part after the first if separator (null if not
+   *        present)
+   */
+  SourceReference(final String srcString, final String producerId, final String dataId,
+      final String firstIfOut, final String secondIfOut) {
+    final String affix = ConstantsAfcl.SourceAffix;
+    this.srcString = srcString;
+    this.producerId = producerId;
+    this.dataId = dataId;
+    this.source = srcString.contains(affix) && !srcString.startsWith(affix)
+        && !srcString.endsWith(affix);
+    this.constant = srcString.startsWith(constantPrefix);
+    this.firstIfOut = firstIfOut;
+    this.secondIfOut = secondIfOut;
+  }
+
+  /**
+   * Parses the given src string without pooling.
+   *
+   * @param srcString the src string
+   * @return the reference described by the given src string
+   */
+  public static SourceReference parse(final String srcString) {
+    final String[] parts = srcString.split(ConstantsAfcl.SourceAffix);
+    final boolean ifOut = srcString.contains(ConstantsAfcl.IfFuncSeparator);
+    final String[] ifParts =
+        ifOut ? srcString.split(ConstantsAfcl.IfFuncSeparator) : new String[0];
+    return new SourceReference(srcString, getPart(parts, 0), getPart(parts, 1),
+        getPart(ifParts, 0), getPart(ifParts, 1));
+  }
+
+  /**
+   * Returns a copy of this reference using the canonical strings of the given
+   * pool.
+   *
+   * @param pool the pool providing the canonical strings
+   * @return a copy of this reference using the canonical strings of the pool
+   */
+  SourceReference canonicalize(final SourceReferencePool pool) {
+    return new SourceReference(pool.intern(srcString), pool.intern(producerId),
+        pool.intern(dataId), pool.intern(firstIfOut), pool.intern(secondIfOut));
+  }
+
+  /**
+   * Returns the entry of the given array with the given index, or null if the
+   * array is too short.
+   *
+   * @param parts the array
+   * @param idx the index
+   * @return the entry with the given index, or null if the array is too short
+   */
+  static String getPart(final String[] parts, final int idx) {
+    return parts.length > idx ? parts[idx] : null;
+  }
+
+  /**
+   * Returns the src string.
+   *
+   * @return the src string
+   */
+  public String getSrcString() {
+    return srcString;
+  }
+
+  /**
+   * Returns true iff the src string describes data produced by a producer.
+   *
+   * @return true iff the src string describes data produced by a producer
+   */
+  public boolean isSource() {
+    return source;
+  }
+
+  /**
+   * Returns true iff the src string describes constant data.
+   *
+   * @return true iff the src string describes constant data
+   */
+  public boolean isConstant() {
+    return constant;
+  }
+
+  /**
+   * Returns true iff the src string describes the src of a data out of an if
+   * compound.
+   *
+   * @return true iff the src string describes the src of an if data out
+   */
+  public boolean isIfOut() {
+    return firstIfOut != null;
+  }
+
+  /**
+   * Returns the producer ID.
+   *
+   * @return the producer ID
+   */
+  public String getProducerId() {
+    return checkPart(producerId, "producer");
+  }
+
+  /**
+   * Returns the data ID.
+   *
+   * @return the data ID
+   */
+  public String getDataId() {
+    return checkPart(dataId, "data");
+  }
+
+  /**
+   * Returns the src string of the first function of an if data out.
+   *
+   * @return the src string of the first function of an if data out
+   */
+  public String getFirstIfOut() {
+    return checkPart(firstIfOut, "first if");
+  }
+
+  /**
+   * Returns the src string of the second function of an if data out.
+   *
+   * @return the src string of the second function of an if data out
+   */
+  public String getSecondIfOut() {
+    return checkPart(secondIfOut, "second if");
+  }
+
+  /**
+   * Returns the given part of the src string. Throws an exception if the part is
+   * not present.
+   *
+   * @param part the part
+   * @param description the description of the part
+   * @return the given part
+   */
+  String checkPart(final String part, final String description) {
+    if (part == null) {
+      throw new IllegalArgumentException(
+          "The string " + srcString + " does not contain a " + description + " part.");
+    }
+    return part;
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof SourceReference)) {
+      return false;
+    }
+    return srcString.equals(((SourceReference) obj).srcString);
+  }
+
+  @Override
+  public int hashCode() {
+    return srcString.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return srcString;
+  }
+}
@@ -0,0 +1,74 @@
+package at.uibk.dps.ee.io.afcl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@link SourceReferencePool} canonicalizes the src strings and data node
+ * IDs processed during the generation of one enactment graph. Each src string
+ * is parsed only once, and equal strings (src strings, their parts, and the
+ * generated node IDs) are represented by a single string object, so that the
+ * nodes of the generated graph do not retain duplicate IDs. The pool can be
+ * accessed concurrently.
+ *
+ * @author Fedor Smirnov
+ */
+public final class SourceReferencePool {
+
+  private final Map<String, String> strings = new ConcurrentHashMap<>();
+  private final Map<String, SourceReference> references = new ConcurrentHashMap<>();
+  private final Map<String, Map<String, String>> dataNodeIds = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the canonical representation of the given string.
+   *
+   * @param string the given string (may be null)
+   * @return the canonical representation of the given string
+   */
+  public String intern(final String string) {
+    if (string == null) {
+      return null;
+    }
+    final String existing = strings.putIfAbsent(string, string);
+    return existing == null ? string : existing;
+  }
+
+  /**
+   * Returns the parsed reference for the given src string.
+   *
+   * @param srcString the src string
+   * @return the parsed reference for the given src string
+   */
+  public SourceReference get(final String srcString) {
+    final SourceReference cached = references.get(srcString);
+    if (cached != null) {
+      return cached;
+    }
+    final SourceReference canonical = SourceReference.parse(srcString).canonicalize(this);
+    final SourceReference existing = references.putIfAbsent(canonical.getSrcString(), canonical);
+    return existing == null ? canonical : existing;
+  }
+
+  /**
+   * Returns the canonical ID of the data node modeling the data with the given
+   * data ID produced by the producer with the given ID.
+   *
+   * @param producerId the producer ID
+   * @param dataId the data ID
+   * @return the canonical ID of the data node
+   */
+  public String getDataNodeId(final String producerId, final String dataId) {
+    return dataNodeIds.computeIfAbsent(producerId, key -> new ConcurrentHashMap<>())
+        .computeIfAbsent(dataId,
+            key -> intern(producerId + ConstantsAfcl.SourceAffix + dataId));
+  }
+
+  /**
+   * Returns the number of canonical strings in the pool.
+   *
+   * @return the number of canonical strings in the pool
+   */
+  public int size() {
+    return strings.size();
+  }
+}
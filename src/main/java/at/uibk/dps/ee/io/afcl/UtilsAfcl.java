@@ -14,7 +14,6 @@ import at.uibk.dps.afcl.functions.ParallelFor;
 import at.uibk.dps.afcl.functions.While;
 import at.uibk.dps.afcl.functions.objects.DataIns;
 import at.uibk.dps.afcl.functions.objects.PropertyConstraint;
-import at.uibk.dps.ee.model.constants.ConstantsEEModel;
 import at.uibk.dps.ee.model.objects.Condition.CombinedWith;
 import at.uibk.dps.ee.model.objects.Condition.Operator;
 import at.uibk.dps.ee.model.properties.PropertyServiceData.DataType;
@@ -182,6 +181,53 @@ public final class UtilsAfcl {
     return false;
   }
 
+  /**
+   * Returns the parsed reference for the given src string. During the graph
+   * generation, the reference is taken from the pool of the workflow processed by
+   * the calling thread, so that each src string is only parsed once.
+   * 
+   * @param srcString the src string
+   * @return the parsed reference for the given src string
+   */
+  public static SourceReference getSourceReference(final String srcString) {
+    final SourceReferencePool pool = WorkflowIndex.getActivePool();
+    return pool == null ? SourceReference.parse(srcString) : pool.get(srcString);
+  }
+
+  /**
+   * Returns the canonical representation of the given src string (the string
+   * itself if no workflow is processed by the calling thread).
+   * 
+   * @param srcString the src string
+   * @return the canonical representation of the given src string
+   */
+  public static String canonicalize(final String srcString) {
+    return getSourceReference(srcString).getSrcString();
+  }
+
+  /**
+   * Returns the constant pool of the workflow processed by the calling thread (a
+   * new pool without node merging if no workflow is processed).
+   * 
+   * @return the constant pool of the workflow processed by the calling thread
+   */
+  public static ConstantPool getConstantPool() {
+    final ConstantPool pool = WorkflowIndex.getActiveConstantPool();
+    return pool == null ? new ConstantPool(false) : pool;
+  }
+
+  /**
+   * Returns the canonical representation of the given string, e.g., a JSON key
+   * (the string itself if no workflow is processed by the calling thread).
+   * 
+   * @param string the given string
+   * @return the canonical representation of the given string
+   */
+  public static String intern(final String string) {
+    final SourceReferencePool pool = WorkflowIndex.getActivePool();
+    return pool == null ? string : pool.intern(string);
+  }
+
   /**
    * Returns the ID of a data object which is created by the producer with the
    * producer ID and is named with the dataID
@@ -192,7 +238,9 @@ public final class UtilsAfcl {
    *         producer ID and is named with the dataID
    */
   public static String getDataNodeId(final String producerId, final String dataId) {
-    return producerId + ConstantsAfcl.SourceAffix + dataId;
+    final SourceReferencePool pool = WorkflowIndex.getActivePool();
+    return pool == null ? producerId + ConstantsAfcl.SourceAffix + dataId
+        : pool.getDataNodeId(producerId, dataId);
   }
 
   /**
@@ -202,8 +250,7 @@ public final class UtilsAfcl {
    * @return true iff the provided string describes data produced by a producer
    */
   public static boolean isSrcString(final String srcString) {
-    final String affix = ConstantsAfcl.SourceAffix;
-    return srcString.contains(affix) && !srcString.startsWith(affix) && !srcString.endsWith(affix);
+    return getSourceReference(srcString).isSource();
   }
 
   /**
@@ -213,7 +260,7 @@ public final class UtilsAfcl {
    * @return true iff the provided string describes constant data
    */
   public static boolean isConstantSrcString(final String string) {
-    return string.startsWith(ConstantsEEModel.ConstantNodeAffix + ConstantsAfcl.SourceAffix);
+    return getSourceReference(string).isConstant();
   }
 
   /**
@@ -223,7 +270,7 @@ public final class UtilsAfcl {
    * @return the producer ID from the given srcString
    */
   public static String getProducerId(final String srcString) {
-    return getSrcSubString(srcString, true);
+    return getSourceReference(srcString).getProducerId();
   }
 
   /**
@@ -233,21 +280,7 @@ public final class UtilsAfcl {
    * @return the data ID from the given srcString
    */
   public static String getDataId(final String srcString) {
-    return getSrcSubString(srcString, false);
-  }
-
-  /**
-   * Returns a substring of the given src string correspopnding to the producer id
-   * (true) or the data id (false).
-   * 
-   * @param srcString the srcString
-   * @param producer true if asking for the producer, false for the data id
-   * @return a substring of the given src string correspopnding to the producer id
-   *         (true) or the data id (false)
-   */
-  static String getSrcSubString(final String srcString, final boolean producer) {
-    return producer ? srcString.split(ConstantsAfcl.SourceAffix)[0]
-        : srcString.split(ConstantsAfcl.SourceAffix)[1];
+    return getSourceReference(srcString).getDataId();
   }
 
   /**
@@ -259,7 +292,7 @@ public final class UtilsAfcl {
    *         compound
    */
   public static boolean isIfOutSrc(final String srcString) {
-    return srcString.contains(ConstantsAfcl.IfFuncSeparator);
+    return getSourceReference(srcString).isIfOut();
   }
 
   /**
@@ -270,7 +303,7 @@ public final class UtilsAfcl {
    * @return the substring of the first function read from the given if src string
    */
   public static String getFirstSubStringIfOut(final String srcString) {
-    return getIfOutSubString(srcString, true);
+    return getSourceReference(srcString).getFirstIfOut();
   }
 
   /**
@@ -282,21 +315,7 @@ public final class UtilsAfcl {
    *         string
    */
   public static String getSecondSubStringIfOut(final String srcString) {
-    return getIfOutSubString(srcString, false);
-  }
-
-  /**
-   * Returns either the first of the second substring of the given src string of
-   * an if out.
-   * 
-   * @param srcString the given string
-   * @param first true iff asking for the first string
-   * @return either the first of the second substring of the given src string of
-   *         an if out
-   */
-  static String getIfOutSubString(final String srcString, final boolean first) {
-    return first ? srcString.split(ConstantsAfcl.IfFuncSeparator)[0]
-        : srcString.split(ConstantsAfcl.IfFuncSeparator)[1];
+    return getSourceReference(srcString).getSecondIfOut();
   }
 
   /**
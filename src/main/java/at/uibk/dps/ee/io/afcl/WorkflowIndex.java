@@ -0,0 +1,261 @@
+package at.uibk.dps.ee.io.afcl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import at.uibk.dps.afcl.Function;
+import at.uibk.dps.afcl.Workflow;
+import at.uibk.dps.afcl.functions.AtomicFunction;
+import at.uibk.dps.afcl.functions.IfThenElse;
+import at.uibk.dps.afcl.functions.LoopCompound;
+
+/**
+ * The {@link WorkflowIndex} maps the names of the functions of an AFCL
+ * {@link Workflow} to the function objects and to the compounds directly
+ * enclosing them. The index is built in a single traversal of the workflow
+ * body, so that function lookups during the graph generation do not require a
+ * search through the whole workflow. The index also provides the
+ * {@link SourceReferencePool} used to canonicalize the src strings of the
+ * workflow and the {@link ConstantPool} used for its constants.
+ *
+ * @author Fedor Smirnov
+ */
+public final class WorkflowIndex {
+
+  /**
+   * The index of the workflow processed last by the current thread. The graph
+   * generation processes one workflow at a time, so that a single slot suffices
+   * to reuse the index across the static methods of the afcl package.
+   */
+  private static final ThreadLocal<WorkflowIndex> lastIndex = new ThreadLocal<>();
+
+  private final Workflow workflow;
+  private final Map<String, Function> functions = new HashMap<>();
+  private final Map<String, Function> parents = new HashMap<>();
+  private final SourceReferencePool sourceReferences = new SourceReferencePool();
+  private ConstantPool constantPool = new ConstantPool(false);
+
+  /**
+   * Builds the index for the given workflow.
+   *
+   * @param workflow the indexed workflow
+   */
+  WorkflowIndex(final Workflow workflow) {
+    this.workflow = workflow;
+    indexFunctions(AfclApiWrapper.getWfBody(workflow), null);
+  }
+
+  /**
+   * Returns the index of the given workflow. The index is reused as long as the
+   * same workflow object is requested by the calling thread.
+   *
+   * @param workflow the given workflow
+   * @return the index of the given workflow
+   */
+  public static WorkflowIndex of(final Workflow workflow) {
+    final WorkflowIndex cached = lastIndex.get();
+    if (cached != null && cached.workflow == workflow) {
+      return cached;
+    }
+    final WorkflowIndex result = new WorkflowIndex(workflow);
+    lastIndex.set(result);
+    return result;
+  }
+
+  /**
+   * Makes the given index available to the calling thread, so that threads
+   * processing parts of the same workflow concurrently can share one index. The
+   * function maps are only read after the construction and the source reference
+   * pool is thread-safe, so that the index can be accessed concurrently.
+   *
+   * @param index the shared index (null to drop the cached index)
+   */
+  static void use(final WorkflowIndex index) {
+    if (index == null) {
+      lastIndex.remove();
+    } else {
+      lastIndex.set(index);
+    }
+  }
+
+  /**
+   * Returns the index cached by the calling thread, or null if no index is
+   * cached. Used to restore the index of the calling thread after it was
+   * (temporarily) replaced via {@link #use(WorkflowIndex)}.
+   *
+   * @return the index cached by the calling thread, or null if no index is
+   *         cached
+   */
+  static WorkflowIndex current() {
+    return lastIndex.get();
+  }
+
+  /**
+   * Drops the index of the given workflow (if cached by the calling thread), so
+   * that the workflow object is not retained after the graph generation.
+   *
+   * @param workflow the workflow whose index is to be dropped
+   */
+  public static void release(final Workflow workflow) {
+    final WorkflowIndex cached = lastIndex.get();
+    if (cached != null && cached.workflow == workflow) {
+      lastIndex.remove();
+    }
+  }
+
+  /**
+   * Returns the source reference pool of the index cached by the calling thread,
+   * or null if no index is cached.
+   *
+   * @return the source reference pool of the cached index, or null if no index
+   *         is cached
+   */
+  static SourceReferencePool getActivePool() {
+    final WorkflowIndex cached = lastIndex.get();
+    return cached == null ? null : cached.sourceReferences;
+  }
+
+  /**
+   * Returns the constant pool of the index cached by the calling thread, or null
+   * if no index is cached.
+   *
+   * @return the constant pool of the cached index, or null if no index is cached
+   */
+  static ConstantPool getActiveConstantPool() {
+    final WorkflowIndex cached = lastIndex.get();
+    return cached == null ? null : cached.constantPool;
+  }
+
+  /**
+   * Sets the constant pool used for the constants of the indexed workflow. Has to
+   * be called before the graph generation starts.
+   *
+   * @param constantPool the constant pool
+   */
+  void useConstantPool(final ConstantPool constantPool) {
+    this.constantPool = constantPool;
+  }
+
+  /**
+   * Returns the pool used for the constants of the indexed workflow.
+   *
+   * @return the pool used for the constants of the indexed workflow
+   */
+  public ConstantPool getConstantPool() {
+    return constantPool;
+  }
+
+  /**
+   * Returns the pool canonicalizing the src strings of the indexed workflow.
+   *
+   * @return the pool canonicalizing the src strings of the indexed workflow
+   */
+  public SourceReferencePool getSourceReferences() {
+    return sourceReferences;
+  }
+
+  /**
+   * Returns the function with the given name.
+   *
+   * @param name the function name
+   * @return the function with the given name
+   */
+  public Function getFunction(final String name) {
+    return Optional.ofNullable(functions.get(name)).orElseThrow(() -> new IllegalStateException(
+        "Function " + name + " not found in WF " + workflow.getName()));
+  }
+
+  /**
+   * Returns true iff the workflow contains a function with the given name.
+   *
+   * @param name the function name
+   * @return true iff the workflow contains a function with the given name
+   */
+  public boolean hasFunction(final String name) {
+    return functions.containsKey(name);
+  }
+
+  /**
+   * Returns an optional of the compound directly enclosing the function with the
+   * given name. The optional is empty for functions on the WF level.
+   *
+   * @param name the function name
+   * @return an optional of the compound directly enclosing the function with the
+   *         given name
+   */
+  public Optional<Function> getParent(final String name) {
+    if (!hasFunction(name)) {
+      throw new IllegalStateException(
+          "Function " + name + " not found in WF " + workflow.getName());
+    }
+    return Optional.ofNullable(parents.get(name));
+  }
+
+  /**
+   * Returns true iff the given subfunction is the given function or is (directly
+   * or indirectly) nested within its body.
+   *
+   * @param function the function potentially containing the other one
+   * @param subFunction the function potentially contained in the other one
+   * @return true iff the given subfunction is the given function or is nested
+   *         within its body
+   */
+  public boolean contains(final Function function, final Function subFunction) {
+    final String functionName = function.getName();
+    String current = subFunction.getName();
+    while (current != null) {
+      if (current.equals(functionName)) {
+        return true;
+      }
+      final Function parent = parents.get(current);
+      current = parent == null ? null : parent.getName();
+    }
+    return false;
+  }
+
+  /**
+   * Adds the given functions (and, recursively, their bodies) to the index.
+   * Functions with names which are already indexed are ignored, so that a lookup
+   * returns the first function in the depth-first order of the workflow.
+   *
+   * @param functionList the functions to index
+   * @param parent the compound enclosing the functions (null on WF level)
+   */
+  void indexFunctions(final List<Function> functionList, final Function parent) {
+    for (final Function function : functionList) {
+      final String name = function.getName();
+      if (!functions.containsKey(name)) {
+        functions.put(name, function);
+        if (parent != null) {
+          parents.put(name, parent);
+        }
+      }
+      indexFunctions(getBody(function), function);
+    }
+  }
+
+  /**
+   * Returns the list of functions directly nested in the given function.
+   *
+   * @param function the given function
+   * @return the list of functions directly nested in the given function
+   */
+  static List<Function> getBody(final Function function) {
+    final List<Function> result = new ArrayList<>();
+    if (function instanceof AtomicFunction) {
+      return result;
+    } else if (function instanceof LoopCompound) {
+      result.addAll(Optional.ofNullable(((LoopCompound) function).getLoopBody())
+          .orElse(new ArrayList<>()));
+    } else if (function instanceof IfThenElse) {
+      final IfThenElse ifElse = (IfThenElse) function;
+      result.addAll(Optional.ofNullable(ifElse.getThenBranch()).orElse(new ArrayList<>()));
+      result.addAll(Optional.ofNullable(ifElse.getElseBranch()).orElse(new ArrayList<>()));
+    } else {
+      throw new IllegalStateException("Unknown compound:" + function.getName());
+    }
+    return result;
+  }
+}
@@ -0,0 +1,39 @@
+package at.uibk.dps.ee.io.cache;
+
+import java.util.Optional;
+import com.google.inject.ImplementedBy;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+
+/**
+ * Interface for the classes caching the {@link EnactmentGraph}s generated from
+ * workflow files. The cache entries are identified by the content of the
+ * workflow files and by a key describing the options of the graph generation.
+ *
+ * @author Fedor Smirnov
+ */
+@ImplementedBy(EnactmentGraphCacheNone.class)
+public interface EnactmentGraphCache {
+
+  /**
+   * Returns an optional of the graph generated from the given workflow data
+   * with the given generation options. The optional is empty if no such graph
+   * is cached.
+   *
+   * @param workflowData the content of the workflow file
+   * @param generationKey description of the options of the graph generation
+   * @return an optional of the graph cached for the given workflow data
+   */
+  Optional<EnactmentGraph> load(byte[] workflowData, String generationKey);
+
+  /**
+   * Stores the graph generated from the given workflow data with the given
+   * generation options.
+   *
+   * @param workflowData the content of the workflow file
+   * @param generationKey description of the options of the graph generation
+   * @param graph the graph generated from the workflow data
+   * @throws IllegalArgumentException if the graph contains attributes which
+   *         cannot be cached
+   */
+  void store(byte[] workflowData, String generationKey, EnactmentGraph graph);
+}
@@ -0,0 +1,226 @@
+package at.uibk.dps.ee.io.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.opt4j.core.start.Constant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+
+/**
+ * The {@link EnactmentGraphCacheDisk} stores the generated
+ * {@link EnactmentGraph}s as compressed binary files in a directory on the
+ * local storage. The entries are identified by a hash of the workflow data, of
+ * the options of the graph generation, of the EE-IO version, and of the format
+ * version of the {@link EnactmentGraphCodec}. When the overall size of the entries exceeds the
+ * configured bound, the least recently used entries are removed.
+ *
+ * @author Fedor Smirnov
+ */
+@Singleton
+public class EnactmentGraphCacheDisk implements EnactmentGraphCache {
+
+  protected static final String entrySuffix = ".egc";
+  protected static final String unknownVersion = "unknown";
+  protected static final long bytesPerMb = 1024L * 1024L;
+
+  protected final Logger logger = LoggerFactory.getLogger(EnactmentGraphCacheDisk.class);
+
+  protected final Path cacheDirectory;
+  protected final long maxSizeBytes;
+
+  /**
+   * Injection constructor.
+   *
+   * @param directory the path to the directory where the graphs are stored
+   * @param maxSizeMb the maximal overall size of the cache entries (in MB)
+   */
+  @Inject
+  public EnactmentGraphCacheDisk(
+      @Constant(value = "directory",
+          namespace = EnactmentGraphCacheDisk.class) final String directory,
+      @Constant(value = "maxSizeMb", namespace = EnactmentGraphCacheDisk.class) final int maxSizeMb) {
+    this(Paths.get(directory), maxSizeMb * bytesPerMb);
+  }
+
+  /**
+   * Constructor with the size bound given in bytes.
+   *
+   * @param cacheDirectory the directory where the graphs are stored
+   * @param maxSizeBytes the maximal overall size of the cache entries (in bytes)
+   */
+  public EnactmentGraphCacheDisk(final Path cacheDirectory, final long maxSizeBytes) {
+    this.cacheDirectory = cacheDirectory;
+    this.maxSizeBytes = maxSizeBytes;
+  }
+
+  @Override
+  public Optional<EnactmentGraph> load(final byte[] workflowData, final String generationKey) {
+    final Path entry = getEntryPath(workflowData, generationKey);
+    if (!Files.exists(entry)) {
+      return Optional.empty();
+    }
+    try (InputStream input =
+        new GZIPInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+      final EnactmentGraph result = EnactmentGraphCodec.decode(input);
+      markAsUsed(entry);
+      return Optional.of(result);
+    } catch (IOException ioExc) {
+      logger.warn("Cached graph {} cannot be read and is discarded.", entry, ioExc);
+      deleteEntry(entry);
+      return Optional.empty();
+    }
+  }
+
+  @Override
+  public void store(final byte[] workflowData, final String generationKey,
+      final EnactmentGraph graph) {
+    Path tmpFile = null;
+    try {
+      Files.createDirectories(cacheDirectory);
+      tmpFile = Files.createTempFile(cacheDirectory, "entry", ".tmp");
+      try (OutputStream output =
+          new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+        EnactmentGraphCodec.encode(graph, output);
+      }
+      // the move makes the entry visible to other engines at once
+      Files.move(tmpFile, getEntryPath(workflowData, generationKey),
+          StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      evictEntries();
+    } catch (IOException ioExc) {
+      logger.warn("Enactment graph could not be cached.", ioExc);
+    } finally {
+      if (tmpFile != null) {
+        deleteEntry(tmpFile);
+      }
+    }
+  }
+
+  /**
+   * Removes the least recently used entries until the overall size of the cache
+   * is within the configured bound.
+   *
+   * @throws IOException if accessing the cache directory fails
+   */
+  protected void evictEntries() throws IOException {
+    final List<Path> entries;
+    try (Stream<Path> files = Files.list(cacheDirectory)) {
+      entries = files.filter(path -> path.getFileName().toString().endsWith(entrySuffix))
+          .collect(Collectors.toList());
+    }
+    final Map<Path, FileTime> lastUse = new HashMap<>();
+    long totalSize = 0;
+    for (final Path entry : entries) {
+      lastUse.put(entry, Files.getLastModifiedTime(entry));
+      totalSize += Files.size(entry);
+    }
+    entries.sort(Comparator.comparing(lastUse::get));
+    for (final Path entry : entries) {
+      if (totalSize <= maxSizeBytes) {
+        break;
+      }
+      final long entrySize = Files.size(entry);
+      deleteEntry(entry);
+      totalSize -= entrySize;
+    }
+  }
+
+  /**
+   * Updates the modification time of the given entry, which is used as the time
+   * of its last use.
+   *
+   * @param entry the cache entry
+   */
+  protected void markAsUsed(final Path entry) {
+    try {
+      Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+    } catch (IOException ioExc) {
+      logger.warn("Last use of cached graph {} could not be updated.", entry, ioExc);
+    }
+  }
+
+  /**
+   * Deletes the given file (if it exists).
+   *
+   * @param file the file to delete
+   */
+  protected void deleteEntry(final Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException ioExc) {
+      logger.warn("File {} in the graph cache could not be deleted.", file, ioExc);
+    }
+  }
+
+  /**
+   * Returns the path of the cache entry for the given workflow data and
+   * generation options.
+   *
+   * @param workflowData the workflow data
+   * @param generationKey description of the options of the graph generation
+   * @return the path of the cache entry for the given workflow data
+   */
+  protected Path getEntryPath(final byte[] workflowData, final String generationKey) {
+    return cacheDirectory.resolve(getEntryKey(workflowData, generationKey) + entrySuffix);
+  }
+
+  /**
+   * Returns the key identifying the cache entry of the given workflow data. The
+   * key is a hash of the workflow data, of the generation options, of the EE-IO
+   * version, and of the version of the binary graph format.
+   *
+   * @param workflowData the workflow data
+   * @param generationKey description of the options of the graph generation
+   * @return the key identifying the cache entry of the given workflow data
+   */
+  public static String getEntryKey(final byte[] workflowData, final String generationKey) {
+    try {
+      final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update(getEeIoVersion().getBytes(StandardCharsets.UTF_8));
+      digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(EnactmentGraphCodec.formatVersion)
+          .array());
+      final byte[] keyBytes = generationKey.getBytes(StandardCharsets.UTF_8);
+      digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(keyBytes.length).array());
+      digest.update(keyBytes);
+      digest.update(workflowData);
+      return String.format("%064x", new BigInteger(1, digest.digest()));
+    } catch (NoSuchAlgorithmException algoExc) {
+      throw new IllegalStateException("SHA-256 not supported by the JVM.", algoExc);
+    }
+  }
+
+  /**
+   * Returns the version of EE-IO as given in the jar manifest.
+   *
+   * @return the version of EE-IO as given in the jar manifest
+   */
+  public static String getEeIoVersion() {
+    return Optional
+        .ofNullable(EnactmentGraphCacheDisk.class.getPackage().getImplementationVersion())
+        .orElse(unknownVersion);
+  }
+}
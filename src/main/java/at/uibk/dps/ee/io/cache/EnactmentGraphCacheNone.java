@@ -0,0 +1,26 @@
+package at.uibk.dps.ee.io.cache;
+
+import java.util.Optional;
+import com.google.inject.Singleton;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+
+/**
+ * The {@link EnactmentGraphCacheNone} is used when no graph caching is
+ * configured: it never returns a graph and does not store anything.
+ *
+ * @author Fedor Smirnov
+ */
+@Singleton
+public class EnactmentGraphCacheNone implements EnactmentGraphCache {
+
+  @Override
+  public Optional<EnactmentGraph> load(final byte[] workflowData, final String generationKey) {
+    return Optional.empty();
+  }
+
+  @Override
+  public void store(final byte[] workflowData, final String generationKey,
+      final EnactmentGraph graph) {
+    // nothing is cached
+  }
+}
@@ -0,0 +1,481 @@
+package at.uibk.dps.ee.io.cache;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+import at.uibk.dps.ee.model.objects.Condition;
+import at.uibk.dps.ee.model.objects.Condition.CombinedWith;
+import at.uibk.dps.ee.model.objects.Condition.Operator;
+import at.uibk.dps.ee.model.properties.PropertyServiceData.DataType;
+import edu.uci.ics.jung.graph.util.EdgeType;
+import net.sf.opendse.model.Communication;
+import net.sf.opendse.model.Dependency;
+import net.sf.opendse.model.Element;
+import net.sf.opendse.model.Task;
+
+/**
+ * Static container for the methods converting an {@link EnactmentGraph}
+ * (including all attributes of its nodes and edges) to and from a compact
+ * binary representation. The decoding does not use the Java deserialization:
+ * apart from primitives, strings, and json elements, only enum constants of
+ * the model packages and lists of {@link Condition}s (the conditions of if and
+ * while compounds) are supported as attribute values. Malformed data is
+ * reported as {@link IOException}.
+ *
+ * @author Fedor Smirnov
+ */
+public final class EnactmentGraphCodec {
+
+  /**
+   * Identifies the binary format. Has to be increased whenever the format
+   * changes.
+   */
+  public static final int formatVersion = 3;
+
+  protected static final int magicNumber = 0x45474346;
+
+  // node kinds
+  protected static final byte kindTask = 0;
+  protected static final byte kindCommunication = 1;
+
+  // edge kinds
+  protected static final byte edgeDirected = 0;
+  protected static final byte edgeUndirected = 1;
+
+  // attribute value types
+  protected static final byte typeNull = 0;
+  protected static final byte typeString = 1;
+  protected static final byte typeBoolean = 2;
+  protected static final byte typeInteger = 3;
+  protected static final byte typeLong = 4;
+  protected static final byte typeDouble = 5;
+  protected static final byte typeJson = 6;
+  protected static final byte typeEnum = 7;
+  protected static final byte typeConditions = 8;
+
+  /**
+   * The packages whose enums may be used as attribute values.
+   */
+  protected static final List<String> enumPackages =
+      List.of("at.uibk.dps.ee.model.", "net.sf.opendse.model.");
+
+  /**
+   * No constructor.
+   */
+  private EnactmentGraphCodec() {}
+
+  /**
+   * Writes the binary representation of the given graph to the given stream.
+   *
+   * @param graph the graph to encode
+   * @param outputStream the stream to write to
+   * @throws IOException if writing fails
+   * @throws IllegalArgumentException if the graph contains elements or
+   *         attributes which cannot be encoded
+   */
+  public static void encode(final EnactmentGraph graph, final OutputStream outputStream)
+      throws IOException {
+    final DataOutputStream out = new DataOutputStream(outputStream);
+    out.writeInt(magicNumber);
+    out.writeInt(formatVersion);
+    out.writeInt(graph.getVertexCount());
+    for (final Task task : graph.getVertices()) {
+      out.writeByte(getNodeKind(task));
+      writeString(out, task.getId());
+      writeAttributes(out, task);
+    }
+    out.writeInt(graph.getEdgeCount());
+    for (final Dependency dependency : graph.getEdges()) {
+      if (!dependency.getClass().equals(Dependency.class)) {
+        throw new IllegalArgumentException(
+            "Edge of unsupported type " + dependency.getClass().getName());
+      }
+      writeString(out, dependency.getId());
+      writeString(out, graph.getSource(dependency).getId());
+      writeString(out, graph.getDest(dependency).getId());
+      out.writeByte(EdgeType.DIRECTED.equals(graph.getEdgeType(dependency)) ? edgeDirected
+          : edgeUndirected);
+      writeAttributes(out, dependency);
+    }
+    out.flush();
+  }
+
+  /**
+   * Reads a graph from its binary representation provided by the given stream.
+   *
+   * @param inputStream the stream to read from
+   * @return the decoded graph
+   * @throws IOException if reading fails or if the data is not in the expected
+   *         format
+   */
+  public static EnactmentGraph decode(final InputStream inputStream) throws IOException {
+    try {
+      return decodeGraph(new DataInputStream(inputStream));
+    } catch (RuntimeException runtimeExc) {
+      throw new IOException("The data does not describe a valid enactment graph.", runtimeExc);
+    }
+  }
+
+  /**
+   * Reads a graph from the given stream.
+   *
+   * @param in the stream to read from
+   * @return the decoded graph
+   * @throws IOException if reading fails or if the data is not in the expected
+   *         format
+   */
+  protected static EnactmentGraph decodeGraph(final DataInputStream in) throws IOException {
+    if (in.readInt() != magicNumber || in.readInt() != formatVersion) {
+      throw new IOException("The data does not describe an enactment graph in the current format.");
+    }
+    final EnactmentGraph result = new EnactmentGraph();
+    final int vertexCount = readCount(in);
+    for (int i = 0; i < vertexCount; i++) {
+      final byte kind = in.readByte();
+      final String id = readString(in);
+      final Task task = kind == kindCommunication ? new Communication(id) : new Task(id);
+      readAttributes(in, task);
+      result.addVertex(task);
+    }
+    final int edgeCount = readCount(in);
+    for (int i = 0; i < edgeCount; i++) {
+      final Dependency dependency = new Dependency(readString(in));
+      final Task src = getVertex(result, readString(in));
+      final Task dest = getVertex(result, readString(in));
+      final EdgeType edgeType =
+          in.readByte() == edgeDirected ? EdgeType.DIRECTED : EdgeType.UNDIRECTED;
+      readAttributes(in, dependency);
+      result.addEdge(dependency, src, dest, edgeType);
+    }
+    return result;
+  }
+
+  /**
+   * Returns true iff the given data starts with the header of the binary graph
+   * representation (of any format version).
+   *
+   * @param data the data to check
+   * @return true iff the given data starts with the header of an encoded graph
+   */
+  public static boolean isEncodedGraph(final byte[] data) {
+    if (data.length < Integer.BYTES) {
+      return false;
+    }
+    final int header = (data[0] & 0xff) << 24 | (data[1] & 0xff) << 16 | (data[2] & 0xff) << 8
+        | data[3] & 0xff;
+    return header == magicNumber;
+  }
+
+  /**
+   * Returns the node with the given id from the given graph. Throws an exception
+   * if no such node exists.
+   *
+   * @param graph the graph
+   * @param id the node id
+   * @return the node with the given id
+   * @throws IOException if the node is not in the graph
+   */
+  protected static Task getVertex(final EnactmentGraph graph, final String id)
+      throws IOException {
+    return Optional.ofNullable(graph.getVertex(id))
+        .orElseThrow(() -> new IOException("Edge references unknown node " + id));
+  }
+
+  /**
+   * Returns the byte describing the kind of the given node.
+   *
+   * @param task the given node
+   * @return the byte describing the kind of the given node
+   */
+  protected static byte getNodeKind(final Task task) {
+    if (task.getClass().equals(Task.class)) {
+      return kindTask;
+    } else if (task.getClass().equals(Communication.class)) {
+      return kindCommunication;
+    } else {
+      throw new IllegalArgumentException("Node of unsupported type " + task.getClass().getName());
+    }
+  }
+
+  /**
+   * Writes the attributes of the given element.
+   *
+   * @param out the output stream
+   * @param element the element
+   * @throws IOException if writing fails
+   */
+  protected static void writeAttributes(final DataOutputStream out, final Element element)
+      throws IOException {
+    final List<String> attrNames = new ArrayList<>(element.getAttributeNames());
+    out.writeInt(attrNames.size());
+    for (final String attrName : attrNames) {
+      writeString(out, attrName);
+      final Object value = element.getAttribute(attrName);
+      writeValue(out, value, element.getId() + ":" + attrName);
+    }
+  }
+
+  /**
+   * Reads the attributes and annotates them on the given element.
+   *
+   * @param in the input stream
+   * @param element the element
+   * @throws IOException if reading fails
+   */
+  protected static void readAttributes(final DataInputStream in, final Element element)
+      throws IOException {
+    final int attrCount = readCount(in);
+    for (int i = 0; i < attrCount; i++) {
+      final String attrName = readString(in);
+      element.setAttribute(attrName, readValue(in));
+    }
+  }
+
+  /**
+   * Writes the given attribute value, preceded by the byte describing its type.
+   *
+   * @param out the output stream
+   * @param value the attribute value
+   * @param description description of the attribute (used in exception
+   *        messages)
+   * @throws IOException if writing fails
+   */
+  protected static void writeValue(final DataOutputStream out, final Object value,
+      final String description) throws IOException {
+    if (value == null) {
+      out.writeByte(typeNull);
+    } else if (value instanceof String) {
+      out.writeByte(typeString);
+      writeString(out, (String) value);
+    } else if (value instanceof Boolean) {
+      out.writeByte(typeBoolean);
+      out.writeBoolean((Boolean) value);
+    } else if (value instanceof Integer) {
+      out.writeByte(typeInteger);
+      out.writeInt((Integer) value);
+    } else if (value instanceof Long) {
+      out.writeByte(typeLong);
+      out.writeLong((Long) value);
+    } else if (value instanceof Double) {
+      out.writeByte(typeDouble);
+      out.writeDouble((Double) value);
+    } else if (value instanceof JsonElement) {
+      out.writeByte(typeJson);
+      writeString(out, value.toString());
+    } else if (value instanceof Enum && isEnumSupported(((Enum<?>) value).getDeclaringClass())) {
+      out.writeByte(typeEnum);
+      writeString(out, ((Enum<?>) value).getDeclaringClass().getName());
+      writeString(out, ((Enum<?>) value).name());
+    } else if (isConditionList(value)) {
+      out.writeByte(typeConditions);
+      writeConditions(out, (List<?>) value);
+    } else {
+      throw new IllegalArgumentException("The attribute " + description + " of type "
+          + value.getClass().getName() + " cannot be encoded.");
+    }
+  }
+
+  /**
+   * Reads an attribute value.
+   *
+   * @param in the input stream
+   * @return the attribute value
+   * @throws IOException if reading fails
+   */
+  protected static Object readValue(final DataInputStream in) throws IOException {
+    final byte type = in.readByte();
+    switch (type) {
+      case typeNull:
+        return null;
+      case typeString:
+        return readString(in);
+      case typeBoolean:
+        return in.readBoolean();
+      case typeInteger:
+        return in.readInt();
+      case typeLong:
+        return in.readLong();
+      case typeDouble:
+        return in.readDouble();
+      case typeJson:
+        return JsonParser.parseString(readString(in));
+      case typeEnum:
+        return readEnum(in);
+      case typeConditions:
+        return readConditions(in);
+      default:
+        throw new IOException("Unknown attribute type " + type);
+    }
+  }
+
+  /**
+   * Returns true iff the given attribute value is a list of {@link Condition}s.
+   *
+   * @param value the attribute value
+   * @return true iff the given attribute value is a list of conditions
+   */
+  protected static boolean isConditionList(final Object value) {
+    return value instanceof List
+        && ((List<?>) value).stream().allMatch(entry -> entry instanceof Condition);
+  }
+
+  /**
+   * Writes the given list of conditions as the number of conditions followed by
+   * the fields of each condition.
+   *
+   * @param out the output stream
+   * @param conditions the list of conditions
+   * @throws IOException if writing fails
+   */
+  protected static void writeConditions(final DataOutputStream out, final List<?> conditions)
+      throws IOException {
+    out.writeInt(conditions.size());
+    for (final Object entry : conditions) {
+      final Condition condition = (Condition) entry;
+      writeString(out, condition.getFirstInputId());
+      writeString(out, condition.getSecondInputId());
+      writeString(out, condition.getOperator().name());
+      out.writeBoolean(condition.isNegation());
+      writeString(out, condition.getType().name());
+      writeString(out, condition.getCombinedWith().name());
+    }
+  }
+
+  /**
+   * Reads a list of conditions written by
+   * {@link #writeConditions(DataOutputStream, List)}.
+   *
+   * @param in the input stream
+   * @return the list of conditions
+   * @throws IOException if reading fails
+   */
+  protected static List<Condition> readConditions(final DataInputStream in) throws IOException {
+    final int conditionCount = readCount(in);
+    final List<Condition> result = new ArrayList<>();
+    for (int i = 0; i < conditionCount; i++) {
+      final String firstInput = readString(in);
+      final String secondInput = readString(in);
+      final Operator operator = readConstant(in, Operator.class);
+      final boolean negation = in.readBoolean();
+      final DataType type = readConstant(in, DataType.class);
+      final CombinedWith combinedWith = readConstant(in, CombinedWith.class);
+      result.add(new Condition(firstInput, secondInput, operator, negation, type, combinedWith));
+    }
+    return result;
+  }
+
+  /**
+   * Reads the name of a constant of the given enum.
+   *
+   * @param in the input stream
+   * @param enumClass the enum class
+   * @return the enum constant
+   * @throws IOException if reading fails or the constant does not exist
+   */
+  protected static <E extends Enum<E>> E readConstant(final DataInputStream in,
+      final Class<E> enumClass) throws IOException {
+    final String constantName = readString(in);
+    try {
+      return Enum.valueOf(enumClass, constantName);
+    } catch (IllegalArgumentException argExc) {
+      throw new IOException("Unknown constant " + constantName + " of " + enumClass.getName(),
+          argExc);
+    }
+  }
+
+  /**
+   * Reads an enum constant written as the name of the enum class followed by the
+   * name of the constant.
+   *
+   * @param in the input stream
+   * @return the enum constant
+   * @throws IOException if reading fails or if the enum is not supported
+   */
+  protected static Object readEnum(final DataInputStream in) throws IOException {
+    final String className = readString(in);
+    final String constantName = readString(in);
+    if (enumPackages.stream().noneMatch(className::startsWith)) {
+      throw new IOException("Enum class " + className + " not supported.");
+    }
+    final Class<?> enumClass;
+    try {
+      enumClass = Class.forName(className, false, EnactmentGraphCodec.class.getClassLoader());
+    } catch (ClassNotFoundException classExc) {
+      throw new IOException("Enum class " + className + " not found.", classExc);
+    }
+    if (!enumClass.isEnum()) {
+      throw new IOException("Class " + className + " is not an enum.");
+    }
+    for (final Object constant : enumClass.getEnumConstants()) {
+      if (((Enum<?>) constant).name().equals(constantName)) {
+        return constant;
+      }
+    }
+    throw new IOException("Enum " + className + " has no constant " + constantName);
+  }
+
+  /**
+   * Returns true iff constants of the given enum can be encoded.
+   *
+   * @param enumClass the enum class
+   * @return true iff constants of the given enum can be encoded
+   */
+  protected static boolean isEnumSupported(final Class<?> enumClass) {
+    return enumPackages.stream().anyMatch(enumClass.getName()::startsWith);
+  }
+
+  /**
+   * Reads a (non-negative) count.
+   *
+   * @param in the input stream
+   * @return the count
+   * @throws IOException if reading fails or if the count is negative
+   */
+  protected static int readCount(final DataInputStream in) throws IOException {
+    final int result = in.readInt();
+    if (result < 0) {
+      throw new IOException("Negative count " + result);
+    }
+    return result;
+  }
+
+  /**
+   * Writes the given string as length-prefixed UTF-8 bytes.
+   *
+   * @param out the output stream
+   * @param string the string
+   * @throws IOException if writing fails
+   */
+  protected static void writeString(final DataOutputStream out, final String string)
+      throws IOException {
+    final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  /**
+   * Reads a string written by {@link #writeString(DataOutputStream, String)}.
+   *
+   * @param in the input stream
+   * @return the string
+   * @throws IOException if reading fails
+   */
+  protected static String readString(final DataInputStream in) throws IOException {
+    final int length = readCount(in);
+    // reads in chunks, so that a corrupt length does not allocate a huge array
+    final byte[] bytes = in.readNBytes(length);
+    if (bytes.length != length) {
+      throw new IOException("String length " + length + " exceeds the remaining data.");
+    }
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
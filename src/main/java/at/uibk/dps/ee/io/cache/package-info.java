@@ -0,0 +1,6 @@
+/**
+ * Package for the classes used to cache the enactment graphs generated from
+ * workflow files, so that the graph generation can be skipped when the same
+ * workflow is enacted repeatedly.
+ */
+package at.uibk.dps.ee.io.cache;
@@ -0,0 +1,309 @@
+package at.uibk.dps.ee.io.input;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+/**
+ * The {@link BatchInputSource} provides the inputs of a batch enactment, one
+ * after another. The inputs are described by a list of paths, where each path
+ * points to (a) a .json file containing one input, (b) a JSON Lines file (with
+ * the suffix .jsonl) containing one input per line, or (c) a directory
+ * containing files of the types (a) and (b). The inputs are read lazily, so
+ * that at most one input is held in memory at a time. Inputs which are not
+ * valid json objects are provided as invalid inputs (see
+ * {@link BatchInput#isValid()}), so that they can be reported as failures
+ * without stopping the batch. The input names must be unique within the batch;
+ * this is checked when the source is created.
+ *
+ * @author Fedor Smirnov
+ */
+public class BatchInputSource implements Iterator<BatchInputSource.BatchInput>, Closeable {
+
+  protected static final String suffixJson = ".json";
+  protected static final String suffixJsonLines = ".jsonl";
+
+  protected final Iterator<Path> files;
+
+  protected BufferedReader jsonLinesReader;
+  protected String jsonLinesName;
+  protected int lineNumber;
+  protected BatchInput nextInput;
+
+  /**
+   * One input of a batch enactment.
+   *
+   * @author Fedor Smirnov
+   */
+  public static final class BatchInput {
+
+    protected final String name;
+    protected final JsonObject inputData;
+    protected final String error;
+
+    /**
+     * Default constructor.
+     *
+     * @param name the name of the input (unique within the batch; used to name
+     *        the corresponding result)
+     * @param inputData the input data
+     */
+    public BatchInput(final String name, final JsonObject inputData) {
+      this(name, inputData, null);
+    }
+
+    /**
+     * Constructor used for inputs which could not be read.
+     *
+     * @param name the name of the input
+     * @param inputData the input data (empty for invalid inputs)
+     * @param error the description of the reading error (null for valid inputs)
+     */
+    protected BatchInput(final String name, final JsonObject inputData, final String error) {
+      this.name = name;
+      this.inputData = inputData;
+      this.error = error;
+    }
+
+    /**
+     * Creates an input which could not be read.
+     *
+     * @param name the name of the input
+     * @param error the description of the reading error
+     * @return the invalid input
+     */
+    public static BatchInput invalid(final String name, final String error) {
+      return new BatchInput(name, new JsonObject(), error);
+    }
+
+    /**
+     * Returns true iff the input was read successfully.
+     *
+     * @return true iff the input was read successfully
+     */
+    public boolean isValid() {
+      return error == null;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public JsonObject getInputData() {
+      return inputData;
+    }
+
+    /**
+     * Returns the description of the reading error (null for valid inputs).
+     *
+     * @return the description of the reading error
+     */
+    public String getError() {
+      return error;
+    }
+  }
+
+  /**
+   * Default constructor.
+   *
+   * @param inputPaths the paths to the input files, JSON Lines files, or
+   *        directories containing them
+   */
+  public BatchInputSource(final List<String> inputPaths) {
+    final List<Path> inputFiles = new ArrayList<>();
+    for (final String inputPath : inputPaths) {
+      inputFiles.addAll(listInputFiles(Paths.get(inputPath)));
+    }
+    checkUniqueNames(inputFiles);
+    this.files = inputFiles.iterator();
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (nextInput == null) {
+      nextInput = readNextInput();
+    }
+    return nextInput != null;
+  }
+
+  @Override
+  public BatchInput next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException("No further batch input.");
+    }
+    final BatchInput result = nextInput;
+    nextInput = null;
+    return result;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (jsonLinesReader != null) {
+      jsonLinesReader.close();
+      jsonLinesReader = null;
+    }
+  }
+
+  /**
+   * Reads the next input (from the currently open JSON Lines file or from the
+   * next file).
+   *
+   * @return the next input, or null if all inputs were read
+   */
+  protected BatchInput readNextInput() {
+    try {
+      while (true) {
+        if (jsonLinesReader != null) {
+          final String line = jsonLinesReader.readLine();
+          if (line == null) {
+            close();
+            continue;
+          }
+          lineNumber++;
+          if (!line.isBlank()) {
+            return parseInput(jsonLinesName + "-" + lineNumber, new StringReader(line),
+                jsonLinesName + suffixJsonLines + ":" + lineNumber);
+          }
+        } else if (files.hasNext()) {
+          final Path file = files.next();
+          final String fileName = file.getFileName().toString();
+          if (fileName.endsWith(suffixJsonLines)) {
+            jsonLinesReader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+            jsonLinesName = stripSuffix(fileName, suffixJsonLines);
+            lineNumber = 0;
+          } else {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+              return parseInput(stripSuffix(fileName, suffixJson), reader, file.toString());
+            }
+          }
+        } else {
+          return null;
+        }
+      }
+    } catch (IOException ioExc) {
+      throw new IllegalStateException("IOException when reading the batch input.", ioExc);
+    }
+  }
+
+  /**
+   * Parses the input with the given name from the given reader. Content which
+   * is not a json object results in an invalid input.
+   *
+   * @param name the name of the input
+   * @param reader the reader providing the content of the input
+   * @param origin description of the input origin (used in error messages)
+   * @return the parsed input
+   */
+  protected static BatchInput parseInput(final String name, final Reader reader,
+      final String origin) {
+    try {
+      return new BatchInput(name, toJsonObject(JsonParser.parseReader(reader), origin));
+    } catch (JsonParseException | IllegalArgumentException parseExc) {
+      return BatchInput.invalid(name,
+          "The batch input " + origin + " is not valid json: " + parseExc.getMessage());
+    }
+  }
+
+  /**
+   * Checks that the given input files result in unique input names. The names
+   * of the inputs of a JSON Lines file x.jsonl (x-1, x-2, ...) may collide with
+   * the name of a .json file x-&lt;number&gt;.json; such combinations are
+   * rejected as well.
+   *
+   * @param inputFiles the input files
+   */
+  protected static void checkUniqueNames(final List<Path> inputFiles) {
+    final Set<String> fileNames = new HashSet<>();
+    final Set<String> jsonLinesNames = new HashSet<>();
+    for (final Path file : inputFiles) {
+      final String fileName = file.getFileName().toString();
+      final boolean jsonLines = fileName.endsWith(suffixJsonLines);
+      final String name = jsonLines ? stripSuffix(fileName, suffixJsonLines)
+          : stripSuffix(fileName, suffixJson);
+      if (!(jsonLines ? jsonLinesNames : fileNames).add(name)) {
+        throw new IllegalArgumentException("Duplicate batch input name " + name + " (" + file
+            + ").");
+      }
+    }
+    for (final String fileName : fileNames) {
+      final int separatorIdx = fileName.lastIndexOf('-');
+      if (separatorIdx > 0 && separatorIdx < fileName.length() - 1
+          && fileName.substring(separatorIdx + 1).chars().allMatch(Character::isDigit)
+          && jsonLinesNames.contains(fileName.substring(0, separatorIdx))) {
+        throw new IllegalArgumentException("The batch input name " + fileName
+            + " may collide with a line of " + fileName.substring(0, separatorIdx)
+            + suffixJsonLines + ".");
+      }
+    }
+  }
+
+  /**
+   * Returns the input files described by the given path (the path itself or the
+   * .json and .jsonl files of the directory, in lexicographic order).
+   *
+   * @param inputPath the given path
+   * @return the input files described by the given path
+   */
+  protected static List<Path> listInputFiles(final Path inputPath) {
+    if (!Files.isDirectory(inputPath)) {
+      if (!Files.isRegularFile(inputPath)) {
+        throw new IllegalArgumentException("The batch input " + inputPath + " does not exist.");
+      }
+      return List.of(inputPath);
+    }
+    try (Stream<Path> dirContent = Files.list(inputPath)) {
+      return dirContent.filter(Files::isRegularFile).filter(file -> {
+        final String fileName = file.getFileName().toString();
+        return fileName.endsWith(suffixJson) || fileName.endsWith(suffixJsonLines);
+      }).sorted().collect(Collectors.toList());
+    } catch (IOException ioExc) {
+      throw new IllegalArgumentException("IOException when listing the directory " + inputPath,
+          ioExc);
+    }
+  }
+
+  /**
+   * Checks that the given element is a json object and returns it.
+   *
+   * @param element the parsed element
+   * @param origin description of the input origin (used in exception messages)
+   * @return the given element as json object
+   */
+  protected static JsonObject toJsonObject(final JsonElement element, final String origin) {
+    if (!element.isJsonObject()) {
+      throw new IllegalArgumentException("The batch input " + origin + " is not a json object.");
+    }
+    return element.getAsJsonObject();
+  }
+
+  /**
+   * Removes the given suffix from the given file name (if present).
+   *
+   * @param fileName the file name
+   * @param suffix the suffix
+   * @return the file name without the suffix
+   */
+  protected static String stripSuffix(final String fileName, final String suffix) {
+    return fileName.endsWith(suffix) ? fileName.substring(0, fileName.length() - suffix.length())
+        : fileName;
+  }
+}
@@ -0,0 +1,38 @@
+package at.uibk.dps.ee.io.input;
+
+import com.google.gson.JsonObject;
+import com.google.inject.Singleton;
+
+import at.uibk.dps.ee.core.InputDataProvider;
+
+/**
+ * The {@link InputDataProviderBatch} provides the input of the current
+ * enactment of a batch. The input is set by the batch driver before each
+ * enactment, so that the same injector (and, with it, the same workflow and
+ * specification) can be used for all inputs of the batch.
+ *
+ * @author Fedor Smirnov
+ */
+@Singleton
+public class InputDataProviderBatch implements InputDataProvider {
+
+  protected volatile JsonObject currentInput;
+
+  /**
+   * Sets the input which is provided for the next enactment.
+   *
+   * @param currentInput the input for the next enactment
+   */
+  public void setCurrentInput(final JsonObject currentInput) {
+    this.currentInput = currentInput;
+  }
+
+  @Override
+  public JsonObject getInputData() {
+    final JsonObject result = currentInput;
+    if (result == null) {
+      throw new IllegalStateException("No input set for the current batch enactment.");
+    }
+    return result;
+  }
+}
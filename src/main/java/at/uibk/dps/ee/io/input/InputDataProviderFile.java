@@ -1,6 +1,7 @@
 package at.uibk.dps.ee.io.input;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 
@@ -12,6 +13,9 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
 import at.uibk.dps.ee.core.InputDataProvider;
+import at.uibk.dps.ee.io.instrumentation.PhaseMeasurement;
+import at.uibk.dps.ee.io.instrumentation.StartupListener;
+import at.uibk.dps.ee.io.instrumentation.StartupListenerNone;
 
 /**
  * The {@link InputDataProviderFile} is used to read the input data from a file
@@ -28,11 +32,24 @@ public class InputDataProviderFile implements InputDataProvider {
    * Injection constructor
    * 
    * @param filePath the path to the .json file containing the input data
+   * @param startupListener the listener notified about the reading of the input
    */
   @Inject
-  public InputDataProviderFile(@Constant(value = "filePath",
-      namespace = InputDataProviderFile.class) final String filePath) {
+  public InputDataProviderFile(
+      @Constant(value = "filePath", namespace = InputDataProviderFile.class) final String filePath,
+      final StartupListener startupListener) {
+    final PhaseMeasurement reading = PhaseMeasurement.start("InputDataProviderFile: input reading");
     this.inputData = file2JsonObject(filePath);
+    startupListener.phaseFinished(reading.stop(inputData.size()));
+  }
+
+  /**
+   * Constructor used to read the input data without startup instrumentation.
+   * 
+   * @param filePath the path to the .json file containing the input data
+   */
+  public InputDataProviderFile(final String filePath) {
+    this(filePath, new StartupListenerNone());
   }
 
   /**
@@ -42,8 +59,8 @@ public class InputDataProviderFile implements InputDataProvider {
    * @return the jsonobject found in the file
    */
   protected final JsonObject file2JsonObject(final String filePath) {
-    try {
-      return (JsonObject) JsonParser.parseReader(Files.newBufferedReader(Paths.get(filePath)));
+    try (Reader fileReader = Files.newBufferedReader(Paths.get(filePath))) {
+      return (JsonObject) JsonParser.parseReader(fileReader);
     } catch (IOException ioExc) {
       throw new IllegalArgumentException("IO Exception when trying to read file " + filePath,
           ioExc);
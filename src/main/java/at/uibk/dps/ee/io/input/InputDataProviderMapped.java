@@ -0,0 +1,111 @@
+package at.uibk.dps.ee.io.input;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Set;
+
+import org.opt4j.core.start.Constant;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.MalformedJsonException;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import at.uibk.dps.ee.core.InputDataProvider;
+import at.uibk.dps.ee.model.graph.EnactmentGraphProvider;
+
+/**
+ * The {@link InputDataProviderMapped} reads the input data from a file in the
+ * storage which is memory-mapped (see {@link MappedFileReader}) instead of
+ * being copied through a buffered reader. Optionally, only the top-level
+ * entries required by the root nodes of the enactment graph are read (as done
+ * by the {@link InputDataProviderStreaming}).
+ * 
+ * @author Fedor Smirnov
+ */
+@Singleton
+public class InputDataProviderMapped implements InputDataProvider {
+
+  protected final JsonObject inputData;
+
+  /**
+   * Injection constructor
+   * 
+   * @param filePath the path to the .json file containing the input data
+   * @param onlyRequiredEntries if true, only the entries required by the root
+   *        nodes of the enactment graph are read
+   * @param graphProvider the provider of the enactment graph
+   */
+  @Inject
+  public InputDataProviderMapped(
+      @Constant(value = "filePath", namespace = InputDataProviderMapped.class) final String filePath,
+      @Constant(value = "onlyRequiredEntries",
+          namespace = InputDataProviderMapped.class) final boolean onlyRequiredEntries,
+      final EnactmentGraphProvider graphProvider) {
+    this.inputData = onlyRequiredEntries
+        ? readEntries(filePath,
+            InputDataProviderStreaming.getRequiredKeys(graphProvider.getEnactmentGraph()))
+        : readFile(filePath);
+  }
+
+  /**
+   * Constructor used to read the complete file.
+   * 
+   * @param filePath the path to the .json file containing the input data
+   */
+  public InputDataProviderMapped(final String filePath) {
+    this.inputData = readFile(filePath);
+  }
+
+  /**
+   * Constructor used to read the given entries from the given file.
+   * 
+   * @param filePath the path to the .json file containing the input data
+   * @param requiredKeys the keys of the top-level entries which are read
+   */
+  public InputDataProviderMapped(final String filePath, final Set<String> requiredKeys) {
+    this.inputData = readEntries(filePath, requiredKeys);
+  }
+
+  @Override
+  public JsonObject getInputData() {
+    return inputData;
+  }
+
+  /**
+   * Reads the json object from the mapped file.
+   * 
+   * @param filePath the path to the file
+   * @return the json object found in the file
+   */
+  protected static JsonObject readFile(final String filePath) {
+    try (MappedFileReader fileReader = new MappedFileReader(Paths.get(filePath))) {
+      return (JsonObject) JsonParser.parseReader(fileReader);
+    } catch (IOException ioExc) {
+      throw new IllegalArgumentException("IO Exception when trying to read file " + filePath,
+          ioExc);
+    }
+  }
+
+  /**
+   * Reads the top-level entries with the given keys from the mapped file.
+   * 
+   * @param filePath the path to the file
+   * @param requiredKeys the keys of the entries to read
+   * @return json object containing the read entries
+   */
+  protected static JsonObject readEntries(final String filePath, final Set<String> requiredKeys) {
+    try (MappedFileReader fileReader = new MappedFileReader(Paths.get(filePath))) {
+      return InputDataProviderStreaming.readEntries(new JsonReader(fileReader), requiredKeys);
+    } catch (MalformedJsonException | IllegalStateException formatExc) {
+      throw new JsonSyntaxException("The file " + filePath + " does not contain a json object.",
+          formatExc);
+    } catch (IOException ioExc) {
+      throw new IllegalArgumentException("IO Exception when trying to read file " + filePath,
+          ioExc);
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package at.uibk.dps.ee.io.input;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.opt4j.core.start.Constant;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.MalformedJsonException;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import at.uibk.dps.ee.core.InputDataProvider;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+import at.uibk.dps.ee.model.graph.EnactmentGraphProvider;
+import at.uibk.dps.ee.model.properties.PropertyServiceData;
+import net.sf.opendse.model.properties.TaskPropertyService;
+
+/**
+ * The {@link InputDataProviderStreaming} reads the input data from a file in
+ * the storage. In contrast to the {@link InputDataProviderFile}, the file is
+ * processed as a stream and only the top-level entries which are required by
+ * the root nodes of the enactment graph are read into memory. All other entries
+ * are skipped without being materialized, and reading stops as soon as all
+ * required entries are found.
+ * 
+ * @author Fedor Smirnov
+ */
+@Singleton
+public class InputDataProviderStreaming implements InputDataProvider {
+
+  protected final JsonObject inputData;
+
+  /**
+   * Injection constructor
+   * 
+   * @param filePath the path to the .json file containing the input data
+   * @param graphProvider the provider of the enactment graph (used to determine
+   *        the required input entries)
+   */
+  @Inject
+  public InputDataProviderStreaming(
+      @Constant(value = "filePath", namespace = InputDataProviderFile.class) final String filePath,
+      final EnactmentGraphProvider graphProvider) {
+    this(filePath, getRequiredKeys(graphProvider.getEnactmentGraph()));
+  }
+
+  /**
+   * Constructor used to read the given entries from the given file.
+   * 
+   * @param filePath the path to the .json file containing the input data
+   * @param requiredKeys the keys of the top-level entries which are read
+   */
+  public InputDataProviderStreaming(final String filePath, final Set<String> requiredKeys) {
+    this.inputData = readEntries(filePath, requiredKeys);
+  }
+
+  @Override
+  public JsonObject getInputData() {
+    return inputData;
+  }
+
+  /**
+   * Returns the json keys of the root data nodes of the given graph.
+   * 
+   * @param graph the enactment graph
+   * @return the json keys of the root data nodes of the given graph
+   */
+  public static Set<String> getRequiredKeys(final EnactmentGraph graph) {
+    return graph.getVertices().stream()
+        .filter(task -> TaskPropertyService.isCommunication(task)
+            && PropertyServiceData.isRoot(task))
+        .map(PropertyServiceData::getJsonKey).collect(Collectors.toSet());
+  }
+
+  /**
+   * Reads the top-level entries with the given keys from the given file.
+   * 
+   * @param filePath the path to the file
+   * @param requiredKeys the keys of the entries to read
+   * @return json object containing the read entries
+   */
+  protected static JsonObject readEntries(final String filePath, final Set<String> requiredKeys) {
+    try (Reader fileReader = Files.newBufferedReader(Paths.get(filePath))) {
+      return readEntries(new JsonReader(fileReader), requiredKeys);
+    } catch (MalformedJsonException | IllegalStateException formatExc) {
+      throw new JsonSyntaxException("The file " + filePath + " does not contain a json object.",
+          formatExc);
+    } catch (IOException ioExc) {
+      throw new IllegalArgumentException("IO Exception when trying to read file " + filePath,
+          ioExc);
+    }
+  }
+
+  /**
+   * Reads the top-level entries with the given keys from the given json reader.
+   * 
+   * @param jsonReader the json reader positioned before a json object
+   * @param requiredKeys the keys of the entries to read
+   * @return json object containing the read entries
+   * @throws IOException if reading fails
+   */
+  protected static JsonObject readEntries(final JsonReader jsonReader,
+      final Set<String> requiredKeys) throws IOException {
+    final JsonObject result = new JsonObject();
+    final Set<String> missingKeys = new HashSet<>(requiredKeys);
+    jsonReader.beginObject();
+    while (!missingKeys.isEmpty() && jsonReader.hasNext()) {
+      final String key = jsonReader.nextName();
+      if (missingKeys.remove(key)) {
+        result.add(key, JsonParser.parseReader(jsonReader));
+      } else {
+        jsonReader.skipValue();
+      }
+    }
+    return result;
+  }
+}
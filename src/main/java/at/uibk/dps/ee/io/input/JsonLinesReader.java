@@ -0,0 +1,184 @@
+package at.uibk.dps.ee.io.input;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import at.uibk.dps.ee.io.input.BatchInputSource.BatchInput;
+
+/**
+ * The {@link JsonLinesReader} reads a stream of workflow inputs in the JSON
+ * Lines format (one json object per line) from a file, a FIFO, or the standard
+ * input. The stream is read incrementally by a background thread which parses
+ * the lines into a bounded buffer, so that the reading is blocked while the
+ * buffer is full and at most the buffered inputs are held in memory. Lines
+ * which are not json objects are skipped (with a warning). The inputs can be
+ * consumed by multiple threads.
+ *
+ * @author Fedor Smirnov
+ */
+public class JsonLinesReader implements Closeable {
+
+  /**
+   * The path used to read the inputs from the standard input.
+   */
+  public static final String pathStdIn = "-";
+
+  protected static final BatchInput endOfStream = new BatchInput("", new JsonObject());
+
+  protected final Logger logger = LoggerFactory.getLogger(JsonLinesReader.class);
+
+  protected final BufferedReader source;
+  protected final BlockingQueue<BatchInput> buffer;
+  protected final Thread readerThread;
+
+  protected volatile IOException readException;
+
+  /**
+   * Default constructor.
+   *
+   * @param source the reader providing the stream
+   * @param bufferCapacity the maximal number of parsed inputs waiting to be
+   *        consumed
+   */
+  public JsonLinesReader(final Reader source, final int bufferCapacity) {
+    if (bufferCapacity < 1) {
+      throw new IllegalArgumentException("The buffer capacity must be positive.");
+    }
+    this.source = new BufferedReader(source);
+    this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+    this.readerThread = new Thread(this::readLines, "json-lines-reader");
+    readerThread.setDaemon(true);
+    readerThread.start();
+  }
+
+  /**
+   * Opens the stream found at the given path.
+   *
+   * @param path the path to the file or FIFO ({@value #pathStdIn} for the
+   *        standard input)
+   * @param bufferCapacity the maximal number of parsed inputs waiting to be
+   *        consumed
+   * @return the reader for the stream at the given path
+   */
+  public static JsonLinesReader open(final String path, final int bufferCapacity) {
+    if (pathStdIn.equals(path)) {
+      return new JsonLinesReader(new InputStreamReader(System.in, StandardCharsets.UTF_8),
+          bufferCapacity);
+    }
+    try {
+      return new JsonLinesReader(Files.newBufferedReader(Paths.get(path), StandardCharsets.UTF_8),
+          bufferCapacity);
+    } catch (IOException ioExc) {
+      throw new IllegalArgumentException("IOException when opening the input stream " + path,
+          ioExc);
+    }
+  }
+
+  /**
+   * Returns the next input of the stream, blocking until it is available. The
+   * input is named after its line number.
+   *
+   * @return the next input, or an empty optional if the stream has ended
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public Optional<BatchInput> next() throws InterruptedException {
+    final BatchInput result = buffer.take();
+    if (result == endOfStream) {
+      // keep the marker for the other consumers
+      buffer.put(endOfStream);
+      if (readException != null) {
+        throw new IllegalStateException("IOException when reading the input stream.",
+            readException);
+      }
+      return Optional.empty();
+    }
+    return Optional.of(result);
+  }
+
+  @Override
+  public void close() throws IOException {
+    readerThread.interrupt();
+    source.close();
+  }
+
+  /**
+   * The loop of the background thread, parsing the lines of the stream into the
+   * buffer until the stream ends.
+   */
+  protected void readLines() {
+    try {
+      int lineNumber = 0;
+      String line = source.readLine();
+      while (line != null) {
+        lineNumber++;
+        if (!line.isBlank()) {
+          final Optional<JsonObject> parsed = parseLine(line, lineNumber);
+          if (parsed.isPresent()) {
+            buffer.put(new BatchInput(String.valueOf(lineNumber), parsed.get()));
+          }
+        }
+        line = source.readLine();
+      }
+    } catch (IOException ioExc) {
+      readException = ioExc;
+    } catch (InterruptedException interruptExc) {
+      markEndAfterInterrupt();
+      return;
+    }
+    try {
+      buffer.put(endOfStream);
+    } catch (InterruptedException interruptExc) {
+      markEndAfterInterrupt();
+    }
+  }
+
+  /**
+   * Marks the end of the stream after the reading was interrupted by closing
+   * the reader (discarding the buffered inputs to make room for the marker).
+   */
+  protected void markEndAfterInterrupt() {
+    Thread.currentThread().interrupt();
+    buffer.clear();
+    buffer.offer(endOfStream);
+  }
+
+  /**
+   * Parses the given line.
+   *
+   * @param line the line
+   * @param lineNumber the line number
+   * @return the parsed json object, or an empty optional if the line is not a
+   *         json object
+   */
+  protected Optional<JsonObject> parseLine(final String line, final int lineNumber) {
+    try {
+      final JsonElement element = JsonParser.parseString(line);
+      if (element.isJsonObject()) {
+        return Optional.of(element.getAsJsonObject());
+      }
+    } catch (JsonParseException parseExc) {
+      logger.warn("Line {} of the input stream is not valid json: {}", lineNumber,
+          parseExc.getMessage());
+      return Optional.empty();
+    }
+    logger.warn("Line {} of the input stream is not a json object.", lineNumber);
+    return Optional.empty();
+  }
+}
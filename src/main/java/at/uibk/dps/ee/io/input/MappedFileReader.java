@@ -0,0 +1,119 @@
+package at.uibk.dps.ee.io.input;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The {@link MappedFileReader} reads a UTF-8 encoded file by decoding the
+ * characters directly from a memory mapping of the file. The file is mapped in
+ * regions of at most 2 GB, so that files of arbitrary size can be read.
+ * 
+ * @author Fedor Smirnov
+ */
+public class MappedFileReader extends Reader {
+
+  protected static final long maxRegionSize = Integer.MAX_VALUE;
+
+  protected final FileChannel channel;
+  protected final long fileSize;
+  protected final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+      .onMalformedInput(CodingErrorAction.REPORT)
+      .onUnmappableCharacter(CodingErrorAction.REPORT);
+
+  protected MappedByteBuffer region;
+  protected long regionEnd;
+  protected final CharBuffer pendingChars = CharBuffer.allocate(2);
+
+  /**
+   * Opens and maps the file with the given path.
+   * 
+   * @param filePath the path to the file
+   * @throws IOException if the file cannot be opened or mapped
+   */
+  public MappedFileReader(final Path filePath) throws IOException {
+    this.channel = FileChannel.open(filePath, StandardOpenOption.READ);
+    try {
+      this.fileSize = channel.size();
+      this.region = mapRegion(0);
+    } catch (IOException ioExc) {
+      channel.close();
+      throw ioExc;
+    }
+    pendingChars.flip();
+  }
+
+  @Override
+  public int read(final char[] cbuf, final int off, final int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    final CharBuffer out = CharBuffer.wrap(cbuf, off, len);
+    while (pendingChars.hasRemaining() && out.hasRemaining()) {
+      out.put(pendingChars.get());
+    }
+    while (out.position() == off) {
+      final boolean lastRegion = regionEnd == fileSize;
+      final CoderResult result = decoder.decode(region, out, lastRegion);
+      if (result.isError()) {
+        result.throwException();
+      }
+      if (out.position() > off) {
+        break;
+      }
+      if (result.isOverflow()) {
+        // the output is too small for a surrogate pair
+        decodeIntoPending(lastRegion);
+        out.put(pendingChars.get());
+      } else if (lastRegion) {
+        return -1;
+      } else {
+        // the bytes of a character may be split between two regions
+        region = mapRegion(regionEnd - region.remaining());
+      }
+    }
+    return out.position() - off;
+  }
+
+  /**
+   * Decodes the next character into the buffer of pending characters.
+   * 
+   * @param lastRegion true iff the current region is the last one of the file
+   * @throws IOException if the input is malformed
+   */
+  protected void decodeIntoPending(final boolean lastRegion) throws IOException {
+    pendingChars.clear();
+    final CoderResult result = decoder.decode(region, pendingChars, lastRegion);
+    if (result.isError()) {
+      result.throwException();
+    }
+    pendingChars.flip();
+  }
+
+  /**
+   * Maps the region of the file starting at the given position.
+   * 
+   * @param start the start position of the region
+   * @return the buffer of the mapped region
+   * @throws IOException if the mapping fails
+   */
+  protected final MappedByteBuffer mapRegion(final long start) throws IOException {
+    final long size = Math.min(maxRegionSize, fileSize - start);
+    regionEnd = start + size;
+    return channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+  }
+
+  @Override
+  public void close() throws IOException {
+    // the mapping itself is released when the buffer is garbage collected
+    channel.close();
+  }
+}
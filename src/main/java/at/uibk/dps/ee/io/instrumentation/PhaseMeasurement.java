@@ -0,0 +1,105 @@
+package at.uibk.dps.ee.io.instrumentation;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * A {@link PhaseMeasurement} is started at the beginning of a startup phase and
+ * stopped at its end to create the corresponding {@link StartupPhase}. The
+ * allocated bytes are measured for the thread starting the measurement. They
+ * are therefore only an approximation for phases which distribute their work
+ * over multiple threads. As the allocation accounting of the JVM affects all
+ * threads, it is only enabled when a {@link StartupProfile} is created (see
+ * {@link #enableAllocationMeasurement()}); the allocations of phases measured
+ * before are unknown.
+ *
+ * @author Fedor Smirnov
+ */
+public final class PhaseMeasurement {
+
+  protected static final com.sun.management.ThreadMXBean allocationBean = getAllocationBean();
+
+  protected final String phaseName;
+  protected final long threadId;
+  protected final long startNs;
+  protected final long startAllocation;
+
+  /**
+   * Use {@link #start(String)}.
+   *
+   * @param phaseName the name of the measured phase
+   */
+  private PhaseMeasurement(final String phaseName) {
+    this.phaseName = phaseName;
+    this.threadId = Thread.currentThread().getId();
+    this.startAllocation = getAllocatedBytes(threadId);
+    this.startNs = System.nanoTime();
+  }
+
+  /**
+   * Enables the measurement of the thread allocations (if supported by the
+   * JVM).
+   */
+  static void enableAllocationMeasurement() {
+    if (allocationBean != null && !allocationBean.isThreadAllocatedMemoryEnabled()) {
+      allocationBean.setThreadAllocatedMemoryEnabled(true);
+    }
+  }
+
+  /**
+   * Starts the measurement of the phase with the given name.
+   *
+   * @param phaseName the name of the phase
+   * @return the started measurement
+   */
+  public static PhaseMeasurement start(final String phaseName) {
+    return new PhaseMeasurement(phaseName);
+  }
+
+  /**
+   * Stops the measurement and returns the description of the measured phase.
+   *
+   * @param elementCount the number of elements processed by the phase
+   * @return the description of the measured phase
+   */
+  public StartupPhase stop(final long elementCount) {
+    final long durationNs = System.nanoTime() - startNs;
+    final long endAllocation = getAllocatedBytes(threadId);
+    final long allocated =
+        startAllocation == StartupPhase.allocationUnknown || endAllocation < startAllocation
+            ? StartupPhase.allocationUnknown
+            : endAllocation - startAllocation;
+    return new StartupPhase(phaseName, durationNs, allocated, elementCount);
+  }
+
+  /**
+   * Returns the bytes allocated so far by the thread with the given id (or
+   * {@link StartupPhase#allocationUnknown} if the measurement is not enabled or
+   * not supported by the JVM).
+   *
+   * @param threadId the thread id
+   * @return the bytes allocated so far by the thread with the given id
+   */
+  protected static long getAllocatedBytes(final long threadId) {
+    if (allocationBean == null) {
+      return StartupPhase.allocationUnknown;
+    }
+    // -1 if the measurement is disabled
+    final long result = allocationBean.getThreadAllocatedBytes(threadId);
+    return result < 0 ? StartupPhase.allocationUnknown : result;
+  }
+
+  /**
+   * Returns the bean used to measure the thread allocations, or null if the JVM
+   * does not support the measurement.
+   *
+   * @return the bean used to measure the thread allocations
+   */
+  protected static com.sun.management.ThreadMXBean getAllocationBean() {
+    final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+      return null;
+    }
+    final com.sun.management.ThreadMXBean result = (com.sun.management.ThreadMXBean) bean;
+    return result.isThreadAllocatedMemorySupported() ? result : null;
+  }
+}
@@ -0,0 +1,21 @@
+package at.uibk.dps.ee.io.instrumentation;
+
+import com.google.inject.ImplementedBy;
+
+/**
+ * Interface for the classes which are notified about the completed phases of
+ * the engine startup, e.g., the parsing of the workflow file or the creation of
+ * the mappings. Implementations have to be thread-safe.
+ *
+ * @author Fedor Smirnov
+ */
+@ImplementedBy(StartupListenerNone.class)
+public interface StartupListener {
+
+  /**
+   * Notifies the listener about a completed startup phase.
+   *
+   * @param phase the measurements of the completed phase
+   */
+  void phaseFinished(StartupPhase phase);
+}
@@ -0,0 +1,18 @@
+package at.uibk.dps.ee.io.instrumentation;
+
+import com.google.inject.Singleton;
+
+/**
+ * The {@link StartupListenerNone} is used when no startup instrumentation is
+ * configured: it ignores all notifications.
+ *
+ * @author Fedor Smirnov
+ */
+@Singleton
+public class StartupListenerNone implements StartupListener {
+
+  @Override
+  public void phaseFinished(final StartupPhase phase) {
+    // nothing is recorded
+  }
+}
@@ -0,0 +1,63 @@
+package at.uibk.dps.ee.io.instrumentation;
+
+/**
+ * Immutable description of a completed startup phase: the time it took, the
+ * bytes allocated by the thread executing it, and the number of elements it
+ * processed (the meaning of the elements depends on the phase, e.g., bytes
+ * read or graph nodes created).
+ *
+ * @author Fedor Smirnov
+ */
+public class StartupPhase {
+
+  /**
+   * Value of the allocated bytes in cases where the JVM does not support the
+   * measurement of thread allocations.
+   */
+  public static final long allocationUnknown = -1L;
+
+  protected final String name;
+  protected final long durationNs;
+  protected final long allocatedBytes;
+  protected final long elementCount;
+
+  /**
+   * Default constructor.
+   *
+   * @param name the name of the phase
+   * @param durationNs the duration of the phase in nanoseconds
+   * @param allocatedBytes the bytes allocated during the phase (or
+   *        {@link #allocationUnknown})
+   * @param elementCount the number of elements processed by the phase
+   */
+  public StartupPhase(final String name, final long durationNs, final long allocatedBytes,
+      final long elementCount) {
+    this.name = name;
+    this.durationNs = durationNs;
+    this.allocatedBytes = allocatedBytes;
+    this.elementCount = elementCount;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public long getDurationNs() {
+    return durationNs;
+  }
+
+  public long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  public long getElementCount() {
+    return elementCount;
+  }
+
+  @Override
+  public String toString() {
+    return name + ": " + durationNs / 1_000_000.0 + " ms, "
+        + (allocatedBytes == allocationUnknown ? "unknown" : allocatedBytes / 1024 + " KB")
+        + " allocated, " + elementCount + " elements";
+  }
+}
@@ -0,0 +1,104 @@
+package at.uibk.dps.ee.io.instrumentation;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.opt4j.core.start.Constant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * The {@link StartupProfile} records all completed startup phases in the order
+ * of their completion and creates a report summarizing them. The report is
+ * logged and, if a report file is configured, written to the file. Phases may
+ * be nested (e.g., the graph validation is part of the graph generation, and
+ * the engine run comprises all phases of the engine creation), so that the
+ * report does not sum up their durations. Creating a profile enables the
+ * measurement of the thread allocations.
+ *
+ * @author Fedor Smirnov
+ */
+@Singleton
+public class StartupProfile implements StartupListener {
+
+  protected final Logger logger = LoggerFactory.getLogger(StartupProfile.class);
+
+  protected final String reportFile;
+  protected final List<StartupPhase> phases = new CopyOnWriteArrayList<>();
+
+  /**
+   * Injection constructor.
+   *
+   * @param reportFile the path to the file where the report is written (the
+   *        report is only logged if empty)
+   */
+  @Inject
+  public StartupProfile(
+      @Constant(value = "reportFile", namespace = StartupProfile.class) final String reportFile) {
+    this.reportFile = reportFile;
+    PhaseMeasurement.enableAllocationMeasurement();
+  }
+
+  @Override
+  public void phaseFinished(final StartupPhase phase) {
+    phases.add(phase);
+    logger.debug("Startup phase finished: {}", phase);
+  }
+
+  /**
+   * Returns the phases recorded so far (in the order of their completion).
+   *
+   * @return the phases recorded so far
+   */
+  public List<StartupPhase> getPhases() {
+    return new ArrayList<>(phases);
+  }
+
+  /**
+   * Creates the report summarizing the recorded phases.
+   *
+   * @return the report summarizing the recorded phases
+   */
+  public String createReport() {
+    final StringBuilder result = new StringBuilder(128);
+    result.append(String.format("%-60s %12s %14s %12s%n", "Phase", "Time [ms]", "Alloc [KB]",
+        "Elements"));
+    for (final StartupPhase phase : phases) {
+      final String allocated = phase.getAllocatedBytes() == StartupPhase.allocationUnknown ? "-"
+          : String.valueOf(phase.getAllocatedBytes() / 1024);
+      result.append(String.format("%-60s %12.3f %14s %12d%n", phase.getName(),
+          phase.getDurationNs() / 1_000_000.0, allocated, phase.getElementCount()));
+    }
+    return result.toString();
+  }
+
+  /**
+   * Logs the report and writes it to the report file (if configured).
+   */
+  public void writeReport() {
+    final String report = createReport();
+    logger.info("Startup profile:{}{}", System.lineSeparator(), report);
+    if (reportFile.isEmpty()) {
+      return;
+    }
+    final Path reportPath = Paths.get(reportFile);
+    try {
+      if (reportPath.getParent() != null) {
+        Files.createDirectories(reportPath.getParent());
+      }
+      Files.write(reportPath, report.getBytes(StandardCharsets.UTF_8));
+    } catch (IOException ioExc) {
+      throw new IllegalStateException(
+          "IOException when writing the startup profile to " + reportFile, ioExc);
+    }
+  }
+}
@@ -0,0 +1,6 @@
+/**
+ * Package for the classes used to measure the phases of the engine startup
+ * (reading and processing the workflow, the type mappings, and the input) and
+ * to report the measured profile.
+ */
+package at.uibk.dps.ee.io.instrumentation;
@@ -1,9 +1,13 @@
 package at.uibk.dps.ee.io.json;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import com.google.gson.Gson;
 
@@ -17,6 +21,8 @@ import com.google.gson.Gson;
 public class ResourceInformationJsonFile extends ArrayList<FunctionTypeEntry> {
   private static final long serialVersionUID = 1L;
 
+  private static final Gson gson = new Gson();
+
   /**
    * Converts the json file found in the provided path to a
    * {@link ResourceInformationJsonFile}.
@@ -25,13 +31,40 @@ public class ResourceInformationJsonFile extends ArrayList<FunctionTypeEntry> {
    * @return the {@link ResourceInformationJsonFile} built from the file
    */
   public static ResourceInformationJsonFile readFromFile(final String filePath) {
-    final Gson gson = new Gson();
-    String jsonString;
-    try {
-      jsonString = Files.readString(Paths.get(filePath));
-      return gson.fromJson(jsonString, ResourceInformationJsonFile.class);
+    try (Reader reader = Files.newBufferedReader(Paths.get(filePath))) {
+      return gson.fromJson(reader, ResourceInformationJsonFile.class);
     } catch (IOException ioExc) {
       throw new IllegalStateException("IOException when trying to read resource input.", ioExc);
     }
   }
+
+  /**
+   * Returns a map of the function types to the entries of the resources which
+   * functions of the type can be enacted on. Built anew with each call.
+   * 
+   * @return a map of the function types to the entries of the resources which
+   *         functions of the type can be enacted on
+   */
+  public Map<String, List<ResourceEntry>> getResourcesByFunctionType() {
+    return getResourcesByFunctionType(this);
+  }
+
+  /**
+   * Returns a map of the function types to the entries of the resources which
+   * functions of the type can be enacted on, as described by the given entries.
+   * Built anew with each call.
+   * 
+   * @param functionEntries the entries of the resource information
+   * @return a map of the function types to the entries of the resources which
+   *         functions of the type can be enacted on
+   */
+  public static Map<String, List<ResourceEntry>> getResourcesByFunctionType(
+      final List<FunctionTypeEntry> functionEntries) {
+    final Map<String, List<ResourceEntry>> result = new HashMap<>();
+    for (final FunctionTypeEntry functionEntry : functionEntries) {
+      result.computeIfAbsent(functionEntry.getFunctionType(), type -> new ArrayList<>())
+          .addAll(functionEntry.getResources());
+    }
+    return result;
+  }
 }
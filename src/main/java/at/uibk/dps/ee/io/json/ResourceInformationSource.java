@@ -0,0 +1,127 @@
+package at.uibk.dps.ee.io.json;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.opt4j.core.start.Constant;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import at.uibk.dps.ee.io.resources.ResourceGraphProviderFile;
+
+/**
+ * The {@link ResourceInformationSource} provides the
+ * {@link ResourceInformationJsonFile} read from the configured file, so that
+ * the file is parsed only once for all classes processing the resource
+ * information. The most recently used parsed files are additionally shared
+ * between all sources within the JVM (e.g., the engines of a daemon) as long as
+ * the modification time and the size of the file do not change. The resource
+ * information is provided as an unmodifiable list. Since the list only
+ * prevents structural changes, the entries (and the json elements of their
+ * properties) are shared as well and must never be modified; classes using
+ * the properties beyond reading them (e.g., as graph attributes) work on deep
+ * copies.
+ * 
+ * @author Fedor Smirnov
+ */
+@Singleton
+public class ResourceInformationSource {
+
+  /**
+   * A parsed file together with the file attributes at the time of parsing.
+   */
+  protected static class ParsedFile {
+    protected final FileTime lastModified;
+    protected final long size;
+    protected final List<FunctionTypeEntry> resourceInformation;
+
+    protected ParsedFile(final FileTime lastModified, final long size,
+        final ResourceInformationJsonFile resourceInformation) {
+      this.lastModified = lastModified;
+      this.size = size;
+      this.resourceInformation = Collections.unmodifiableList(resourceInformation);
+    }
+
+    protected boolean isUpToDate(final BasicFileAttributes attributes) {
+      return lastModified.equals(attributes.lastModifiedTime()) && size == attributes.size();
+    }
+  }
+
+  /**
+   * The maximal number of parsed files shared within the JVM.
+   */
+  protected static final int maxParsedFiles = 16;
+
+  protected static final Map<Path, ParsedFile> parsedFiles =
+      new LinkedHashMap<>(maxParsedFiles, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Entry<Path, ParsedFile> eldest) {
+          return size() > maxParsedFiles;
+        }
+      };
+
+  protected final List<FunctionTypeEntry> resourceInformation;
+
+  /**
+   * Injection constructor.
+   * 
+   * @param filePath the path to the file specifying the type mappings
+   */
+  @Inject
+  public ResourceInformationSource(@Constant(value = "filePath",
+      namespace = ResourceGraphProviderFile.class) final String filePath) {
+    this.resourceInformation = getParsedFile(filePath);
+  }
+
+  /**
+   * Returns the (unmodifiable) resource information read from the file. The
+   * returned entries are shared and must not be modified.
+   * 
+   * @return the resource information read from the file
+   */
+  public List<FunctionTypeEntry> getResourceInformation() {
+    return resourceInformation;
+  }
+
+  /**
+   * Returns the resource information read from the given file. The file is only
+   * parsed if it was not parsed recently or if it changed since then.
+   * 
+   * @param filePath the path to the file
+   * @return the resource information read from the given file
+   */
+  protected static List<FunctionTypeEntry> getParsedFile(final String filePath) {
+    final Path path = Paths.get(filePath).toAbsolutePath().normalize();
+    final BasicFileAttributes attributes;
+    try {
+      attributes = Files.readAttributes(path, BasicFileAttributes.class);
+    } catch (IOException ioExc) {
+      throw new IllegalStateException("IOException when trying to read resource input.", ioExc);
+    }
+    synchronized (parsedFiles) {
+      final ParsedFile parsed = parsedFiles.get(path);
+      if (parsed != null && parsed.isUpToDate(attributes)) {
+        return parsed.resourceInformation;
+      }
+    }
+    // parse outside of the lock; concurrent parses of the same file are harmless
+    final ParsedFile result = new ParsedFile(attributes.lastModifiedTime(), attributes.size(),
+        ResourceInformationJsonFile.readFromFile(filePath));
+    synchronized (parsedFiles) {
+      parsedFiles.put(path, result);
+    }
+    return result.resourceInformation;
+  }
+}
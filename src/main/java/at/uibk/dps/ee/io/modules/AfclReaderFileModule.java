@@ -7,6 +7,7 @@ import org.opt4j.core.start.Constant;
 
 import at.uibk.dps.ee.guice.modules.InputModule;
 import at.uibk.dps.ee.io.afcl.AfclReader;
+import at.uibk.dps.ee.io.afcl.AfclReaderLazy;
 import at.uibk.dps.ee.model.graph.EnactmentGraphProvider;
 
 /**
@@ -24,6 +25,25 @@ public class AfclReaderFileModule extends InputModule {
   @Constant(value = "filePath", namespace = AfclReader.class)
   public String filePath = "";
 
+  @Order(2)
+  @Info("If checked, the WF is processed when the enactment graph is first requested.")
+  public boolean lazyGeneration = false;
+
+  @Order(3)
+  @Info("If checked (and in lazy mode), the WF processing is started in the background.")
+  @Constant(value = "asyncGeneration", namespace = AfclReaderLazy.class)
+  public boolean asyncGeneration = true;
+
+  @Order(4)
+  @Info("If checked, independent top-level compounds of the WF are processed in parallel.")
+  @Constant(value = "parallelCompounds", namespace = AfclReader.class)
+  public boolean parallelCompounds = false;
+
+  @Order(5)
+  @Info("If checked, identical constants of the WF are modeled by a single node.")
+  @Constant(value = "mergeConstants", namespace = AfclReader.class)
+  public boolean mergeConstants = false;
+
   public String getFilePath() {
     return filePath;
   }
@@ -32,8 +52,44 @@ public class AfclReaderFileModule extends InputModule {
     this.filePath = filePath;
   }
 
+  public boolean isLazyGeneration() {
+    return lazyGeneration;
+  }
+
+  public void setLazyGeneration(final boolean lazyGeneration) {
+    this.lazyGeneration = lazyGeneration;
+  }
+
+  public boolean isAsyncGeneration() {
+    return asyncGeneration;
+  }
+
+  public void setAsyncGeneration(final boolean asyncGeneration) {
+    this.asyncGeneration = asyncGeneration;
+  }
+
+  public boolean isParallelCompounds() {
+    return parallelCompounds;
+  }
+
+  public void setParallelCompounds(final boolean parallelCompounds) {
+    this.parallelCompounds = parallelCompounds;
+  }
+
+  public boolean isMergeConstants() {
+    return mergeConstants;
+  }
+
+  public void setMergeConstants(final boolean mergeConstants) {
+    this.mergeConstants = mergeConstants;
+  }
+
   @Override
   protected void config() {
-    bind(EnactmentGraphProvider.class).to(AfclReader.class);
+    if (lazyGeneration) {
+      bind(EnactmentGraphProvider.class).to(AfclReaderLazy.class);
+    } else {
+      bind(EnactmentGraphProvider.class).to(AfclReader.class);
+    }
   }
 }
@@ -0,0 +1,14 @@
+package at.uibk.dps.ee.io.modules;
+
+/**
+ * Marker interface for the modules which configure the setup of the engine
+ * (e.g., the processing of the workflow or the instrumentation of the startup)
+ * rather than the source of the input or the handling of the output. When the
+ * EeStarter replaces the configured input and output modules, the modules
+ * implementing this interface are retained.
+ * 
+ * @author Fedor Smirnov
+ *
+ */
+public interface EngineSetupModule {
+}
@@ -0,0 +1,51 @@
+package at.uibk.dps.ee.io.modules;
+
+import org.opt4j.core.config.annotations.Info;
+import org.opt4j.core.config.annotations.Order;
+import org.opt4j.core.start.Constant;
+
+import at.uibk.dps.ee.guice.modules.InputModule;
+import at.uibk.dps.ee.io.cache.EnactmentGraphCache;
+import at.uibk.dps.ee.io.cache.EnactmentGraphCacheDisk;
+
+/**
+ * The {@link GraphCacheModule} configures a cache on the local storage for the
+ * enactment graphs generated from the workflow files. With the cache, engines
+ * started repeatedly for the same workflow skip the graph generation.
+ * 
+ * @author Fedor Smirnov
+ *
+ */
+public class GraphCacheModule extends InputModule implements EngineSetupModule {
+
+  @Order(1)
+  @Info("The directory where the generated graphs are stored.")
+  @Constant(value = "directory", namespace = EnactmentGraphCacheDisk.class)
+  public String cacheDirectory = "./graphCache";
+
+  @Order(2)
+  @Info("The maximal overall size of the stored graphs (in MB).")
+  @Constant(value = "maxSizeMb", namespace = EnactmentGraphCacheDisk.class)
+  public int maxSizeMb = 256;
+
+  public String getCacheDirectory() {
+    return cacheDirectory;
+  }
+
+  public void setCacheDirectory(final String cacheDirectory) {
+    this.cacheDirectory = cacheDirectory;
+  }
+
+  public int getMaxSizeMb() {
+    return maxSizeMb;
+  }
+
+  public void setMaxSizeMb(final int maxSizeMb) {
+    this.maxSizeMb = maxSizeMb;
+  }
+
+  @Override
+  protected void config() {
+    bind(EnactmentGraphCache.class).to(EnactmentGraphCacheDisk.class);
+  }
+}
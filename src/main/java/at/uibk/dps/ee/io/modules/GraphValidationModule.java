@@ -0,0 +1,118 @@
+package at.uibk.dps.ee.io.modules;
+
+import org.opt4j.core.config.annotations.Info;
+import org.opt4j.core.config.annotations.Order;
+import org.opt4j.core.start.Constant;
+
+import at.uibk.dps.ee.guice.modules.InputModule;
+import at.uibk.dps.ee.io.validation.GraphValidator;
+import at.uibk.dps.ee.io.validation.GraphValidatorConfigurable;
+import at.uibk.dps.ee.io.validation.GraphValidatorPipeline;
+
+/**
+ * The {@link GraphValidationModule} configures the checks which are run to
+ * validate the enactment graph generated from the workflow file. Without this
+ * module, all checks are run.
+ * 
+ * @author Fedor Smirnov
+ *
+ */
+public class GraphValidationModule extends InputModule implements EngineSetupModule {
+
+  @Order(1)
+  @Info("If checked, the graph is checked for data nodes without any connections.")
+  @Constant(value = "disconnectedData", namespace = GraphValidatorConfigurable.class)
+  public boolean checkDisconnectedData = true;
+
+  @Order(2)
+  @Info("If checked, the graph is checked for data which is not produced by any function.")
+  @Constant(value = "unproducedData", namespace = GraphValidatorConfigurable.class)
+  public boolean checkUnproducedData = true;
+
+  @Order(3)
+  @Info("If checked, the content of the constants is checked against their data type.")
+  @Constant(value = "constantTypes", namespace = GraphValidatorConfigurable.class)
+  public boolean checkConstantTypes = true;
+
+  @Order(4)
+  @Info("If checked, the graph is checked for cycles.")
+  @Constant(value = "cycles", namespace = GraphValidatorConfigurable.class)
+  public boolean checkCycles = true;
+
+  @Order(5)
+  @Info("If checked, the types of the data are checked against the types expected by their "
+      + "consumers (distributions and while iterations).")
+  @Constant(value = "dataTypes", namespace = GraphValidatorConfigurable.class)
+  public boolean checkDataTypes = true;
+
+  @Order(6)
+  @Info("If checked, the graph is checked for while references pointing to missing data.")
+  @Constant(value = "whileReferences", namespace = GraphValidatorConfigurable.class)
+  public boolean checkWhileReferences = true;
+
+  @Order(7)
+  @Info("The number of graph nodes starting from which the checks are run in parallel.")
+  @Constant(value = "parallelThreshold", namespace = GraphValidatorConfigurable.class)
+  public int parallelThreshold = GraphValidatorPipeline.defaultParallelThreshold;
+
+  public boolean isCheckDisconnectedData() {
+    return checkDisconnectedData;
+  }
+
+  public void setCheckDisconnectedData(final boolean checkDisconnectedData) {
+    this.checkDisconnectedData = checkDisconnectedData;
+  }
+
+  public boolean isCheckUnproducedData() {
+    return checkUnproducedData;
+  }
+
+  public void setCheckUnproducedData(final boolean checkUnproducedData) {
+    this.checkUnproducedData = checkUnproducedData;
+  }
+
+  public boolean isCheckConstantTypes() {
+    return checkConstantTypes;
+  }
+
+  public void setCheckConstantTypes(final boolean checkConstantTypes) {
+    this.checkConstantTypes = checkConstantTypes;
+  }
+
+  public boolean isCheckCycles() {
+    return checkCycles;
+  }
+
+  public void setCheckCycles(final boolean checkCycles) {
+    this.checkCycles = checkCycles;
+  }
+
+  public boolean isCheckDataTypes() {
+    return checkDataTypes;
+  }
+
+  public void setCheckDataTypes(final boolean checkDataTypes) {
+    this.checkDataTypes = checkDataTypes;
+  }
+
+  public boolean isCheckWhileReferences() {
+    return checkWhileReferences;
+  }
+
+  public void setCheckWhileReferences(final boolean checkWhileReferences) {
+    this.checkWhileReferences = checkWhileReferences;
+  }
+
+  public int getParallelThreshold() {
+    return parallelThreshold;
+  }
+
+  public void setParallelThreshold(final int parallelThreshold) {
+    this.parallelThreshold = parallelThreshold;
+  }
+
+  @Override
+  protected void config() {
+    bind(GraphValidator.class).to(GraphValidatorConfigurable.class);
+  }
+}
@@ -0,0 +1,20 @@
+package at.uibk.dps.ee.io.modules;
+
+import at.uibk.dps.ee.core.InputDataProvider;
+import at.uibk.dps.ee.guice.modules.InputModule;
+import at.uibk.dps.ee.io.input.InputDataProviderBatch;
+
+/**
+ * Module binding the provider for the inputs of a batch enactment, where the
+ * input is set before each enactment.
+ * 
+ * @author Fedor Smirnov
+ *
+ */
+public class InputBatchModule extends InputModule {
+
+  @Override
+  protected void config() {
+    bind(InputDataProvider.class).to(InputDataProviderBatch.class);
+  }
+}
@@ -8,6 +8,7 @@ import org.opt4j.core.start.Constant;
 import at.uibk.dps.ee.core.InputDataProvider;
 import at.uibk.dps.ee.guice.modules.InputModule;
 import at.uibk.dps.ee.io.input.InputDataProviderFile;
+import at.uibk.dps.ee.io.input.InputDataProviderStreaming;
 
 /**
  * Module to read the Json Object used as WF input from a file.
@@ -23,6 +24,10 @@ public class InputReaderFileModule extends InputModule {
   @File
   public String filePath = "";
 
+  @Order(2)
+  @Info("If checked, only the entries required by the WF are read from the file.")
+  public boolean streaming = false;
+
   public String getFilePath() {
     return filePath;
   }
@@ -31,8 +36,20 @@ public class InputReaderFileModule extends InputModule {
     this.filePath = filePath;
   }
 
+  public boolean isStreaming() {
+    return streaming;
+  }
+
+  public void setStreaming(final boolean streaming) {
+    this.streaming = streaming;
+  }
+
   @Override
   protected void config() {
-    bind(InputDataProvider.class).to(InputDataProviderFile.class);
+    if (streaming) {
+      bind(InputDataProvider.class).to(InputDataProviderStreaming.class);
+    } else {
+      bind(InputDataProvider.class).to(InputDataProviderFile.class);
+    }
   }
 }
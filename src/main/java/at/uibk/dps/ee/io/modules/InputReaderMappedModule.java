@@ -0,0 +1,52 @@
+package at.uibk.dps.ee.io.modules;
+
+import org.opt4j.core.config.annotations.File;
+import org.opt4j.core.config.annotations.Info;
+import org.opt4j.core.config.annotations.Order;
+import org.opt4j.core.start.Constant;
+
+import at.uibk.dps.ee.core.InputDataProvider;
+import at.uibk.dps.ee.guice.modules.InputModule;
+import at.uibk.dps.ee.io.input.InputDataProviderMapped;
+
+/**
+ * Module to read the Json Object used as WF input from a (large) file which is
+ * mapped into memory.
+ * 
+ * @author Fedor Smirnov
+ *
+ */
+public class InputReaderMappedModule extends InputModule {
+
+  @Order(1)
+  @Info("Filepath to the .json file containing the WF input.")
+  @Constant(value = "filePath", namespace = InputDataProviderMapped.class)
+  @File
+  public String filePath = "";
+
+  @Order(2)
+  @Info("If checked, only the entries required by the WF are read from the file.")
+  @Constant(value = "onlyRequiredEntries", namespace = InputDataProviderMapped.class)
+  public boolean onlyRequiredEntries = true;
+
+  public String getFilePath() {
+    return filePath;
+  }
+
+  public void setFilePath(final String filePath) {
+    this.filePath = filePath;
+  }
+
+  public boolean isOnlyRequiredEntries() {
+    return onlyRequiredEntries;
+  }
+
+  public void setOnlyRequiredEntries(final boolean onlyRequiredEntries) {
+    this.onlyRequiredEntries = onlyRequiredEntries;
+  }
+
+  @Override
+  protected void config() {
+    bind(InputDataProvider.class).to(InputDataProviderMapped.class);
+  }
+}
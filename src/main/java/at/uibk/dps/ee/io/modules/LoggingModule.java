@@ -11,7 +11,7 @@ import ch.qos.logback.classic.util.ContextInitializer;
  * 
  * @author Fedor Smirnov
  */
-public class LoggingModule extends OutputModule {
+public class LoggingModule extends OutputModule implements EngineSetupModule {
 
   @Order(1)
   @Info("Path of the file configuring the loggers.")
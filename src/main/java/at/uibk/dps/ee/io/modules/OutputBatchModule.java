@@ -0,0 +1,53 @@
+package at.uibk.dps.ee.io.modules;
+
+import org.opt4j.core.config.annotations.Info;
+import org.opt4j.core.config.annotations.Order;
+import org.opt4j.core.start.Constant;
+
+import at.uibk.dps.ee.core.FailureHandler;
+import at.uibk.dps.ee.core.OutputDataHandler;
+import at.uibk.dps.ee.guice.modules.OutputModule;
+import at.uibk.dps.ee.io.output.OutputDataBatchWriter;
+import at.uibk.dps.ee.io.output.OutputDataFileWriter.Compression;
+
+/**
+ * Binds the batch writer as the output data handler, so that the result of
+ * each enactment of a batch is written into its own file.
+ * 
+ * @author Fedor Smirnov
+ *
+ */
+public class OutputBatchModule extends OutputModule {
+
+  @Order(1)
+  @Info("Path to the directory where the results of the batch are written.")
+  @Constant(value = "outputDirectory", namespace = OutputDataBatchWriter.class)
+  public String outputDirectory = "./output/batch";
+
+  @Order(2)
+  @Info("The compression applied to the written files.")
+  @Constant(value = "compression", namespace = OutputDataBatchWriter.class)
+  public Compression compression = Compression.None;
+
+  public String getOutputDirectory() {
+    return outputDirectory;
+  }
+
+  public void setOutputDirectory(final String outputDirectory) {
+    this.outputDirectory = outputDirectory;
+  }
+
+  public Compression getCompression() {
+    return compression;
+  }
+
+  public void setCompression(final Compression compression) {
+    this.compression = compression;
+  }
+
+  @Override
+  protected void config() {
+    bind(OutputDataHandler.class).to(OutputDataBatchWriter.class);
+    bind(FailureHandler.class).to(OutputDataBatchWriter.class);
+  }
+}
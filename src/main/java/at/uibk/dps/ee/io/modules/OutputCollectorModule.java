@@ -0,0 +1,22 @@
+package at.uibk.dps.ee.io.modules;
+
+import at.uibk.dps.ee.core.FailureHandler;
+import at.uibk.dps.ee.core.OutputDataHandler;
+import at.uibk.dps.ee.guice.modules.OutputModule;
+import at.uibk.dps.ee.io.output.OutputDataCollector;
+
+/**
+ * Binds the output collector as the output data handler, so that the
+ * enactment result is kept in memory and can be handed to the requester.
+ * 
+ * @author Fedor Smirnov
+ *
+ */
+public class OutputCollectorModule extends OutputModule {
+
+  @Override
+  protected void config() {
+    bind(OutputDataHandler.class).to(OutputDataCollector.class);
+    bind(FailureHandler.class).to(OutputDataCollector.class);
+  }
+}
@@ -0,0 +1,55 @@
+package at.uibk.dps.ee.io.modules;
+
+import org.opt4j.core.config.annotations.File;
+import org.opt4j.core.config.annotations.Info;
+import org.opt4j.core.config.annotations.Order;
+import org.opt4j.core.start.Constant;
+
+import at.uibk.dps.ee.core.FailureHandler;
+import at.uibk.dps.ee.core.OutputDataHandler;
+import at.uibk.dps.ee.guice.modules.OutputModule;
+import at.uibk.dps.ee.io.output.OutputDataFileWriter;
+import at.uibk.dps.ee.io.output.OutputDataFileWriter.Compression;
+
+/**
+ * Binds the file writer as the output data handler, so that the enactment
+ * result is streamed into a file.
+ * 
+ * @author Fedor Smirnov
+ *
+ */
+public class OutputFileModule extends OutputModule {
+
+  @Order(1)
+  @Info("Path to the file where the WF result is written.")
+  @Constant(value = "filePath", namespace = OutputDataFileWriter.class)
+  @File
+  public String filePath = "./output/result.json";
+
+  @Order(2)
+  @Info("The compression applied to the written file.")
+  @Constant(value = "compression", namespace = OutputDataFileWriter.class)
+  public Compression compression = Compression.None;
+
+  public String getFilePath() {
+    return filePath;
+  }
+
+  public void setFilePath(final String filePath) {
+    this.filePath = filePath;
+  }
+
+  public Compression getCompression() {
+    return compression;
+  }
+
+  public void setCompression(final Compression compression) {
+    this.compression = compression;
+  }
+
+  @Override
+  protected void config() {
+    bind(OutputDataHandler.class).to(OutputDataFileWriter.class);
+    bind(FailureHandler.class).to(OutputDataFileWriter.class);
+  }
+}
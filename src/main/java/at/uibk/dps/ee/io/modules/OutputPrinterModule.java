@@ -1,21 +1,115 @@
 package at.uibk.dps.ee.io.modules;
 
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.opt4j.core.config.annotations.Info;
+import org.opt4j.core.config.annotations.Order;
+import org.opt4j.core.start.Constant;
+
+import com.google.inject.Inject;
+
 import at.uibk.dps.ee.core.FailureHandler;
 import at.uibk.dps.ee.core.OutputDataHandler;
 import at.uibk.dps.ee.guice.modules.OutputModule;
 import at.uibk.dps.ee.io.output.OutputDataPrinter;
+import at.uibk.dps.ee.io.output.OutputDataPrinterAsync;
+import at.uibk.dps.ee.io.output.OutputDataPrinterAsync.BackpressureMode;
 
 /**
- * Binds the output printer as the output data handler.
+ * Binds the output printer as the output data handler. In the asynchronous
+ * mode, closing the module closes the printers of the engines configured with
+ * it, so that all results are logged when the enactment is finished.
  * 
  * @author Fedor Smirnov
  *
  */
-public class OutputPrinterModule extends OutputModule {
+public class OutputPrinterModule extends OutputModule implements Closeable {
+
+  @Order(1)
+  @Info("If checked, the results are logged by a background thread.")
+  public boolean asynchronous = false;
+
+  @Order(2)
+  @Info("The maximal number of results waiting to be logged (asynchronous mode).")
+  @Constant(value = "queueCapacity", namespace = OutputDataPrinterAsync.class)
+  public int queueCapacity = 16;
+
+  @Order(3)
+  @Info("The behavior in cases where the queue is full (asynchronous mode).")
+  @Constant(value = "backpressureMode", namespace = OutputDataPrinterAsync.class)
+  public BackpressureMode backpressureMode = BackpressureMode.Block;
+
+  @Order(4)
+  @Info("The directory for the results spilled because of a full queue.")
+  @Constant(value = "spillDirectory", namespace = OutputDataPrinterAsync.class)
+  public String spillDirectory = "./spilledResults";
+
+  protected final List<OutputDataPrinterAsync> asyncPrinters = new CopyOnWriteArrayList<>();
+
+  public boolean isAsynchronous() {
+    return asynchronous;
+  }
+
+  public void setAsynchronous(final boolean asynchronous) {
+    this.asynchronous = asynchronous;
+  }
+
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  public void setQueueCapacity(final int queueCapacity) {
+    this.queueCapacity = queueCapacity;
+  }
+
+  public BackpressureMode getBackpressureMode() {
+    return backpressureMode;
+  }
+
+  public void setBackpressureMode(final BackpressureMode backpressureMode) {
+    this.backpressureMode = backpressureMode;
+  }
+
+  public String getSpillDirectory() {
+    return spillDirectory;
+  }
+
+  public void setSpillDirectory(final String spillDirectory) {
+    this.spillDirectory = spillDirectory;
+  }
+
+  /**
+   * Registers the asynchronous printer of an engine configured with this
+   * module (called by the injector).
+   * 
+   * @param printer the asynchronous printer
+   */
+  @Inject
+  protected void registerAsyncPrinter(final OutputDataPrinterAsync printer) {
+    asyncPrinters.add(printer);
+  }
+
+  /**
+   * Closes the asynchronous printers of the engines configured with this
+   * module.
+   */
+  @Override
+  public void close() {
+    asyncPrinters.forEach(OutputDataPrinterAsync::close);
+    asyncPrinters.clear();
+  }
 
   @Override
   protected void config() {
-    bind(OutputDataHandler.class).to(OutputDataPrinter.class);
-    bind(FailureHandler.class).to(OutputDataPrinter.class);
+    if (asynchronous) {
+      bind(OutputDataHandler.class).to(OutputDataPrinterAsync.class);
+      bind(FailureHandler.class).to(OutputDataPrinterAsync.class);
+      requestInjection(this);
+    } else {
+      bind(OutputDataHandler.class).to(OutputDataPrinter.class);
+      bind(FailureHandler.class).to(OutputDataPrinter.class);
+    }
   }
 }
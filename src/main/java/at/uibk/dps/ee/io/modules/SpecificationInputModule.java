@@ -32,6 +32,16 @@ public class SpecificationInputModule extends InputModule {
   @Constant(value = "filePath", namespace = ResourceGraphProviderFile.class)
   public String filePathMappingFile = "";
 
+  @Order(3)
+  @Info("If checked, independent top-level compounds of the WF are processed in parallel.")
+  @Constant(value = "parallelCompounds", namespace = AfclReader.class)
+  public boolean parallelCompounds = false;
+
+  @Order(4)
+  @Info("If checked, identical constants of the WF are modeled by a single node.")
+  @Constant(value = "mergeConstants", namespace = AfclReader.class)
+  public boolean mergeConstants = false;
+
   public String getFilePathAfcl() {
     return filePathAfcl;
   }
@@ -48,6 +58,22 @@ public class SpecificationInputModule extends InputModule {
     this.filePathMappingFile = filePathMappingFile;
   }
 
+  public boolean isParallelCompounds() {
+    return parallelCompounds;
+  }
+
+  public void setParallelCompounds(final boolean parallelCompounds) {
+    this.parallelCompounds = parallelCompounds;
+  }
+
+  public boolean isMergeConstants() {
+    return mergeConstants;
+  }
+
+  public void setMergeConstants(final boolean mergeConstants) {
+    this.mergeConstants = mergeConstants;
+  }
+
   @Override
   protected void config() {
     bind(EnactmentGraphProvider.class).to(AfclReader.class);
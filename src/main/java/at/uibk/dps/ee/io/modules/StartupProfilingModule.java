@@ -0,0 +1,57 @@
+package at.uibk.dps.ee.io.modules;
+
+import org.opt4j.core.config.annotations.Info;
+import org.opt4j.core.config.annotations.Order;
+import org.opt4j.core.start.Constant;
+
+import at.uibk.dps.ee.guice.modules.OutputModule;
+import at.uibk.dps.ee.io.instrumentation.StartupListener;
+import at.uibk.dps.ee.io.instrumentation.StartupProfile;
+
+/**
+ * The {@link StartupProfilingModule} configures the recording of the startup
+ * phases (the durations, allocations, and element counts of reading and
+ * processing the workflow, the type mappings, and the input) by a
+ * {@link StartupProfile}. When the engine is started via the EeStarter, the
+ * profile report is written after the enactment.
+ * 
+ * @author Fedor Smirnov
+ *
+ */
+public class StartupProfilingModule extends OutputModule implements EngineSetupModule {
+
+  @Order(1)
+  @Info("Path of the file where the startup profile is written (only logged if empty).")
+  @Constant(value = "reportFile", namespace = StartupProfile.class)
+  public String reportFile = "";
+
+  protected StartupProfile startupProfile;
+
+  public String getReportFile() {
+    return reportFile;
+  }
+
+  public void setReportFile(final String reportFile) {
+    this.reportFile = reportFile;
+  }
+
+  /**
+   * Configures the module to bind the given profile instance (instead of
+   * creating a new one), so that the profile can be accessed from outside of
+   * the injector.
+   * 
+   * @param startupProfile the profile recording the startup phases
+   */
+  public void useStartupProfile(final StartupProfile startupProfile) {
+    this.startupProfile = startupProfile;
+  }
+
+  @Override
+  protected void config() {
+    if (startupProfile == null) {
+      bind(StartupListener.class).to(StartupProfile.class);
+    } else {
+      bind(StartupListener.class).toInstance(startupProfile);
+    }
+  }
+}
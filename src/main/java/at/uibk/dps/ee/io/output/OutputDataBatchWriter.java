@@ -0,0 +1,134 @@
+package at.uibk.dps.ee.io.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.opt4j.core.start.Constant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonObject;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import at.uibk.dps.ee.core.FailureHandler;
+import at.uibk.dps.ee.core.OutputDataHandler;
+import at.uibk.dps.ee.io.output.OutputDataFileWriter.Compression;
+
+/**
+ * The {@link OutputDataBatchWriter} writes the result of each enactment of a
+ * batch into its own file within the output directory. The file is named after
+ * the input of the current enactment, which is set by the batch driver before
+ * each enactment. Failed enactments are recorded in a file with the suffix
+ * .error, and the failure of the current enactment can be queried by the batch
+ * driver.
+ *
+ * @author Fedor Smirnov
+ */
+@Singleton
+public class OutputDataBatchWriter implements OutputDataHandler, FailureHandler {
+
+  protected static final String suffixResult = ".json";
+  protected static final String suffixResultGzip = ".json.gz";
+  protected static final String suffixError = ".error";
+
+  protected final Logger logger = LoggerFactory.getLogger(OutputDataBatchWriter.class);
+
+  protected final Path outputDirectory;
+  protected final Compression compression;
+
+  protected volatile String currentInputName;
+  protected volatile boolean currentInputFailed;
+
+  /**
+   * Injection constructor.
+   *
+   * @param outputDirectory the directory where the results are written
+   * @param compression the compression applied to the written files
+   */
+  @Inject
+  public OutputDataBatchWriter(
+      @Constant(value = "outputDirectory",
+          namespace = OutputDataBatchWriter.class) final String outputDirectory,
+      @Constant(value = "compression",
+          namespace = OutputDataBatchWriter.class) final Compression compression) {
+    this.outputDirectory = Paths.get(outputDirectory);
+    this.compression = compression;
+  }
+
+  /**
+   * Sets the name of the input of the next enactment and resets its failure
+   * flag.
+   *
+   * @param currentInputName the name of the input of the next enactment
+   */
+  public void setCurrentInputName(final String currentInputName) {
+    this.currentInputName = currentInputName;
+    this.currentInputFailed = false;
+  }
+
+  /**
+   * Returns true iff a failure was reported for the current enactment.
+   *
+   * @return true iff a failure was reported for the current enactment
+   */
+  public boolean isCurrentInputFailed() {
+    return currentInputFailed;
+  }
+
+  @Override
+  public void handleOutputData(final JsonObject outputData) {
+    final Path resultFile = getResultFile();
+    try {
+      Files.createDirectories(outputDirectory);
+      try (OutputStream outputStream = Files.newOutputStream(resultFile)) {
+        OutputDataFileWriter.writeJson(outputData, outputStream, compression);
+      }
+      logger.debug("Enactment result written to {}.", resultFile);
+    } catch (IOException ioExc) {
+      throw new IllegalStateException("IOException when writing the result to " + resultFile,
+          ioExc);
+    }
+  }
+
+  @Override
+  public void handleFailure(final Throwable failureCause) {
+    currentInputFailed = true;
+    final Path errorFile = outputDirectory.resolve(getInputName() + suffixError);
+    logger.error("Enactment of input {} failed with message {}.", getInputName(),
+        failureCause.getMessage());
+    try {
+      Files.createDirectories(outputDirectory);
+      Files.writeString(errorFile, String.valueOf(failureCause.getMessage()));
+    } catch (IOException ioExc) {
+      throw new IllegalStateException("IOException when writing the failure to " + errorFile,
+          ioExc);
+    }
+  }
+
+  /**
+   * Returns the file where the result of the current enactment is written.
+   *
+   * @return the file where the result of the current enactment is written
+   */
+  protected Path getResultFile() {
+    return outputDirectory.resolve(
+        getInputName() + (compression == Compression.Gzip ? suffixResultGzip : suffixResult));
+  }
+
+  /**
+   * Returns the name of the input of the current enactment.
+   *
+   * @return the name of the input of the current enactment
+   */
+  protected String getInputName() {
+    final String result = currentInputName;
+    if (result == null) {
+      throw new IllegalStateException("No input name set for the current batch enactment.");
+    }
+    return result;
+  }
+}
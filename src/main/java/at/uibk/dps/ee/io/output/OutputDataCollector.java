@@ -0,0 +1,60 @@
+package at.uibk.dps.ee.io.output;
+
+import java.util.Optional;
+
+import com.google.gson.JsonObject;
+import com.google.inject.Singleton;
+
+import at.uibk.dps.ee.core.FailureHandler;
+import at.uibk.dps.ee.core.OutputDataHandler;
+
+/**
+ * The {@link OutputDataCollector} keeps the result (or the failure cause) of
+ * the last enactment in memory, so that it can be handed to the caller which
+ * requested the enactment.
+ *
+ * @author Fedor Smirnov
+ */
+@Singleton
+public class OutputDataCollector implements OutputDataHandler, FailureHandler {
+
+  protected volatile JsonObject result;
+  protected volatile Throwable failureCause;
+
+  @Override
+  public void handleOutputData(final JsonObject outputData) {
+    this.result = outputData;
+  }
+
+  @Override
+  public void handleFailure(final Throwable failureCause) {
+    this.failureCause = failureCause;
+  }
+
+  /**
+   * Discards the result and the failure cause of the last enactment.
+   */
+  public void reset() {
+    result = null;
+    failureCause = null;
+  }
+
+  /**
+   * Returns the result of the last enactment (empty if no result was provided).
+   *
+   * @return the result of the last enactment
+   */
+  public Optional<JsonObject> getResult() {
+    return Optional.ofNullable(result);
+  }
+
+  /**
+   * Returns the failure cause of the last enactment (empty if no failure was
+   * reported).
+   *
+   * @return the failure cause of the last enactment
+   */
+  public Optional<Throwable> getFailureCause() {
+    return Optional.ofNullable(failureCause);
+  }
+}
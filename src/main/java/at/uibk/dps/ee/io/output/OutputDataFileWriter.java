@@ -0,0 +1,117 @@
+package at.uibk.dps.ee.io.output;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+import org.opt4j.core.start.Constant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import at.uibk.dps.ee.core.FailureHandler;
+import at.uibk.dps.ee.core.OutputDataHandler;
+
+/**
+ * The {@link OutputDataFileWriter} streams the enactment result into a file
+ * (overwriting its previous content). The json is written element by element
+ * through a buffered channel, so that no string representation of the complete
+ * result is built.
+ *
+ * @author Fedor Smirnov
+ */
+@Singleton
+public class OutputDataFileWriter implements OutputDataHandler, FailureHandler {
+
+  /**
+   * The compression applied to the written file.
+   *
+   * @author Fedor Smirnov
+   *
+   */
+  public enum Compression {
+    None, Gzip
+  }
+
+  protected static final int bufferSize = 1 << 16;
+
+  protected final Logger logger = LoggerFactory.getLogger(OutputDataFileWriter.class);
+
+  protected final Path filePath;
+  protected final Compression compression;
+
+  /**
+   * Injection constructor.
+   *
+   * @param filePath the path to the file where the result is written
+   * @param compression the compression applied to the written file
+   */
+  @Inject
+  public OutputDataFileWriter(
+      @Constant(value = "filePath", namespace = OutputDataFileWriter.class) final String filePath,
+      @Constant(value = "compression",
+          namespace = OutputDataFileWriter.class) final Compression compression) {
+    this.filePath = Paths.get(filePath);
+    this.compression = compression;
+  }
+
+  @Override
+  public void handleFailure(final Throwable failureCause) {
+    logger.error("Enactment failed with message {}. No output written to {}.",
+        failureCause.getMessage(), filePath);
+  }
+
+  @Override
+  public void handleOutputData(final JsonObject outputData) {
+    try {
+      final Path parent = filePath.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.CREATE,
+          StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+        writeJson(outputData, Channels.newOutputStream(channel), compression);
+      }
+      logger.info("Enactment result written to {}.", filePath);
+    } catch (IOException ioExc) {
+      throw new IllegalStateException("IOException when writing the result to " + filePath,
+          ioExc);
+    }
+  }
+
+  /**
+   * Streams the given json object into the given output stream (which is closed
+   * afterwards).
+   *
+   * @param outputData the json object to write
+   * @param outputStream the stream to write to
+   * @param compression the compression applied to the written data
+   * @throws IOException if writing fails
+   */
+  public static void writeJson(final JsonObject outputData, final OutputStream outputStream,
+      final Compression compression) throws IOException {
+    OutputStream target = new BufferedOutputStream(outputStream, bufferSize);
+    if (compression == Compression.Gzip) {
+      target = new GZIPOutputStream(target, bufferSize);
+    }
+    try (Writer writer = new OutputStreamWriter(target, StandardCharsets.UTF_8);
+        JsonWriter jsonWriter = new JsonWriter(writer)) {
+      new Gson().toJson(outputData, jsonWriter);
+    }
+  }
+}
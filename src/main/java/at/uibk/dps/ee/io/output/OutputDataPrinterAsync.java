@@ -0,0 +1,336 @@
+package at.uibk.dps.ee.io.output;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.opt4j.core.start.Constant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import at.uibk.dps.ee.core.FailureHandler;
+import at.uibk.dps.ee.core.OutputDataHandler;
+
+/**
+ * The {@link OutputDataPrinterAsync} hands the enactment results to a
+ * background thread which logs them via an {@link OutputDataPrinter}, so that
+ * the serialization of the results is not done on the enactment thread. The
+ * results are buffered in a bounded queue. The behavior in cases where the
+ * queue is full is configured by the {@link BackpressureMode}. The printer is
+ * closed by the engine after the enactment (see
+ * {@link at.uibk.dps.ee.io.modules.OutputPrinterModule}); closing logs all
+ * queued and spilled results. Results provided after closing are logged on the
+ * calling thread. A shutdown hook closes printers which were not closed
+ * explicitly.
+ *
+ * @author Fedor Smirnov
+ */
+@Singleton
+public class OutputDataPrinterAsync implements OutputDataHandler, FailureHandler, Closeable {
+
+  /**
+   * The behavior in cases where a result is provided while the queue is full.
+   *
+   * @author Fedor Smirnov
+   *
+   */
+  public enum BackpressureMode {
+    /**
+     * The enactment thread waits until there is space in the queue.
+     */
+    Block,
+    /**
+     * The result is dropped (with a warning).
+     */
+    Drop,
+    /**
+     * The result is written to a file in the spill directory and logged from
+     * there once the queue is drained. The file is deleted after logging.
+     */
+    Spill
+  }
+
+  protected static final long pollIntervalMs = 100;
+  protected static final long closeTimeoutMs = 10_000;
+
+  protected final Logger logger = LoggerFactory.getLogger(OutputDataPrinterAsync.class);
+
+  protected final OutputDataPrinter printer;
+  protected final BlockingQueue<JsonObject> queue;
+  protected final BackpressureMode backpressureMode;
+  protected final Path spillDirectory;
+  protected final Thread writerThread;
+  protected final Thread shutdownHook;
+
+  protected final Queue<Path> spilledResults = new ConcurrentLinkedQueue<>();
+  protected final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+  protected final Object pendingLock = new Object();
+  protected int pendingResults;
+  protected volatile boolean closed;
+
+  /**
+   * Injection constructor.
+   *
+   * @param printer the printer used to log the results
+   * @param queueCapacity the maximal number of queued results
+   * @param backpressureMode the behavior in cases where the queue is full
+   * @param spillDirectory the directory where spilled results are written
+   */
+  @Inject
+  public OutputDataPrinterAsync(final OutputDataPrinter printer,
+      @Constant(value = "queueCapacity",
+          namespace = OutputDataPrinterAsync.class) final int queueCapacity,
+      @Constant(value = "backpressureMode",
+          namespace = OutputDataPrinterAsync.class) final BackpressureMode backpressureMode,
+      @Constant(value = "spillDirectory",
+          namespace = OutputDataPrinterAsync.class) final String spillDirectory) {
+    if (queueCapacity < 1) {
+      throw new IllegalArgumentException("The queue capacity must be positive.");
+    }
+    this.printer = printer;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.backpressureMode = backpressureMode;
+    this.spillDirectory = Paths.get(spillDirectory);
+    this.writerThread = new Thread(this::writeResults, "output-printer");
+    writerThread.setDaemon(true);
+    writerThread.start();
+    this.shutdownHook = new Thread(this::close, "output-printer-shutdown");
+    Runtime.getRuntime().addShutdownHook(shutdownHook);
+  }
+
+  @Override
+  public void handleFailure(final Throwable failureCause) {
+    printer.handleFailure(failureCause);
+  }
+
+  @Override
+  public void handleOutputData(final JsonObject outputData) {
+    // closing waits until the results handed over concurrently are enqueued
+    closeLock.readLock().lock();
+    try {
+      if (closed) {
+        printer.handleOutputData(outputData);
+        return;
+      }
+      enqueue(outputData);
+    } finally {
+      closeLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Hands the given result to the background thread, following the backpressure
+   * mode if the queue is full.
+   *
+   * @param outputData the result
+   */
+  protected void enqueue(final JsonObject outputData) {
+    changePending(1);
+    switch (backpressureMode) {
+      case Block:
+        try {
+          queue.put(outputData);
+        } catch (InterruptedException interruptExc) {
+          changePending(-1);
+          Thread.currentThread().interrupt();
+          throw new IllegalStateException("Interrupted while queueing the enactment result.",
+              interruptExc);
+        }
+        break;
+      case Drop:
+        if (!queue.offer(outputData)) {
+          changePending(-1);
+          logger.warn("Output queue full. Enactment result dropped.");
+        }
+        break;
+      case Spill:
+        if (!queue.offer(outputData)) {
+          spill(outputData);
+        }
+        break;
+      default:
+        changePending(-1);
+        throw new IllegalStateException("Unknown backpressure mode " + backpressureMode);
+    }
+  }
+
+  /**
+   * Blocks until all results queued (or spilled) so far are logged.
+   */
+  public void flush() {
+    synchronized (pendingLock) {
+      while (pendingResults > 0) {
+        try {
+          pendingLock.wait();
+        } catch (InterruptedException interruptExc) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Logs all queued and spilled results and stops the background thread.
+   * Results provided after closing are logged on the calling thread.
+   */
+  @Override
+  public void close() {
+    closeLock.writeLock().lock();
+    try {
+      if (closed) {
+        return;
+      }
+      closed = true;
+    } finally {
+      closeLock.writeLock().unlock();
+    }
+    try {
+      writerThread.join(closeTimeoutMs);
+    } catch (InterruptedException interruptExc) {
+      Thread.currentThread().interrupt();
+    }
+    // results left behind by a thread which did not stop in time
+    JsonObject remaining = queue.poll();
+    while (remaining != null) {
+      printResult(remaining);
+      remaining = queue.poll();
+    }
+    printSpilledResults();
+    try {
+      Runtime.getRuntime().removeShutdownHook(shutdownHook);
+    } catch (IllegalStateException shutdownInProgress) {
+      // called from the hook itself
+    }
+  }
+
+  /**
+   * The loop of the background thread, logging the queued results until the
+   * printer is closed and the queue is empty. The spilled results are logged
+   * whenever the queue is drained.
+   */
+  protected void writeResults() {
+    while (!closed || !queue.isEmpty()) {
+      try {
+        final JsonObject result = queue.poll(pollIntervalMs, TimeUnit.MILLISECONDS);
+        if (result == null) {
+          printSpilledResults();
+        } else {
+          printResult(result);
+        }
+      } catch (InterruptedException interruptExc) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+    printSpilledResults();
+  }
+
+  /**
+   * Logs the given queued result.
+   *
+   * @param result the result
+   * @return true iff the result was logged
+   */
+  protected boolean printResult(final JsonObject result) {
+    try {
+      printer.handleOutputData(result);
+      return true;
+    } catch (RuntimeException printExc) {
+      logger.error("Exception when logging the enactment result.", printExc);
+      return false;
+    } finally {
+      changePending(-1);
+    }
+  }
+
+  /**
+   * Logs the results spilled so far (in the order of spilling). Each spill file
+   * is deleted once its result is logged; files whose result could not be
+   * logged are kept for inspection.
+   */
+  protected void printSpilledResults() {
+    Path spillFile = spilledResults.poll();
+    while (spillFile != null) {
+      final JsonObject result;
+      try (Reader reader = Files.newBufferedReader(spillFile, StandardCharsets.UTF_8)) {
+        result = JsonParser.parseReader(reader).getAsJsonObject();
+      } catch (IOException | RuntimeException readExc) {
+        changePending(-1);
+        logger.error("Exception when reading the enactment result spilled to {}.", spillFile,
+            readExc);
+        spillFile = spilledResults.poll();
+        continue;
+      }
+      if (printResult(result)) {
+        deleteSpillFile(spillFile);
+      } else {
+        logger.error("Enactment result kept in {}.", spillFile);
+      }
+      spillFile = spilledResults.poll();
+    }
+  }
+
+  /**
+   * Deletes the given spill file after its result was logged.
+   *
+   * @param spillFile the spill file
+   */
+  protected void deleteSpillFile(final Path spillFile) {
+    try {
+      Files.deleteIfExists(spillFile);
+    } catch (IOException ioExc) {
+      logger.warn("Spill file {} could not be deleted.", spillFile, ioExc);
+    }
+  }
+
+  /**
+   * Writes the given result to a new file in the spill directory.
+   *
+   * @param outputData the result to spill
+   */
+  protected void spill(final JsonObject outputData) {
+    try {
+      Files.createDirectories(spillDirectory);
+      final Path spillFile = Files.createTempFile(spillDirectory, "result", ".json");
+      try (Writer writer = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8)) {
+        new Gson().toJson(outputData, writer);
+      }
+      spilledResults.add(spillFile);
+      logger.warn("Output queue full. Enactment result spilled to {}.", spillFile);
+    } catch (IOException ioExc) {
+      changePending(-1);
+      throw new IllegalStateException("IOException when spilling the enactment result.", ioExc);
+    }
+  }
+
+  /**
+   * Changes the number of pending results by the given difference.
+   *
+   * @param difference the difference
+   */
+  protected void changePending(final int difference) {
+    synchronized (pendingLock) {
+      pendingResults += difference;
+      pendingLock.notifyAll();
+    }
+  }
+}
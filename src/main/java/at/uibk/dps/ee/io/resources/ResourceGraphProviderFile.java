@@ -1,11 +1,16 @@
 package at.uibk.dps.ee.io.resources;
 
-import java.util.Optional;
-import org.opt4j.core.start.Constant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import at.uibk.dps.ee.io.instrumentation.PhaseMeasurement;
+import at.uibk.dps.ee.io.instrumentation.StartupListener;
+import at.uibk.dps.ee.io.json.FunctionTypeEntry;
 import at.uibk.dps.ee.io.json.ResourceEntry;
 import at.uibk.dps.ee.io.json.ResourceInformationJsonFile;
+import at.uibk.dps.ee.io.json.ResourceInformationSource;
 import at.uibk.dps.ee.model.constants.ConstantsEEModel;
 import at.uibk.dps.ee.model.graph.ResourceGraph;
 import at.uibk.dps.ee.model.graph.ResourceGraphProvider;
@@ -26,16 +31,34 @@ import net.sf.opendse.model.Resource;
 public class ResourceGraphProviderFile implements ResourceGraphProvider {
 
   protected final ResourceGraph resourceGraph;
+  protected final ResourceIndex resourceIndex;
 
   /**
    * Injection constructor.
    * 
-   * @param filePath the path to the file specifying the type mappings.
+   * @param resourceInformationSource the source of the information read from
+   *        the file specifying the type mappings
+   * @param startupListener the listener notified about the graph construction
    */
   @Inject
-  public ResourceGraphProviderFile(@Constant(value = "filePath",
-      namespace = ResourceGraphProviderFile.class) final String filePath) {
+  public ResourceGraphProviderFile(final ResourceInformationSource resourceInformationSource,
+      final StartupListener startupListener) {
+    final PhaseMeasurement construction =
+        PhaseMeasurement.start("ResourceGraphProviderFile: resource graph construction");
+    this.resourceGraph =
+        readResourceGraph(resourceInformationSource.getResourceInformation());
+    this.resourceIndex = new ResourceIndex(resourceGraph);
+    startupListener.phaseFinished(construction.stop(resourceGraph.getVertexCount()));
+  }
+
+  /**
+   * Constructor used to build the resource graph from the given file.
+   * 
+   * @param filePath the path to the file specifying the type mappings.
+   */
+  public ResourceGraphProviderFile(final String filePath) {
     this.resourceGraph = readResourceGraph(filePath);
+    this.resourceIndex = new ResourceIndex(resourceGraph);
   }
 
   @Override
@@ -43,6 +66,15 @@ public class ResourceGraphProviderFile implements ResourceGraphProvider {
     return resourceGraph;
   }
 
+  /**
+   * Returns the index of the resources of the resource graph.
+   * 
+   * @return the index of the resources of the resource graph
+   */
+  public ResourceIndex getResourceIndex() {
+    return resourceIndex;
+  }
+
   /**
    * Reads the type mapping json file located under the provided file path.
    * Converts the information to a {@link ResourceGraph}. Returns the resource
@@ -52,49 +84,71 @@ public class ResourceGraphProviderFile implements ResourceGraphProvider {
    * @return the resource graph built based on the information in the file
    */
   protected final ResourceGraph readResourceGraph(final String filePath) {
+    return readResourceGraph(ResourceInformationJsonFile.readFromFile(filePath));
+  }
+
+  /**
+   * Converts the given resource information to a {@link ResourceGraph}. Returns
+   * the resource graph. Entries with the same (normalized) URI are represented
+   * by a single resource node.
+   * 
+   * @param resourceInformation the information describing the type mapping
+   * @return the resource graph built based on the given information
+   */
+  protected final ResourceGraph readResourceGraph(
+      final List<FunctionTypeEntry> resourceInformation) {
     final ResourceGraph result = new ResourceGraph();
-    final ResourceInformationJsonFile resourceInformation =
-        ResourceInformationJsonFile.readFromFile(filePath);
     // always add a node representing the EE
     final Resource eeRes = PropertyServiceResource.createResource(ConstantsEEModel.idLocalResource);
 
     result.addVertex(eeRes);
+    final Map<String, Resource> serverlessResources = new HashMap<>();
     resourceInformation.stream()
         .flatMap(functionTypeEntry -> functionTypeEntry.getResources().stream())
-        .forEach(resourceEntry -> processResourceEntry(result, eeRes, resourceEntry));
+        .forEach(resourceEntry -> processResourceEntry(result, eeRes, resourceEntry,
+            serverlessResources));
     return result;
   }
 
   /**
    * Method to process a resource entry by adding a resource node to the graph and
-   * connecting it to the EE node.
+   * connecting it to the EE node. If a resource with the same URI was already
+   * added, the properties of the entry are merged into it, whereby the values
+   * annotated first (following the order of the file) are kept. The resource is
+   * identified by the URI of the first entry, as written in the file. The
+   * resource is annotated with deep copies of the properties, so that the
+   * (shared) entry is not modified through the graph.
    * 
    * @param resourceGraph the resource graph
    * @param eeRes the resource modeling the EE
    * @param resEntry the resource entry
+   * @param serverlessResources map of the normalized URIs to the serverless
+   *        resources added so far
    */
   protected void processResourceEntry(final ResourceGraph resourceGraph, final Resource eeRes,
-      final ResourceEntry resEntry) {
+      final ResourceEntry resEntry, final Map<String, Resource> serverlessResources) {
     final EnactmentMode resourceType = EnactmentMode.valueOf(resEntry.getType());
-    Optional<Resource> newResourceOpt;
+    final Resource newRes;
     if (resourceType.equals(EnactmentMode.Local) || resourceType.equals(EnactmentMode.Demo)) {
       // nothing to do, EE already in the graph
       return;
     } else if (resourceType.equals(EnactmentMode.Serverless)) {
       final String uri =
           resEntry.getProperties().get(PropertyServiceResourceServerless.propNameUri).getAsString();
-      newResourceOpt =
-          Optional.of(PropertyServiceResourceServerless.createServerlessResource(uri, uri));
-
+      // the normalized uri is only used to detect duplicates
+      newRes = serverlessResources.computeIfAbsent(ResourceIndex.normalizeUri(uri), key -> {
+        final Resource res = PropertyServiceResourceServerless.createServerlessResource(uri, uri);
+        // connect resource to ee node
+        PropertyServiceLink.connectResources(resourceGraph, eeRes, res);
+        return res;
+      });
     } else {
       throw new IllegalArgumentException("Unknown resource type: " + resourceType.name());
     }
-    final Resource newRes = newResourceOpt.orElseThrow();
-    // annotate all properties (if not already set)
+    // annotate copies of all properties (if not already set), since the entries
+    // are shared between engines
     resEntry.getProperties().entrySet().stream()
         .filter(entry -> !newRes.getAttributeNames().contains(entry.getKey()))
-        .forEach(entry -> newRes.setAttribute(entry.getKey(), entry.getValue()));
-    // connect resource to ee node
-    PropertyServiceLink.connectResources(resourceGraph, eeRes, newRes);
+        .forEach(entry -> newRes.setAttribute(entry.getKey(), entry.getValue().deepCopy()));
   }
 }
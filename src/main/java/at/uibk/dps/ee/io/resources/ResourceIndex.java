@@ -0,0 +1,105 @@
+package at.uibk.dps.ee.io.resources;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import at.uibk.dps.ee.model.constants.ConstantsEEModel;
+import at.uibk.dps.ee.model.graph.ResourceGraph;
+import at.uibk.dps.ee.model.properties.PropertyServiceMapping.EnactmentMode;
+import at.uibk.dps.ee.model.properties.PropertyServiceResourceServerless;
+import net.sf.opendse.model.Resource;
+
+/**
+ * The {@link ResourceIndex} maps the enactment modes and the (normalized)
+ * resource URIs to the resources of a {@link ResourceGraph}, so that the
+ * resource of a resource entry can be looked up in constant time.
+ * 
+ * @author Fedor Smirnov
+ */
+public class ResourceIndex {
+
+  protected final Map<EnactmentMode, Map<String, Resource>> resources =
+      new EnumMap<>(EnactmentMode.class);
+
+  /**
+   * Builds the index for the given resource graph.
+   * 
+   * @param resourceGraph the resource graph
+   */
+  public ResourceIndex(final ResourceGraph resourceGraph) {
+    for (final Resource res : resourceGraph) {
+      if (res.getId().equals(ConstantsEEModel.idLocalResource)) {
+        // the EE node stands for the local and the demo enactment
+        addResource(EnactmentMode.Local, ConstantsEEModel.idLocalResource, res);
+        addResource(EnactmentMode.Demo, ConstantsEEModel.idLocalResource, res);
+      } else if (res.getAttribute(PropertyServiceResourceServerless.propNameUri) != null) {
+        addResource(EnactmentMode.Serverless, PropertyServiceResourceServerless.getUri(res), res);
+      }
+    }
+  }
+
+  /**
+   * Adds the given resource to the index.
+   * 
+   * @param mode the enactment mode of the resource
+   * @param uri the resource uri
+   * @param res the resource
+   */
+  protected final void addResource(final EnactmentMode mode, final String uri,
+      final Resource res) {
+    resources.computeIfAbsent(mode, key -> new HashMap<>()).put(normalizeUri(uri), res);
+  }
+
+  /**
+   * Returns an optional of the resource with the given enactment mode and uri.
+   * 
+   * @param mode the enactment mode
+   * @param uri the uri (normalized before the lookup)
+   * @return an optional of the resource with the given enactment mode and uri
+   */
+  public Optional<Resource> getResource(final EnactmentMode mode, final String uri) {
+    return Optional
+        .ofNullable(resources.getOrDefault(mode, Map.of()).get(normalizeUri(uri)));
+  }
+
+  /**
+   * Returns an optional of the resource modeling the EE.
+   * 
+   * @return an optional of the resource modeling the EE
+   */
+  public Optional<Resource> getLocalResource() {
+    return getResource(EnactmentMode.Local, ConstantsEEModel.idLocalResource);
+  }
+
+  /**
+   * Normalizes the given uri by removing surrounding white space and trailing
+   * slashes and by converting the scheme and the host (where present) to lower
+   * case.
+   * 
+   * @param uri the uri
+   * @return the normalized uri
+   */
+  public static String normalizeUri(final String uri) {
+    String result = uri.trim();
+    while (result.length() > 1 && result.endsWith("/")) {
+      result = result.substring(0, result.length() - 1);
+    }
+    try {
+      final URI parsed = new URI(result);
+      if (parsed.getScheme() != null && parsed.getHost() != null) {
+        final String schemeAndHost = parsed.getScheme() + "://" + parsed.getHost();
+        if (result.regionMatches(true, 0, schemeAndHost, 0, schemeAndHost.length())) {
+          result = schemeAndHost.toLowerCase(Locale.ROOT) + result.substring(schemeAndHost.length());
+        }
+      }
+    } catch (URISyntaxException syntaxExc) {
+      // not a valid uri => only trimmed
+    }
+    return result;
+  }
+}
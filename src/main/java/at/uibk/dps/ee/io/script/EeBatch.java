@@ -0,0 +1,112 @@
+package at.uibk.dps.ee.io.script;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import at.uibk.dps.ee.io.input.BatchInputSource;
+import at.uibk.dps.ee.io.input.BatchInputSource.BatchInput;
+import at.uibk.dps.ee.io.input.InputDataProviderBatch;
+import at.uibk.dps.ee.io.output.OutputDataBatchWriter;
+
+/**
+ * The {@link EeBatch} enacts a workflow once for each input of a batch. All
+ * enactments are done with the same (already configured) engine, so that the
+ * workflow, the specification, and the resources are processed only once and
+ * the per-input overhead is limited to the enactment itself. The inputs are
+ * enacted one after another; a failed enactment does not stop the batch. An
+ * enactment counts as failed if it throws an exception or if the engine
+ * reports a failure to the {@link OutputDataBatchWriter}. Inputs which could
+ * not be read are reported as failed enactments.
+ *
+ * @author Fedor Smirnov
+ */
+public class EeBatch {
+
+  /**
+   * Functional interface for the enactment of the workflow with the input
+   * currently provided by the {@link InputDataProviderBatch}.
+   *
+   * @author Fedor Smirnov
+   */
+  @FunctionalInterface
+  public interface Enactment {
+
+    /**
+     * Enacts the workflow once.
+     *
+     * @throws Exception any exception thrown during the enactment
+     */
+    void enact() throws Exception;
+  }
+
+  protected final Logger logger = LoggerFactory.getLogger(EeBatch.class);
+
+  protected final InputDataProviderBatch inputProvider;
+  protected final OutputDataBatchWriter outputWriter;
+  protected final Enactment enactment;
+
+  /**
+   * Default constructor.
+   *
+   * @param inputProvider the input provider used by the engine
+   * @param outputWriter the output handler used by the engine
+   * @param enactment the enactment of the workflow
+   */
+  public EeBatch(final InputDataProviderBatch inputProvider,
+      final OutputDataBatchWriter outputWriter, final Enactment enactment) {
+    this.inputProvider = inputProvider;
+    this.outputWriter = outputWriter;
+    this.enactment = enactment;
+  }
+
+  /**
+   * Enacts the workflow for each input provided by the given source.
+   *
+   * @param inputs the source of the batch inputs
+   * @return the number of failed enactments
+   */
+  public int run(final BatchInputSource inputs) {
+    int enacted = 0;
+    int failed = 0;
+    final long batchStart = System.nanoTime();
+    while (inputs.hasNext()) {
+      final BatchInput input = inputs.next();
+      outputWriter.setCurrentInputName(input.getName());
+      enacted++;
+      if (input.isValid()) {
+        enact(input);
+      } else {
+        logger.error(input.getError());
+        outputWriter.handleFailure(new IllegalArgumentException(input.getError()));
+      }
+      if (outputWriter.isCurrentInputFailed()) {
+        failed++;
+      }
+    }
+    inputProvider.setCurrentInput(null);
+    logger.info("Batch of {} inputs ({} failed) enacted in {} ms.", enacted, failed,
+        (System.nanoTime() - batchStart) / 1_000_000.0);
+    return failed;
+  }
+
+  /**
+   * Enacts the workflow with the given input. Exceptions thrown by the
+   * enactment are reported to the output writer, unless the engine already
+   * reported a failure for this input.
+   *
+   * @param input the (valid) batch input
+   */
+  protected void enact(final BatchInput input) {
+    inputProvider.setCurrentInput(input.getInputData());
+    final long start = System.nanoTime();
+    try {
+      enactment.enact();
+    } catch (Exception exc) {
+      if (!outputWriter.isCurrentInputFailed()) {
+        outputWriter.handleFailure(exc);
+      }
+    }
+    logger.debug("Input {} enacted in {} ms.", input.getName(),
+        (System.nanoTime() - start) / 1_000_000.0);
+  }
+}
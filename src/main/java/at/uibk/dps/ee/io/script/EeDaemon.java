@@ -0,0 +1,360 @@
+package at.uibk.dps.ee.io.script;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import at.uibk.dps.ee.io.UtilsIO;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.http.HttpServerRequest;
+
+/**
+ * The {@link EeDaemon} keeps engines for a set of workflows warm (with the
+ * workflows and their specifications already processed) and enacts them upon
+ * requests received via a local HTTP endpoint:
+ *
+ * <ul>
+ * <li>POST /enact/&lt;workflowId&gt; with the input JSON as body: enacts the
+ * workflow and responds with a JSON object containing the result and the
+ * latency of the request.</li>
+ * <li>GET /stats: responds with the request statistics of each workflow.</li>
+ * </ul>
+ *
+ * Requests are handled asynchronously. Each workflow is served by a pool of
+ * engines; the requests for one workflow are enacted concurrently up to the
+ * pool size and queued beyond it.
+ *
+ * @author Fedor Smirnov
+ */
+public class EeDaemon {
+
+  protected static final String localHost = "127.0.0.1";
+  protected static final String pathEnact = "/enact/";
+  protected static final String pathStats = "/stats";
+  protected static final String headerLatency = "X-Enactment-Latency-Ms";
+  protected static final String keyResult = "result";
+  protected static final String keyError = "error";
+  protected static final String keyLatency = "latencyMs";
+
+  protected static final int statusOk = 200;
+  protected static final int statusBadRequest = 400;
+  protected static final int statusNotFound = 404;
+  protected static final int statusError = 500;
+
+  protected final Logger logger = LoggerFactory.getLogger(EeDaemon.class);
+
+  protected final Vertx vertx;
+  protected final Map<String, BlockingQueue<WarmEngine>> enginePools = new HashMap<>();
+  protected final Map<String, WorkerExecutor> executors = new HashMap<>();
+  protected final Map<String, RequestStats> requestStats = new HashMap<>();
+  protected HttpServer server;
+
+  /**
+   * The statistics of the requests for one workflow.
+   *
+   * @author Fedor Smirnov
+   */
+  protected static class RequestStats {
+
+    protected long requests;
+    protected long failures;
+    protected long latencySumNs;
+    protected long latencyMaxNs;
+
+    /**
+     * Records a handled request.
+     *
+     * @param latencyNs the latency of the request
+     * @param failed true iff the request failed
+     */
+    protected synchronized void record(final long latencyNs, final boolean failed) {
+      requests++;
+      if (failed) {
+        failures++;
+      }
+      latencySumNs += latencyNs;
+      latencyMaxNs = Math.max(latencyMaxNs, latencyNs);
+    }
+
+    /**
+     * Returns the json representation of the statistics.
+     *
+     * @return the json representation of the statistics
+     */
+    protected synchronized JsonObject toJson() {
+      final JsonObject result = new JsonObject();
+      result.addProperty("requests", requests);
+      result.addProperty("failures", failures);
+      result.addProperty("meanLatencyMs", requests == 0 ? 0 : toMs(latencySumNs / requests));
+      result.addProperty("maxLatencyMs", toMs(latencyMaxNs));
+      return result;
+    }
+  }
+
+  /**
+   * Default constructor.
+   *
+   * @param vertx the vertx instance used for the endpoint and the enactments
+   * @param engines maps the workflow ids onto the engines enacting the
+   *        respective workflow
+   */
+  public EeDaemon(final Vertx vertx, final Map<String, List<WarmEngine>> engines) {
+    this.vertx = vertx;
+    for (final Entry<String, List<WarmEngine>> entry : engines.entrySet()) {
+      final String workflowId = entry.getKey();
+      final List<WarmEngine> pool = entry.getValue();
+      if (pool.isEmpty()) {
+        throw new IllegalArgumentException("No engine provided for workflow " + workflowId);
+      }
+      enginePools.put(workflowId, new ArrayBlockingQueue<>(pool.size(), false, pool));
+      executors.put(workflowId,
+          vertx.createSharedWorkerExecutor("ee-daemon-" + workflowId, pool.size()));
+      requestStats.put(workflowId, new RequestStats());
+    }
+  }
+
+  /**
+   * Starts the daemon with the arguments: config file, port, number of engines
+   * per workflow, and one or more workflow descriptions of the form
+   * workflowId=workflowFile,typeMappingsFile.
+   *
+   * @param args the arguments
+   */
+  public static void main(final String[] args) {
+    if (args.length < 4) {
+      throw new IllegalArgumentException("Usage: EeDaemon <configFile> <port> "
+          + "<enginesPerWorkflow> <workflowId>=<workflowFile>,<typeMappingsFile>...");
+    }
+    final String configFile = args[0];
+    final int port = UtilsIO.readAsInt(args[1]);
+    final int enginesPerWorkflow = UtilsIO.readAsInt(args[2]);
+    final EeStarter starter = new EeStarter();
+    final Map<String, List<WarmEngine>> engines = new HashMap<>();
+    for (int i = 3; i < args.length; i++) {
+      final String[] idAndFiles = args[i].split("=", 2);
+      final String[] files = idAndFiles.length == 2 ? idAndFiles[1].split(",", 2) : new String[0];
+      if (files.length != 2) {
+        throw new IllegalArgumentException("Malformed workflow description " + args[i]);
+      }
+      final List<WarmEngine> pool = new ArrayList<>();
+      for (int j = 0; j < enginesPerWorkflow; j++) {
+        pool.add(
+            starter.createWarmEngine(starter.getEngineModules(configFile, files[0], files[1])));
+      }
+      engines.put(idAndFiles[0], pool);
+    }
+    final EeDaemon daemon = new EeDaemon(Vertx.vertx(), engines);
+    daemon.start(localHost, port).onSuccess(server -> Runtime.getRuntime()
+        .addShutdownHook(new Thread(daemon::close, "ee-daemon-shutdown")));
+  }
+
+  /**
+   * Starts the HTTP endpoint.
+   *
+   * @param host the host the endpoint is bound to
+   * @param port the port (0 to use a random free port)
+   * @return future completed with the started server
+   */
+  public Future<HttpServer> start(final String host, final int port) {
+    return vertx.createHttpServer(new HttpServerOptions().setHost(host).setPort(port))
+        .requestHandler(this::handleRequest).listen().onSuccess(started -> {
+          this.server = started;
+          logger.info("EE daemon listening on {}:{} for the workflows {}.", host,
+              started.actualPort(), enginePools.keySet());
+        });
+  }
+
+  /**
+   * Stops the endpoint and releases the resources of the daemon: the worker
+   * executors, the engines, and the vertx instance.
+   */
+  public void close() {
+    executors.values().forEach(WorkerExecutor::close);
+    for (final BlockingQueue<WarmEngine> pool : enginePools.values()) {
+      for (final WarmEngine engine : pool) {
+        try {
+          engine.close();
+        } catch (IOException ioExc) {
+          logger.warn("IOException when closing an engine.", ioExc);
+        }
+      }
+    }
+    final CountDownLatch closed = new CountDownLatch(1);
+    vertx.close(result -> closed.countDown());
+    try {
+      closed.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException interruptExc) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Returns the port the endpoint is listening on.
+   *
+   * @return the port the endpoint is listening on
+   */
+  public int getPort() {
+    if (server == null) {
+      throw new IllegalStateException("The daemon is not started.");
+    }
+    return server.actualPort();
+  }
+
+  /**
+   * Routes the given request.
+   *
+   * @param request the received request
+   */
+  protected void handleRequest(final HttpServerRequest request) {
+    final String path = request.path();
+    if (request.method().equals(HttpMethod.POST) && path.startsWith(pathEnact)) {
+      handleEnactment(request, path.substring(pathEnact.length()));
+    } else if (request.method().equals(HttpMethod.GET) && path.equals(pathStats)) {
+      final JsonObject stats = new JsonObject();
+      requestStats.forEach((workflowId, wfStats) -> stats.add(workflowId, wfStats.toJson()));
+      respond(request, statusOk, stats);
+    } else {
+      respond(request, statusNotFound, errorJson("Unknown endpoint " + path));
+    }
+  }
+
+  /**
+   * Handles a request to enact the workflow with the given id.
+   *
+   * @param request the received request
+   * @param workflowId the id of the workflow
+   */
+  protected void handleEnactment(final HttpServerRequest request, final String workflowId) {
+    final long start = System.nanoTime();
+    final BlockingQueue<WarmEngine> pool = enginePools.get(workflowId);
+    if (pool == null) {
+      respond(request, statusNotFound, errorJson("Unknown workflow " + workflowId));
+      return;
+    }
+    request.bodyHandler(body -> {
+      final JsonObject input;
+      try {
+        final JsonElement parsed = JsonParser.parseString(body.toString());
+        if (!parsed.isJsonObject()) {
+          throw new JsonParseException("The input is not a json object.");
+        }
+        input = parsed.getAsJsonObject();
+      } catch (JsonParseException parseExc) {
+        respond(request, statusBadRequest, errorJson(parseExc.getMessage()));
+        return;
+      }
+      executors.get(workflowId).<JsonObject>executeBlocking(
+          promise -> enact(pool, input, promise), false,
+          result -> completeEnactment(request, workflowId, start, result));
+    });
+  }
+
+  /**
+   * Enacts the workflow with an engine from the given pool (blocking code).
+   *
+   * @param pool the engine pool of the workflow
+   * @param input the workflow input
+   * @param promise the promise completed with the result
+   */
+  protected void enact(final BlockingQueue<WarmEngine> pool, final JsonObject input,
+      final Promise<JsonObject> promise) {
+    WarmEngine engine = null;
+    try {
+      engine = pool.take();
+      promise.complete(engine.enact(input));
+    } catch (InterruptedException interruptExc) {
+      Thread.currentThread().interrupt();
+      promise.fail(interruptExc);
+    } catch (Exception exc) {
+      promise.fail(exc);
+    } finally {
+      if (engine != null) {
+        pool.add(engine);
+      }
+    }
+  }
+
+  /**
+   * Responds to the request once the enactment is completed.
+   *
+   * @param request the request
+   * @param workflowId the id of the enacted workflow
+   * @param start the time when the request was received
+   * @param result the result of the enactment
+   */
+  protected void completeEnactment(final HttpServerRequest request, final String workflowId,
+      final long start, final AsyncResult<JsonObject> result) {
+    final long latencyNs = System.nanoTime() - start;
+    requestStats.get(workflowId).record(latencyNs, result.failed());
+    final JsonObject response;
+    if (result.succeeded()) {
+      response = new JsonObject();
+      response.add(keyResult, result.result());
+    } else {
+      logger.error("Enactment of workflow {} failed.", workflowId, result.cause());
+      response = errorJson(String.valueOf(result.cause().getMessage()));
+    }
+    response.addProperty(keyLatency, toMs(latencyNs));
+    logger.debug("Request for workflow {} handled in {} ms.", workflowId, toMs(latencyNs));
+    request.response().putHeader(headerLatency, String.valueOf(toMs(latencyNs)));
+    respond(request, result.succeeded() ? statusOk : statusError, response);
+  }
+
+  /**
+   * Sends the given json as response to the given request.
+   *
+   * @param request the request
+   * @param status the status code
+   * @param body the response body
+   */
+  protected void respond(final HttpServerRequest request, final int status,
+      final JsonObject body) {
+    request.response().setStatusCode(status).putHeader("Content-Type", "application/json")
+        .end(body.toString());
+  }
+
+  /**
+   * Creates a json object describing an error.
+   *
+   * @param message the error message
+   * @return a json object describing an error
+   */
+  protected static JsonObject errorJson(final String message) {
+    final JsonObject result = new JsonObject();
+    result.addProperty(keyError, message);
+    return result;
+  }
+
+  /**
+   * Converts the given nanoseconds to milliseconds.
+   *
+   * @param nanos the nanoseconds
+   * @return the milliseconds
+   */
+  protected static double toMs(final long nanos) {
+    return nanos / 1_000_000.0;
+  }
+}
@@ -1,28 +1,71 @@
 package at.uibk.dps.ee.io.script;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import org.opt4j.core.config.ModuleAutoFinder;
 import org.opt4j.core.config.ModuleLoader;
 import org.opt4j.core.config.ModuleRegister;
 import org.opt4j.core.config.Starter;
 import org.opt4j.core.config.Task;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
 import com.google.inject.Module;
+import at.uibk.dps.ee.core.EeCore;
 import at.uibk.dps.ee.guice.modules.InputModule;
+import at.uibk.dps.ee.guice.modules.OutputModule;
 import at.uibk.dps.ee.guice.modules.VisualizationModule;
 import at.uibk.dps.ee.guice.starter.EeTask;
+import at.uibk.dps.ee.io.UtilsIO;
+import at.uibk.dps.ee.io.input.BatchInputSource;
+import at.uibk.dps.ee.io.input.InputDataProviderBatch;
+import at.uibk.dps.ee.io.input.JsonLinesReader;
+import at.uibk.dps.ee.io.instrumentation.PhaseMeasurement;
+import at.uibk.dps.ee.io.instrumentation.StartupListener;
+import at.uibk.dps.ee.io.instrumentation.StartupPhase;
+import at.uibk.dps.ee.io.instrumentation.StartupProfile;
+import at.uibk.dps.ee.io.modules.AfclReaderFileModule;
+import at.uibk.dps.ee.io.modules.EngineSetupModule;
+import at.uibk.dps.ee.io.modules.InputBatchModule;
 import at.uibk.dps.ee.io.modules.InputReaderFileModule;
+import at.uibk.dps.ee.io.modules.OutputBatchModule;
 import at.uibk.dps.ee.io.modules.SpecificationInputModule;
+import at.uibk.dps.ee.io.modules.StartupProfilingModule;
+import at.uibk.dps.ee.io.output.OutputDataBatchWriter;
 
 /**
  * Class used to start the enactment without the activation of the interactive
- * configuration GUI.
+ * configuration GUI. If the {@link StartupProfilingModule} is configured, the
+ * startup profile is reported after the enactment. Started with the argument
+ * --batch, the workflow is enacted once for each of multiple inputs (see
+ * {@link #executeBatch(String, String, String, String, List)}); started with
+ * the argument --stream, the workflow is enacted continuously for the inputs
+ * of a JSON Lines stream (see
+ * {@link #executeStream(String, String, String, String, String, int, int)}).
  * 
  * @author Fedor Smirnov
  *
  */
 public class EeStarter extends Starter {
 
+  protected static final String phaseModuleLoading = "EeStarter: module loading";
+  protected static final String phaseRun = "EeStarter: engine run";
+  protected static final String argBatch = "--batch";
+  protected static final int batchArgsMin = 6;
+  protected static final String argStream = "--stream";
+  protected static final int streamArgsMin = 7;
+  protected static final int streamBufferPerEnactment = 4;
+
   /**
    * Starts the EE task with the provided arguments
    * 
@@ -43,9 +86,23 @@ public class EeStarter extends Starter {
       } else if (args.length == 4) {
         // config file plus file locations of input, workflow, and typeMappings
         executeConfigFileFileLocations(args[0], args[1], args[2], args[3]);
-      }
-
-      else {
+      } else if (args.length >= batchArgsMin && argBatch.equals(args[0])) {
+        // batch: config file, workflow, typeMappings, output directory, inputs
+        final int failed = executeBatch(args[1], args[2], args[3], args[4],
+            Arrays.asList(args).subList(batchArgsMin - 1, args.length));
+        if (failed > 0) {
+          // results in a non-zero exit status
+          throw new IllegalStateException(failed + " enactment(s) of the batch failed.");
+        }
+      } else if ((args.length == streamArgsMin || args.length == streamArgsMin + 1)
+          && argStream.equals(args[0])) {
+        // stream: config file, workflow, typeMappings, input, output, in-flight
+        // enactments, and (optionally) buffer capacity
+        final int inFlight = UtilsIO.readAsInt(args[6]);
+        final int bufferCapacity = args.length > streamArgsMin ? UtilsIO.readAsInt(args[7])
+            : inFlight * streamBufferPerEnactment;
+        executeStream(args[1], args[2], args[3], args[4], args[5], inFlight, bufferCapacity);
+      } else {
         throw new IllegalArgumentException("Wrong arguments provided for the EE script.");
       }
     } catch (Exception exception) {
@@ -66,16 +123,187 @@ public class EeStarter extends Starter {
    */
   protected void executeConfigFileFileLocations(final String configFile, final String inputFile,
       final String workflowFile, final String typeMappingsFile) throws Exception {
+    final PhaseMeasurement loading = PhaseMeasurement.start(phaseModuleLoading);
     final Set<Module> modules = getModulesFromConfigFile(configFile);
-    modules.removeIf(module -> module instanceof InputModule);
-    final SpecificationInputModule specModule = new SpecificationInputModule();
-    specModule.setFilePathAfcl(workflowFile);
-    specModule.setFilePathMappingFile(typeMappingsFile);
+    final SpecificationInputModule specModule =
+        createSpecificationModule(modules, workflowFile, typeMappingsFile);
+    modules.removeIf(module -> isReplaced(module, false));
     final InputReaderFileModule inputModule = new InputReaderFileModule();
     inputModule.setFilePath(inputFile);
     modules.add(specModule);
     modules.add(inputModule);
-    runWithModules(modules);
+    runWithModules(modules, loading.stop(modules.size()));
+  }
+
+  /**
+   * Enacts the workflow once for each input found at the given input paths
+   * (.json files, JSON Lines files, or directories containing them), writing
+   * the result of each enactment into its own file within the output directory.
+   * The injector is created only once, so that the workflow, the type mappings,
+   * and the resources are processed only once for the whole batch. If any
+   * enactment fails, the script terminates with an exception (i.e., a non-zero
+   * exit status) after the whole batch was processed. The modules which are
+   * {@link Closeable} are closed after the batch.
+   * 
+   * @param configFile the config file
+   * @param workflowFile the file describing the WF
+   * @param typeMappingsFile the file describing the type mappings
+   * @param outputDirectory the directory where the results are written
+   * @param inputPaths the paths to the inputs
+   * @return the number of failed enactments
+   * @throws Exception file read exceptions
+   */
+  protected int executeBatch(final String configFile, final String workflowFile,
+      final String typeMappingsFile, final String outputDirectory, final List<String> inputPaths)
+      throws Exception {
+    final Set<Module> modules = getEngineModules(configFile, workflowFile, typeMappingsFile);
+    final OutputBatchModule outputModule = new OutputBatchModule();
+    outputModule.setOutputDirectory(outputDirectory);
+    modules.add(new InputBatchModule());
+    modules.add(outputModule);
+    final Optional<StartupProfile> profile = getStartupProfile(modules);
+    try {
+      final Injector injector = Guice.createInjector(modules);
+      final EeCore core = injector.getInstance(EeCore.class);
+      profile.ifPresent(StartupProfile::writeReport);
+      final EeBatch batch = new EeBatch(injector.getInstance(InputDataProviderBatch.class),
+          injector.getInstance(OutputDataBatchWriter.class), core::enactWorkflow);
+      try (BatchInputSource inputs = new BatchInputSource(inputPaths)) {
+        return batch.run(inputs);
+      }
+    } finally {
+      closeModules(modules);
+    }
+  }
+
+  /**
+   * Continuously enacts the workflow for the inputs of the JSON Lines stream
+   * found at the given input path (a file, a FIFO, or - for the standard
+   * input), writing the results as JSON Lines to the given output path (- for
+   * the standard output). The stream is read incrementally with a bounded
+   * buffer. Each in-flight enactment is done by its own engine, so that the
+   * workflow and the specification are processed once per in-flight enactment.
+   * The engines are closed when the stream ends.
+   * 
+   * @param configFile the config file
+   * @param workflowFile the file describing the WF
+   * @param typeMappingsFile the file describing the type mappings
+   * @param inputPath the path to the input stream
+   * @param outputPath the path where the results are written
+   * @param inFlight the maximal number of concurrent enactments
+   * @param bufferCapacity the maximal number of read inputs waiting to be
+   *        enacted
+   * @throws Exception file read exceptions
+   */
+  protected void executeStream(final String configFile, final String workflowFile,
+      final String typeMappingsFile, final String inputPath, final String outputPath,
+      final int inFlight, final int bufferCapacity) throws Exception {
+    if (inFlight < 1) {
+      throw new IllegalArgumentException("The number of in-flight enactments must be positive.");
+    }
+    final List<WarmEngine> engines = new ArrayList<>();
+    for (int i = 0; i < inFlight; i++) {
+      engines.add(createWarmEngine(getEngineModules(configFile, workflowFile, typeMappingsFile)));
+    }
+    final boolean stdOut = EeStream.pathStdOut.equals(outputPath);
+    final Writer output =
+        stdOut ? new OutputStreamWriter(System.out, StandardCharsets.UTF_8)
+            : Files.newBufferedWriter(Paths.get(outputPath), StandardCharsets.UTF_8);
+    try (JsonLinesReader inputs = JsonLinesReader.open(inputPath, bufferCapacity)) {
+      new EeStream(engines, output).run(inputs);
+    } finally {
+      if (stdOut) {
+        output.flush();
+      } else {
+        output.close();
+      }
+      for (final WarmEngine engine : engines) {
+        engine.close();
+      }
+    }
+  }
+
+  /**
+   * Creates a warm engine configured by the given modules. If the modules
+   * contain a {@link StartupProfilingModule}, the profile report is written
+   * after the creation.
+   * 
+   * @param modules the modules configuring the engine (without input and output
+   *        modules)
+   * @return the created engine
+   */
+  protected WarmEngine createWarmEngine(final Set<Module> modules) {
+    final Optional<StartupProfile> profile = getStartupProfile(modules);
+    final WarmEngine result = WarmEngine.create(modules);
+    profile.ifPresent(StartupProfile::writeReport);
+    return result;
+  }
+
+  /**
+   * Returns the modules configuring an engine for the given workflow, i.e., the
+   * modules of the given config file without the input and output modules
+   * (except for the {@link EngineSetupModule}s), plus the module reading the
+   * specification from the given files.
+   * 
+   * @param configFile the config file
+   * @param workflowFile the file describing the WF
+   * @param typeMappingsFile the file describing the type mappings
+   * @return the modules configuring an engine for the given workflow
+   */
+  protected Set<Module> getEngineModules(final String configFile, final String workflowFile,
+      final String typeMappingsFile) {
+    final Set<Module> modules = getModulesFromConfigFile(configFile);
+    final SpecificationInputModule specModule =
+        createSpecificationModule(modules, workflowFile, typeMappingsFile);
+    modules.removeIf(module -> isReplaced(module, true));
+    modules.add(specModule);
+    return modules;
+  }
+
+  /**
+   * Returns true iff the given configured module is replaced by the modules
+   * created by the starter, i.e., if it is an input module (or, if requested,
+   * an output module) which is not an {@link EngineSetupModule}.
+   * 
+   * @param module the configured module
+   * @param replaceOutput true iff the output modules are replaced as well
+   * @return true iff the given configured module is replaced
+   */
+  protected static boolean isReplaced(final Module module, final boolean replaceOutput) {
+    if (module instanceof EngineSetupModule) {
+      return false;
+    }
+    return module instanceof InputModule || replaceOutput && module instanceof OutputModule;
+  }
+
+  /**
+   * Creates the module reading the specification from the given files. The
+   * options of the workflow processing are taken over from the specification or
+   * workflow module among the configured modules (if any).
+   * 
+   * @param configuredModules the modules of the config file
+   * @param workflowFile the file describing the WF
+   * @param typeMappingsFile the file describing the type mappings
+   * @return the module reading the specification from the given files
+   */
+  protected SpecificationInputModule createSpecificationModule(
+      final Set<Module> configuredModules, final String workflowFile,
+      final String typeMappingsFile) {
+    final SpecificationInputModule specModule = new SpecificationInputModule();
+    specModule.setFilePathAfcl(workflowFile);
+    specModule.setFilePathMappingFile(typeMappingsFile);
+    for (final Module module : configuredModules) {
+      if (module instanceof SpecificationInputModule) {
+        final SpecificationInputModule configured = (SpecificationInputModule) module;
+        specModule.setParallelCompounds(configured.isParallelCompounds());
+        specModule.setMergeConstants(configured.isMergeConstants());
+      } else if (module instanceof AfclReaderFileModule) {
+        final AfclReaderFileModule configured = (AfclReaderFileModule) module;
+        specModule.setParallelCompounds(configured.isParallelCompounds());
+        specModule.setMergeConstants(configured.isMergeConstants());
+      }
+    }
+    return specModule;
   }
 
   /**
@@ -87,12 +315,15 @@ public class EeStarter extends Starter {
    * @throws Exception file read exceptions
    */
   protected void executeConfigFile(final String configFile) throws Exception {
+    final PhaseMeasurement loading = PhaseMeasurement.start(phaseModuleLoading);
     final Set<Module> modules = getModulesFromConfigFile(configFile);
-    runWithModules(modules);
+    runWithModules(modules, loading.stop(modules.size()));
   }
 
   /**
-   * Runs the EE script with the provided modules.
+   * Runs the EE script with the provided modules. The modules which are
+   * {@link Closeable} are closed after the run, releasing the resources bound to
+   * the engine (e.g., flushing asynchronously logged results).
    * 
    * @param modules the provided modules.
    * @throws Exception run time exceptions
@@ -100,7 +331,71 @@ public class EeStarter extends Starter {
   protected void runWithModules(final Set<Module> modules) throws Exception {
     final Task task = new EeTask();
     task.init(modules);
-    task.call();
+    try {
+      task.call();
+    } finally {
+      closeModules(modules);
+    }
+  }
+
+  /**
+   * Closes the provided modules which are {@link Closeable}.
+   * 
+   * @param modules the provided modules
+   * @throws IOException if closing a module fails
+   */
+  protected static void closeModules(final Set<Module> modules) throws IOException {
+    for (final Module module : modules) {
+      if (module instanceof Closeable) {
+        ((Closeable) module).close();
+      }
+    }
+  }
+
+  /**
+   * Runs the EE script with the provided modules. If the modules contain a
+   * {@link StartupProfilingModule}, the given module loading phase and the run
+   * of the task are recorded in the startup profile and the profile report is
+   * written after the run.
+   * 
+   * @param modules the provided modules
+   * @param moduleLoading the phase where the modules were loaded
+   * @throws Exception run time exceptions
+   */
+  protected void runWithModules(final Set<Module> modules, final StartupPhase moduleLoading)
+      throws Exception {
+    final Optional<StartupProfile> profile = getStartupProfile(modules);
+    if (profile.isEmpty()) {
+      runWithModules(modules);
+      return;
+    }
+    final StartupListener listener = profile.get();
+    listener.phaseFinished(moduleLoading);
+    final PhaseMeasurement run = PhaseMeasurement.start(phaseRun);
+    try {
+      runWithModules(modules);
+    } finally {
+      listener.phaseFinished(run.stop(modules.size()));
+      profile.get().writeReport();
+    }
+  }
+
+  /**
+   * Returns the startup profile used by the {@link StartupProfilingModule}
+   * within the given modules (or an empty optional if the startup profiling is
+   * not configured).
+   * 
+   * @param modules the given modules
+   * @return the startup profile used by the {@link StartupProfilingModule}
+   *         within the given modules
+   */
+  protected Optional<StartupProfile> getStartupProfile(final Set<Module> modules) {
+    return modules.stream().filter(module -> module instanceof StartupProfilingModule)
+        .map(module -> (StartupProfilingModule) module).findAny().map(module -> {
+          final StartupProfile result = new StartupProfile(module.getReportFile());
+          module.useStartupProfile(result);
+          return result;
+        });
   }
 
   /**
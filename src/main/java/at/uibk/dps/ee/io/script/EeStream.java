@@ -0,0 +1,145 @@
+package at.uibk.dps.ee.io.script;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonObject;
+
+import at.uibk.dps.ee.io.input.BatchInputSource.BatchInput;
+import at.uibk.dps.ee.io.input.JsonLinesReader;
+
+/**
+ * The {@link EeStream} continuously enacts a workflow for the inputs of a JSON
+ * Lines stream. The number of in-flight enactments is given by the number of
+ * (warm) engines: each engine is driven by its own thread which takes the next
+ * input from the stream as soon as its previous enactment is completed. The
+ * results are written as JSON Lines (in the order of completion), each line
+ * containing the line number of the input and either the result or the error
+ * message.
+ *
+ * @author Fedor Smirnov
+ */
+public class EeStream {
+
+  /**
+   * The path used to write the results to the standard output.
+   */
+  public static final String pathStdOut = "-";
+
+  protected static final String keyInput = "input";
+  protected static final String keyResult = "result";
+  protected static final String keyError = "error";
+
+  protected final Logger logger = LoggerFactory.getLogger(EeStream.class);
+
+  protected final List<WarmEngine> engines;
+  protected final Writer output;
+
+  /**
+   * Default constructor.
+   *
+   * @param engines the engines used for the enactments (one per in-flight
+   *        enactment)
+   * @param output the writer for the results
+   */
+  public EeStream(final List<WarmEngine> engines, final Writer output) {
+    if (engines.isEmpty()) {
+      throw new IllegalArgumentException("At least one engine is required.");
+    }
+    this.engines = engines;
+    this.output = output;
+  }
+
+  /**
+   * Enacts the workflow for each input of the given stream, until the stream
+   * ends.
+   *
+   * @param inputs the input stream
+   * @return the number of failed enactments
+   * @throws InterruptedException if interrupted while waiting for the
+   *         enactments
+   */
+  public int run(final JsonLinesReader inputs) throws InterruptedException {
+    final AtomicInteger enacted = new AtomicInteger();
+    final AtomicInteger failed = new AtomicInteger();
+    final long start = System.nanoTime();
+    final ExecutorService workers = Executors.newFixedThreadPool(engines.size());
+    try {
+      final List<Future<?>> workerResults = new ArrayList<>();
+      for (final WarmEngine engine : engines) {
+        workerResults.add(workers.submit(() -> {
+          processInputs(engine, inputs, enacted, failed);
+          return null;
+        }));
+      }
+      for (final Future<?> workerResult : workerResults) {
+        workerResult.get();
+      }
+    } catch (ExecutionException execExc) {
+      throw new IllegalStateException("Exception when processing the input stream.",
+          execExc.getCause());
+    } finally {
+      workers.shutdownNow();
+    }
+    logger.info("Stream of {} inputs ({} failed) enacted in {} ms.", enacted.get(),
+        failed.get(), (System.nanoTime() - start) / 1_000_000.0);
+    return failed.get();
+  }
+
+  /**
+   * The loop of one worker, enacting the inputs with the given engine until the
+   * stream ends.
+   *
+   * @param engine the engine of the worker
+   * @param inputs the input stream
+   * @param enacted counter of the enacted inputs
+   * @param failed counter of the failed enactments
+   * @throws InterruptedException if interrupted while waiting for an input
+   */
+  protected void processInputs(final WarmEngine engine, final JsonLinesReader inputs,
+      final AtomicInteger enacted, final AtomicInteger failed) throws InterruptedException {
+    Optional<BatchInput> input = inputs.next();
+    while (input.isPresent()) {
+      final JsonObject line = new JsonObject();
+      line.addProperty(keyInput, Integer.parseInt(input.get().getName()));
+      try {
+        line.add(keyResult, engine.enact(input.get().getInputData()));
+      } catch (Exception exc) {
+        failed.incrementAndGet();
+        logger.error("Enactment of input {} failed.", input.get().getName(), exc);
+        line.addProperty(keyError, String.valueOf(exc.getMessage()));
+      }
+      enacted.incrementAndGet();
+      writeLine(line);
+      input = inputs.next();
+    }
+  }
+
+  /**
+   * Writes the given json object as one line of the output.
+   *
+   * @param line the json object
+   */
+  protected void writeLine(final JsonObject line) {
+    synchronized (output) {
+      try {
+        output.write(line.toString());
+        output.write(System.lineSeparator());
+        output.flush();
+      } catch (IOException ioExc) {
+        throw new IllegalStateException("IOException when writing the result.", ioExc);
+      }
+    }
+  }
+}
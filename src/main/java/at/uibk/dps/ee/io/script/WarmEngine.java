@@ -0,0 +1,122 @@
+package at.uibk.dps.ee.io.script;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import com.google.gson.JsonObject;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+
+import at.uibk.dps.ee.core.EeCore;
+import at.uibk.dps.ee.io.input.InputDataProviderBatch;
+import at.uibk.dps.ee.io.modules.InputBatchModule;
+import at.uibk.dps.ee.io.modules.OutputCollectorModule;
+import at.uibk.dps.ee.io.output.OutputDataCollector;
+import at.uibk.dps.ee.io.script.EeBatch.Enactment;
+
+/**
+ * The {@link WarmEngine} is an engine instance which is configured once (with
+ * the workflow and the specification already processed) and then used for
+ * multiple enactments with different inputs. An instance must not be used for
+ * multiple enactments at the same time. Closing the engine releases the
+ * resources bound to it (the {@link Closeable} modules it was created with).
+ *
+ * @author Fedor Smirnov
+ */
+public class WarmEngine implements Closeable {
+
+  protected final InputDataProviderBatch inputProvider;
+  protected final OutputDataCollector outputCollector;
+  protected final Enactment enactment;
+  protected final List<Closeable> resources;
+
+  /**
+   * Default constructor.
+   *
+   * @param inputProvider the input provider used by the engine
+   * @param outputCollector the output handler used by the engine
+   * @param enactment the enactment of the workflow
+   */
+  public WarmEngine(final InputDataProviderBatch inputProvider,
+      final OutputDataCollector outputCollector, final Enactment enactment) {
+    this(inputProvider, outputCollector, enactment, List.of());
+  }
+
+  /**
+   * Constructor for an engine bound to resources which are released when the
+   * engine is closed.
+   *
+   * @param inputProvider the input provider used by the engine
+   * @param outputCollector the output handler used by the engine
+   * @param enactment the enactment of the workflow
+   * @param resources the resources released when the engine is closed
+   */
+  public WarmEngine(final InputDataProviderBatch inputProvider,
+      final OutputDataCollector outputCollector, final Enactment enactment,
+      final List<Closeable> resources) {
+    this.inputProvider = inputProvider;
+    this.outputCollector = outputCollector;
+    this.enactment = enactment;
+    this.resources = new ArrayList<>(resources);
+  }
+
+  /**
+   * Creates an engine from the given modules. The modules must not contain
+   * input or output modules (these are added by this method). The workflow and
+   * the specification are processed when the engine is created.
+   *
+   * @param modules the modules configuring the engine
+   * @return the created engine
+   */
+  public static WarmEngine create(final Set<Module> modules) {
+    modules.add(new InputBatchModule());
+    modules.add(new OutputCollectorModule());
+    final Injector injector = Guice.createInjector(modules);
+    final EeCore core = injector.getInstance(EeCore.class);
+    final List<Closeable> resources = new ArrayList<>();
+    for (final Module module : modules) {
+      if (module instanceof Closeable) {
+        resources.add((Closeable) module);
+      }
+    }
+    return new WarmEngine(injector.getInstance(InputDataProviderBatch.class),
+        injector.getInstance(OutputDataCollector.class), core::enactWorkflow, resources);
+  }
+
+  @Override
+  public void close() throws IOException {
+    for (final Closeable resource : resources) {
+      resource.close();
+    }
+    resources.clear();
+  }
+
+  /**
+   * Enacts the workflow with the given input and returns the result.
+   *
+   * @param input the workflow input
+   * @return the workflow result
+   * @throws Exception if the enactment fails or produces no result
+   */
+  public JsonObject enact(final JsonObject input) throws Exception {
+    outputCollector.reset();
+    inputProvider.setCurrentInput(input);
+    try {
+      enactment.enact();
+    } finally {
+      inputProvider.setCurrentInput(null);
+    }
+    final Optional<Throwable> failure = outputCollector.getFailureCause();
+    if (failure.isPresent()) {
+      throw new IllegalStateException("Enactment failed: " + failure.get().getMessage(),
+          failure.get());
+    }
+    return outputCollector.getResult()
+        .orElseThrow(() -> new IllegalStateException("The enactment produced no result."));
+  }
+}
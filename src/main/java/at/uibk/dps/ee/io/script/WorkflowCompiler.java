@@ -0,0 +1,87 @@
+package at.uibk.dps.ee.io.script;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import at.uibk.dps.ee.io.afcl.AfclReader;
+import at.uibk.dps.ee.io.cache.EnactmentGraphCacheNone;
+import at.uibk.dps.ee.io.cache.EnactmentGraphCodec;
+import at.uibk.dps.ee.io.instrumentation.StartupListenerNone;
+import at.uibk.dps.ee.io.validation.GraphValidatorDefault;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+
+/**
+ * Command line entry point compiling an .afcl/.cfcl file ahead of time. The
+ * compiled file contains the validated {@link EnactmentGraph} in the binary
+ * format of the {@link EnactmentGraphCodec} and can be used in place of the
+ * workflow file. The name of the compiled file must end with
+ * {@value AfclReader#compiledGraphSuffix}, which is how the {@link AfclReader}
+ * recognizes it and decodes the graph without parsing the workflow. Compiled
+ * files have to be recompiled when the format version of the codec changes.
+ * Arguments (the last one is optional):
+ *
+ * <pre>
+ * workflowFile compiledFile [mergeConstants]
+ * </pre>
+ *
+ * @author Fedor Smirnov
+ */
+public final class WorkflowCompiler {
+
+  /**
+   * No constructor.
+   */
+  private WorkflowCompiler() {}
+
+  /**
+   * Compiles the workflow as configured by the given arguments.
+   *
+   * @param args the arguments (see class description)
+   * @throws IOException if reading or writing the files fails
+   */
+  public static void main(final String[] args) throws IOException {
+    if (args.length < 2 || args.length > 3) {
+      throw new IllegalArgumentException("Usage: workflowFile compiledFile [mergeConstants]");
+    }
+    final boolean mergeConstants = args.length > 2 && Boolean.parseBoolean(args[2]);
+    compile(Paths.get(args[0]), Paths.get(args[1]), mergeConstants);
+  }
+
+  /**
+   * Compiles the given workflow file and writes the result to the given path.
+   *
+   * @param workflowFile the .afcl/.cfcl file
+   * @param compiledFile the path of the compiled file (ending with
+   *        {@value AfclReader#compiledGraphSuffix})
+   * @param mergeConstants if true, identical constants are modeled by a single
+   *        node
+   * @throws IOException if writing the compiled file fails
+   */
+  public static void compile(final Path workflowFile, final Path compiledFile,
+      final boolean mergeConstants) throws IOException {
+    if (!AfclReader.isCompiledGraphFile(compiledFile.toString())) {
+      throw new IllegalArgumentException(
+          "The name of the compiled file must end with " + AfclReader.compiledGraphSuffix);
+    }
+    final EnactmentGraph graph = new AfclReader(workflowFile.toString(), false, mergeConstants,
+        new EnactmentGraphCacheNone(), new StartupListenerNone(), new GraphValidatorDefault())
+            .getEnactmentGraph();
+    final Path directory = compiledFile.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+    final Path tmpFile = Files.createTempFile(directory, "compiled", ".tmp");
+    try {
+      try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(tmpFile))) {
+        EnactmentGraphCodec.encode(graph, output);
+      }
+      // engines reading the compiled file never see a partially written file
+      Files.move(tmpFile, compiledFile, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tmpFile);
+    }
+  }
+}
@@ -1,14 +1,21 @@
 package at.uibk.dps.ee.io.spec;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
-import org.opt4j.core.start.Constant;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import at.uibk.dps.ee.io.instrumentation.PhaseMeasurement;
+import at.uibk.dps.ee.io.instrumentation.StartupListener;
+import at.uibk.dps.ee.io.instrumentation.StartupListenerNone;
+import at.uibk.dps.ee.io.json.FunctionTypeEntry;
 import at.uibk.dps.ee.io.json.ResourceEntry;
 import at.uibk.dps.ee.io.json.ResourceInformationJsonFile;
+import at.uibk.dps.ee.io.json.ResourceInformationSource;
 import at.uibk.dps.ee.io.resources.ResourceGraphProviderFile;
+import at.uibk.dps.ee.io.resources.ResourceIndex;
 import at.uibk.dps.ee.model.constants.ConstantsEEModel;
 import at.uibk.dps.ee.model.graph.EnactmentGraph;
 import at.uibk.dps.ee.model.graph.EnactmentGraphProvider;
@@ -50,16 +57,54 @@ public class SpecificationProviderFile implements SpecificationProvider {
    * 
    * @param enactmentGraphProvider class providing the {@link EnactmentGraph}
    * @param resourceGraphProvider class providing the {@link ResourceGraph}
+   * @param resourceInformationSource the source of the information describing
+   *        the functionType-to-resource relations
+   * @param startupListener the listener notified about the mapping creation
+   */
+  @Inject
+  public SpecificationProviderFile(final EnactmentGraphProvider enactmentGraphProvider,
+      final ResourceGraphProvider resourceGraphProvider,
+      final ResourceInformationSource resourceInformationSource,
+      final StartupListener startupListener) {
+    this(enactmentGraphProvider, resourceGraphProvider,
+        resourceInformationSource.getResourceInformation(), startupListener);
+  }
+
+  /**
+   * Constructor used to create the specification based on the given file.
+   * 
+   * @param enactmentGraphProvider class providing the {@link EnactmentGraph}
+   * @param resourceGraphProvider class providing the {@link ResourceGraph}
    * @param filePath path to the file describing the functionType-to-resource
    *        relations
    */
-  @Inject
   public SpecificationProviderFile(final EnactmentGraphProvider enactmentGraphProvider,
-      final ResourceGraphProvider resourceGraphProvider, @Constant(value = "filePath",
-          namespace = ResourceGraphProviderFile.class) final String filePath) {
+      final ResourceGraphProvider resourceGraphProvider, final String filePath) {
+    this(enactmentGraphProvider, resourceGraphProvider,
+        ResourceInformationJsonFile.readFromFile(filePath), new StartupListenerNone());
+  }
+
+  /**
+   * Constructor used to create the specification based on the given resource
+   * information.
+   * 
+   * @param enactmentGraphProvider class providing the {@link EnactmentGraph}
+   * @param resourceGraphProvider class providing the {@link ResourceGraph}
+   * @param resInfo the information describing the functionType-to-resource
+   *        relations
+   * @param startupListener the listener notified about the mapping creation
+   */
+  protected SpecificationProviderFile(final EnactmentGraphProvider enactmentGraphProvider,
+      final ResourceGraphProvider resourceGraphProvider,
+      final List<FunctionTypeEntry> resInfo, final StartupListener startupListener) {
     this.enactmentGraphProvider = enactmentGraphProvider;
     this.resourceGraphProvider = resourceGraphProvider;
-    this.mappings = createMappings(getEnactmentGraph(), getResourceGraph(), filePath);
+    final EnactmentGraph eGraph = getEnactmentGraph();
+    final ResourceGraph rGraph = getResourceGraph();
+    final PhaseMeasurement creation =
+        PhaseMeasurement.start("SpecificationProviderFile: mapping creation");
+    this.mappings = createMappings(eGraph, rGraph, resInfo);
+    startupListener.phaseFinished(creation.stop(mappings.mappingStream().count()));
     this.specification = new EnactmentSpecification(getEnactmentGraph(), getResourceGraph(),
         getMappings(), ConstantsEEModel.SpecIdDefault);
   }
@@ -80,42 +125,57 @@ public class SpecificationProviderFile implements SpecificationProvider {
   }
 
   /**
-   * Reads the json file with the file information and uses it to create the
-   * mappings.
+   * Uses the resource information to create the mappings. The mappings of the
+   * individual tasks are created in parallel.
    * 
    * @param eGraph the enactment graph
    * @param rGraph the resource graph
-   * @param filePath the file path to the resource information
+   * @param resInfo the resource information
    * @return the mappings connected the eGraph and the rGraph
    */
   protected final MappingsConcurrent createMappings(final EnactmentGraph eGraph,
-      final ResourceGraph rGraph, final String filePath) {
+      final ResourceGraph rGraph, final List<FunctionTypeEntry> resInfo) {
     final MappingsConcurrent result = new MappingsConcurrent();
-    final ResourceInformationJsonFile resInfo = ResourceInformationJsonFile.readFromFile(filePath);
-    eGraph.getVertices().stream().filter(task -> TaskPropertyService.isProcess(task))
+    final Map<String, List<ResourceEntry>> typeIndex =
+        ResourceInformationJsonFile.getResourcesByFunctionType(resInfo);
+    final ResourceIndex resourceIndex = getResourceIndex(rGraph);
+    eGraph.getVertices().parallelStream().filter(task -> TaskPropertyService.isProcess(task))
         .filter(task -> PropertyServiceFunction.getUsageType(task).equals(UsageType.User))
-        .flatMap(task -> getMappingsForTask(task, resInfo, rGraph).stream())
+        .flatMap(task -> getMappingsForTask(task, typeIndex, resourceIndex).stream())
         .forEach(mapping -> result.addMapping(mapping));
     return result;
   }
 
   /**
-   * Creates the mappings for the provided task based on the given resource
-   * information.
+   * Returns the index of the resources of the given resource graph. The index
+   * of the resource graph provider is reused if available.
    * 
-   * @param task the provided task
-   * @param resInfo the given resource information.
    * @param rGraph the resource graph
+   * @return the index of the resources of the given resource graph
+   */
+  protected ResourceIndex getResourceIndex(final ResourceGraph rGraph) {
+    if (resourceGraphProvider instanceof ResourceGraphProviderFile) {
+      return ((ResourceGraphProviderFile) resourceGraphProvider).getResourceIndex();
+    }
+    return new ResourceIndex(rGraph);
+  }
+
+  /**
+   * Creates the mappings for the provided task based on the given map of
+   * function types to resource entries.
+   * 
+   * @param task the provided task
+   * @param typeIndex map of the function types to the resource entries
+   * @param resourceIndex the index of the resources of the resource graph
    * @return the mappings for the provided task based on the given resource
    *         information
    */
   protected Set<Mapping<Task, Resource>> getMappingsForTask(final Task task,
-      final ResourceInformationJsonFile resInfo, final ResourceGraph rGraph) {
+      final Map<String, List<ResourceEntry>> typeIndex, final ResourceIndex resourceIndex) {
     final String funcTypeString = PropertyServiceFunctionUser.getTypeId(task);
-    return resInfo.stream()
-        .filter(functionEntry -> funcTypeString.equals(functionEntry.getFunctionType()))
-        .flatMap(functionEntry -> functionEntry.getResources().stream())
-        .map(resEntry -> createMapping(task, resEntry, rGraph)).collect(Collectors.toSet());
+    return typeIndex.getOrDefault(funcTypeString, List.of()).stream()
+        .map(resEntry -> createMapping(task, resEntry, resourceIndex))
+        .collect(Collectors.toSet());
   }
 
   /**
@@ -124,13 +184,13 @@ public class SpecificationProviderFile implements SpecificationProvider {
    * 
    * @param task the mapping source
    * @param resEntry the resource entry describing the attributes
-   * @param resGraph the resource graph
+   * @param resourceIndex the index of the resources of the resource graph
    * @return a mapping between the given task and the given resources and
    *         annotates it with properties following the resource entry.
    */
   protected Mapping<Task, Resource> createMapping(final Task task, final ResourceEntry resEntry,
-      final ResourceGraph resGraph) {
-    final Resource res = getResourceForResourceEntry(resGraph, resEntry);
+      final ResourceIndex resourceIndex) {
+    final Resource res = getResourceForResourceEntry(resourceIndex, resEntry);
     final String resType = resEntry.getType();
     if (resType.equals(EnactmentMode.Local.name())) {
       return getLocalMappingEdge(task, res, resEntry);
@@ -169,17 +229,17 @@ public class SpecificationProviderFile implements SpecificationProvider {
   /**
    * Gets the resource node matching the provided resource entry
    * 
-   * @param rGraph the resource graph
+   * @param resourceIndex the index of the resources of the resource graph
    * @param resEntry the resource entry
    * @return the resource node matching the provided resource entry
    */
-  protected Resource getResourceForResourceEntry(final ResourceGraph rGraph,
+  protected Resource getResourceForResourceEntry(final ResourceIndex resourceIndex,
       final ResourceEntry resEntry) {
     Optional<Resource> result;
     final String resType = resEntry.getType();
     if (resType.equals(EnactmentMode.Local.name()) || resType.equals(EnactmentMode.Demo.name())) {
       // Resource is local EE
-      result = Optional.ofNullable(rGraph.getVertex(ConstantsEEModel.idLocalResource));
+      result = resourceIndex.getLocalResource();
     } else if (resType.equals(EnactmentMode.Serverless.name())) {
       // Serverless resource => look for the Uri
       if (!resEntry.getProperties().containsKey(PropertyServiceResourceServerless.propNameUri)) {
@@ -187,7 +247,7 @@ public class SpecificationProviderFile implements SpecificationProvider {
       }
       final String uri =
           resEntry.getProperties().get(PropertyServiceResourceServerless.propNameUri).getAsString();
-      result = Optional.ofNullable(rGraph.getVertex(uri));
+      result = resourceIndex.getResource(EnactmentMode.Serverless, uri);
     } else {
       throw new IllegalArgumentException("Unknown resource type: " + resEntry.getType());
     }
@@ -0,0 +1,23 @@
+package at.uibk.dps.ee.io.validation;
+
+import java.util.List;
+
+/**
+ * Interface for the individual checks of the enactment graph validation. The
+ * checks operate on a {@link GraphSnapshot} and have to be independent of each
+ * other, so that they can be executed concurrently.
+ *
+ * @author Fedor Smirnov
+ */
+public interface GraphCheck {
+
+  /**
+   * Checks the graph described by the given snapshot and returns the
+   * descriptions of the found violations.
+   *
+   * @param snapshot the snapshot of the checked graph
+   * @return the descriptions of the found violations (empty if the graph is
+   *         valid)
+   */
+  List<String> check(GraphSnapshot snapshot);
+}
@@ -0,0 +1,94 @@
+package at.uibk.dps.ee.io.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import at.uibk.dps.ee.model.properties.PropertyServiceData;
+import at.uibk.dps.ee.model.properties.PropertyServiceData.DataType;
+import net.sf.opendse.model.Task;
+
+/**
+ * Checks that the content of every constant data node matches the data type of
+ * the node.
+ *
+ * @author Fedor Smirnov
+ */
+public class GraphCheckConstantTypes implements GraphCheck {
+
+  @Override
+  public List<String> check(final GraphSnapshot snapshot) {
+    final List<String> result = new ArrayList<>();
+    for (int node = 0; node < snapshot.getNodeCount(); node++) {
+      if (snapshot.isConstant(node)) {
+        final Task constant = snapshot.getNode(node);
+        final DataType dataType = PropertyServiceData.getDataType(constant);
+        final JsonElement content = PropertyServiceData.getContent(constant);
+        if (!matchesType(content, dataType)) {
+          result.add("The content " + content + " of the constant " + constant.getId()
+              + " does not match its data type " + dataType.name());
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns true iff the given content can be interpreted as data of the given
+   * type.
+   *
+   * @param content the content
+   * @param dataType the data type
+   * @return true iff the given content can be interpreted as data of the given
+   *         type
+   */
+  protected static boolean matchesType(final JsonElement content, final DataType dataType) {
+    switch (dataType) {
+      case Number:
+        return content.isJsonPrimitive() && isNumber(content.getAsJsonPrimitive());
+      case Boolean:
+        return content.isJsonPrimitive() && isBoolean(content.getAsJsonPrimitive());
+      case String:
+        return content.isJsonPrimitive();
+      case Collection:
+      case Array:
+        return content.isJsonArray();
+      default:
+        return true;
+    }
+  }
+
+  /**
+   * Returns true iff the given primitive is a number or a string describing a
+   * number.
+   *
+   * @param primitive the given primitive
+   * @return true iff the given primitive describes a number
+   */
+  protected static boolean isNumber(final JsonPrimitive primitive) {
+    if (primitive.isNumber()) {
+      return true;
+    }
+    if (!primitive.isString()) {
+      return false;
+    }
+    try {
+      Double.parseDouble(primitive.getAsString());
+      return true;
+    } catch (NumberFormatException formatExc) {
+      return false;
+    }
+  }
+
+  /**
+   * Returns true iff the given primitive is a boolean or a string describing a
+   * boolean.
+   *
+   * @param primitive the given primitive
+   * @return true iff the given primitive describes a boolean
+   */
+  protected static boolean isBoolean(final JsonPrimitive primitive) {
+    return primitive.isBoolean() || primitive.isString()
+        && ("true".equals(primitive.getAsString()) || "false".equals(primitive.getAsString()));
+  }
+}
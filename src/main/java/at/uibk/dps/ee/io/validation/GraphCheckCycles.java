@@ -0,0 +1,59 @@
+package at.uibk.dps.ee.io.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Checks that the graph does not contain any cycles. The repeated execution of
+ * while loops is modeled by annotated edges, which are ignored by the check.
+ *
+ * @author Fedor Smirnov
+ */
+public class GraphCheckCycles implements GraphCheck {
+
+  protected static final int maxReportedNodes = 10;
+
+  @Override
+  public List<String> check(final GraphSnapshot snapshot) {
+    final int nodeCount = snapshot.getNodeCount();
+    final int[] remainingInDegrees = new int[nodeCount];
+    for (int node = 0; node < nodeCount; node++) {
+      for (int pos = 0; pos < snapshot.getOutDegree(node); pos++) {
+        if (!snapshot.isWhileAnnotated(node, pos)) {
+          remainingInDegrees[snapshot.getSuccessor(node, pos)]++;
+        }
+      }
+    }
+    // Kahn's algorithm: nodes which are never freed are on or behind a cycle
+    final int[] freeNodes = new int[nodeCount];
+    int freeCount = 0;
+    for (int node = 0; node < nodeCount; node++) {
+      if (remainingInDegrees[node] == 0) {
+        freeNodes[freeCount++] = node;
+      }
+    }
+    int processed = 0;
+    while (processed < freeCount) {
+      final int node = freeNodes[processed++];
+      for (int pos = 0; pos < snapshot.getOutDegree(node); pos++) {
+        if (!snapshot.isWhileAnnotated(node, pos)) {
+          final int successor = snapshot.getSuccessor(node, pos);
+          if (--remainingInDegrees[successor] == 0) {
+            freeNodes[freeCount++] = successor;
+          }
+        }
+      }
+    }
+    final List<String> result = new ArrayList<>();
+    if (processed < nodeCount) {
+      final String blockedNodes = IntStream.range(0, nodeCount)
+          .filter(node -> remainingInDegrees[node] > 0).limit(maxReportedNodes)
+          .mapToObj(node -> snapshot.getNode(node).getId()).collect(Collectors.joining(", "));
+      result.add("The generated graph contains a cycle. Nodes on or after the cycle: "
+          + blockedNodes);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,119 @@
+package at.uibk.dps.ee.io.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import at.uibk.dps.ee.model.constants.ConstantsEEModel;
+import at.uibk.dps.ee.model.properties.PropertyServiceData;
+import at.uibk.dps.ee.model.properties.PropertyServiceData.DataType;
+import at.uibk.dps.ee.model.properties.PropertyServiceDependency;
+
+/**
+ * Checks that the data types of the data nodes match the types expected by
+ * their consumers: the data distributed by a parallel for has to be a
+ * collection, and the data used by a function in the later iterations of a
+ * while loop has to have the type of the data used in the first iteration.
+ *
+ * @author Fedor Smirnov
+ */
+public class GraphCheckDataTypes implements GraphCheck {
+
+  /**
+   * The keys of the edges which control the distribution rather than providing
+   * the distributed data.
+   */
+  protected static final Set<String> distributionControlKeys =
+      Set.of(ConstantsEEModel.JsonKeyWhileStart, ConstantsEEModel.JsonKeyConstantIterator,
+          ConstantsEEModel.JsonKeySequentiality);
+
+  @Override
+  public List<String> check(final GraphSnapshot snapshot) {
+    final List<String> result = new ArrayList<>();
+    final List<String> whileIds = GraphCheckWhileReferences.getWhileIds(snapshot);
+    for (int node = 0; node < snapshot.getNodeCount(); node++) {
+      if (!snapshot.isData(node)) {
+        continue;
+      }
+      for (int pos = 0; pos < snapshot.getOutDegree(node); pos++) {
+        final int consumer = snapshot.getSuccessor(node, pos);
+        if (snapshot.isDistribution(consumer)) {
+          checkDistributedData(snapshot, node, pos, result);
+        }
+        if (snapshot.isWhileAnnotated(node, pos)) {
+          checkWhileData(snapshot, node, pos, whileIds, result);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Checks that the data provided over the given out-edge to a distribution
+   * function is a collection.
+   *
+   * @param snapshot the graph snapshot
+   * @param node the data node
+   * @param position the position of the out-edge
+   * @param result the list of the violations
+   */
+  protected static void checkDistributedData(final GraphSnapshot snapshot, final int node,
+      final int position, final List<String> result) {
+    final String jsonKey =
+        PropertyServiceDependency.getJsonKey(snapshot.getEdge(node, position));
+    if (distributionControlKeys.contains(jsonKey)) {
+      return;
+    }
+    final DataType dataType = PropertyServiceData.getDataType(snapshot.getNode(node));
+    if (!dataType.equals(DataType.Collection)) {
+      result.add("The data " + snapshot.getNode(node).getId() + " of type " + dataType.name()
+          + " is distributed by "
+          + snapshot.getNode(snapshot.getSuccessor(node, position)).getId()
+          + ", which requires a collection.");
+    }
+  }
+
+  /**
+   * Checks that the data referenced for the later iterations of the whiles
+   * annotated on the given out-edge has the type of the data of the first
+   * iteration.
+   *
+   * @param snapshot the graph snapshot
+   * @param node the data node used in the first iteration
+   * @param position the position of the out-edge
+   * @param whileIds the ids of the while compounds of the graph
+   * @param result the list of the violations
+   */
+  protected static void checkWhileData(final GraphSnapshot snapshot, final int node,
+      final int position, final List<String> whileIds, final List<String> result) {
+    final DataType firstType = PropertyServiceData.getDataType(snapshot.getNode(node));
+    for (final String whileId : whileIds) {
+      GraphCheckWhileReferences.getReference(snapshot.getEdge(node, position), whileId)
+          .map(snapshot::getIndex).filter(later -> later >= 0 && snapshot.isData(later))
+          .ifPresent(later -> {
+            final DataType laterType =
+                PropertyServiceData.getDataType(snapshot.getNode(later));
+            if (!areCompatible(firstType, laterType)) {
+              result.add("The data " + snapshot.getNode(later).getId() + " of type "
+                  + laterType.name() + " used in the later iterations of " + whileId
+                  + " does not match the type " + firstType.name() + " of the data "
+                  + snapshot.getNode(node).getId() + " used in the first iteration.");
+            }
+          });
+    }
+  }
+
+  /**
+   * Returns true iff data of the two given types can be provided to the same
+   * consumer input. As during the graph generation, collections are accepted
+   * where numbers are expected (and vice versa).
+   *
+   * @param first the first type
+   * @param second the second type
+   * @return true iff data of the two types can be provided to the same input
+   */
+  protected static boolean areCompatible(final DataType first, final DataType second) {
+    return first.equals(second) || first.equals(DataType.Collection)
+        && second.equals(DataType.Number)
+        || first.equals(DataType.Number) && second.equals(DataType.Collection);
+  }
+}
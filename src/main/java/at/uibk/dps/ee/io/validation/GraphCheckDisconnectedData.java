@@ -0,0 +1,25 @@
+package at.uibk.dps.ee.io.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks that every data node is connected to at least one function node.
+ *
+ * @author Fedor Smirnov
+ */
+public class GraphCheckDisconnectedData implements GraphCheck {
+
+  @Override
+  public List<String> check(final GraphSnapshot snapshot) {
+    final List<String> result = new ArrayList<>();
+    for (int node = 0; node < snapshot.getNodeCount(); node++) {
+      if (snapshot.isData(node) && snapshot.getInDegree(node) == 0
+          && snapshot.getOutDegree(node) == 0) {
+        result.add("The generated graph contains a disconnected data node: "
+            + snapshot.getNode(node).getId());
+      }
+    }
+    return result;
+  }
+}
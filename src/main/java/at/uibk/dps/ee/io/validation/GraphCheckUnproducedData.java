@@ -0,0 +1,31 @@
+package at.uibk.dps.ee.io.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks that every data node which is neither a workflow input, a constant,
+ * nor a node created by a while compound (start or counter) is produced by a
+ * function. Data nodes without a producer are the result of references to data
+ * which is not created anywhere in the workflow (e.g., broken while
+ * references).
+ *
+ * @author Fedor Smirnov
+ */
+public class GraphCheckUnproducedData implements GraphCheck {
+
+  @Override
+  public List<String> check(final GraphSnapshot snapshot) {
+    final List<String> result = new ArrayList<>();
+    for (int node = 0; node < snapshot.getNodeCount(); node++) {
+      if (snapshot.isData(node) && snapshot.getInDegree(node) == 0
+          && snapshot.getOutDegree(node) > 0 && !snapshot.isRoot(node)
+          && !snapshot.isConstant(node) && !snapshot.isWhileStart(node)
+          && !snapshot.isWhileCounter(node)) {
+        result.add("The generated graph contains data which is not produced by any function: "
+            + snapshot.getNode(node).getId());
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,105 @@
+package at.uibk.dps.ee.io.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import at.uibk.dps.ee.io.afcl.ConstantsAfcl;
+import at.uibk.dps.ee.model.constants.ConstantsEEModel;
+import at.uibk.dps.ee.model.properties.PropertyServiceDependency;
+import net.sf.opendse.model.Dependency;
+
+/**
+ * Checks the while references annotated on the function in-edges: each
+ * annotated edge has to reference data of a while compound of the graph, and
+ * the referenced data (used in the later iterations of the while) has to be a
+ * data node of the graph.
+ *
+ * @author Fedor Smirnov
+ */
+public class GraphCheckWhileReferences implements GraphCheck {
+
+  protected static final String counterSuffix =
+      ConstantsAfcl.SourceAffix + ConstantsEEModel.WhileLoopCounterSuffix;
+
+  @Override
+  public List<String> check(final GraphSnapshot snapshot) {
+    final List<String> result = new ArrayList<>();
+    final List<String> whileIds = getWhileIds(snapshot);
+    for (int node = 0; node < snapshot.getNodeCount(); node++) {
+      for (int pos = 0; pos < snapshot.getOutDegree(node); pos++) {
+        if (snapshot.isWhileAnnotated(node, pos)) {
+          checkReferences(snapshot, node, pos, whileIds, result);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Checks the while references annotated on the given out-edge.
+   *
+   * @param snapshot the graph snapshot
+   * @param node the source of the edge
+   * @param position the position of the out-edge
+   * @param whileIds the ids of the while compounds of the graph
+   * @param result the list of the violations
+   */
+  protected static void checkReferences(final GraphSnapshot snapshot, final int node,
+      final int position, final List<String> whileIds, final List<String> result) {
+    final String edgeDescription = "The while reference of the input "
+        + snapshot.getNode(node).getId() + " of the function "
+        + snapshot.getNode(snapshot.getSuccessor(node, position)).getId();
+    boolean referenced = false;
+    for (final String whileId : whileIds) {
+      final Optional<String> reference =
+          getReference(snapshot.getEdge(node, position), whileId);
+      if (reference.isPresent()) {
+        referenced = true;
+        final int target = snapshot.getIndex(reference.get());
+        if (target < 0 || !snapshot.isData(target)) {
+          result.add(edgeDescription + " points to " + reference.get() + " (while " + whileId
+              + "), which is not a data node of the graph.");
+        }
+      }
+    }
+    if (!referenced) {
+      result.add(edgeDescription + " does not belong to any while compound of the graph.");
+    }
+  }
+
+  /**
+   * Returns the ids of the while compounds modeled in the graph (derived from
+   * the ids of their loop counters).
+   *
+   * @param snapshot the graph snapshot
+   * @return the ids of the while compounds modeled in the graph
+   */
+  protected static List<String> getWhileIds(final GraphSnapshot snapshot) {
+    final List<String> result = new ArrayList<>();
+    for (int node = 0; node < snapshot.getNodeCount(); node++) {
+      final String nodeId = snapshot.getNode(node).getId();
+      if (snapshot.isWhileCounter(node) && nodeId.endsWith(counterSuffix)) {
+        result.add(nodeId.substring(0, nodeId.length() - counterSuffix.length()));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the data referenced by the given edge for the later iterations of
+   * the while with the given id.
+   *
+   * @param edge the while-annotated edge
+   * @param whileId the id of the while compound
+   * @return the id of the referenced data, or an empty optional if the edge
+   *         does not reference data of the given while
+   */
+  protected static Optional<String> getReference(final Dependency edge, final String whileId) {
+    try {
+      return Optional.ofNullable(PropertyServiceDependency.getDataRefForWhile(edge, whileId));
+    } catch (IllegalArgumentException noReferenceExc) {
+      // the edge is annotated for other whiles only
+      return Optional.empty();
+    }
+  }
+}
@@ -0,0 +1,203 @@
+package at.uibk.dps.ee.io.validation;
+
+import java.util.HashMap;
+import java.util.Map;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+import at.uibk.dps.ee.model.properties.PropertyServiceData;
+import at.uibk.dps.ee.model.properties.PropertyServiceDependency;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunctionDataFlowCollections;
+import net.sf.opendse.model.Dependency;
+import net.sf.opendse.model.Task;
+import net.sf.opendse.model.properties.TaskPropertyService;
+
+/**
+ * Immutable, compact snapshot of the structure of an {@link EnactmentGraph}
+ * used by the {@link GraphCheck}s. The nodes are identified by their index. The
+ * node properties relevant for the checks are read once when the snapshot is
+ * created, and the out-edges of each node are stored in a contiguous section of
+ * an int array. The snapshot can be read concurrently.
+ *
+ * @author Fedor Smirnov
+ */
+public class GraphSnapshot {
+
+  // node flags
+  protected static final int flagData = 1;
+  protected static final int flagRoot = 1 << 1;
+  protected static final int flagConstant = 1 << 2;
+  protected static final int flagWhileStart = 1 << 3;
+  protected static final int flagWhileCounter = 1 << 4;
+  protected static final int flagDistribution = 1 << 5;
+
+  protected final Task[] nodes;
+  protected final int[] nodeFlags;
+  protected final int[] inDegrees;
+  protected final int[] outOffsets;
+  protected final int[] outTargets;
+  protected final Dependency[] outEdges;
+  protected final boolean[] outWhileAnnotated;
+  protected final Map<String, Integer> indices = new HashMap<>();
+
+  /**
+   * Creates the snapshot of the given graph.
+   *
+   * @param graph the given graph
+   */
+  public GraphSnapshot(final EnactmentGraph graph) {
+    final int nodeCount = graph.getVertexCount();
+    this.nodes = new Task[nodeCount];
+    this.nodeFlags = new int[nodeCount];
+    this.inDegrees = new int[nodeCount];
+    this.outOffsets = new int[nodeCount + 1];
+    int idx = 0;
+    for (final Task node : graph.getVertices()) {
+      nodes[idx] = node;
+      nodeFlags[idx] = readFlags(node);
+      indices.put(node.getId(), idx);
+      idx++;
+    }
+    final int edgeCount = graph.getEdgeCount();
+    final int[] edgeSources = new int[edgeCount];
+    final int[] edgeTargets = new int[edgeCount];
+    final Dependency[] edges = new Dependency[edgeCount];
+    final boolean[] edgeWhile = new boolean[edgeCount];
+    int edgeIdx = 0;
+    for (final Dependency edge : graph.getEdges()) {
+      edgeSources[edgeIdx] = indices.get(graph.getSource(edge).getId());
+      edgeTargets[edgeIdx] = indices.get(graph.getDest(edge).getId());
+      edges[edgeIdx] = edge;
+      edgeWhile[edgeIdx] = PropertyServiceDependency.isWhileAnnotated(edge);
+      outOffsets[edgeSources[edgeIdx] + 1]++;
+      inDegrees[edgeTargets[edgeIdx]]++;
+      edgeIdx++;
+    }
+    for (int node = 0; node < nodeCount; node++) {
+      outOffsets[node + 1] += outOffsets[node];
+    }
+    this.outTargets = new int[edgeCount];
+    this.outEdges = new Dependency[edgeCount];
+    this.outWhileAnnotated = new boolean[edgeCount];
+    final int[] insertPositions = new int[nodeCount];
+    System.arraycopy(outOffsets, 0, insertPositions, 0, nodeCount);
+    for (int edge = 0; edge < edgeCount; edge++) {
+      final int position = insertPositions[edgeSources[edge]]++;
+      outTargets[position] = edgeTargets[edge];
+      outEdges[position] = edges[edge];
+      outWhileAnnotated[position] = edgeWhile[edge];
+    }
+  }
+
+  /**
+   * Reads the flags describing the given node.
+   *
+   * @param node the given node
+   * @return the flags describing the given node
+   */
+  protected static int readFlags(final Task node) {
+    if (!TaskPropertyService.isCommunication(node)) {
+      return PropertyServiceFunctionDataFlowCollections.isDistributionNode(node) ? flagDistribution
+          : 0;
+    }
+    int result = flagData;
+    result |= PropertyServiceData.isRoot(node) ? flagRoot : 0;
+    result |= PropertyServiceData.isConstantNode(node) ? flagConstant : 0;
+    result |= PropertyServiceData.isWhileStart(node) ? flagWhileStart : 0;
+    result |= PropertyServiceData.isWhileCounter(node) ? flagWhileCounter : 0;
+    return result;
+  }
+
+  public int getNodeCount() {
+    return nodes.length;
+  }
+
+  /**
+   * Returns the node with the given index.
+   *
+   * @param node the node index
+   * @return the node with the given index
+   */
+  public Task getNode(final int node) {
+    return nodes[node];
+  }
+
+  /**
+   * Returns the index of the node with the given id.
+   *
+   * @param nodeId the node id
+   * @return the index of the node with the given id, or -1 if the graph does
+   *         not contain such a node
+   */
+  public int getIndex(final String nodeId) {
+    final Integer result = indices.get(nodeId);
+    return result == null ? -1 : result;
+  }
+
+  public boolean isData(final int node) {
+    return (nodeFlags[node] & flagData) != 0;
+  }
+
+  public boolean isRoot(final int node) {
+    return (nodeFlags[node] & flagRoot) != 0;
+  }
+
+  public boolean isConstant(final int node) {
+    return (nodeFlags[node] & flagConstant) != 0;
+  }
+
+  public boolean isWhileStart(final int node) {
+    return (nodeFlags[node] & flagWhileStart) != 0;
+  }
+
+  public boolean isWhileCounter(final int node) {
+    return (nodeFlags[node] & flagWhileCounter) != 0;
+  }
+
+  public boolean isDistribution(final int node) {
+    return (nodeFlags[node] & flagDistribution) != 0;
+  }
+
+  public int getInDegree(final int node) {
+    return inDegrees[node];
+  }
+
+  public int getOutDegree(final int node) {
+    return outOffsets[node + 1] - outOffsets[node];
+  }
+
+  /**
+   * Returns the index of the target of the out-edge with the given position.
+   *
+   * @param node the source node
+   * @param position the position of the out-edge (between 0 and the out-degree
+   *        of the node)
+   * @return the index of the target of the out-edge
+   */
+  public int getSuccessor(final int node, final int position) {
+    return outTargets[outOffsets[node] + position];
+  }
+
+  /**
+   * Returns true iff the out-edge with the given position is annotated with a
+   * while reference.
+   *
+   * @param node the source node
+   * @param position the position of the out-edge (between 0 and the out-degree
+   *        of the node)
+   * @return true iff the out-edge is annotated with a while reference
+   */
+  public boolean isWhileAnnotated(final int node, final int position) {
+    return outWhileAnnotated[outOffsets[node] + position];
+  }
+
+  /**
+   * Returns the out-edge with the given position.
+   *
+   * @param node the source node
+   * @param position the position of the out-edge (between 0 and the out-degree
+   *        of the node)
+   * @return the out-edge with the given position
+   */
+  public Dependency getEdge(final int node, final int position) {
+    return outEdges[outOffsets[node] + position];
+  }
+}
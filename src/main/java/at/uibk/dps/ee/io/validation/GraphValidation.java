@@ -1,8 +1,6 @@
 package at.uibk.dps.ee.io.validation;
 
 import at.uibk.dps.ee.model.graph.EnactmentGraph;
-import net.sf.opendse.model.Task;
-import net.sf.opendse.model.properties.TaskPropertyService;
 
 /**
  * Static container for the methods used to validate the created graphs.
@@ -11,31 +9,20 @@ import net.sf.opendse.model.properties.TaskPropertyService;
  */
 public final class GraphValidation {
 
+  private static final GraphValidator defaultValidator = new GraphValidatorDefault();
+
   /**
    * No constructor.
    */
   private GraphValidation() {}
 
   /**
-   * Validates the given graph. Throws an exception if graph is invalid.
+   * Validates the given graph with all available checks. Throws an exception if
+   * graph is invalid.
    * 
    * @param graph the given graph
    */
   public static void validateGraph(final EnactmentGraph graph) {
-    checkForDisconnectedDataNodes(graph);
-  }
-
-  /**
-   * Throws an exception if any disconnected nodes are found.
-   * 
-   * @param graph the graph to check
-   */
-  static void checkForDisconnectedDataNodes(final EnactmentGraph graph) {
-    for (final Task task : graph) {
-      if (TaskPropertyService.isCommunication(task) && graph.getIncidentEdges(task).isEmpty()) {
-        throw new IllegalStateException(
-            "The generated graph contains a disconnected data node: " + task.getId());
-      }
-    }
+    defaultValidator.validate(graph);
   }
 }
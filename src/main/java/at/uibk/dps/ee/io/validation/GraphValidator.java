@@ -0,0 +1,33 @@
+package at.uibk.dps.ee.io.validation;
+
+import com.google.inject.ImplementedBy;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+
+/**
+ * Interface for the classes validating the generated {@link EnactmentGraph}s.
+ *
+ * @author Fedor Smirnov
+ */
+@FunctionalInterface
+@ImplementedBy(GraphValidatorDefault.class)
+public interface GraphValidator {
+
+  /**
+   * Validates the given graph. Throws an exception if the graph is invalid.
+   *
+   * @param graph the given graph
+   * @throws IllegalStateException describing all found violations if the graph
+   *         is invalid
+   */
+  void validate(EnactmentGraph graph);
+
+  /**
+   * Returns a description of the validation (used to distinguish graphs
+   * validated in different ways).
+   *
+   * @return a description of the validation
+   */
+  default String getDescription() {
+    return getClass().getName();
+  }
+}
@@ -0,0 +1,87 @@
+package at.uibk.dps.ee.io.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.opt4j.core.start.Constant;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * The {@link GraphValidatorConfigurable} runs the checks enabled in the module
+ * configuration.
+ *
+ * @author Fedor Smirnov
+ */
+@Singleton
+public class GraphValidatorConfigurable extends GraphValidatorPipeline {
+
+  /**
+   * Injection constructor.
+   *
+   * @param disconnectedData true iff disconnected data nodes are checked
+   * @param unproducedData true iff data without producers is checked
+   * @param constantTypes true iff the types of the constants are checked
+   * @param cycles true iff cycles are checked
+   * @param dataTypes true iff the data types expected by the consumers are
+   *        checked
+   * @param whileReferences true iff the while references are checked
+   * @param parallelThreshold the number of graph nodes starting from which the
+   *        checks are run concurrently
+   */
+  @Inject
+  public GraphValidatorConfigurable(
+      @Constant(value = "disconnectedData",
+          namespace = GraphValidatorConfigurable.class) final boolean disconnectedData,
+      @Constant(value = "unproducedData",
+          namespace = GraphValidatorConfigurable.class) final boolean unproducedData,
+      @Constant(value = "constantTypes",
+          namespace = GraphValidatorConfigurable.class) final boolean constantTypes,
+      @Constant(value = "cycles",
+          namespace = GraphValidatorConfigurable.class) final boolean cycles,
+      @Constant(value = "dataTypes",
+          namespace = GraphValidatorConfigurable.class) final boolean dataTypes,
+      @Constant(value = "whileReferences",
+          namespace = GraphValidatorConfigurable.class) final boolean whileReferences,
+      @Constant(value = "parallelThreshold",
+          namespace = GraphValidatorConfigurable.class) final int parallelThreshold) {
+    super(selectChecks(disconnectedData, unproducedData, constantTypes, cycles, dataTypes,
+        whileReferences), parallelThreshold);
+  }
+
+  /**
+   * Returns the list of the enabled checks.
+   *
+   * @param disconnectedData true iff disconnected data nodes are checked
+   * @param unproducedData true iff data without producers is checked
+   * @param constantTypes true iff the types of the constants are checked
+   * @param cycles true iff cycles are checked
+   * @param dataTypes true iff the data types expected by the consumers are
+   *        checked
+   * @param whileReferences true iff the while references are checked
+   * @return the list of the enabled checks
+   */
+  protected static List<GraphCheck> selectChecks(final boolean disconnectedData,
+      final boolean unproducedData, final boolean constantTypes, final boolean cycles,
+      final boolean dataTypes, final boolean whileReferences) {
+    final List<GraphCheck> result = new ArrayList<>();
+    if (disconnectedData) {
+      result.add(new GraphCheckDisconnectedData());
+    }
+    if (unproducedData) {
+      result.add(new GraphCheckUnproducedData());
+    }
+    if (constantTypes) {
+      result.add(new GraphCheckConstantTypes());
+    }
+    if (cycles) {
+      result.add(new GraphCheckCycles());
+    }
+    if (dataTypes) {
+      result.add(new GraphCheckDataTypes());
+    }
+    if (whileReferences) {
+      result.add(new GraphCheckWhileReferences());
+    }
+    return result;
+  }
+}
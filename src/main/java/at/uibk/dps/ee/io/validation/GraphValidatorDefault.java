@@ -0,0 +1,23 @@
+package at.uibk.dps.ee.io.validation;
+
+import java.util.List;
+import com.google.inject.Singleton;
+
+/**
+ * The {@link GraphValidatorDefault} is used when the validation is not
+ * configured: it runs all available checks.
+ *
+ * @author Fedor Smirnov
+ */
+@Singleton
+public class GraphValidatorDefault extends GraphValidatorPipeline {
+
+  /**
+   * Default constructor.
+   */
+  public GraphValidatorDefault() {
+    super(List.of(new GraphCheckDisconnectedData(), new GraphCheckUnproducedData(),
+        new GraphCheckConstantTypes(), new GraphCheckCycles(), new GraphCheckDataTypes(),
+        new GraphCheckWhileReferences()), defaultParallelThreshold);
+  }
+}
@@ -0,0 +1,69 @@
+package at.uibk.dps.ee.io.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+
+/**
+ * The {@link GraphValidatorPipeline} validates a graph by running a list of
+ * {@link GraphCheck}s on a {@link GraphSnapshot} of the graph, so that the
+ * graph itself is only traversed once. For large graphs, the checks are run
+ * concurrently. All violations found by the checks are reported together.
+ *
+ * @author Fedor Smirnov
+ */
+public class GraphValidatorPipeline implements GraphValidator {
+
+  /**
+   * The default number of nodes starting from which the checks are run
+   * concurrently.
+   */
+  public static final int defaultParallelThreshold = 10_000;
+
+  protected final List<GraphCheck> checks;
+  protected final int parallelThreshold;
+
+  /**
+   * Default constructor.
+   *
+   * @param checks the checks run during the validation
+   * @param parallelThreshold the number of graph nodes starting from which the
+   *        checks are run concurrently
+   */
+  public GraphValidatorPipeline(final List<GraphCheck> checks, final int parallelThreshold) {
+    this.checks = new ArrayList<>(checks);
+    this.parallelThreshold = parallelThreshold;
+  }
+
+  @Override
+  public void validate(final EnactmentGraph graph) {
+    if (checks.isEmpty()) {
+      return;
+    }
+    final GraphSnapshot snapshot = new GraphSnapshot(graph);
+    final Stream<GraphCheck> checkStream =
+        snapshot.getNodeCount() >= parallelThreshold ? checks.parallelStream() : checks.stream();
+    final List<String> violations = checkStream.flatMap(check -> check.check(snapshot).stream())
+        .collect(Collectors.toList());
+    if (!violations.isEmpty()) {
+      throw new IllegalStateException(String.join(System.lineSeparator(), violations));
+    }
+  }
+
+  @Override
+  public String getDescription() {
+    return checks.stream().map(check -> check.getClass().getName())
+        .collect(Collectors.joining(",", "checks[", "]"));
+  }
+
+  /**
+   * Returns the checks run during the validation.
+   *
+   * @return the checks run during the validation
+   */
+  public List<GraphCheck> getChecks() {
+    return new ArrayList<>(checks);
+  }
+}
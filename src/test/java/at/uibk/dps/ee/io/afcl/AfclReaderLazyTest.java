@@ -0,0 +1,85 @@
+package at.uibk.dps.ee.io.afcl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import at.uibk.dps.ee.io.cache.EnactmentGraphCacheNone;
+import at.uibk.dps.ee.io.instrumentation.StartupPhase;
+import at.uibk.dps.ee.io.instrumentation.StartupProfile;
+import at.uibk.dps.ee.io.testconstants.ConstantsTestCoreEEiO;
+import at.uibk.dps.ee.io.validation.GraphValidatorDefault;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+import net.sf.opendse.model.Dependency;
+import net.sf.opendse.model.Task;
+
+class AfclReaderLazyTest {
+
+  @Test
+  void testLazyRead() {
+    AfclReaderLazy tested = new AfclReaderLazy(ConstantsTestCoreEEiO.cfclFileSingleAtomic, false);
+    assertFalse(tested.graphGeneration.isDone());
+    EnactmentGraph result = tested.getEnactmentGraph();
+    assertTrue(tested.graphGeneration.isDone());
+    assertSame(result, tested.getEnactmentGraph());
+    EnactmentGraph expected =
+        new AfclReader(ConstantsTestCoreEEiO.cfclFileSingleAtomic).getEnactmentGraph();
+    assertEquals(expected.getVertexCount(), result.getVertexCount());
+    for (Task task : expected) {
+      AfclReaderTest.compareElements(result.getVertex(task.getId()), task);
+    }
+    for (Dependency dep : expected.getEdges()) {
+      AfclReaderTest.compareElements(result.getEdge(dep.getId()), dep);
+    }
+  }
+
+  @Test
+  void testAsyncSingleFlight() throws Exception {
+    AfclReaderLazy tested = new AfclReaderLazy(ConstantsTestCoreEEiO.cfclFileSingleAtomic, true);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Callable<EnactmentGraph>> requests = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        requests.add(tested::getEnactmentGraph);
+      }
+      List<Future<EnactmentGraph>> results = executor.invokeAll(requests);
+      EnactmentGraph first = results.get(0).get();
+      for (Future<EnactmentGraph> result : results) {
+        assertSame(first, result.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testStartupPhases() {
+    StartupProfile profile = new StartupProfile("");
+    AfclReaderLazy tested = new AfclReaderLazy(ConstantsTestCoreEEiO.cfclFileSingleAtomic, false,
+        false, false, new EnactmentGraphCacheNone(), profile, new GraphValidatorDefault());
+    assertTrue(profile.getPhases().isEmpty());
+    tested.getEnactmentGraph();
+    List<String> phaseNames =
+        profile.getPhases().stream().map(StartupPhase::getName).collect(Collectors.toList());
+    assertEquals(List.of("AfclReader: file reading", "AfclReader: cache lookup",
+        "AfclReader: workflow parsing", "AfclReader: graph validation",
+        "AfclReader: graph generation", "AfclReader: cache storing"), phaseNames);
+  }
+
+  @Test
+  void testWrongPath() {
+    AfclReaderLazy tested = new AfclReaderLazy("wrong/path.yaml", false);
+    assertThrows(IllegalStateException.class, () -> {
+      tested.getEnactmentGraph();
+    });
+    // the failure is reported for every request
+    assertThrows(IllegalStateException.class, () -> {
+      tested.getEnactmentGraph();
+    });
+  }
+}
@@ -1,8 +1,20 @@
 package at.uibk.dps.ee.io.afcl;
 
 import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import at.uibk.dps.afcl.Workflow;
+import at.uibk.dps.afcl.utils.Utils;
+import at.uibk.dps.ee.io.cache.EnactmentGraphCacheNone;
+import at.uibk.dps.ee.io.instrumentation.StartupPhase;
+import at.uibk.dps.ee.io.instrumentation.StartupProfile;
 import at.uibk.dps.ee.io.testconstants.ConstantsTestCoreEEiO;
 import at.uibk.dps.ee.model.graph.EnactmentGraph;
 import at.uibk.dps.ee.model.graph.EnactmentSpecification;
@@ -37,7 +49,80 @@ public class AfclReaderTest {
     }
   }
 
-  protected static void compareElements(Element resultElement, Element expectedElement) {
+  @Test
+  public void testStartupPhases() {
+    StartupProfile profile = new StartupProfile("");
+    AfclReader tested = new AfclReader(ConstantsTestCoreEEiO.cfclFileSingleAtomic,
+        new EnactmentGraphCacheNone(), profile);
+    List<String> phaseNames =
+        profile.getPhases().stream().map(StartupPhase::getName).collect(Collectors.toList());
+    assertEquals(List.of("AfclReader: file reading", "AfclReader: cache lookup",
+        "AfclReader: workflow parsing", "AfclReader: graph validation",
+        "AfclReader: graph generation", "AfclReader: cache storing"), phaseNames);
+    assertEquals(tested.getEnactmentGraph().getVertexCount(),
+        profile.getPhases().get(4).getElementCount());
+  }
+
+  @Test
+  public void testJsonSyntax() throws IOException {
+    String[] files = {ConstantsTestCoreEEiO.cfclFileSingleAtomic, ConstantsTestCoreEEiO.cfclFileIf,
+        ConstantsTestCoreEEiO.cfclFileElementIndex, ConstantsTestCoreEEiO.cfclFileParallelFor,
+        ConstantsTestCoreEEiO.afclFileWhileNested};
+    for (String file : files) {
+      byte[] yamlData = Files.readAllBytes(Paths.get(file));
+      byte[] jsonData = yaml2Json(yamlData);
+      assertFalse(AfclReader.isJson(yamlData));
+      assertTrue(AfclReader.isJson(jsonData));
+      EnactmentGraph expected =
+          GraphGenerationAfcl.generateEnactmentGraph(Utils.readYAMLNoValidation(yamlData));
+      // bound by the json parser (no fallback to the YAML reader)
+      EnactmentGraph result =
+          GraphGenerationAfcl.generateEnactmentGraph(AfclReader.json2Workflow(jsonData));
+      assertEquals(expected.getVertexCount(), result.getVertexCount());
+      assertEquals(expected.getEdgeCount(), result.getEdgeCount());
+      for (Task task : expected) {
+        compareElements(result.getVertex(task.getId()), task);
+      }
+      for (Dependency dep : expected.getEdges()) {
+        compareElements(result.getEdge(dep.getId()), dep);
+      }
+    }
+  }
+
+  @Test
+  public void testIsJson() {
+    assertTrue(AfclReader.isJson(" \n\t{\"name\": \"wf\"}".getBytes(StandardCharsets.UTF_8)));
+    assertTrue(AfclReader.isJson(
+        new byte[] {(byte) 0xef, (byte) 0xbb, (byte) 0xbf, '{', '}'}));
+    assertFalse(AfclReader.isJson("---\nname: wf".getBytes(StandardCharsets.UTF_8)));
+    assertFalse(AfclReader.isJson("  ".getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  public void testJsonUnknownProperties() throws IOException {
+    Workflow wf = AfclReader.json2Workflow(
+        "{\"name\": \"wf\", \"unknown\": 42, \"workflowBody\": []}"
+            .getBytes(StandardCharsets.UTF_8));
+    assertEquals("wf", wf.getName());
+  }
+
+  @Test
+  public void testJsonFallback() {
+    // a YAML flow mapping which is not valid JSON
+    Workflow wf = AfclReader.bytes2Workflow(
+        "{name: wf, workflowBody: []}".getBytes(StandardCharsets.UTF_8));
+    assertEquals("wf", wf.getName());
+  }
+
+  /**
+   * Converts the given YAML document into JSON syntax.
+   */
+  protected static byte[] yaml2Json(byte[] yamlData) throws IOException {
+    ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
+    return new ObjectMapper().writeValueAsBytes(yamlMapper.readTree(yamlData));
+  }
+
+  public static void compareElements(Element resultElement, Element expectedElement) {
     assertEquals(expectedElement.getId(), resultElement.getId());
     for (String attrName : expectedElement.getAttributeNames()) {
       assertEquals((Object) expectedElement.getAttribute(attrName),
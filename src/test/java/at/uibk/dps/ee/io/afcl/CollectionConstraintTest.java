@@ -0,0 +1,64 @@
+package at.uibk.dps.ee.io.afcl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import at.uibk.dps.afcl.functions.objects.PropertyConstraint;
+import at.uibk.dps.ee.model.constants.ConstantsEEModel;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunctionUtilityCollections.CollectionOperation;
+
+class CollectionConstraintTest {
+
+  @Test
+  void testElementIndex() {
+    CollectionConstraint tested =
+        CollectionConstraint.of(CollectionOperation.ElementIndex, "1, 3, 1:3, src/name:3:src/name");
+    assertEquals(7, tested.getEntries().size());
+    assertEquals(Arrays.asList("src/name"), Arrays.asList(tested.getSrcEntries().toArray()));
+    assertFalse(tested.isOneElementResult());
+    assertTrue(CollectionConstraint.of(CollectionOperation.ElementIndex, "2").isOneElementResult());
+  }
+
+  @Test
+  void testProcessedDataId() {
+    CollectionConstraint tested = CollectionConstraint.of(CollectionOperation.Block, "2, 1");
+    String expected = "data" + ConstantsEEModel.KeyWordSeparator2 + CollectionOperation.Block.name()
+        + ConstantsEEModel.KeyWordSeparator2 + "2, 1";
+    assertEquals(expected, tested.getProcessedDataId("data"));
+    assertFalse(tested.isOneElementResult());
+  }
+
+  @Test
+  void testOfConstraint() {
+    PropertyConstraint constraint = mock(PropertyConstraint.class);
+    when(constraint.getName()).thenReturn(ConstantsAfcl.constraintNameSplit);
+    when(constraint.getValue()).thenReturn("3");
+    CollectionConstraint tested = CollectionConstraint.of(constraint);
+    assertEquals(CollectionOperation.Split, tested.getOperation());
+    assertEquals("3", tested.getSubCollectionString());
+    assertSame(tested, CollectionConstraint.of(CollectionOperation.Split, new String("3")));
+  }
+
+  @Test
+  void testIllegalEntries() {
+    assertThrows(IllegalArgumentException.class, () -> {
+      CollectionConstraint.of(CollectionOperation.Replicate, "abc");
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      CollectionConstraint.of(CollectionOperation.Block, "2");
+    });
+  }
+
+  @Test
+  void testCacheEviction() {
+    CollectionConstraint first = CollectionConstraint.of(CollectionOperation.Replicate, "1");
+    for (int i = 2; i < CollectionConstraint.cacheCapacity + 2; i++) {
+      CollectionConstraint.of(CollectionOperation.Replicate, String.valueOf(i));
+    }
+    assertTrue(CollectionConstraint.getOperationCache(CollectionOperation.Replicate)
+        .size() <= CollectionConstraint.cacheCapacity);
+    assertNotSame(first, CollectionConstraint.of(CollectionOperation.Replicate, "1"));
+  }
+}
@@ -0,0 +1,93 @@
+package at.uibk.dps.ee.io.afcl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import at.uibk.dps.ee.model.constants.ConstantsEEModel;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+import at.uibk.dps.ee.model.properties.PropertyServiceData;
+import at.uibk.dps.ee.model.properties.PropertyServiceData.DataType;
+import at.uibk.dps.ee.model.properties.PropertyServiceDependency;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunctionUser;
+import net.sf.opendse.model.Task;
+
+class ConstantPoolTest {
+
+  @Test
+  void testGetContent() {
+    ConstantPool tested = new ConstantPool(false);
+    JsonElement first = tested.getContent("5");
+    assertTrue(first.isJsonPrimitive());
+    assertSame(first, tested.getContent(new String("5")));
+    assertEquals(1, tested.size());
+  }
+
+  @Test
+  void testContentCopied() {
+    ConstantPool tested = new ConstantPool(false);
+    EnactmentGraph graph = new EnactmentGraph();
+    String constant = "{\"key\": [1, 2, 3]}";
+    Task first = tested.getConstantNode(graph, "func1/const", constant, DataType.Object);
+    Task second = tested.getConstantNode(graph, "func2/const", constant, DataType.Object);
+    JsonObject firstContent = PropertyServiceData.getContent(first).getAsJsonObject();
+    assertEquals(firstContent, PropertyServiceData.getContent(second));
+    // a consumer modifying the content of one node does not affect the others
+    firstContent.getAsJsonArray("key").add(4);
+    firstContent.addProperty("other", true);
+    JsonObject secondContent = PropertyServiceData.getContent(second).getAsJsonObject();
+    assertEquals(3, secondContent.getAsJsonArray("key").size());
+    assertFalse(secondContent.has("other"));
+    assertEquals(3, tested.getContent(constant).getAsJsonObject().getAsJsonArray("key").size());
+    assertEquals(1, tested.size());
+  }
+
+  @Test
+  void testNoMerging() {
+    ConstantPool tested = new ConstantPool(false);
+    EnactmentGraph graph = new EnactmentGraph();
+    Task first = tested.getConstantNode(graph, "func1/5", "5", DataType.Number);
+    addConsumer(graph, first, "func1");
+    Task second = tested.getConstantNode(graph, "func2/5", "5", DataType.Number);
+    assertEquals("func2/5", second.getId());
+    assertNotSame(first, second);
+    assertSame(PropertyServiceData.getContent(first), PropertyServiceData.getContent(second));
+  }
+
+  @Test
+  void testMerging() {
+    ConstantPool tested = new ConstantPool(true);
+    EnactmentGraph graph = new EnactmentGraph();
+    String mergedId = ConstantsEEModel.ConstantNodeAffix + ConstantsAfcl.SourceAffix
+        + ConstantPool.getDigest("5");
+    Task first = tested.getConstantNode(graph, "func1/5", "5", DataType.Number);
+    assertEquals(mergedId, first.getId());
+    addConsumer(graph, first, "func1");
+    assertSame(first, tested.getConstantNode(graph, "func2/5", "5", DataType.Number));
+    // different type => not merged
+    Task other = tested.getConstantNode(graph, "func3/5", "5", DataType.String);
+    assertEquals("func3/5", other.getId());
+  }
+
+  @Test
+  void testMergedIdLength() {
+    ConstantPool tested = new ConstantPool(true);
+    StringBuilder constant = new StringBuilder("[");
+    for (int i = 0; i < 1000; i++) {
+      constant.append(i).append(", ");
+    }
+    constant.append("1000]");
+    Task node = tested.getConstantNode(new EnactmentGraph(), "func/const", constant.toString(),
+        DataType.Collection);
+    // the ID does not grow with the constant
+    assertEquals(ConstantsEEModel.ConstantNodeAffix + ConstantsAfcl.SourceAffix
+        + ConstantPool.getDigest(constant.toString()), node.getId());
+    assertEquals(ConstantPool.digestLength, ConstantPool.getDigest(constant.toString()).length());
+    assertNotEquals(ConstantPool.getDigest("5"), ConstantPool.getDigest("6"));
+  }
+
+  protected static void addConsumer(EnactmentGraph graph, Task constant, String functionId) {
+    Task function = PropertyServiceFunctionUser.createUserTask(functionId, "type");
+    PropertyServiceDependency.addDataDependency(constant, function, constant.getId(), graph);
+  }
+}
@@ -0,0 +1,54 @@
+package at.uibk.dps.ee.io.afcl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import net.sf.opendse.model.Communication;
+import net.sf.opendse.model.Task;
+
+class GraphConstructionJournalTest {
+
+  @Test
+  void testNestedScopes() {
+    Task outerTask = new Task("outer");
+    Task innerTask = new Task("inner");
+    Task notRecorded = new Task("notRecorded");
+    GraphConstructionJournal.recordFunctionNode(notRecorded);
+    GraphConstructionJournal.openScope();
+    GraphConstructionJournal.recordFunctionNode(outerTask);
+    GraphConstructionJournal.openScope();
+    GraphConstructionJournal.recordFunctionNode(innerTask);
+    JournalScope innerResult = GraphConstructionJournal.closeScope();
+    JournalScope outerResult = GraphConstructionJournal.closeScope();
+    assertEquals(1, innerResult.getFunctionNodes().size());
+    assertTrue(innerResult.getFunctionNodes().contains(innerTask));
+    assertEquals(2, outerResult.getFunctionNodes().size());
+    assertTrue(outerResult.getFunctionNodes().contains(innerTask));
+    assertTrue(outerResult.getFunctionNodes().contains(outerTask));
+  }
+
+  @Test
+  void testWhileNodes() {
+    Task whileStart = new Communication("whileStart");
+    Task whileCounter = new Communication("while/counter");
+    GraphConstructionJournal.openScope();
+    GraphConstructionJournal.openScope();
+    GraphConstructionJournal.recordWhileStart(whileStart);
+    GraphConstructionJournal.recordWhileCounter(whileCounter);
+    GraphConstructionJournal.closeScope();
+    JournalScope outerResult = GraphConstructionJournal.closeScope();
+    assertTrue(outerResult.getFunctionNodes().isEmpty());
+    assertEquals(1, outerResult.getWhileStarts().size());
+    assertTrue(outerResult.getWhileStarts().contains(whileStart));
+    assertEquals(1, outerResult.getWhileCounters().size());
+    assertTrue(outerResult.getWhileCounters().contains(whileCounter));
+    assertThrows(UnsupportedOperationException.class,
+        () -> outerResult.getWhileStarts().remove(whileStart));
+  }
+
+  @Test
+  void testCloseWithoutOpen() {
+    assertThrows(IllegalStateException.class, () -> {
+      GraphConstructionJournal.closeScope();
+    });
+  }
+}
@@ -0,0 +1,182 @@
+package at.uibk.dps.ee.io.afcl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import at.uibk.dps.afcl.Workflow;
+import at.uibk.dps.ee.io.testconstants.ConstantsTestCoreEEiO;
+import at.uibk.dps.ee.io.validation.GraphValidation;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+import at.uibk.dps.ee.model.properties.PropertyServiceDependency;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunctionUser;
+import edu.uci.ics.jung.graph.util.EdgeType;
+import net.sf.opendse.model.Communication;
+import net.sf.opendse.model.Dependency;
+import net.sf.opendse.model.Task;
+
+class GraphGenerationAfclParallelTest {
+
+  protected static final String yaml = "---\n" //
+      + "name: \"wf\"\n" //
+      + "dataIns:\n" //
+      + "- name: \"coll\"\n" //
+      + "  type: \"collection\"\n" //
+      + "  source: \"coll\"\n" //
+      + "workflowBody:\n" //
+      + parallelFor("pf0") //
+      + parallelFor("pf1") //
+      + "- function:\n" //
+      + "    name: \"join\"\n" //
+      + "    type: \"joinType\"\n" //
+      + "    dataIns:\n" //
+      + "    - name: \"in0\"\n" //
+      + "      type: \"collection\"\n" //
+      + "      source: \"pf0/value\"\n" //
+      + "    - name: \"in1\"\n" //
+      + "      type: \"collection\"\n" //
+      + "      source: \"pf1/value\"\n" //
+      + "    dataOuts:\n" //
+      + "    - name: \"out\"\n" //
+      + "      type: \"number\"\n" //
+      + "dataOuts:\n" //
+      + "- name: \"out\"\n" //
+      + "  type: \"number\"\n" //
+      + "  source: \"join/out\"\n";
+
+  protected static String parallelFor(final String name) {
+    return "- parallelFor:\n" //
+        + "    name: \"" + name + "\"\n" //
+        + "    dataIns:\n" //
+        + "    - name: \"iterated\"\n" //
+        + "      type: \"number\"\n" //
+        + "      source: \"wf/coll\"\n" //
+        + "    iterators: [\"iterated\"]\n" //
+        + "    loopBody:\n" //
+        + "    - function:\n" //
+        + "        name: \"" + name + "Body\"\n" //
+        + "        type: \"bodyType\"\n" //
+        + "        dataIns:\n" //
+        + "        - name: \"in\"\n" //
+        + "          type: \"number\"\n" //
+        + "          source: \"" + name + "/iterated\"\n" //
+        + "        dataOuts:\n" //
+        + "        - name: \"out\"\n" //
+        + "          type: \"number\"\n" //
+        + "    dataOuts:\n" //
+        + "    - name: \"value\"\n" //
+        + "      type: \"collection\"\n" //
+        + "      source: \"" + name + "Body/out\"\n";
+  }
+
+  @Test
+  void testSameResultAsSequential() {
+    Workflow wf = AfclReader.bytes2Workflow(yaml.getBytes(StandardCharsets.UTF_8));
+    assertSameResultAsSequential(wf, false);
+    assertSameResultAsSequential(wf, true);
+  }
+
+  @Test
+  void testSameResultAsSequentialTestWorkflows() {
+    List<Workflow> workflows = List.of(Graphs.getIfWf(), Graphs.getIfWfMulti(),
+        Graphs.getIfNoElseWf(), Graphs.getWhileNum(), Graphs.getWhileColl(),
+        Graphs.getWhileWhile(), Graphs.getWhileNested(), Graphs.getElementIndexWf(),
+        Graphs.getWf(ConstantsTestCoreEEiO.cfclFileParallelForConstIterator));
+    for (Workflow wf : workflows) {
+      assertSameResultAsSequential(wf, false);
+      assertSameResultAsSequential(wf, true);
+    }
+  }
+
+  @Test
+  void testGeneratePartialGraphRestoresIndex() {
+    Workflow wf = AfclReader.bytes2Workflow(yaml.getBytes(StandardCharsets.UTF_8));
+    Workflow other = AfclReader.bytes2Workflow(yaml.getBytes(StandardCharsets.UTF_8));
+    try {
+      WorkflowIndex callerIndex = WorkflowIndex.of(wf);
+      EnactmentGraph inputGraph = new EnactmentGraph();
+      GraphGenerationAfcl.addWfInputNodes(inputGraph, AfclApiWrapper.getDataIns(other), "wf");
+      // the partial graph of another generation run inline by this thread
+      EnactmentGraph partial =
+          GraphGenerationAfclParallel.generatePartialGraph(other.getWorkflowBody().get(0),
+              other, new WorkflowIndex(other), new ArrayList<>(inputGraph.getVertices()));
+      assertTrue(partial.getVertexCount() > inputGraph.getVertexCount());
+      assertSame(callerIndex, WorkflowIndex.current());
+    } finally {
+      WorkflowIndex.release(wf);
+    }
+    assertNull(WorkflowIndex.current());
+  }
+
+  /**
+   * Checks that the parallel generation of the given workflow results in the
+   * same graph as the sequential one.
+   */
+  protected static void assertSameResultAsSequential(Workflow wf, boolean mergeConstants) {
+    EnactmentGraph expected = GraphGenerationAfcl.generateEnactmentGraph(wf,
+        GraphValidation::validateGraph, false, mergeConstants);
+    EnactmentGraph result = GraphGenerationAfcl.generateEnactmentGraph(wf,
+        GraphValidation::validateGraph, true, mergeConstants);
+    assertEquals(expected.getVertexCount(), result.getVertexCount());
+    assertEquals(expected.getEdgeCount(), result.getEdgeCount());
+    for (Task task : expected) {
+      AfclReaderTest.compareElements(result.getVertex(task.getId()), task);
+    }
+    for (Dependency dep : expected.getEdges()) {
+      Dependency resultDep = result.getEdge(dep.getId());
+      AfclReaderTest.compareElements(resultDep, dep);
+      assertEquals(expected.getSource(dep).getId(), result.getSource(resultDep).getId());
+      assertEquals(expected.getDest(dep).getId(), result.getDest(resultDep).getId());
+    }
+    assertNull(WorkflowIndex.current());
+  }
+
+  @Test
+  void testIsIndependent() {
+    Workflow wf = AfclReader.bytes2Workflow(yaml.getBytes(StandardCharsets.UTF_8));
+    assertTrue(GraphGenerationAfclParallel.isIndependent(wf.getWorkflowBody().get(0), "wf"));
+    assertTrue(GraphGenerationAfclParallel.isIndependent(wf.getWorkflowBody().get(1), "wf"));
+    // references the outputs of the other compounds
+    assertFalse(GraphGenerationAfclParallel.isIndependent(wf.getWorkflowBody().get(2), "wf"));
+  }
+
+  @Test
+  void testIsInternalReference() {
+    Set<String> producers = new HashSet<>();
+    producers.add("wf");
+    producers.add("func");
+    assertTrue(GraphGenerationAfclParallel.isInternalReference("wf/input", producers));
+    assertTrue(GraphGenerationAfclParallel.isInternalReference("func/out", producers));
+    assertTrue(GraphGenerationAfclParallel.isInternalReference("5", producers));
+    assertFalse(GraphGenerationAfclParallel.isInternalReference("other/out", producers));
+  }
+
+  @Test
+  void testMergeGraph() {
+    Task input = new Communication("input");
+    input.setAttribute("existing", "value");
+    EnactmentGraph graph = new EnactmentGraph();
+    graph.addVertex(input);
+    EnactmentGraph partial = new EnactmentGraph();
+    Task inputCopy = GraphGenerationAfclParallel.copyNode(input);
+    inputCopy.setAttribute("additional", "value");
+    Task function = PropertyServiceFunctionUser.createUserTask("function", "type");
+    Task output = new Communication("output");
+    PropertyServiceDependency.addDataDependency(inputCopy, function, "in", partial);
+    PropertyServiceDependency.addDataDependency(function, output, "out", partial);
+    GraphGenerationAfclParallel.mergeGraph(graph, partial);
+    assertEquals(3, graph.getVertexCount());
+    assertEquals(2, graph.getEdgeCount());
+    assertSame(input, graph.getVertex("input"));
+    assertEquals("value", input.getAttribute("additional"));
+    assertEquals("value", inputCopy.getAttribute("existing"));
+    assertSame(function, graph.getVertex("function"));
+    for (Dependency dep : partial.getEdges()) {
+      assertEquals(EdgeType.DIRECTED, graph.getEdgeType(dep));
+    }
+    assertSame(input, graph.getSource(graph.getInEdges(function).iterator().next()));
+  }
+}
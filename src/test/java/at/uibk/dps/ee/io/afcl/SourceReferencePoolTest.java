@@ -0,0 +1,60 @@
+package at.uibk.dps.ee.io.afcl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import at.uibk.dps.afcl.Function;
+import at.uibk.dps.afcl.Workflow;
+import at.uibk.dps.afcl.functions.objects.DataIns;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+import net.sf.opendse.model.Task;
+
+class SourceReferencePoolTest {
+
+  @Test
+  void testGet() {
+    SourceReferencePool tested = new SourceReferencePool();
+    SourceReference first = tested.get(new String("producer/data"));
+    SourceReference second = tested.get(new String("producer/data"));
+    assertSame(first, second);
+    SourceReference other = tested.get(new String("producer/other"));
+    assertSame(first.getProducerId(), other.getProducerId());
+  }
+
+  @Test
+  void testIntern() {
+    SourceReferencePool tested = new SourceReferencePool();
+    String first = new String("key");
+    assertSame(first, tested.intern(first));
+    assertSame(first, tested.intern(new String("key")));
+    assertNull(tested.intern(null));
+    assertEquals(1, tested.size());
+  }
+
+  @Test
+  void testGetDataNodeId() {
+    SourceReferencePool tested = new SourceReferencePool();
+    String nodeId = tested.getDataNodeId("producer", "data");
+    assertEquals("producer/data", nodeId);
+    assertSame(nodeId, tested.getDataNodeId("producer", new String("data")));
+    assertSame(nodeId, tested.get(new String("producer/data")).getSrcString());
+  }
+
+  @Test
+  void testCanonicalNodeIds() {
+    Workflow wf = Graphs.getSingleAtomicWf();
+    EnactmentGraph graph = GraphGenerationAfcl.generateEnactmentGraph(wf);
+    // the pool is released after the generation
+    assertNull(WorkflowIndex.getActivePool());
+    int checked = 0;
+    for (Function function : AfclApiWrapper.getWfBody(wf)) {
+      for (DataIns dataIn : AfclApiWrapper.getDataIns(function)) {
+        Task dataNode = graph.getVertex(dataIn.getSource());
+        assertNotNull(dataNode);
+        // the source of the data in and the node ID are the same object
+        assertSame(dataIn.getSource(), dataNode.getId());
+        checked++;
+      }
+    }
+    assertTrue(checked > 0);
+  }
+}
@@ -0,0 +1,60 @@
+package at.uibk.dps.ee.io.afcl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import at.uibk.dps.ee.model.constants.ConstantsEEModel;
+
+class SourceReferenceTest {
+
+  @Test
+  void testParseSrcString() {
+    SourceReference tested = SourceReference.parse("producer/data");
+    assertTrue(tested.isSource());
+    assertFalse(tested.isConstant());
+    assertFalse(tested.isIfOut());
+    assertEquals("producer", tested.getProducerId());
+    assertEquals("data", tested.getDataId());
+    assertEquals("producer/data", tested.toString());
+  }
+
+  @Test
+  void testParseConstant() {
+    SourceReference tested =
+        SourceReference.parse(ConstantsEEModel.ConstantNodeAffix + ConstantsAfcl.SourceAffix + "5");
+    assertTrue(tested.isSource());
+    assertTrue(tested.isConstant());
+    assertEquals("5", tested.getDataId());
+  }
+
+  @Test
+  void testParseIfOut() {
+    SourceReference tested = SourceReference.parse("first/out,second/out");
+    assertTrue(tested.isIfOut());
+    assertEquals("first/out", tested.getFirstIfOut());
+    assertEquals("second/out", tested.getSecondIfOut());
+  }
+
+  @Test
+  void testNoSrcString() {
+    SourceReference tested = SourceReference.parse("5");
+    assertFalse(tested.isSource());
+    assertFalse(SourceReference.parse("/data").isSource());
+    assertFalse(SourceReference.parse("producer/").isSource());
+    assertEquals("5", tested.getProducerId());
+    assertThrows(IllegalArgumentException.class, () -> {
+      tested.getDataId();
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      tested.getFirstIfOut();
+    });
+  }
+
+  @Test
+  void testEquals() {
+    SourceReference first = SourceReference.parse("producer/data");
+    SourceReference second = SourceReference.parse(new String("producer/data"));
+    assertEquals(first, second);
+    assertEquals(first.hashCode(), second.hashCode());
+    assertNotEquals(first, SourceReference.parse("producer/other"));
+  }
+}
@@ -0,0 +1,59 @@
+package at.uibk.dps.ee.io.afcl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import at.uibk.dps.afcl.Function;
+import at.uibk.dps.afcl.Workflow;
+
+class WorkflowIndexTest {
+
+  Workflow workflow;
+
+  @Test
+  void testGetFunction() {
+    WorkflowIndex tested = WorkflowIndex.of(workflow);
+    assertEquals("increment", tested.getFunction("increment").getName());
+    assertEquals("innerWhile", tested.getFunction("innerWhile").getName());
+    assertTrue(tested.hasFunction("outerWhile"));
+    assertFalse(tested.hasFunction("complexWhile"));
+    assertThrows(IllegalStateException.class, () -> {
+      tested.getFunction("unknown");
+    });
+  }
+
+  @Test
+  void testGetParent() {
+    WorkflowIndex tested = WorkflowIndex.of(workflow);
+    assertFalse(tested.getParent("outerWhile").isPresent());
+    assertEquals("outerWhile", tested.getParent("innerWhile").get().getName());
+    assertEquals("innerWhile", tested.getParent("increment").get().getName());
+  }
+
+  @Test
+  void testContains() {
+    WorkflowIndex tested = WorkflowIndex.of(workflow);
+    Function outer = tested.getFunction("outerWhile");
+    Function inner = tested.getFunction("innerWhile");
+    Function increment = tested.getFunction("increment");
+    assertTrue(tested.contains(outer, increment));
+    assertTrue(tested.contains(inner, increment));
+    assertTrue(tested.contains(inner, inner));
+    assertFalse(tested.contains(inner, outer));
+    assertFalse(tested.contains(increment, inner));
+  }
+
+  @Test
+  void testReuse() {
+    WorkflowIndex first = WorkflowIndex.of(workflow);
+    assertSame(first, WorkflowIndex.of(workflow));
+    WorkflowIndex.release(workflow);
+    assertNotSame(first, WorkflowIndex.of(workflow));
+    assertNotSame(first, WorkflowIndex.of(Graphs.getWhileNested()));
+  }
+
+  @BeforeEach
+  void setup() {
+    workflow = Graphs.getWhileNested();
+  }
+}
@@ -0,0 +1,83 @@
+package at.uibk.dps.ee.io.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import at.uibk.dps.ee.io.testclasses.AtomicEGGenerator;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+import net.sf.opendse.model.Task;
+
+class EnactmentGraphCacheDiskTest {
+
+  protected static final String key = "generation";
+
+  @TempDir
+  Path cacheDir;
+
+  @Test
+  void testStoreAndLoad() {
+    EnactmentGraphCacheDisk tested = new EnactmentGraphCacheDisk(cacheDir, 1024 * 1024);
+    byte[] wfData = "workflow".getBytes(StandardCharsets.UTF_8);
+    assertFalse(tested.load(wfData, key).isPresent());
+    EnactmentGraph graph = AtomicEGGenerator.generateGraph();
+    tested.store(wfData, key, graph);
+    Optional<EnactmentGraph> result = tested.load(wfData, key);
+    assertTrue(result.isPresent());
+    assertFalse(tested.load(wfData, "otherGeneration").isPresent());
+    assertEquals(graph.getVertexCount(), result.get().getVertexCount());
+    assertEquals(graph.getEdgeCount(), result.get().getEdgeCount());
+    assertFalse(tested.load("otherWorkflow".getBytes(StandardCharsets.UTF_8), key).isPresent());
+  }
+
+  @Test
+  void testNotEncodable() throws IOException {
+    EnactmentGraphCacheDisk tested = new EnactmentGraphCacheDisk(cacheDir, 1024 * 1024);
+    EnactmentGraph graph = new EnactmentGraph();
+    Task task = new Task("task");
+    task.setAttribute("attr", new Object());
+    graph.addVertex(task);
+    byte[] wfData = "workflow".getBytes(StandardCharsets.UTF_8);
+    assertThrows(IllegalArgumentException.class, () -> tested.store(wfData, key, graph));
+    try (Stream<Path> files = Files.list(cacheDir)) {
+      assertEquals(0, files.count());
+    }
+  }
+
+  @Test
+  void testCorruptEntry() throws IOException {
+    EnactmentGraphCacheDisk tested = new EnactmentGraphCacheDisk(cacheDir, 1024 * 1024);
+    byte[] wfData = "workflow".getBytes(StandardCharsets.UTF_8);
+    Path entry = tested.getEntryPath(wfData, key);
+    Files.write(entry, new byte[] {1, 2, 3});
+    assertFalse(tested.load(wfData, key).isPresent());
+    assertFalse(Files.exists(entry));
+  }
+
+  @Test
+  void testEviction() throws IOException {
+    EnactmentGraphCacheDisk tested = new EnactmentGraphCacheDisk(cacheDir, 1);
+    tested.store("first".getBytes(StandardCharsets.UTF_8), key, AtomicEGGenerator.generateGraph());
+    tested.store("second".getBytes(StandardCharsets.UTF_8), key,
+        AtomicEGGenerator.generateGraph());
+    try (Stream<Path> files = Files.list(cacheDir)) {
+      assertEquals(0, files.count());
+    }
+  }
+
+  @Test
+  void testEntryKey() {
+    byte[] wfData = "workflow".getBytes(StandardCharsets.UTF_8);
+    String entryKey = EnactmentGraphCacheDisk.getEntryKey(wfData, key);
+    assertEquals(64, entryKey.length());
+    assertEquals(entryKey, EnactmentGraphCacheDisk.getEntryKey(wfData, key));
+    assertNotEquals(entryKey,
+        EnactmentGraphCacheDisk.getEntryKey("other".getBytes(StandardCharsets.UTF_8), key));
+    assertNotEquals(entryKey, EnactmentGraphCacheDisk.getEntryKey(wfData, "otherGeneration"));
+  }
+}
@@ -0,0 +1,175 @@
+package at.uibk.dps.ee.io.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import at.uibk.dps.ee.io.afcl.AfclReader;
+import at.uibk.dps.ee.io.afcl.AfclReaderTest;
+import at.uibk.dps.ee.io.testconstants.ConstantsTestCoreEEiO;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+import at.uibk.dps.ee.model.objects.Condition;
+import at.uibk.dps.ee.model.objects.Condition.CombinedWith;
+import at.uibk.dps.ee.model.objects.Condition.Operator;
+import at.uibk.dps.ee.model.properties.PropertyServiceData.DataType;
+import net.sf.opendse.model.Communication;
+import net.sf.opendse.model.Dependency;
+import net.sf.opendse.model.Element;
+import net.sf.opendse.model.Task;
+
+class EnactmentGraphCodecTest {
+
+  @Test
+  void testRoundTrip() throws IOException {
+    String[] files = {ConstantsTestCoreEEiO.cfclFileSingleAtomic, ConstantsTestCoreEEiO.cfclFileIf,
+        ConstantsTestCoreEEiO.cfclFileIfMulti, ConstantsTestCoreEEiO.cfclFileIfNoElse,
+        ConstantsTestCoreEEiO.cfclFileElementIndex, ConstantsTestCoreEEiO.cfclFileParallelFor,
+        ConstantsTestCoreEEiO.cfclFileParallelForConstIterator,
+        ConstantsTestCoreEEiO.cfclFileParallelForIntIterator,
+        ConstantsTestCoreEEiO.cfclFileParallelForNoInput, ConstantsTestCoreEEiO.afclFileWhileColl,
+        ConstantsTestCoreEEiO.afclFileWhileNum, ConstantsTestCoreEEiO.afclFileWhileWhile,
+        ConstantsTestCoreEEiO.afclFileWhileMultiLevel, ConstantsTestCoreEEiO.afclFileWhileNested};
+    for (String file : files) {
+      EnactmentGraph original = new AfclReader(file).getEnactmentGraph();
+      EnactmentGraph result = roundTrip(original);
+      assertEquals(original.getVertexCount(), result.getVertexCount(), file);
+      assertEquals(original.getEdgeCount(), result.getEdgeCount(), file);
+      for (Task task : original) {
+        Task decoded = result.getVertex(task.getId());
+        assertEquals(task instanceof Communication, decoded instanceof Communication);
+        compareElements(task, decoded);
+      }
+      for (Dependency dep : original.getEdges()) {
+        Dependency decoded = result.getEdge(dep.getId());
+        compareElements(dep, decoded);
+        assertEquals(original.getSource(dep).getId(), result.getSource(decoded).getId());
+        assertEquals(original.getDest(dep).getId(), result.getDest(decoded).getId());
+        assertEquals(original.getEdgeType(dep), result.getEdgeType(decoded));
+      }
+    }
+  }
+
+  @Test
+  void testConditions() throws IOException {
+    Condition cond1 =
+        new Condition("in1", "in2", Operator.EQUAL, false, DataType.Boolean, CombinedWith.And);
+    Condition cond2 =
+        new Condition("in3", "in4", Operator.STARTS_WITH, true, DataType.String, CombinedWith.Or);
+    EnactmentGraph graph = new EnactmentGraph();
+    Task task = new Task("task");
+    task.setAttribute("conditions", List.of(cond1, cond2));
+    graph.addVertex(task);
+    List<?> decoded = roundTrip(graph).getVertex("task").getAttribute("conditions");
+    assertEquals(List.of(cond1, cond2), decoded);
+  }
+
+  @Test
+  void testIsEncodedGraph() throws IOException {
+    EnactmentGraph original =
+        new AfclReader(ConstantsTestCoreEEiO.cfclFileSingleAtomic).getEnactmentGraph();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    EnactmentGraphCodec.encode(original, bytes);
+    assertTrue(EnactmentGraphCodec.isEncodedGraph(bytes.toByteArray()));
+    assertFalse(EnactmentGraphCodec.isEncodedGraph("---\nname: wf".getBytes()));
+    assertFalse(EnactmentGraphCodec.isEncodedGraph(new byte[2]));
+  }
+
+  @Test
+  void testWrongFormat() {
+    assertThrows(IOException.class, () -> {
+      EnactmentGraphCodec.decode(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5, 6, 7, 8}));
+    });
+  }
+
+  @Test
+  void testCorruptLength() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = createHeader(bytes, 1);
+    out.writeByte(EnactmentGraphCodec.kindTask);
+    out.writeInt(Integer.MAX_VALUE);
+    out.write(new byte[] {1, 2, 3});
+    assertThrows(IOException.class, () -> decode(bytes));
+    ByteArrayOutputStream negative = new ByteArrayOutputStream();
+    createHeader(negative, -1);
+    assertThrows(IOException.class, () -> decode(negative));
+  }
+
+  @Test
+  void testCorruptJson() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = createHeader(bytes, 1);
+    out.writeByte(EnactmentGraphCodec.kindTask);
+    writeString(out, "task");
+    out.writeInt(1);
+    writeString(out, "attr");
+    out.writeByte(EnactmentGraphCodec.typeJson);
+    writeString(out, "{not json");
+    assertThrows(IOException.class, () -> decode(bytes));
+  }
+
+  @Test
+  void testUnsupportedEnum() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = createHeader(bytes, 1);
+    out.writeByte(EnactmentGraphCodec.kindTask);
+    writeString(out, "task");
+    out.writeInt(1);
+    writeString(out, "attr");
+    out.writeByte(EnactmentGraphCodec.typeEnum);
+    writeString(out, Thread.State.class.getName());
+    writeString(out, Thread.State.NEW.name());
+    assertThrows(IOException.class, () -> decode(bytes));
+    EnactmentGraph graph = new EnactmentGraph();
+    Task task = new Task("task");
+    task.setAttribute("attr", Thread.State.NEW);
+    graph.addVertex(task);
+    assertThrows(IllegalArgumentException.class, () -> {
+      EnactmentGraphCodec.encode(graph, new ByteArrayOutputStream());
+    });
+  }
+
+  @Test
+  void testNotEncodable() {
+    EnactmentGraph graph = new EnactmentGraph();
+    Task task = new Task("task");
+    task.setAttribute("attr", new Object());
+    graph.addVertex(task);
+    assertThrows(IllegalArgumentException.class, () -> {
+      EnactmentGraphCodec.encode(graph, new ByteArrayOutputStream());
+    });
+  }
+
+  protected static EnactmentGraph roundTrip(EnactmentGraph graph) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    EnactmentGraphCodec.encode(graph, bytes);
+    return EnactmentGraphCodec.decode(new ByteArrayInputStream(bytes.toByteArray()));
+  }
+
+  protected static DataOutputStream createHeader(ByteArrayOutputStream bytes, int vertexCount)
+      throws IOException {
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(0x45474346);
+    out.writeInt(EnactmentGraphCodec.formatVersion);
+    out.writeInt(vertexCount);
+    return out;
+  }
+
+  protected static void writeString(DataOutputStream out, String string) throws IOException {
+    byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  protected static EnactmentGraph decode(ByteArrayOutputStream bytes) throws IOException {
+    return EnactmentGraphCodec.decode(new ByteArrayInputStream(bytes.toByteArray()));
+  }
+
+  protected static void compareElements(Element expected, Element actual) {
+    assertEquals(expected.getAttributeNames().size(), actual.getAttributeNames().size());
+    AfclReaderTest.compareElements(actual, expected);
+  }
+}
@@ -0,0 +1,126 @@
+package at.uibk.dps.ee.io.generator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import com.google.gson.JsonObject;
+import at.uibk.dps.ee.io.input.InputDataProviderFile;
+import at.uibk.dps.ee.io.json.ResourceInformationJsonFile;
+import at.uibk.dps.ee.io.spec.SpecificationProviderFile;
+import at.uibk.dps.ee.model.graph.EnactmentGraphProvider;
+import at.uibk.dps.ee.model.graph.ResourceGraphProvider;
+import at.uibk.dps.ee.io.resources.ResourceGraphProviderFile;
+import at.uibk.dps.ee.io.afcl.AfclReader;
+import at.uibk.dps.ee.io.afcl.UtilsAfcl.CompoundType;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunction;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunction.UsageType;
+import net.sf.opendse.model.properties.TaskPropertyService;
+
+public class SyntheticWorkflowGeneratorTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  public void testAtomic() {
+    SyntheticWorkflowGenerator tested = new SyntheticWorkflowGenerator(5, 3, List.of(), false);
+    EnactmentGraph graph = generateGraph(tested);
+    assertEquals(5, tested.getFunctionCount());
+    assertEquals(0, tested.getCompoundCount());
+    assertEquals(5, countUserFunctions(graph));
+  }
+
+  @Test
+  public void testCompounds() {
+    for (CompoundType type : List.of(CompoundType.If, CompoundType.ParallelFor,
+        CompoundType.While)) {
+      SyntheticWorkflowGenerator tested =
+          new SyntheticWorkflowGenerator(3, 2, List.of(type), false);
+      EnactmentGraph graph = generateGraph(tested);
+      assertTrue(tested.getCompoundCount() > 0);
+      assertEquals(tested.getFunctionCount(), countUserFunctions(graph));
+    }
+  }
+
+  @Test
+  public void testMixedWithConstraints() {
+    SyntheticWorkflowGenerator tested = new SyntheticWorkflowGenerator(4, 3,
+        List.of(CompoundType.If, CompoundType.ParallelFor, CompoundType.While), true);
+    String yaml = tested.generateYaml();
+    assertTrue(yaml.contains("element-index"));
+    EnactmentGraph graph = new AfclReader(yaml.getBytes(StandardCharsets.UTF_8)).getEnactmentGraph();
+    assertEquals(tested.getFunctionCount(), countUserFunctions(graph));
+  }
+
+  @Test
+  public void testElementIndexChain() {
+    SyntheticWorkflowGenerator tested =
+        new SyntheticWorkflowGenerator(3, 1, List.of(CompoundType.While), 3, 1);
+    String yaml = tested.generateYaml();
+    // every other function has a chain of three constraints
+    assertEquals(3 * (tested.getFunctionCount() / 2), yaml.split("element-index", -1).length - 1);
+    EnactmentGraph graph = new AfclReader(yaml.getBytes(StandardCharsets.UTF_8)).getEnactmentGraph();
+    assertEquals(tested.getFunctionCount(), countUserFunctions(graph));
+  }
+
+  @Test
+  public void testWriteFiles() throws IOException {
+    SyntheticWorkflowGenerator tested = new SyntheticWorkflowGenerator(4, 2,
+        List.of(CompoundType.ParallelFor, CompoundType.If), 2, 3);
+    tested.writeFiles(tempDir, 5);
+    String wfPath = tempDir.resolve(SyntheticWorkflowGenerator.fileNameWorkflow).toString();
+    String inputPath = tempDir.resolve(SyntheticWorkflowGenerator.fileNameInput).toString();
+    String mappingsPath =
+        tempDir.resolve(SyntheticWorkflowGenerator.fileNameTypeMappings).toString();
+
+    JsonObject input = new InputDataProviderFile(inputPath).getInputData();
+    assertEquals(5, input.get(SyntheticWorkflowGenerator.inputCollectionKey).getAsJsonArray()
+        .size());
+    assertEquals(3, ResourceInformationJsonFile.readFromFile(mappingsPath).size());
+
+    AfclReader reader = new AfclReader(wfPath);
+    EnactmentGraphProvider eProvider = reader;
+    ResourceGraphProvider rProvider = new ResourceGraphProviderFile(mappingsPath);
+    SpecificationProviderFile spec =
+        new SpecificationProviderFile(eProvider, rProvider, mappingsPath);
+    assertEquals(tested.getFunctionCount(), spec.getMappings().mappingStream().count());
+  }
+
+  @Test
+  public void testCli() throws IOException {
+    SyntheticWorkflowCli.main(new String[] {tempDir.toString(), "3", "2", "if, while", "1"});
+    EnactmentGraph graph = new AfclReader(
+        tempDir.resolve(SyntheticWorkflowGenerator.fileNameWorkflow).toString())
+            .getEnactmentGraph();
+    assertTrue(countUserFunctions(graph) > 3);
+    assertThrows(IllegalArgumentException.class, () -> {
+      SyntheticWorkflowCli.main(new String[] {tempDir.toString(), "3", "2", "unknown"});
+    });
+  }
+
+  @Test
+  public void testWrongParameters() {
+    assertThrows(IllegalArgumentException.class, () -> {
+      new SyntheticWorkflowGenerator(0, 1, List.of(), false);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      new SyntheticWorkflowGenerator(2, 1, List.of(CompoundType.Atomic), false);
+    });
+  }
+
+  protected static EnactmentGraph generateGraph(SyntheticWorkflowGenerator generator) {
+    byte[] yaml = generator.generateYaml().getBytes(StandardCharsets.UTF_8);
+    return new AfclReader(yaml).getEnactmentGraph();
+  }
+
+  protected static long countUserFunctions(EnactmentGraph graph) {
+    return graph.getVertices().stream().filter(TaskPropertyService::isProcess)
+        .filter(task -> PropertyServiceFunction.getUsageType(task).equals(UsageType.User))
+        .count();
+  }
+}
@@ -0,0 +1,116 @@
+package at.uibk.dps.ee.io.input;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import at.uibk.dps.ee.io.input.BatchInputSource.BatchInput;
+
+public class BatchInputSourceTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  public void testDirectory() throws IOException {
+    Files.writeString(tempDir.resolve("b.json"), "{\"val\": 2}");
+    Files.writeString(tempDir.resolve("a.json"), "{\"val\": 1}");
+    Files.writeString(tempDir.resolve("c.jsonl"), "{\"val\": 3}\n\n{\"val\": 4}\n");
+    Files.writeString(tempDir.resolve("ignored.txt"), "text");
+    List<BatchInput> inputs = readAll(List.of(tempDir.toString()));
+    assertEquals(4, inputs.size());
+    assertEquals("a", inputs.get(0).getName());
+    assertEquals(1, inputs.get(0).getInputData().get("val").getAsInt());
+    assertEquals("b", inputs.get(1).getName());
+    assertEquals("c-1", inputs.get(2).getName());
+    assertEquals(3, inputs.get(2).getInputData().get("val").getAsInt());
+    assertEquals("c-3", inputs.get(3).getName());
+    assertEquals(4, inputs.get(3).getInputData().get("val").getAsInt());
+  }
+
+  @Test
+  public void testFileList() throws IOException {
+    Path first = Files.writeString(tempDir.resolve("first.json"), "{\"val\": 1}");
+    Path second = Files.writeString(tempDir.resolve("second.json"), "{\"val\": 2}");
+    List<BatchInput> inputs = readAll(List.of(second.toString(), first.toString()));
+    assertEquals(2, inputs.size());
+    assertEquals("second", inputs.get(0).getName());
+    assertEquals("first", inputs.get(1).getName());
+  }
+
+  @Test
+  public void testNoFurtherInput() throws IOException {
+    Files.writeString(tempDir.resolve("input.jsonl"), "");
+    try (BatchInputSource tested = new BatchInputSource(List.of(tempDir.toString()))) {
+      assertFalse(tested.hasNext());
+      assertThrows(NoSuchElementException.class, () -> tested.next());
+    }
+  }
+
+  @Test
+  public void testNoObject() throws IOException {
+    Files.writeString(tempDir.resolve("input.jsonl"), "[1, 2]\n{\"val\": 1}");
+    List<BatchInput> inputs = readAll(List.of(tempDir.toString()));
+    assertEquals(2, inputs.size());
+    assertEquals("input-1", inputs.get(0).getName());
+    assertFalse(inputs.get(0).isValid());
+    assertTrue(inputs.get(0).getError().contains("input.jsonl:1"));
+    assertTrue(inputs.get(1).isValid());
+    assertNull(inputs.get(1).getError());
+  }
+
+  @Test
+  public void testMalformedFile() throws IOException {
+    Files.writeString(tempDir.resolve("a.json"), "{\"val\": ");
+    Files.writeString(tempDir.resolve("b.json"), "{\"val\": 2}");
+    List<BatchInput> inputs = readAll(List.of(tempDir.toString()));
+    assertEquals(2, inputs.size());
+    assertFalse(inputs.get(0).isValid());
+    assertEquals("a", inputs.get(0).getName());
+    assertTrue(inputs.get(1).isValid());
+  }
+
+  @Test
+  public void testDuplicateNames() throws IOException {
+    Path first = Files.createDirectories(tempDir.resolve("first"));
+    Path second = Files.createDirectories(tempDir.resolve("second"));
+    Files.writeString(first.resolve("input.json"), "{}");
+    Files.writeString(second.resolve("input.json"), "{}");
+    assertThrows(IllegalArgumentException.class,
+        () -> new BatchInputSource(List.of(first.toString(), second.toString())));
+    // the same file provided twice
+    assertThrows(IllegalArgumentException.class,
+        () -> new BatchInputSource(List.of(first.toString(), first.toString())));
+    // x-1.json collides with the first line of x.jsonl
+    Files.writeString(first.resolve("x-1.json"), "{}");
+    Files.writeString(second.resolve("x.jsonl"), "{}");
+    assertThrows(IllegalArgumentException.class, () -> new BatchInputSource(
+        List.of(first.resolve("x-1.json").toString(), second.resolve("x.jsonl").toString())));
+    // no collision between x.json and x.jsonl
+    Files.writeString(first.resolve("x.json"), "{}");
+    assertEquals(2, readAll(List.of(first.resolve("x.json").toString(),
+        second.resolve("x.jsonl").toString())).size());
+  }
+
+  @Test
+  public void testMissingPath() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new BatchInputSource(List.of(tempDir.resolve("missing.json").toString())));
+  }
+
+  protected static List<BatchInput> readAll(List<String> paths) throws IOException {
+    List<BatchInput> result = new ArrayList<>();
+    try (BatchInputSource tested = new BatchInputSource(paths)) {
+      while (tested.hasNext()) {
+        result.add(tested.next());
+      }
+    }
+    return result;
+  }
+}
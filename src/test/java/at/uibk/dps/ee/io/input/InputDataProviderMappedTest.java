@@ -0,0 +1,47 @@
+package at.uibk.dps.ee.io.input;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonSyntaxException;
+
+import at.uibk.dps.ee.io.testconstants.ConstantsTestCoreEEiO;
+
+public class InputDataProviderMappedTest {
+
+  @Test
+  public void testWrongFileContent() {
+    assertThrows(JsonSyntaxException.class, () -> {
+      new InputDataProviderMapped(ConstantsTestCoreEEiO.jsonInputFileWrong);
+    });
+    assertThrows(JsonSyntaxException.class, () -> {
+      new InputDataProviderMapped(ConstantsTestCoreEEiO.jsonInputFileWrong, Set.of("a"));
+    });
+  }
+
+  @Test
+  public void testWrongPath() {
+    assertThrows(IllegalArgumentException.class, () -> {
+      new InputDataProviderMapped("wrong path");
+    });
+  }
+
+  @Test
+  public void testReadFile() {
+    InputDataProviderMapped tested = new InputDataProviderMapped(ConstantsTestCoreEEiO.jsonInputFile);
+    JsonObject result = tested.getInputData();
+    assertEquals(3, result.get("a").getAsInt());
+    assertEquals(17, result.get("b").getAsInt());
+    assertEquals("no", result.get("wait").getAsString());
+  }
+
+  @Test
+  public void testReadRequired() {
+    InputDataProviderMapped tested =
+        new InputDataProviderMapped(ConstantsTestCoreEEiO.jsonInputFile, Set.of("b"));
+    JsonObject result = tested.getInputData();
+    assertEquals(1, result.size());
+    assertEquals(17, result.get("b").getAsInt());
+  }
+}
@@ -0,0 +1,53 @@
+package at.uibk.dps.ee.io.input;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonSyntaxException;
+import at.uibk.dps.ee.io.afcl.AfclReader;
+import at.uibk.dps.ee.io.testconstants.ConstantsTestCoreEEiO;
+
+public class InputDataProviderStreamingTest {
+
+  @Test
+  public void testWrongFileContent() {
+    assertThrows(JsonSyntaxException.class, () -> {
+      new InputDataProviderStreaming(ConstantsTestCoreEEiO.jsonInputFileWrong, Set.of("a"));
+    });
+  }
+
+  @Test
+  public void testWrongPath() {
+    assertThrows(IllegalArgumentException.class, () -> {
+      new InputDataProviderStreaming("wrong path", Set.of("a"));
+    });
+  }
+
+  @Test
+  public void testReadRequired() {
+    InputDataProviderStreaming tested =
+        new InputDataProviderStreaming(ConstantsTestCoreEEiO.jsonInputFile, Set.of("a", "wait"));
+    JsonObject result = tested.getInputData();
+    assertEquals(2, result.size());
+    assertEquals(3, result.get("a").getAsInt());
+    assertFalse(result.has("b"));
+    assertEquals("no", result.get("wait").getAsString());
+  }
+
+  @Test
+  public void testMissingKey() {
+    InputDataProviderStreaming tested =
+        new InputDataProviderStreaming(ConstantsTestCoreEEiO.jsonInputFile, Set.of("b", "c"));
+    JsonObject result = tested.getInputData();
+    assertEquals(1, result.size());
+    assertEquals(17, result.get("b").getAsInt());
+  }
+
+  @Test
+  public void testGetRequiredKeys() {
+    AfclReader reader = new AfclReader(ConstantsTestCoreEEiO.cfclFileSingleAtomic);
+    assertEquals(Set.of(ConstantsTestCoreEEiO.wfInputJsonNameAtomic),
+        InputDataProviderStreaming.getRequiredKeys(reader.getEnactmentGraph()));
+  }
+}
@@ -0,0 +1,81 @@
+package at.uibk.dps.ee.io.input;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.PipedReader;
+import java.io.PipedWriter;
+import java.io.StringReader;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import at.uibk.dps.ee.io.input.BatchInputSource.BatchInput;
+
+public class JsonLinesReaderTest {
+
+  @Test
+  public void testRead() throws Exception {
+    String stream = "{\"val\": 1}\n\nnot json\n[1]\n{\"val\": 2}\n";
+    try (JsonLinesReader tested = new JsonLinesReader(new StringReader(stream), 1)) {
+      Optional<BatchInput> first = tested.next();
+      assertTrue(first.isPresent());
+      assertEquals("1", first.get().getName());
+      assertEquals(1, first.get().getInputData().get("val").getAsInt());
+      Optional<BatchInput> second = tested.next();
+      assertEquals("5", second.get().getName());
+      assertEquals(2, second.get().getInputData().get("val").getAsInt());
+      assertTrue(tested.next().isEmpty());
+      // the end is seen by all consumers
+      assertTrue(tested.next().isEmpty());
+    }
+  }
+
+  @Test
+  public void testIncrementalRead() throws Exception {
+    PipedWriter writer = new PipedWriter();
+    try (JsonLinesReader tested = new JsonLinesReader(new PipedReader(writer), 2)) {
+      writer.write("{\"val\": 1}\n");
+      writer.flush();
+      assertEquals(1, tested.next().get().getInputData().get("val").getAsInt());
+      writer.write("{\"val\": 2}\n");
+      writer.close();
+      assertEquals(2, tested.next().get().getInputData().get("val").getAsInt());
+      assertTrue(tested.next().isEmpty());
+    }
+  }
+
+  @Test
+  public void testBoundedBuffer() throws Exception {
+    StringBuilder stream = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      stream.append("{\"val\": ").append(i).append("}\n");
+    }
+    try (JsonLinesReader tested = new JsonLinesReader(new StringReader(stream.toString()), 4)) {
+      Thread.sleep(50);
+      assertTrue(tested.buffer.size() <= 4);
+      for (int i = 0; i < 100; i++) {
+        assertEquals(i, tested.next().get().getInputData().get("val").getAsInt());
+      }
+      assertTrue(tested.next().isEmpty());
+    }
+  }
+
+  @Test
+  public void testWrongCapacity() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new JsonLinesReader(new StringReader(""), 0));
+  }
+
+  @Test
+  public void testMissingFile() {
+    assertThrows(IllegalArgumentException.class,
+        () -> JsonLinesReader.open("/does/not/exist.jsonl", 1));
+  }
+
+  @Test
+  public void testClose() throws IOException {
+    PipedWriter writer = new PipedWriter();
+    JsonLinesReader tested = new JsonLinesReader(new PipedReader(writer), 1);
+    tested.close();
+    writer.close();
+  }
+}
@@ -0,0 +1,41 @@
+package at.uibk.dps.ee.io.input;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MappedFileReaderTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  public void testReadMultiByte() throws IOException {
+    String content = "{\"key\": \"äöü 😀 end\"}";
+    Path file = tempDir.resolve("input.json");
+    Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    StringBuilder result = new StringBuilder();
+    try (MappedFileReader tested = new MappedFileReader(file)) {
+      // single-char reads exercise the split of surrogate pairs
+      int read = tested.read();
+      while (read != -1) {
+        result.append((char) read);
+        read = tested.read();
+      }
+    }
+    assertEquals(content, result.toString());
+  }
+
+  @Test
+  public void testEmptyFile() throws IOException {
+    Path file = tempDir.resolve("empty.json");
+    Files.write(file, new byte[0]);
+    try (MappedFileReader tested = new MappedFileReader(file)) {
+      assertEquals(-1, tested.read(new char[8], 0, 8));
+    }
+  }
+}
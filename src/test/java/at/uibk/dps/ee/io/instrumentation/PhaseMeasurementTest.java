@@ -0,0 +1,26 @@
+package at.uibk.dps.ee.io.instrumentation;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PhaseMeasurementTest {
+
+  @Test
+  void testStop() {
+    PhaseMeasurement.enableAllocationMeasurement();
+    PhaseMeasurement tested = PhaseMeasurement.start("phase");
+    List<long[]> allocations = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      allocations.add(new long[1024]);
+    }
+    StartupPhase result = tested.stop(allocations.size());
+    assertEquals("phase", result.getName());
+    assertEquals(100, result.getElementCount());
+    assertTrue(result.getDurationNs() >= 0);
+    if (result.getAllocatedBytes() != StartupPhase.allocationUnknown) {
+      assertTrue(result.getAllocatedBytes() >= 100 * 1024 * Long.BYTES);
+    }
+  }
+}
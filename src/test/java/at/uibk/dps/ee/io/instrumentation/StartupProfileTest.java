@@ -0,0 +1,41 @@
+package at.uibk.dps.ee.io.instrumentation;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StartupProfileTest {
+
+  @TempDir
+  Path reportDir;
+
+  @Test
+  void testRecordPhases() {
+    StartupProfile tested = new StartupProfile("");
+    tested.phaseFinished(new StartupPhase("first", 2_000_000, 2048, 3));
+    tested.phaseFinished(new StartupPhase("second", 1_000_000, StartupPhase.allocationUnknown, 1));
+    assertEquals(2, tested.getPhases().size());
+    assertEquals("first", tested.getPhases().get(0).getName());
+    String report = tested.createReport();
+    assertTrue(report.contains("first"));
+    assertTrue(report.contains("second"));
+    assertTrue(report.contains("2.000"));
+    // nested phases => no sum
+    assertFalse(report.contains("Sum"));
+    assertFalse(report.contains("3.000"));
+  }
+
+  @Test
+  void testWriteReport() throws IOException {
+    Path reportFile = reportDir.resolve("profile/startup.txt");
+    StartupProfile tested = new StartupProfile(reportFile.toString());
+    tested.phaseFinished(new StartupPhase("phase", 1_000_000, 1024, 1));
+    tested.writeReport();
+    String written = new String(Files.readAllBytes(reportFile), StandardCharsets.UTF_8);
+    assertEquals(tested.createReport(), written);
+  }
+}
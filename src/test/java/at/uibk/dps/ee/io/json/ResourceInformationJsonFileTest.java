@@ -1,6 +1,8 @@
 package at.uibk.dps.ee.io.json;
 
 import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 import at.uibk.dps.ee.io.testconstants.ConstantsTestCoreEEiO;
 
@@ -22,4 +24,14 @@ public class ResourceInformationJsonFileTest {
     assertEquals("US", resEntry.getProperties().get("region").getAsString());
   }
 
+  @Test
+  public void testResourcesByFunctionType() {
+    String filePath = ConstantsTestCoreEEiO.resourceTestInputPath;
+    ResourceInformationJsonFile resInfo = ResourceInformationJsonFile.readFromFile(filePath);
+    Map<String, List<ResourceEntry>> result = resInfo.getResourcesByFunctionType();
+    assertEquals(2, result.size());
+    assertEquals(4, result.get("addition").size());
+    assertEquals(2, result.get("subtraction").size());
+    assertSame(resInfo.get(0).getResources().get(0), result.get("addition").get(0));
+  }
 }
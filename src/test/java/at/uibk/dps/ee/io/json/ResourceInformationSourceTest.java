@@ -0,0 +1,67 @@
+package at.uibk.dps.ee.io.json;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import at.uibk.dps.ee.io.testconstants.ConstantsTestCoreEEiO;
+
+public class ResourceInformationSourceTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  public void testShared() {
+    String filePath = ConstantsTestCoreEEiO.resourceTestInputPath;
+    ResourceInformationSource first = new ResourceInformationSource(filePath);
+    ResourceInformationSource second = new ResourceInformationSource(filePath);
+    assertEquals(2, first.getResourceInformation().size());
+    assertSame(first.getResourceInformation(), second.getResourceInformation());
+  }
+
+  @Test
+  public void testUnmodifiable() {
+    ResourceInformationSource tested =
+        new ResourceInformationSource(ConstantsTestCoreEEiO.resourceTestInputPath);
+    assertThrows(UnsupportedOperationException.class,
+        () -> tested.getResourceInformation().clear());
+  }
+
+  @Test
+  public void testBounded() throws IOException {
+    for (int i = 0; i <= ResourceInformationSource.maxParsedFiles; i++) {
+      Path file = tempDir.resolve("mappings" + i + ".json");
+      Files.writeString(file, "[]");
+      new ResourceInformationSource(file.toString());
+    }
+    assertEquals(ResourceInformationSource.maxParsedFiles,
+        ResourceInformationSource.parsedFiles.size());
+  }
+
+  @Test
+  public void testModifiedFile() throws IOException {
+    Path file = tempDir.resolve("mappings.json");
+    Files.copy(Paths.get(ConstantsTestCoreEEiO.resourceTestInputPath), file);
+    List<FunctionTypeEntry> first =
+        new ResourceInformationSource(file.toString()).getResourceInformation();
+    Files.writeString(file, "[]");
+    Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+    List<FunctionTypeEntry> second =
+        new ResourceInformationSource(file.toString()).getResourceInformation();
+    assertNotSame(first, second);
+    assertTrue(second.isEmpty());
+  }
+
+  @Test
+  public void testWrongPath() {
+    assertThrows(IllegalStateException.class, () -> {
+      new ResourceInformationSource("wrong/path.json");
+    });
+  }
+}
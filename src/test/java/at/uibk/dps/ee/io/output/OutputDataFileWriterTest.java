@@ -0,0 +1,59 @@
+package at.uibk.dps.ee.io.output;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import at.uibk.dps.ee.io.output.OutputDataFileWriter.Compression;
+
+public class OutputDataFileWriterTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  public void testWriteFile() throws IOException {
+    Path file = tempDir.resolve("sub/result.json");
+    OutputDataFileWriter tested = new OutputDataFileWriter(file.toString(), Compression.None);
+    tested.handleOutputData(createResult());
+    assertEquals(createResult(), JsonParser.parseString(Files.readString(file)));
+    // overwrites the previous result
+    JsonObject other = new JsonObject();
+    other.addProperty("other", true);
+    tested.handleOutputData(other);
+    assertEquals(other, JsonParser.parseString(Files.readString(file)));
+  }
+
+  @Test
+  public void testWriteGzip() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    OutputDataFileWriter.writeJson(createResult(), bytes, Compression.Gzip);
+    try (InputStreamReader reader = new InputStreamReader(
+        new GZIPInputStream(new ByteArrayInputStream(bytes.toByteArray())),
+        StandardCharsets.UTF_8)) {
+      assertEquals(createResult(), JsonParser.parseReader(reader));
+    }
+  }
+
+  protected static JsonObject createResult() {
+    JsonObject result = new JsonObject();
+    result.addProperty("prop", "value");
+    JsonArray array = new JsonArray();
+    for (int i = 0; i < 1000; i++) {
+      array.add(i);
+    }
+    result.add("array", array);
+    return result;
+  }
+}
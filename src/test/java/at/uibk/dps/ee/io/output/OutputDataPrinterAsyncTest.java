@@ -0,0 +1,206 @@
+package at.uibk.dps.ee.io.output;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import at.uibk.dps.ee.io.output.OutputDataPrinterAsync.BackpressureMode;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+public class OutputDataPrinterAsyncTest {
+
+  @TempDir
+  Path spillDir;
+
+  /**
+   * Printer blocking until released.
+   */
+  protected static class BlockingPrinter extends OutputDataPrinter {
+    protected final CountDownLatch started = new CountDownLatch(1);
+    protected final CountDownLatch release = new CountDownLatch(1);
+
+    @Override
+    public void handleOutputData(JsonObject outputData) {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      super.handleOutputData(outputData);
+    }
+  }
+
+  @Test
+  public void testBlock() {
+    OutputDataPrinter printer = new OutputDataPrinter();
+    ListAppender<ILoggingEvent> listAppender = attachAppender(printer);
+    OutputDataPrinterAsync tested =
+        new OutputDataPrinterAsync(printer, 1, BackpressureMode.Block, spillDir.toString());
+    for (int i = 0; i < 3; i++) {
+      tested.handleOutputData(createResult(i));
+    }
+    tested.flush();
+    tested.close();
+    List<String> messages = listAppender.list.stream().map(ILoggingEvent::getFormattedMessage)
+        .filter(message -> message.startsWith("Enactment result"))
+        .collect(Collectors.toList());
+    assertEquals(3, messages.size());
+    for (int i = 0; i < 3; i++) {
+      assertEquals("Enactment result: " + createResult(i).toString(), messages.get(i));
+    }
+  }
+
+  @Test
+  public void testDrop() throws InterruptedException {
+    BlockingPrinter printer = new BlockingPrinter();
+    ListAppender<ILoggingEvent> listAppender = attachAppender(printer);
+    OutputDataPrinterAsync tested =
+        new OutputDataPrinterAsync(printer, 1, BackpressureMode.Drop, spillDir.toString());
+    tested.handleOutputData(createResult(0));
+    assertTrue(printer.started.await(5, TimeUnit.SECONDS));
+    tested.handleOutputData(createResult(1));
+    // queue full
+    tested.handleOutputData(createResult(2));
+    printer.release.countDown();
+    tested.close();
+    assertEquals(2, listAppender.list.stream()
+        .filter(event -> event.getFormattedMessage().startsWith("Enactment result")).count());
+  }
+
+  @Test
+  public void testSpill() throws InterruptedException, IOException {
+    BlockingPrinter printer = new BlockingPrinter();
+    ListAppender<ILoggingEvent> listAppender = attachAppender(printer);
+    OutputDataPrinterAsync tested =
+        new OutputDataPrinterAsync(printer, 1, BackpressureMode.Spill, spillDir.toString());
+    tested.handleOutputData(createResult(0));
+    assertTrue(printer.started.await(5, TimeUnit.SECONDS));
+    tested.handleOutputData(createResult(1));
+    tested.handleOutputData(createResult(2));
+    try (Stream<Path> files = Files.list(spillDir)) {
+      List<Path> spilled = files.collect(Collectors.toList());
+      assertEquals(1, spilled.size());
+      assertEquals(createResult(2),
+          JsonParser.parseString(Files.readString(spilled.get(0))));
+    }
+    printer.release.countDown();
+    tested.close();
+    // the spilled result is logged as well and its file is deleted
+    List<String> messages = listAppender.list.stream().map(ILoggingEvent::getFormattedMessage)
+        .filter(message -> message.startsWith("Enactment result"))
+        .collect(Collectors.toList());
+    assertEquals(3, messages.size());
+    assertEquals("Enactment result: " + createResult(2).toString(), messages.get(2));
+    try (Stream<Path> files = Files.list(spillDir)) {
+      assertEquals(0, files.count());
+    }
+  }
+
+  @Test
+  public void testSpillKeptOnFailure() throws InterruptedException, IOException {
+    BlockingPrinter printer = new BlockingPrinter() {
+      @Override
+      public void handleOutputData(JsonObject outputData) {
+        if (outputData.get("idx").getAsInt() == 2) {
+          throw new IllegalStateException("print failure");
+        }
+        super.handleOutputData(outputData);
+      }
+    };
+    OutputDataPrinterAsync tested =
+        new OutputDataPrinterAsync(printer, 1, BackpressureMode.Spill, spillDir.toString());
+    tested.handleOutputData(createResult(0));
+    assertTrue(printer.started.await(5, TimeUnit.SECONDS));
+    tested.handleOutputData(createResult(1));
+    tested.handleOutputData(createResult(2));
+    printer.release.countDown();
+    tested.close();
+    // the result which could not be logged stays in the spill directory
+    try (Stream<Path> files = Files.list(spillDir)) {
+      List<Path> spilled = files.collect(Collectors.toList());
+      assertEquals(1, spilled.size());
+      assertEquals(createResult(2),
+          JsonParser.parseString(Files.readString(spilled.get(0))));
+    }
+  }
+
+  @Test
+  public void testHandleAfterClose() {
+    OutputDataPrinter printer = new OutputDataPrinter();
+    ListAppender<ILoggingEvent> listAppender = attachAppender(printer);
+    OutputDataPrinterAsync tested =
+        new OutputDataPrinterAsync(printer, 1, BackpressureMode.Block, spillDir.toString());
+    tested.close();
+    tested.handleOutputData(createResult(0));
+    // logged synchronously
+    assertEquals(1, listAppender.list.stream()
+        .filter(event -> event.getFormattedMessage().startsWith("Enactment result")).count());
+    tested.close();
+  }
+
+  @Test
+  public void testCloseConcurrently() throws InterruptedException {
+    OutputDataPrinter printer = new OutputDataPrinter();
+    ListAppender<ILoggingEvent> listAppender = attachAppender(printer);
+    OutputDataPrinterAsync tested =
+        new OutputDataPrinterAsync(printer, 4, BackpressureMode.Block, spillDir.toString());
+    int threadNum = 4;
+    int resultsPerThread = 50;
+    CountDownLatch started = new CountDownLatch(threadNum);
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < threadNum; t++) {
+      Thread thread = new Thread(() -> {
+        started.countDown();
+        for (int i = 0; i < resultsPerThread; i++) {
+          tested.handleOutputData(createResult(i));
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    tested.close();
+    for (Thread thread : threads) {
+      thread.join(5000);
+    }
+    // no result is lost, whether handed over before or after closing
+    assertEquals(threadNum * resultsPerThread, listAppender.list.stream()
+        .filter(event -> event.getFormattedMessage().startsWith("Enactment result")).count());
+  }
+
+  @Test
+  public void testWrongCapacity() {
+    assertThrows(IllegalArgumentException.class, () -> {
+      new OutputDataPrinterAsync(new OutputDataPrinter(), 0, BackpressureMode.Block,
+          spillDir.toString());
+    });
+  }
+
+  protected static ListAppender<ILoggingEvent> attachAppender(OutputDataPrinter printer) {
+    Logger logger = (Logger) printer.outputLogger;
+    ListAppender<ILoggingEvent> listAppender = new ListAppender<>();
+    listAppender.start();
+    logger.addAppender(listAppender);
+    return listAppender;
+  }
+
+  protected static JsonObject createResult(int idx) {
+    JsonObject result = new JsonObject();
+    result.addProperty("idx", idx);
+    return result;
+  }
+}
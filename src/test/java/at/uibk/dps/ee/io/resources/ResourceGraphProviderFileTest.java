@@ -1,10 +1,21 @@
 package at.uibk.dps.ee.io.resources;
 
 import static org.junit.jupiter.api.Assertions.*;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import at.uibk.dps.ee.io.json.FunctionTypeEntry;
+import at.uibk.dps.ee.io.json.ResourceEntry;
 import at.uibk.dps.ee.io.testconstants.ConstantsTestCoreEEiO;
 import at.uibk.dps.ee.model.constants.ConstantsEEModel;
 import at.uibk.dps.ee.model.graph.ResourceGraph;
+import at.uibk.dps.ee.model.properties.PropertyServiceMapping.EnactmentMode;
+import at.uibk.dps.ee.model.properties.PropertyServiceResourceServerless;
+import net.sf.opendse.model.Resource;
 
 public class ResourceGraphProviderFileTest {
 
@@ -17,4 +28,47 @@ public class ResourceGraphProviderFileTest {
     assertEquals(2, result.getEdgeCount());
     assertNotNull(result.getVertex(ConstantsEEModel.idLocalResource));
   }
+
+  @Test
+  public void testDuplicateUris() {
+    String filePath = ConstantsTestCoreEEiO.resourceTestInputDuplicatesPath;
+    ResourceGraphProviderFile tested = new ResourceGraphProviderFile(filePath);
+    ResourceGraph result = tested.getResourceGraph();
+    assertEquals(2, result.getVertexCount());
+    assertEquals(1, result.getEdgeCount());
+    Resource serverless =
+        tested.getResourceIndex().getResource(EnactmentMode.Serverless, "https://www.blubb.us/add")
+            .get();
+    // the uri of the first entry is kept as written in the file
+    assertEquals("https://WWW.Blubb.us/add/", serverless.getId());
+    assertEquals("https://WWW.Blubb.us/add/", PropertyServiceResourceServerless.getUri(serverless));
+    // first entry wins, missing properties are added
+    JsonElement memory = serverless.getAttribute("memory");
+    JsonElement timeout = serverless.getAttribute("timeout");
+    JsonElement provider = serverless.getAttribute("provider");
+    assertEquals(100, memory.getAsInt());
+    assertEquals(20, timeout.getAsInt());
+    assertEquals("Amazon", provider.getAsString());
+  }
+
+  @Test
+  public void testPropertiesCopied() {
+    JsonObject config = new JsonObject();
+    config.addProperty("region", "eu");
+    Map<String, JsonElement> properties = new HashMap<>();
+    properties.put(PropertyServiceResourceServerless.propNameUri, new JsonPrimitive("uri"));
+    properties.put("config", config);
+    List<FunctionTypeEntry> entries = List.of(new FunctionTypeEntry("type",
+        List.of(new ResourceEntry(EnactmentMode.Serverless.name(), "impl", properties))));
+    ResourceGraphProviderFile tested =
+        new ResourceGraphProviderFile(ConstantsTestCoreEEiO.resourceTestInputPath);
+    ResourceGraph first = tested.readResourceGraph(entries);
+    ResourceGraph second = tested.readResourceGraph(entries);
+    JsonObject firstConfig = first.getVertex("uri").getAttribute("config");
+    firstConfig.addProperty("region", "us");
+    // neither the shared entry nor the other graph are modified
+    assertEquals("eu", config.get("region").getAsString());
+    JsonObject secondConfig = second.getVertex("uri").getAttribute("config");
+    assertEquals("eu", secondConfig.get("region").getAsString());
+  }
 }
@@ -0,0 +1,31 @@
+package at.uibk.dps.ee.io.resources;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import at.uibk.dps.ee.io.testconstants.ConstantsTestCoreEEiO;
+import at.uibk.dps.ee.model.constants.ConstantsEEModel;
+import at.uibk.dps.ee.model.properties.PropertyServiceMapping.EnactmentMode;
+
+public class ResourceIndexTest {
+
+  @Test
+  public void testNormalizeUri() {
+    assertEquals("https://www.blubb.us/Add", ResourceIndex.normalizeUri(" HTTPS://WWW.Blubb.us/Add/ "));
+    assertEquals("www.blubb.us", ResourceIndex.normalizeUri("www.blubb.us"));
+    assertEquals("not a uri", ResourceIndex.normalizeUri("not a uri/"));
+  }
+
+  @Test
+  public void testGetResource() {
+    ResourceGraphProviderFile provider =
+        new ResourceGraphProviderFile(ConstantsTestCoreEEiO.resourceTestInputPath);
+    ResourceIndex tested = new ResourceIndex(provider.getResourceGraph());
+    assertEquals(ConstantsEEModel.idLocalResource, tested.getLocalResource().get().getId());
+    assertEquals(ConstantsEEModel.idLocalResource,
+        tested.getResource(EnactmentMode.Demo, ConstantsEEModel.idLocalResource).get().getId());
+    assertEquals("www.bla.com",
+        tested.getResource(EnactmentMode.Serverless, "www.bla.com/").get().getId());
+    assertFalse(tested.getResource(EnactmentMode.Serverless, "www.unknown.com").isPresent());
+    assertFalse(tested.getResource(EnactmentMode.Local, "www.bla.com").isPresent());
+  }
+}
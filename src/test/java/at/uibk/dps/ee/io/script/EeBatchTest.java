@@ -0,0 +1,95 @@
+package at.uibk.dps.ee.io.script;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import at.uibk.dps.ee.io.input.BatchInputSource;
+import at.uibk.dps.ee.io.input.InputDataProviderBatch;
+import at.uibk.dps.ee.io.output.OutputDataBatchWriter;
+import at.uibk.dps.ee.io.output.OutputDataFileWriter.Compression;
+
+public class EeBatchTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  public void testRun() throws IOException {
+    Path inputDir = Files.createDirectories(tempDir.resolve("inputs"));
+    Path outputDir = tempDir.resolve("outputs");
+    Files.writeString(inputDir.resolve("inputs.jsonl"),
+        "{\"val\": 1}\n{\"val\": 2}\n{\"val\": -1}");
+    InputDataProviderBatch inputProvider = new InputDataProviderBatch();
+    OutputDataBatchWriter outputWriter =
+        new OutputDataBatchWriter(outputDir.toString(), Compression.None);
+    EeBatch tested = new EeBatch(inputProvider, outputWriter, () -> {
+      int val = inputProvider.getInputData().get("val").getAsInt();
+      if (val < 0) {
+        throw new IllegalArgumentException("negative");
+      }
+      JsonObject result = new JsonObject();
+      result.addProperty("doubled", 2 * val);
+      outputWriter.handleOutputData(result);
+    });
+    try (BatchInputSource inputs = new BatchInputSource(List.of(inputDir.toString()))) {
+      assertEquals(1, tested.run(inputs));
+    }
+    assertEquals(2, JsonParser.parseString(Files.readString(outputDir.resolve("inputs-1.json")))
+        .getAsJsonObject().get("doubled").getAsInt());
+    assertEquals(4, JsonParser.parseString(Files.readString(outputDir.resolve("inputs-2.json")))
+        .getAsJsonObject().get("doubled").getAsInt());
+    assertEquals("negative", Files.readString(outputDir.resolve("inputs-3.error")));
+    assertThrows(IllegalStateException.class, () -> inputProvider.getInputData());
+  }
+
+  @Test
+  public void testReportedFailure() throws IOException {
+    Path inputDir = Files.createDirectories(tempDir.resolve("inputs"));
+    Path outputDir = tempDir.resolve("outputs");
+    Files.writeString(inputDir.resolve("inputs.jsonl"), "{\"val\": 1}\n{\"val\": -1}");
+    InputDataProviderBatch inputProvider = new InputDataProviderBatch();
+    OutputDataBatchWriter outputWriter =
+        new OutputDataBatchWriter(outputDir.toString(), Compression.None);
+    // the engine reports the failure to the failure handler instead of throwing
+    EeBatch tested = new EeBatch(inputProvider, outputWriter, () -> {
+      if (inputProvider.getInputData().get("val").getAsInt() < 0) {
+        outputWriter.handleFailure(new IllegalArgumentException("negative"));
+      } else {
+        outputWriter.handleOutputData(inputProvider.getInputData());
+      }
+    });
+    try (BatchInputSource inputs = new BatchInputSource(List.of(inputDir.toString()))) {
+      assertEquals(1, tested.run(inputs));
+    }
+    assertTrue(Files.exists(outputDir.resolve("inputs-1.json")));
+    assertEquals("negative", Files.readString(outputDir.resolve("inputs-2.error")));
+  }
+
+  @Test
+  public void testInvalidInputs() throws IOException {
+    Path inputDir = Files.createDirectories(tempDir.resolve("inputs"));
+    Path outputDir = tempDir.resolve("outputs");
+    Files.writeString(inputDir.resolve("malformed.json"), "{\"val\": ");
+    Files.writeString(inputDir.resolve("lines.jsonl"), "[1]\n{\"val\": 1}");
+    InputDataProviderBatch inputProvider = new InputDataProviderBatch();
+    OutputDataBatchWriter outputWriter =
+        new OutputDataBatchWriter(outputDir.toString(), Compression.None);
+    EeBatch tested = new EeBatch(inputProvider, outputWriter,
+        () -> outputWriter.handleOutputData(inputProvider.getInputData()));
+    try (BatchInputSource inputs = new BatchInputSource(List.of(inputDir.toString()))) {
+      // the invalid inputs do not stop the batch
+      assertEquals(2, tested.run(inputs));
+    }
+    assertTrue(Files.exists(outputDir.resolve("malformed.error")));
+    assertTrue(Files.exists(outputDir.resolve("lines-1.error")));
+    assertEquals(1, JsonParser.parseString(Files.readString(outputDir.resolve("lines-2.json")))
+        .getAsJsonObject().get("val").getAsInt());
+  }
+}
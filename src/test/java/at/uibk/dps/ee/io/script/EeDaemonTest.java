@@ -0,0 +1,128 @@
+package at.uibk.dps.ee.io.script;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import at.uibk.dps.ee.io.input.InputDataProviderBatch;
+import at.uibk.dps.ee.io.output.OutputDataCollector;
+import io.vertx.core.Vertx;
+
+public class EeDaemonTest {
+
+  protected EeDaemon tested;
+  protected HttpClient client;
+
+  @BeforeEach
+  public void startDaemon() throws Exception {
+    List<WarmEngine> engines = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      engines.add(createDoublingEngine());
+    }
+    tested = new EeDaemon(Vertx.vertx(), Map.of("double", engines));
+    CompletableFuture<Void> started = new CompletableFuture<>();
+    tested.start("127.0.0.1", 0).onComplete(result -> started.complete(null));
+    started.get(10, TimeUnit.SECONDS);
+    client = HttpClient.newHttpClient();
+  }
+
+  @AfterEach
+  public void stopDaemon() {
+    tested.close();
+  }
+
+  @Test
+  public void testEnact() throws Exception {
+    HttpResponse<String> response = post("/enact/double", "{\"val\": 21}");
+    assertEquals(200, response.statusCode());
+    JsonObject body = JsonParser.parseString(response.body()).getAsJsonObject();
+    assertEquals(42, body.getAsJsonObject("result").get("doubled").getAsInt());
+    assertTrue(body.has("latencyMs"));
+    assertTrue(response.headers().firstValue("X-Enactment-Latency-Ms").isPresent());
+  }
+
+  @Test
+  public void testConcurrentRequests() throws Exception {
+    List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      responses.add(client.sendAsync(createPost("/enact/double", "{\"val\": " + i + "}"),
+          BodyHandlers.ofString()));
+    }
+    for (int i = 0; i < 20; i++) {
+      HttpResponse<String> response = responses.get(i).get(10, TimeUnit.SECONDS);
+      assertEquals(2 * i, JsonParser.parseString(response.body()).getAsJsonObject()
+          .getAsJsonObject("result").get("doubled").getAsInt());
+    }
+    HttpResponse<String> stats = client.send(
+        HttpRequest.newBuilder(uri("/stats")).GET().build(), BodyHandlers.ofString());
+    JsonObject wfStats =
+        JsonParser.parseString(stats.body()).getAsJsonObject().getAsJsonObject("double");
+    assertEquals(20, wfStats.get("requests").getAsInt());
+    assertEquals(0, wfStats.get("failures").getAsInt());
+  }
+
+  @Test
+  public void testFailures() throws Exception {
+    assertEquals(404, post("/enact/unknown", "{}").statusCode());
+    assertEquals(400, post("/enact/double", "[1]").statusCode());
+    assertEquals(500, post("/enact/double", "{\"val\": -1}").statusCode());
+    // the engine is available after the failure
+    assertEquals(200, post("/enact/double", "{\"val\": 1}").statusCode());
+  }
+
+  @Test
+  public void testCloseReleasesEngines() {
+    AtomicBoolean released = new AtomicBoolean();
+    WarmEngine engine = new WarmEngine(new InputDataProviderBatch(), new OutputDataCollector(),
+        () -> {
+        }, List.<Closeable>of(() -> released.set(true)));
+    EeDaemon daemon = new EeDaemon(Vertx.vertx(), Map.of("wf", List.of(engine)));
+    daemon.close();
+    assertTrue(released.get());
+  }
+
+  protected HttpResponse<String> post(String path, String body)
+      throws IOException, InterruptedException {
+    return client.send(createPost(path, body), BodyHandlers.ofString());
+  }
+
+  protected HttpRequest createPost(String path, String body) {
+    return HttpRequest.newBuilder(uri(path)).POST(BodyPublishers.ofString(body)).build();
+  }
+
+  protected URI uri(String path) {
+    return URI.create("http://127.0.0.1:" + tested.getPort() + path);
+  }
+
+  protected static WarmEngine createDoublingEngine() {
+    InputDataProviderBatch inputProvider = new InputDataProviderBatch();
+    OutputDataCollector collector = new OutputDataCollector();
+    return new WarmEngine(inputProvider, collector, () -> {
+      int val = inputProvider.getInputData().get("val").getAsInt();
+      if (val < 0) {
+        collector.handleFailure(new IllegalArgumentException("negative"));
+        return;
+      }
+      JsonObject result = new JsonObject();
+      result.addProperty("doubled", 2 * val);
+      collector.handleOutputData(result);
+    });
+  }
+}
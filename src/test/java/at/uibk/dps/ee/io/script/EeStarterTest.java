@@ -1,9 +1,19 @@
 package at.uibk.dps.ee.io.script;
 
 import static org.junit.jupiter.api.Assertions.*;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashSet;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
+import com.google.inject.AbstractModule;
 import com.google.inject.Module;
+import at.uibk.dps.ee.io.modules.GraphCacheModule;
+import at.uibk.dps.ee.io.modules.GraphValidationModule;
+import at.uibk.dps.ee.io.modules.InputReaderFileModule;
+import at.uibk.dps.ee.io.modules.OutputPrinterModule;
+import at.uibk.dps.ee.io.modules.SpecificationInputModule;
+import at.uibk.dps.ee.io.modules.StartupProfilingModule;
 import at.uibk.dps.ee.io.testconstants.ConstantsTestCoreEEiO;
 
 public class EeStarterTest {
@@ -15,4 +25,65 @@ public class EeStarterTest {
     Set<Module> result = tested.getModulesFromConfigFile(filePathConfigFile);
     assertEquals(3, result.size());
   }
+
+  @Test
+  public void testGetStartupProfile() {
+    EeStarter tested = new EeStarter();
+    Set<Module> modules = new HashSet<>();
+    assertTrue(tested.getStartupProfile(modules).isEmpty());
+    StartupProfilingModule profilingModule = new StartupProfilingModule();
+    modules.add(profilingModule);
+    assertTrue(tested.getStartupProfile(modules).isPresent());
+  }
+
+  @Test
+  public void testIsReplaced() {
+    assertTrue(EeStarter.isReplaced(new InputReaderFileModule(), false));
+    assertFalse(EeStarter.isReplaced(new OutputPrinterModule(), false));
+    assertTrue(EeStarter.isReplaced(new OutputPrinterModule(), true));
+    assertFalse(EeStarter.isReplaced(new GraphCacheModule(), true));
+    assertFalse(EeStarter.isReplaced(new GraphValidationModule(), true));
+    assertFalse(EeStarter.isReplaced(new StartupProfilingModule(), true));
+  }
+
+  @Test
+  public void testCreateSpecificationModule() {
+    EeStarter tested = new EeStarter();
+    Set<Module> modules = new HashSet<>();
+    SpecificationInputModule configured = new SpecificationInputModule();
+    configured.setMergeConstants(true);
+    configured.setParallelCompounds(true);
+    modules.add(configured);
+    SpecificationInputModule result = tested.createSpecificationModule(modules, "wf", "mappings");
+    assertEquals("wf", result.getFilePathAfcl());
+    assertEquals("mappings", result.getFilePathMappingFile());
+    assertTrue(result.isMergeConstants());
+    assertTrue(result.isParallelCompounds());
+    assertFalse(tested.createSpecificationModule(new HashSet<>(), "wf", "mappings")
+        .isMergeConstants());
+  }
+
+  @Test
+  public void testCloseModules() throws IOException {
+    ClosedModule closeable = new ClosedModule();
+    Set<Module> modules = new HashSet<>();
+    modules.add(closeable);
+    modules.add(new InputReaderFileModule());
+    EeStarter.closeModules(modules);
+    assertTrue(closeable.closed);
+  }
+
+  protected static class ClosedModule extends AbstractModule implements Closeable {
+    protected boolean closed;
+
+    @Override
+    protected void configure() {
+      // nothing to bind
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
 }
@@ -0,0 +1,44 @@
+package at.uibk.dps.ee.io.script;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import at.uibk.dps.ee.io.input.JsonLinesReader;
+
+public class EeStreamTest {
+
+  @Test
+  public void testRun() throws Exception {
+    StringBuilder stream = new StringBuilder();
+    for (int i = 0; i < 50; i++) {
+      stream.append("{\"val\": ").append(i % 10 == 9 ? -1 : i).append("}\n");
+    }
+    StringWriter output = new StringWriter();
+    EeStream tested = new EeStream(List.of(EeDaemonTest.createDoublingEngine(),
+        EeDaemonTest.createDoublingEngine(), EeDaemonTest.createDoublingEngine()), output);
+    try (JsonLinesReader inputs = new JsonLinesReader(new StringReader(stream.toString()), 2)) {
+      assertEquals(5, tested.run(inputs));
+    }
+    Map<Integer, JsonObject> lines = new HashMap<>();
+    for (String line : output.toString().split(System.lineSeparator())) {
+      JsonObject parsed = JsonParser.parseString(line).getAsJsonObject();
+      lines.put(parsed.get("input").getAsInt(), parsed);
+    }
+    assertEquals(50, lines.size());
+    assertEquals(8, lines.get(5).getAsJsonObject("result").get("doubled").getAsInt());
+    assertTrue(lines.get(10).has("error"));
+  }
+
+  @Test
+  public void testNoEngine() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new EeStream(List.of(), new StringWriter()));
+  }
+}
@@ -0,0 +1,127 @@
+package at.uibk.dps.ee.io.script;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import at.uibk.dps.ee.io.afcl.AfclReader;
+import at.uibk.dps.ee.io.afcl.AfclReaderLazy;
+import at.uibk.dps.ee.io.afcl.AfclReaderTest;
+import at.uibk.dps.ee.io.cache.EnactmentGraphCacheNone;
+import at.uibk.dps.ee.io.cache.EnactmentGraphCodec;
+import at.uibk.dps.ee.io.instrumentation.StartupPhase;
+import at.uibk.dps.ee.io.instrumentation.StartupProfile;
+import at.uibk.dps.ee.io.testconstants.ConstantsTestCoreEEiO;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+import net.sf.opendse.model.Dependency;
+import net.sf.opendse.model.Task;
+
+class WorkflowCompilerTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void testCompileAndLoad() throws IOException {
+    Path compiled = tempDir.resolve("compiled/wf.eeg");
+    WorkflowCompiler.main(new String[] {ConstantsTestCoreEEiO.cfclFileSingleAtomic,
+        compiled.toString()});
+    assertTrue(EnactmentGraphCodec.isEncodedGraph(Files.readAllBytes(compiled)));
+
+    EnactmentGraph expected =
+        new AfclReader(ConstantsTestCoreEEiO.cfclFileSingleAtomic).getEnactmentGraph();
+    StartupProfile profile = new StartupProfile("");
+    EnactmentGraph result =
+        new AfclReader(compiled.toString(), new EnactmentGraphCacheNone(), profile)
+            .getEnactmentGraph();
+    List<String> phaseNames =
+        profile.getPhases().stream().map(StartupPhase::getName).collect(Collectors.toList());
+    assertEquals(List.of("AfclReader: file reading", "AfclReader: compiled graph loading"),
+        phaseNames);
+    compareGraphs(expected, result);
+    compareGraphs(expected, new AfclReaderLazy(compiled.toString(), false).getEnactmentGraph());
+  }
+
+  @Test
+  void testCompileIfAndWhile() throws IOException {
+    String[] files = {ConstantsTestCoreEEiO.cfclFileIf, ConstantsTestCoreEEiO.afclFileWhileColl};
+    for (String file : files) {
+      Path compiled = tempDir.resolve(Paths.get(file).getFileName() + ".eeg");
+      WorkflowCompiler.compile(Paths.get(file), compiled, false);
+      EnactmentGraph expected = new AfclReader(file).getEnactmentGraph();
+      EnactmentGraph result = new AfclReader(compiled.toString()).getEnactmentGraph();
+      compareGraphs(expected, result);
+      for (Task task : expected) {
+        AfclReaderTest.compareElements(result.getVertex(task.getId()), task);
+      }
+      for (Dependency dep : expected.getEdges()) {
+        AfclReaderTest.compareElements(result.getEdge(dep.getId()), dep);
+      }
+    }
+  }
+
+  @Test
+  void testNoContentSniffing() throws IOException {
+    Path compiled = tempDir.resolve("wf.eeg");
+    WorkflowCompiler.compile(Paths.get(ConstantsTestCoreEEiO.cfclFileSingleAtomic), compiled,
+        false);
+    // compiled data is only decoded for files with the compiled suffix
+    Path renamed = Files.move(compiled, tempDir.resolve("wf.yaml"));
+    assertThrows(RuntimeException.class, () -> new AfclReader(renamed.toString()));
+    assertThrows(RuntimeException.class, () -> new AfclReader(Files.readAllBytes(renamed)));
+  }
+
+  @Test
+  void testTruncatedCompiledFile() throws IOException {
+    Path compiled = tempDir.resolve("wf.eeg");
+    WorkflowCompiler.compile(Paths.get(ConstantsTestCoreEEiO.cfclFileSingleAtomic), compiled,
+        false);
+    byte[] data = Files.readAllBytes(compiled);
+    Files.write(compiled, Arrays.copyOf(data, data.length / 2));
+    assertThrows(IllegalStateException.class, () -> new AfclReader(compiled.toString()));
+  }
+
+  @Test
+  void testWrongSuffix() {
+    assertThrows(IllegalArgumentException.class, () -> {
+      WorkflowCompiler.compile(Paths.get(ConstantsTestCoreEEiO.cfclFileSingleAtomic),
+          tempDir.resolve("wf.bin"), false);
+    });
+  }
+
+  @Test
+  void testWrongArguments() {
+    assertThrows(IllegalArgumentException.class, () -> {
+      WorkflowCompiler.main(new String[] {"only/one"});
+    });
+  }
+
+  @Test
+  void testNoTmpFilesLeft() throws IOException {
+    Path compiled = tempDir.resolve("wf.eeg");
+    WorkflowCompiler.compile(Paths.get(ConstantsTestCoreEEiO.cfclFileSingleAtomic), compiled,
+        true);
+    try (Stream<Path> files = Files.list(tempDir)) {
+      assertEquals(List.of(compiled), files.collect(Collectors.toList()));
+    }
+  }
+
+  protected static void compareGraphs(EnactmentGraph expected, EnactmentGraph actual) {
+    assertEquals(expected.getVertexCount(), actual.getVertexCount());
+    assertEquals(expected.getEdgeCount(), actual.getEdgeCount());
+    for (Task task : expected) {
+      assertNotNull(actual.getVertex(task.getId()));
+      assertEquals(task.getAttributeNames(), actual.getVertex(task.getId()).getAttributeNames());
+    }
+    for (Dependency dep : expected.getEdges()) {
+      assertNotNull(actual.getEdge(dep.getId()));
+    }
+  }
+}
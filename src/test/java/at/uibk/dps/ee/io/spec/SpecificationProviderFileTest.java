@@ -46,6 +46,30 @@ public class SpecificationProviderFileTest {
     result.forEach(mapping -> checkMapping(mapping));
   }
 
+  @Test
+  public void testDuplicateUris() {
+    EnactmentGraph eGraph = new EnactmentGraph();
+    Task t1 = PropertyServiceFunctionUser.createUserTask("t1", "addition");
+    Task t2 = PropertyServiceFunctionUser.createUserTask("t2", "subtraction");
+    eGraph.addVertex(t1);
+    eGraph.addVertex(t2);
+    EnactmentGraphProvider eProvider = mock(EnactmentGraphProvider.class);
+    when(eProvider.getEnactmentGraph()).thenReturn(eGraph);
+
+    String filePath = ConstantsTestCoreEEiO.resourceTestInputDuplicatesPath;
+    ResourceGraphProviderFile rProvider = new ResourceGraphProviderFile(filePath);
+    SpecificationProviderFile tested =
+        new SpecificationProviderFile(eProvider, rProvider, filePath);
+    assertSame(rProvider.getResourceIndex(), tested.getResourceIndex(rProvider.getResourceGraph()));
+
+    MappingsConcurrent result = tested.getMappings();
+    assertEquals(3, result.mappingStream().count());
+    Resource serverless = result.getMappings(t1).iterator().next().getTarget();
+    assertEquals("https://WWW.Blubb.us/add/", serverless.getId());
+    assertTrue(result.getMappings(t2).stream()
+        .anyMatch(mapping -> mapping.getTarget().equals(serverless)));
+  }
+
   protected static void checkMapping(Mapping<Task, Resource> mapping) {
     EnactmentMode mode = PropertyServiceMapping.getEnactmentMode(mapping);
     assertTrue(mode.equals(EnactmentMode.Local) || mode.equals(EnactmentMode.Serverless)
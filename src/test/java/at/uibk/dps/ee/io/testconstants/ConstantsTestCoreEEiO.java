@@ -14,6 +14,8 @@ public class ConstantsTestCoreEEiO {
   // constants for the resouces test input
   public static final String resourceTestInputPath =
       "src/test/resources/resourceInputFiles/testInput.json";
+  public static final String resourceTestInputDuplicatesPath =
+      "src/test/resources/resourceInputFiles/testInputDuplicates.json";
 
 
   // constants for the afcl test input
@@ -0,0 +1,38 @@
+package at.uibk.dps.ee.io.validation;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import at.uibk.dps.ee.io.testclasses.AtomicEGGenerator;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+import at.uibk.dps.ee.model.properties.PropertyServiceData;
+import at.uibk.dps.ee.model.properties.PropertyServiceData.DataType;
+import at.uibk.dps.ee.model.properties.PropertyServiceDependency;
+import net.sf.opendse.model.Task;
+
+class GraphCheckConstantTypesTest {
+
+  @Test
+  void testCheck() {
+    EnactmentGraph graph = AtomicEGGenerator.generateGraph();
+    Task function = graph.getVertex("atomicFunction");
+    addConstant(graph, function, "number", DataType.Number, new JsonPrimitive("3.5"));
+    addConstant(graph, function, "bool", DataType.Boolean, new JsonPrimitive(true));
+    addConstant(graph, function, "coll", DataType.Collection, new JsonArray());
+    GraphCheckConstantTypes tested = new GraphCheckConstantTypes();
+    assertTrue(tested.check(new GraphSnapshot(graph)).isEmpty());
+    addConstant(graph, function, "wrong", DataType.Number, new JsonPrimitive("abc"));
+    List<String> result = tested.check(new GraphSnapshot(graph));
+    assertEquals(1, result.size());
+    assertTrue(result.get(0).contains("wrong"));
+  }
+
+  protected static void addConstant(EnactmentGraph graph, Task function, String id,
+      DataType type, JsonElement content) {
+    Task constant = PropertyServiceData.createConstantNode(id, type, content);
+    PropertyServiceDependency.addDataDependency(constant, function, id, graph);
+  }
+}
@@ -0,0 +1,32 @@
+package at.uibk.dps.ee.io.validation;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import at.uibk.dps.ee.io.testclasses.AtomicEGGenerator;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+import at.uibk.dps.ee.model.properties.PropertyServiceDependency;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunctionUser;
+import net.sf.opendse.model.Communication;
+import net.sf.opendse.model.Task;
+
+class GraphCheckCyclesTest {
+
+  @Test
+  void testCheck() {
+    EnactmentGraph graph = AtomicEGGenerator.generateGraph();
+    GraphCheckCycles tested = new GraphCheckCycles();
+    assertTrue(tested.check(new GraphSnapshot(graph)).isEmpty());
+    // feed the output back into the function
+    Task output = graph.getVertex("atomicFunction/myOutput");
+    Task function = graph.getVertex("atomicFunction");
+    Task feedback = PropertyServiceFunctionUser.createUserTask("feedback", "addition");
+    PropertyServiceDependency.addDataDependency(output, feedback, "in", graph);
+    Task loopData = new Communication("feedback/out");
+    PropertyServiceDependency.addDataDependency(feedback, loopData, "out", graph);
+    PropertyServiceDependency.addDataDependency(loopData, function, "loop", graph);
+    List<String> result = tested.check(new GraphSnapshot(graph));
+    assertEquals(1, result.size());
+    assertTrue(result.get(0).contains("feedback"));
+  }
+}
@@ -0,0 +1,70 @@
+package at.uibk.dps.ee.io.validation;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import at.uibk.dps.ee.io.afcl.GraphGenerationAfcl;
+import at.uibk.dps.ee.io.afcl.Graphs;
+import at.uibk.dps.ee.io.testclasses.AtomicEGGenerator;
+import at.uibk.dps.ee.model.constants.ConstantsEEModel;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+import at.uibk.dps.ee.model.properties.PropertyServiceData;
+import at.uibk.dps.ee.model.properties.PropertyServiceData.DataType;
+import at.uibk.dps.ee.model.properties.PropertyServiceDependency;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunctionDataFlowCollections;
+import at.uibk.dps.ee.model.properties.PropertyServiceFunctionDataFlowCollections.OperationType;
+import net.sf.opendse.model.Communication;
+import net.sf.opendse.model.Dependency;
+import net.sf.opendse.model.Task;
+
+class GraphCheckDataTypesTest {
+
+  @Test
+  void testGeneratedGraphs() {
+    GraphCheckDataTypes tested = new GraphCheckDataTypes();
+    EnactmentGraph parFor = GraphGenerationAfcl.generateEnactmentGraph(Graphs.getParallelForWf());
+    assertTrue(tested.check(new GraphSnapshot(parFor)).isEmpty());
+    EnactmentGraph intIterator =
+        GraphGenerationAfcl.generateEnactmentGraph(Graphs.getParallelForIntIteratorWf());
+    assertTrue(tested.check(new GraphSnapshot(intIterator)).isEmpty());
+    EnactmentGraph nested = GraphGenerationAfcl.generateEnactmentGraph(Graphs.getWhileNested());
+    assertTrue(tested.check(new GraphSnapshot(nested)).isEmpty());
+  }
+
+  @Test
+  void testDistributedData() {
+    EnactmentGraph graph = AtomicEGGenerator.generateGraph();
+    Task distribution = PropertyServiceFunctionDataFlowCollections
+        .createCollectionDataFlowTask("distribution", OperationType.Distribution, "parFor");
+    Task collection = new Communication("collection");
+    PropertyServiceData.setDataType(collection, DataType.Collection);
+    PropertyServiceDependency.addDataDependency(collection, distribution, "iterator", graph);
+    GraphCheckDataTypes tested = new GraphCheckDataTypes();
+    assertTrue(tested.check(new GraphSnapshot(graph)).isEmpty());
+    Task number = graph.getVertex("single Atomic/input_name");
+    PropertyServiceDependency.addDataDependency(number, distribution, "wrong", graph);
+    List<String> result = tested.check(new GraphSnapshot(graph));
+    assertEquals(1, result.size());
+    assertTrue(result.get(0).contains("single Atomic/input_name"));
+  }
+
+  @Test
+  void testWhileData() {
+    EnactmentGraph graph = AtomicEGGenerator.generateGraph();
+    graph.addVertex(PropertyServiceData
+        .createWhileCounter("while/" + ConstantsEEModel.WhileLoopCounterSuffix));
+    Task function = graph.getVertex("atomicFunction");
+    Task laterInput = new Communication("later/number");
+    PropertyServiceData.setDataType(laterInput, DataType.Number);
+    graph.addVertex(laterInput);
+    Dependency edge = graph.findEdge(graph.getVertex("single Atomic/input_name"), function);
+    PropertyServiceDependency.addWhileInputReference(edge, "later/number", "while");
+    GraphCheckDataTypes tested = new GraphCheckDataTypes();
+    assertTrue(tested.check(new GraphSnapshot(graph)).isEmpty());
+    // the output is a string
+    PropertyServiceDependency.addWhileInputReference(edge, "atomicFunction/myOutput", "while");
+    List<String> result = tested.check(new GraphSnapshot(graph));
+    assertEquals(1, result.size());
+    assertTrue(result.get(0).contains("atomicFunction/myOutput"));
+  }
+}
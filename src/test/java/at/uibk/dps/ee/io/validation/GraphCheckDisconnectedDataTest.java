@@ -0,0 +1,22 @@
+package at.uibk.dps.ee.io.validation;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import at.uibk.dps.ee.io.testclasses.AtomicEGGenerator;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+import net.sf.opendse.model.Communication;
+
+class GraphCheckDisconnectedDataTest {
+
+  @Test
+  void testCheck() {
+    EnactmentGraph graph = AtomicEGGenerator.generateGraph();
+    GraphCheckDisconnectedData tested = new GraphCheckDisconnectedData();
+    assertTrue(tested.check(new GraphSnapshot(graph)).isEmpty());
+    graph.addVertex(new Communication("lonely"));
+    List<String> result = tested.check(new GraphSnapshot(graph));
+    assertEquals(1, result.size());
+    assertTrue(result.get(0).contains("lonely"));
+  }
+}
@@ -0,0 +1,32 @@
+package at.uibk.dps.ee.io.validation;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import com.google.gson.JsonPrimitive;
+import at.uibk.dps.ee.io.testclasses.AtomicEGGenerator;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+import at.uibk.dps.ee.model.properties.PropertyServiceData;
+import at.uibk.dps.ee.model.properties.PropertyServiceData.DataType;
+import at.uibk.dps.ee.model.properties.PropertyServiceDependency;
+import net.sf.opendse.model.Communication;
+import net.sf.opendse.model.Task;
+
+class GraphCheckUnproducedDataTest {
+
+  @Test
+  void testCheck() {
+    EnactmentGraph graph = AtomicEGGenerator.generateGraph();
+    Task function = graph.getVertex("atomicFunction");
+    Task constant = PropertyServiceData.createConstantNode("constant", DataType.Number,
+        new JsonPrimitive(42));
+    PropertyServiceDependency.addDataDependency(constant, function, "constKey", graph);
+    GraphCheckUnproducedData tested = new GraphCheckUnproducedData();
+    assertTrue(tested.check(new GraphSnapshot(graph)).isEmpty());
+    Task dangling = new Communication("missingFunction/out");
+    PropertyServiceDependency.addDataDependency(dangling, function, "danglingKey", graph);
+    List<String> result = tested.check(new GraphSnapshot(graph));
+    assertEquals(1, result.size());
+    assertTrue(result.get(0).contains("missingFunction/out"));
+  }
+}
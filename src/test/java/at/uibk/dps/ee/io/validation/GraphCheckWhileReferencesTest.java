@@ -0,0 +1,52 @@
+package at.uibk.dps.ee.io.validation;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import at.uibk.dps.ee.io.afcl.GraphGenerationAfcl;
+import at.uibk.dps.ee.io.afcl.Graphs;
+import at.uibk.dps.ee.io.testclasses.AtomicEGGenerator;
+import at.uibk.dps.ee.model.constants.ConstantsEEModel;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+import at.uibk.dps.ee.model.properties.PropertyServiceData;
+import at.uibk.dps.ee.model.properties.PropertyServiceDependency;
+import net.sf.opendse.model.Dependency;
+
+class GraphCheckWhileReferencesTest {
+
+  @Test
+  void testGeneratedGraphs() {
+    GraphCheckWhileReferences tested = new GraphCheckWhileReferences();
+    EnactmentGraph nested = GraphGenerationAfcl.generateEnactmentGraph(Graphs.getWhileNested());
+    assertTrue(tested.check(new GraphSnapshot(nested)).isEmpty());
+    EnactmentGraph whileNum = GraphGenerationAfcl.generateEnactmentGraph(Graphs.getWhileNum());
+    assertTrue(tested.check(new GraphSnapshot(whileNum)).isEmpty());
+  }
+
+  @Test
+  void testCheck() {
+    EnactmentGraph graph = AtomicEGGenerator.generateGraph();
+    graph.addVertex(PropertyServiceData
+        .createWhileCounter("while/" + ConstantsEEModel.WhileLoopCounterSuffix));
+    Dependency edge = graph.findEdge(graph.getVertex("single Atomic/input_name"),
+        graph.getVertex("atomicFunction"));
+    PropertyServiceDependency.addWhileInputReference(edge, "atomicFunction/myOutput", "while");
+    GraphCheckWhileReferences tested = new GraphCheckWhileReferences();
+    assertTrue(tested.check(new GraphSnapshot(graph)).isEmpty());
+    PropertyServiceDependency.addWhileInputReference(edge, "missing/data", "while");
+    List<String> result = tested.check(new GraphSnapshot(graph));
+    assertEquals(1, result.size());
+    assertTrue(result.get(0).contains("missing/data"));
+  }
+
+  @Test
+  void testUnknownWhile() {
+    EnactmentGraph graph = AtomicEGGenerator.generateGraph();
+    Dependency edge = graph.findEdge(graph.getVertex("single Atomic/input_name"),
+        graph.getVertex("atomicFunction"));
+    PropertyServiceDependency.addWhileInputReference(edge, "atomicFunction/myOutput", "while");
+    List<String> result = new GraphCheckWhileReferences().check(new GraphSnapshot(graph));
+    assertEquals(1, result.size());
+    assertTrue(result.get(0).contains("does not belong to any while"));
+  }
+}
@@ -0,0 +1,44 @@
+package at.uibk.dps.ee.io.validation;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import at.uibk.dps.ee.io.testclasses.AtomicEGGenerator;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+
+class GraphSnapshotTest {
+
+  @Test
+  void testSnapshot() {
+    EnactmentGraph graph = AtomicEGGenerator.generateGraph();
+    GraphSnapshot tested = new GraphSnapshot(graph);
+    assertEquals(3, tested.getNodeCount());
+    int input = indexOf(tested, "single Atomic/input_name");
+    int function = indexOf(tested, "atomicFunction");
+    int output = indexOf(tested, "atomicFunction/myOutput");
+    assertTrue(tested.isData(input));
+    assertTrue(tested.isRoot(input));
+    assertFalse(tested.isData(function));
+    assertFalse(tested.isRoot(output));
+    assertEquals(0, tested.getInDegree(input));
+    assertEquals(1, tested.getOutDegree(input));
+    assertEquals(function, tested.getSuccessor(input, 0));
+    assertEquals(output, tested.getSuccessor(function, 0));
+    assertFalse(tested.isWhileAnnotated(input, 0));
+    assertEquals(graph.findEdge(graph.getVertex("single Atomic/input_name"),
+        graph.getVertex("atomicFunction")), tested.getEdge(input, 0));
+    assertEquals(function, tested.getIndex("atomicFunction"));
+    assertEquals(-1, tested.getIndex("missing"));
+    assertFalse(tested.isDistribution(function));
+    assertEquals(1, tested.getInDegree(output));
+    assertEquals(0, tested.getOutDegree(output));
+  }
+
+  protected static int indexOf(GraphSnapshot snapshot, String nodeId) {
+    for (int node = 0; node < snapshot.getNodeCount(); node++) {
+      if (snapshot.getNode(node).getId().equals(nodeId)) {
+        return node;
+      }
+    }
+    throw new AssertionError("Node " + nodeId + " not in the snapshot.");
+  }
+}
@@ -0,0 +1,43 @@
+package at.uibk.dps.ee.io.validation;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import at.uibk.dps.ee.io.testclasses.AtomicEGGenerator;
+import at.uibk.dps.ee.model.graph.EnactmentGraph;
+import net.sf.opendse.model.Communication;
+
+class GraphValidatorPipelineTest {
+
+  @Test
+  void testValidGraph() {
+    EnactmentGraph graph = AtomicEGGenerator.generateGraph();
+    new GraphValidatorDefault().validate(graph);
+    // parallel execution of the checks
+    new GraphValidatorPipeline(new GraphValidatorDefault().getChecks(), 0).validate(graph);
+  }
+
+  @Test
+  void testAllViolationsReported() {
+    EnactmentGraph graph = AtomicEGGenerator.generateGraph();
+    graph.addVertex(new Communication("lonely1"));
+    graph.addVertex(new Communication("lonely2"));
+    GraphValidatorPipeline tested =
+        new GraphValidatorPipeline(List.of(new GraphCheckDisconnectedData()), 0);
+    IllegalStateException exc =
+        assertThrows(IllegalStateException.class, () -> tested.validate(graph));
+    assertTrue(exc.getMessage().contains("lonely1"));
+    assertTrue(exc.getMessage().contains("lonely2"));
+  }
+
+  @Test
+  void testDisabledChecks() {
+    EnactmentGraph graph = AtomicEGGenerator.generateGraph();
+    graph.addVertex(new Communication("lonely"));
+    assertThrows(IllegalStateException.class, () -> GraphValidation.validateGraph(graph));
+    GraphValidatorConfigurable tested =
+        new GraphValidatorConfigurable(false, true, true, true, true, true, 100);
+    assertEquals(5, tested.getChecks().size());
+    tested.validate(graph);
+  }
+}